@@ -9,6 +9,7 @@ dependencies {
     implementation(project(":modules:auth"))
     implementation(project(":modules:security"))
     implementation(project(":modules:employee"))
+    implementation(project(":modules:file"))
     implementation(project(":modules:role"))
     implementation(project(":modules:user"))
 
@@ -36,6 +37,10 @@ dependencies {
 
     // Runtime Only
     runtimeOnly(libs.postgresql)
+    runtimeOnly(libs.micrometer.registry.prometheus)
+    runtimeOnly(libs.hibernate.jcache)
+    runtimeOnly(libs.hibernate.micrometer)
+    runtimeOnly(libs.caffeine.jcache)
     runtimeOnly(libs.spring.boot.devtools)
 
     // Annotation Processor
@@ -62,6 +67,8 @@ tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
     enabled = true
 }
 
+// The plain jar lets modules:loadtest put the application on its classpath
 tasks.named<Jar>("jar") {
-    enabled = false
+    enabled = true
+    archiveClassifier.set("plain")
 }
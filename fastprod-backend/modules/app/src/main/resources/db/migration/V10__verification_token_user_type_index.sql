@@ -0,0 +1,8 @@
+-- Live token of a user for one purpose, read on every resend
+-- Database: PostgreSQL
+
+-- ===============
+-- verification_token
+-- user_id leads the new index, so it also serves the foreign key and replaces the single-column one
+CREATE INDEX IF NOT EXISTS idx_verification_token_user_type_used ON verification_token (user_id, token_type, used);
+DROP INDEX IF EXISTS idx_verification_token_user_id;
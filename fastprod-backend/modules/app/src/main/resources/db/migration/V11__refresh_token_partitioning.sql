@@ -0,0 +1,79 @@
+-- refresh_token range-partitioned by expiry month, so expired sessions are dropped a partition at a time
+-- Database: PostgreSQL
+
+-- ===============
+-- refresh_token
+-- Partitions are named refresh_token_pYYYY_MM and bounded by UTC month starts. The Instant columns
+-- are TIMESTAMPTZ, so the stored instant and the partition a row lands in do not depend on the
+-- session time zone. The application creates upcoming partitions and drops expired ones.
+CREATE TABLE refresh_token_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('refresh_token_id_seq'),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    created_by TEXT NOT NULL,
+    updated_by TEXT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+
+    token VARCHAR(500) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expiry_date TIMESTAMPTZ NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    device_info TEXT,
+    ip_address VARCHAR(45),
+    user_agent VARCHAR(500),
+    browser VARCHAR(50),
+    os VARCHAR(50),
+    last_used_at TIMESTAMPTZ NULL,
+    revoked_at TIMESTAMPTZ NULL,
+
+    -- Unique constraints must contain the partition key; ids come from one sequence and token
+    -- hashes are unique in practice, so neither loses anything
+    CONSTRAINT pk_refresh_token PRIMARY KEY (id, expiry_date),
+    CONSTRAINT uk_refresh_token_token_expiry_date UNIQUE (token, expiry_date),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES "user"(id) ON DELETE CASCADE
+) PARTITION BY RANGE (expiry_date);
+
+-- From the current month up to the latest stored expiry, and at least three months ahead
+DO $$
+DECLARE
+    first_month DATE := date_trunc('month', now() AT TIME ZONE 'UTC');
+    last_month DATE := greatest(
+        (SELECT date_trunc('month', max(expiry_date::TIMESTAMPTZ) AT TIME ZONE 'UTC') FROM refresh_token),
+        date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months'
+    );
+    partition_month DATE;
+BEGIN
+    FOR partition_month IN
+        SELECT generate_series(first_month::TIMESTAMP, last_month::TIMESTAMP, INTERVAL '1 month')::DATE
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF refresh_token_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'refresh_token_p' || to_char(partition_month, 'YYYY_MM'),
+            partition_month::TIMESTAMP AT TIME ZONE 'UTC',
+            (partition_month + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC'
+        );
+    END LOOP;
+END
+$$;
+
+-- Expired sessions would only be deleted, so they are not carried over. The old TIMESTAMP values
+-- were written in the session time zone, which is how the casts to TIMESTAMPTZ read them.
+INSERT INTO refresh_token_partitioned (
+    id, created_at, updated_at, created_by, updated_by, version,
+    token, user_id, expiry_date, revoked, device_info, ip_address, user_agent, browser, os, last_used_at, revoked_at
+)
+SELECT
+    id, created_at, updated_at, created_by, updated_by, version,
+    token, user_id, expiry_date, revoked, device_info, ip_address, user_agent, browser, os, last_used_at, revoked_at
+FROM refresh_token
+WHERE expiry_date::TIMESTAMPTZ >= date_trunc('month', now() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC';
+
+-- The sequence belongs to the old id column and would be dropped with it
+ALTER SEQUENCE refresh_token_id_seq OWNED BY NONE;
+DROP TABLE refresh_token;
+ALTER TABLE refresh_token_partitioned RENAME TO refresh_token;
+ALTER SEQUENCE refresh_token_id_seq OWNED BY refresh_token.id;
+
+-- Created on the parent, so every partition gets its own copy. Token lookups use the unique
+-- constraint, and expiry filters are served by pruning, so no other index is recreated.
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user_id ON refresh_token (user_id);
@@ -0,0 +1,45 @@
+-- Content-addressed file storage
+-- Database: PostgreSQL
+
+-- ===============
+-- file_blob
+CREATE TABLE IF NOT EXISTS file_blob (
+    id BIGSERIAL PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    created_by TEXT NOT NULL,
+    updated_by TEXT NOT NULL,
+
+    checksum VARCHAR(64) NOT NULL,
+    size BIGINT NOT NULL,
+    reference_count INTEGER NOT NULL DEFAULT 0,
+    orphaned_at TIMESTAMP NULL,
+
+    CONSTRAINT uk_file_blob_checksum UNIQUE (checksum),
+    CONSTRAINT ck_file_blob_reference_count CHECK (reference_count >= 0)
+);
+
+-- Only unreferenced blobs are ever looked up by orphaned_at
+CREATE INDEX IF NOT EXISTS idx_file_blob_orphaned_at ON file_blob (orphaned_at) WHERE reference_count = 0;
+
+-- ===============
+-- user_file
+CREATE TABLE IF NOT EXISTS user_file (
+    id BIGSERIAL PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    created_by TEXT NOT NULL,
+    updated_by TEXT NOT NULL,
+
+    user_id BIGINT NOT NULL,
+    blob_id BIGINT NOT NULL,
+    original_filename VARCHAR(255),
+    content_type VARCHAR(255),
+
+    -- No cascade: removing a file has to release its blob reference and storage charge
+    CONSTRAINT fk_user_file_user FOREIGN KEY (user_id) REFERENCES "user"(id),
+    CONSTRAINT fk_user_file_blob FOREIGN KEY (blob_id) REFERENCES file_blob(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_file_user_id ON user_file (user_id);
+CREATE INDEX IF NOT EXISTS idx_user_file_blob_id ON user_file (blob_id);
@@ -0,0 +1,27 @@
+-- Resumable upload sessions
+-- Database: PostgreSQL
+
+-- ===============
+-- upload_session
+CREATE TABLE IF NOT EXISTS upload_session (
+    id BIGSERIAL PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    created_by TEXT NOT NULL,
+    updated_by TEXT NOT NULL,
+
+    upload_key VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    original_filename VARCHAR(255),
+    content_type VARCHAR(255),
+    size BIGINT NOT NULL,
+    upload_offset BIGINT NOT NULL DEFAULT 0,
+    expires_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT uk_upload_session_upload_key UNIQUE (upload_key),
+    CONSTRAINT fk_upload_session_user FOREIGN KEY (user_id) REFERENCES "user"(id) ON DELETE CASCADE,
+    CONSTRAINT ck_upload_session_upload_offset CHECK (upload_offset >= 0 AND upload_offset <= size)
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_session_user_id ON upload_session (user_id);
+CREATE INDEX IF NOT EXISTS idx_upload_session_expires_at ON upload_session (expires_at);
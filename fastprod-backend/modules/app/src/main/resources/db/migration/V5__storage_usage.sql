@@ -0,0 +1,33 @@
+-- Per-user storage usage counters
+-- Database: PostgreSQL
+
+-- ===============
+-- storage_usage
+CREATE TABLE IF NOT EXISTS storage_usage (
+    id BIGSERIAL PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    created_by TEXT NOT NULL,
+    updated_by TEXT NOT NULL,
+
+    user_id BIGINT NOT NULL,
+    used_bytes BIGINT NOT NULL DEFAULT 0,
+    file_count INTEGER NOT NULL DEFAULT 0,
+    reconciled_at TIMESTAMP NULL,
+
+    CONSTRAINT uk_storage_usage_user_id UNIQUE (user_id),
+    CONSTRAINT fk_storage_usage_user FOREIGN KEY (user_id) REFERENCES "user"(id) ON DELETE CASCADE,
+    CONSTRAINT ck_storage_usage_used_bytes CHECK (used_bytes >= 0),
+    CONSTRAINT ck_storage_usage_file_count CHECK (file_count >= 0)
+);
+
+-- Top consumers are read straight off this index
+CREATE INDEX IF NOT EXISTS idx_storage_usage_used_bytes ON storage_usage (used_bytes DESC);
+
+-- Counters for files stored before quotas existed
+INSERT INTO storage_usage (user_id, used_bytes, file_count, reconciled_at, created_at, updated_at, created_by, updated_by)
+SELECT uf.user_id, SUM(b.size), COUNT(*), NOW(), NOW(), NOW(), 'flyway', 'flyway'
+FROM user_file uf
+JOIN file_blob b ON b.id = uf.blob_id
+GROUP BY uf.user_id
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,7 @@
+-- Keyset index for the employee change feed
+-- Database: PostgreSQL
+
+-- ===============
+-- user
+-- Changes are read in (updated_at, id) order starting after the consumer's cursor
+CREATE INDEX IF NOT EXISTS idx_user_updated_at_id ON "user" (updated_at, id);
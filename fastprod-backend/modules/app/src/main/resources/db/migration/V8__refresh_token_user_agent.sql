@@ -0,0 +1,8 @@
+-- Browser and operating system classified once when a session is created
+-- Database: PostgreSQL
+
+-- ===============
+-- refresh_token
+-- Sessions created before this migration stay NULL and are classified when listed
+ALTER TABLE refresh_token ADD COLUMN IF NOT EXISTS browser VARCHAR(50);
+ALTER TABLE refresh_token ADD COLUMN IF NOT EXISTS os VARCHAR(50);
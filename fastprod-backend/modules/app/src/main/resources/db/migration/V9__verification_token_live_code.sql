@@ -0,0 +1,23 @@
+-- Verification codes unique among the unused tokens of each type
+-- Database: PostgreSQL
+
+-- ===============
+-- verification_token
+-- Existing duplicates are retired first, keeping the newest token of each live code
+UPDATE verification_token t
+SET used = TRUE
+WHERE t.used = FALSE
+  AND EXISTS (
+      SELECT 1
+      FROM verification_token newer
+      WHERE newer.used = FALSE
+        AND newer.token_type = t.token_type
+        AND newer.token = t.token
+        AND newer.id > t.id
+  );
+
+-- Lookups and the allocating insert both go through this index; the plain token index is superseded
+DROP INDEX IF EXISTS idx_verification_token_token;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_verification_token_live_code
+    ON verification_token (token_type, token)
+    WHERE used = FALSE;
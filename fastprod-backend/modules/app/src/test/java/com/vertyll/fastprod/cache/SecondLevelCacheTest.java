@@ -0,0 +1,173 @@
+package com.vertyll.fastprod.cache;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.sharedinfrastructure.entity.BaseEntity;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryInspector;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryScope;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryTracker;
+import com.vertyll.fastprod.user.entity.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots Hibernate directly on H2 with the same cache settings as {@code application.yml}, so the
+ * cache behaviour of the real mappings is checked without a Postgres container.
+ */
+class SecondLevelCacheTest {
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private Long userId;
+    private Long adminRoleId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1")
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, true)
+            .applySetting(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+            .applySetting("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+            .applySetting("hibernate.javax.cache.missing_cache_strategy", "create")
+            .applySetting(AvailableSettings.GENERATE_STATISTICS, true)
+            .applySetting(AvailableSettings.STATEMENT_INSPECTOR, QueryInspector.class.getName())
+            .build();
+        sessionFactory = new MetadataSources(registry)
+            .addAnnotatedClass(Role.class)
+            .addAnnotatedClass(User.class)
+            .buildMetadata()
+            .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            Role admin = audited(Role.builder().name(RoleType.ADMIN).description("Administrator").active(true).build());
+            Role employee = audited(Role.builder().name(RoleType.EMPLOYEE).description("Employee").active(true).build());
+            session.persist(admin);
+            session.persist(employee);
+
+            User user = audited(User.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@example.com")
+                .password("encodedPassword")
+                .roles(Set.of(admin, employee))
+                .verified(true)
+                .active(true)
+                .build());
+            session.persist(user);
+
+            userId = user.getId();
+            adminRoleId = admin.getId();
+        });
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Test
+    void userLoad_WhenCacheIsWarm_ShouldIssueNoRoleQueries() {
+        // given
+        sessionFactory.inSession(session -> assertEquals(2, loadRoles(session).size()));
+
+        // when
+        Set<String> statements;
+        try (QueryScope scope = QueryTracker.open("warm user load")) {
+            sessionFactory.inSession(session -> assertEquals(2, loadRoles(session).size()));
+            statements = scope.getExecutionsByShape().keySet();
+        }
+
+        // then
+        assertEquals(1, statements.size(), () -> "Expected only the user select, got " + statements);
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("role")), () -> statements.toString());
+        assertTrue(regionStatistics(User.ROLES_CACHE_REGION).getHitCount() > 0);
+        assertTrue(regionStatistics(Role.CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void naturalIdLookup_WhenCacheIsWarm_ShouldIssueNoQueries() {
+        // given
+        sessionFactory.inSession(session -> assertNotNull(findByName(session, RoleType.ADMIN)));
+
+        // when
+        int statementCount;
+        try (QueryScope scope = QueryTracker.open("warm natural-id lookup")) {
+            sessionFactory.inSession(session -> assertEquals(adminRoleId, findByName(session, RoleType.ADMIN).getId()));
+            statementCount = scope.getStatementCount();
+        }
+
+        // then
+        assertEquals(0, statementCount);
+        assertTrue(regionStatistics(Role.NATURAL_ID_CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void roleUpdate_ShouldBeVisibleThroughWarmCaches() {
+        // given
+        sessionFactory.inSession(session -> {
+            loadRoles(session);
+            findByName(session, RoleType.ADMIN);
+        });
+
+        // when
+        sessionFactory.inTransaction(session -> {
+            Role role = session.find(Role.class, adminRoleId);
+            role.setName(RoleType.MANAGER);
+            role.setDescription("Manager");
+        });
+
+        // then
+        sessionFactory.inSession(session -> {
+            assertNull(session.bySimpleNaturalId(Role.class).load(RoleType.ADMIN));
+            Role renamed = findByName(session, RoleType.MANAGER);
+            assertEquals(adminRoleId, renamed.getId());
+            assertEquals("Manager", renamed.getDescription());
+            assertTrue(loadRoles(session).stream().anyMatch(role -> role.getName() == RoleType.MANAGER));
+        });
+    }
+
+    private Set<Role> loadRoles(Session session) {
+        User user = session.find(User.class, userId);
+        Set<Role> roles = user.getRoles();
+        roles.forEach(Role::getDescription);
+        return roles;
+    }
+
+    private static Role findByName(Session session, RoleType name) {
+        Role role = session.bySimpleNaturalId(Role.class).load(name);
+        assertNotNull(role);
+        return role;
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        return sessionFactory.getStatistics().getDomainDataRegionStatistics(region);
+    }
+
+    private static <T extends BaseEntity> T audited(T entity) {
+        // Spring's auditing listener has nothing to delegate to outside an application context
+        LocalDateTime now = LocalDateTime.now();
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        entity.setCreatedBy("test");
+        entity.setUpdatedBy("test");
+        return entity;
+    }
+}
@@ -0,0 +1,55 @@
+package com.vertyll.fastprod.file;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.vertyll.fastprod.file.controller.FileController;
+import com.vertyll.fastprod.file.controller.ResumableUploadController;
+import com.vertyll.fastprod.file.controller.StorageUsageController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application against a migrated Postgres, so the file module's entities are validated
+ * against the V3 to V5 migrations and its endpoints are served by the application.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class FileModuleContextTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void contextLoads_ShouldMapFileControllers() {
+        // when
+        Set<Class<?>> controllers = handlerMapping.getHandlerMethods()
+            .values()
+            .stream()
+            .map(HandlerMethod::getBeanType)
+            .collect(Collectors.toSet());
+
+        // then
+        assertTrue(controllers.contains(FileController.class));
+        assertTrue(controllers.contains(ResumableUploadController.class));
+        assertTrue(controllers.contains(StorageUsageController.class));
+    }
+}
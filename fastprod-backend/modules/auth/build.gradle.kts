@@ -38,4 +38,7 @@ dependencies {
     // Test Implementation
     testImplementation(libs.bundles.spring.boot.test.common)
     testImplementation(libs.bundles.spring.boot.test.security)
+
+    // Test Runtime Only
+    testRuntimeOnly(libs.h2)
 }
@@ -0,0 +1,15 @@
+package com.vertyll.fastprod.auth.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(
+    {
+        SessionActivityProperties.class,
+        VerificationCodeProperties.class,
+        RefreshTokenPartitionProperties.class
+    }
+)
+public class AuthModuleConfig {
+}
@@ -0,0 +1,22 @@
+package com.vertyll.fastprod.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param cron when expired partitions are dropped and upcoming ones created, also done at startup
+ * @param monthsAhead partitions kept beyond the month the longest-lived new token expires in
+ * @param lockTimeout how long a partition change waits for its table lock before retrying on the next run
+ */
+@ConfigurationProperties(prefix = "application.auth.refresh-token-partitions")
+public record RefreshTokenPartitionProperties(String cron, Integer monthsAhead, Duration lockTimeout) {
+    public RefreshTokenPartitionProperties {
+        if (cron == null)
+            cron = "0 0 0 * * ?";
+        if (monthsAhead == null)
+            monthsAhead = 2;
+        if (lockTimeout == null)
+            lockTimeout = Duration.ofSeconds(5);
+    }
+}
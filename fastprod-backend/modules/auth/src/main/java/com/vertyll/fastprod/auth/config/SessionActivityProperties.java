@@ -0,0 +1,22 @@
+package com.vertyll.fastprod.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param flushInterval how often buffered last-used times are written, and so the most that is lost on a crash
+ * @param maxPending sessions buffered before a request thread flushes instead of waiting for the interval
+ * @param batchSize updates sent to the database in one JDBC batch
+ */
+@ConfigurationProperties(prefix = "application.auth.session-activity")
+public record SessionActivityProperties(Duration flushInterval, Integer maxPending, Integer batchSize) {
+    public SessionActivityProperties {
+        if (flushInterval == null)
+            flushInterval = Duration.ofSeconds(5);
+        if (maxPending == null)
+            maxPending = 10_000;
+        if (batchSize == null)
+            batchSize = 500;
+    }
+}
@@ -0,0 +1,19 @@
+package com.vertyll.fastprod.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param ttl how long an issued or reused verification code stays valid
+ * @param reuseWindow how long after issuing a repeated request sends the same code again instead of a new one
+ */
+@ConfigurationProperties(prefix = "application.auth.verification-code")
+public record VerificationCodeProperties(Duration ttl, Duration reuseWindow) {
+    public VerificationCodeProperties {
+        if (ttl == null)
+            ttl = Duration.ofHours(24);
+        if (reuseWindow == null)
+            reuseWindow = Duration.ofMinutes(15);
+    }
+}
@@ -3,6 +3,8 @@ package com.vertyll.fastprod.auth.dto;
 import java.time.Instant;
 import java.time.LocalDateTime;
 
+import org.jspecify.annotations.Nullable;
+
 import lombok.Builder;
 
 @Builder
@@ -11,6 +13,8 @@ public record SessionInfoDto(
     String deviceInfo,
     String ipAddress,
     String userAgent,
+    @Nullable String browser,
+    @Nullable String os,
     LocalDateTime createdAt,
     Instant lastUsedAt,
     Instant expiresAt
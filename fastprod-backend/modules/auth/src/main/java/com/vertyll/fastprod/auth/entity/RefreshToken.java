@@ -21,6 +21,10 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
+/**
+ * Stored in a table range-partitioned by expiry month, so every unique key includes {@code expiryDate}
+ * and queries should filter on it to let Postgres skip partitions.
+ */
 @EqualsAndHashCode(callSuper = true)
 @Data
 @Builder
@@ -31,9 +35,7 @@ import lombok.NoArgsConstructor;
     name = "refresh_token",
     indexes = {
         @Index(name = "idx_refresh_token_user_id", columnList = "user_id"),
-        @Index(name = "idx_refresh_token_expiry_date", columnList = "expiry_date"),
-        @Index(name = "idx_refresh_token_is_revoked", columnList = "is_revoked"),
-        @Index(name = "idx_refresh_token_token", columnList = "token"),
+        @Index(name = "uk_refresh_token_token_expiry_date", columnList = "token, expiry_date", unique = true)
     }
 )
 public class RefreshToken extends BaseEntity {
@@ -41,7 +43,7 @@ public class RefreshToken extends BaseEntity {
     @Serial
     private static final long serialVersionUID = 1L;
 
-    @Column(nullable = false, unique = true, length = 500)
+    @Column(nullable = false, length = 500)
     private String token;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -63,6 +65,13 @@ public class RefreshToken extends BaseEntity {
     @Column(length = 500)
     private String userAgent;
 
+    // Classified from userAgent at creation, null for sessions created before the columns existed
+    @Column(length = 50)
+    private String browser;
+
+    @Column(length = 50)
+    private String os;
+
     @Column
     private Instant lastUsedAt;
 
@@ -32,12 +32,12 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(
     name = "verification_token",
+    // The unique index on live codes is partial (used = FALSE), which JPA cannot express; see V9
     indexes = {
-        @Index(name = "idx_verification_token_user_id", columnList = "user_id"),
+        @Index(name = "idx_verification_token_user_type_used", columnList = "user_id, token_type, used"),
         @Index(name = "idx_verification_token_expiry_date", columnList = "expiry_date"),
         @Index(name = "idx_verification_token_is_used", columnList = "is_used"),
-        @Index(name = "idx_verification_token_token_type", columnList = "token_type"),
-        @Index(name = "idx_verification_token_token", columnList = "token")
+        @Index(name = "idx_verification_token_token_type", columnList = "token_type")
     }
 )
 public class VerificationToken extends BaseEntity {
@@ -0,0 +1,26 @@
+package com.vertyll.fastprod.auth.event;
+
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
+import com.vertyll.fastprod.sharedinfrastructure.event.DomainEvent;
+
+/**
+ * Published when a session is opened ({@link ChangeType#CREATED}) or revoked
+ * ({@link ChangeType#DELETED}). Events are ordered per user rather than per session, so a
+ * "log out everywhere" is never overtaken by the login that followed it.
+ *
+ * @param userId owner of the session
+ * @param sessionId identifier of the session's refresh token
+ * @param change what happened to the session
+ */
+public record SessionChangedEvent(Long userId, Long sessionId, ChangeType change) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "user-sessions";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return userId;
+    }
+}
@@ -7,11 +7,11 @@ import com.vertyll.fastprod.auth.dto.AuthResponseDto;
 import com.vertyll.fastprod.auth.dto.RegisterRequestDto;
 import com.vertyll.fastprod.auth.dto.SessionInfoDto;
 import com.vertyll.fastprod.auth.dto.SessionResponseDto;
-import com.vertyll.fastprod.auth.util.UserAgentUtils;
+import com.vertyll.fastprod.auth.util.ParsedUserAgent;
 import com.vertyll.fastprod.sharedinfrastructure.mapper.MapStructConfig;
 import com.vertyll.fastprod.user.entity.User;
 
-@Mapper(config = MapStructConfig.class, imports = UserAgentUtils.class)
+@Mapper(config = MapStructConfig.class)
 public interface AuthMapper {
 
     @Mapping(target = "firstName", source = "firstName")
@@ -29,11 +29,11 @@ public interface AuthMapper {
     @Mapping(target = "deviceInfo", source = "info.deviceInfo")
     @Mapping(target = "ipAddress", source = "info.ipAddress")
     @Mapping(target = "userAgent", source = "info.userAgent")
-    @Mapping(target = "browser", expression = "java(UserAgentUtils.parseBrowser(info.userAgent()))")
-    @Mapping(target = "os", expression = "java(UserAgentUtils.parseOs(info.userAgent()))")
+    @Mapping(target = "browser", source = "agent.browser")
+    @Mapping(target = "os", source = "agent.os")
     @Mapping(target = "createdAt", source = "info.createdAt")
     @Mapping(target = "lastUsedAt", source = "info.lastUsedAt")
     @Mapping(target = "expiresAt", source = "info.expiresAt")
     @Mapping(target = "isCurrent", source = "isCurrent")
-    SessionResponseDto toSessionResponseDto(SessionInfoDto info, boolean isCurrent);
+    SessionResponseDto toSessionResponseDto(SessionInfoDto info, ParsedUserAgent agent, boolean isCurrent);
 }
@@ -9,33 +9,32 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.vertyll.fastprod.auth.dto.SessionInfoDto;
 import com.vertyll.fastprod.auth.entity.RefreshToken;
 import com.vertyll.fastprod.user.entity.User;
 
+/**
+ * The table is partitioned by expiry month. Every query bounds {@code expiryDate} from below so
+ * that partitions holding only expired tokens are pruned; expired rows are removed by dropping
+ * their partition rather than by deletes.
+ */
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    List<RefreshToken> findByUserAndRevokedFalseAndExpiryDateAfter(User user, Instant now);
 
-    List<RefreshToken> findByUserAndRevoked(User user, boolean revoked);
-
-    Optional<RefreshToken> findByUserEmailAndTokenAndRevoked(String email, String token, boolean isRevoked);
+    Optional<RefreshToken> findByUserEmailAndTokenAndRevokedFalseAndExpiryDateAfter(
+        String email,
+        String token,
+        Instant now
+    );
 
     @Modifying
     @Query(
-        "UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = CURRENT_TIMESTAMP WHERE rt.user = :user AND rt.revoked = false"
+        "UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = CURRENT_TIMESTAMP "
+            + "WHERE rt.user = :user AND rt.revoked = false AND rt.expiryDate > CURRENT_TIMESTAMP"
     )
     void revokeAllUserTokens(@Param("user") User user);
 
-    @Modifying
-    @Query(
-        "DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now OR (rt.revoked = true AND rt.revokedAt < :thirtyDaysAgo)"
-    )
-    int deleteAllExpiredTokens(@Param("now") Instant now, @Param("thirtyDaysAgo") Instant thirtyDaysAgo);
-
-    @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
-    void deleteAllExpiredTokens(@Param("now") Instant now);
-
     @Query(
         "SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user = :user AND rt.revoked = false AND rt.expiryDate > CURRENT_TIMESTAMP"
     )
@@ -45,4 +44,14 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
         "SELECT rt FROM RefreshToken rt WHERE rt.user = :user AND rt.ipAddress = :ipAddress AND rt.revoked = false AND rt.expiryDate > CURRENT_TIMESTAMP"
     )
     List<RefreshToken> findActiveSessionsByUserAndIp(@Param("user") User user, @Param("ipAddress") String ipAddress);
+
+    // Only the displayed columns, and expired tokens never leave the database
+    @Query(
+        "SELECT new com.vertyll.fastprod.auth.dto.SessionInfoDto("
+            + "rt.id, rt.deviceInfo, rt.ipAddress, rt.userAgent, rt.browser, rt.os, "
+            + "rt.createdAt, rt.lastUsedAt, rt.expiryDate) "
+            + "FROM RefreshToken rt WHERE rt.user.email = :email AND rt.revoked = false AND rt.expiryDate > :now "
+            + "ORDER BY rt.createdAt DESC"
+    )
+    List<SessionInfoDto> findActiveSessionsByEmail(@Param("email") String email, @Param("now") Instant now);
 }
@@ -3,16 +3,66 @@ package com.vertyll.fastprod.auth.repository;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.vertyll.fastprod.auth.entity.VerificationToken;
+import com.vertyll.fastprod.auth.enums.VerificationTokenType;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Long> {
-    Optional<VerificationToken> findByToken(String token);
+
+    /** Newest unused token of a user for one purpose, read through the (user_id, token_type, used) index. */
+    @Query(
+        "SELECT v FROM VerificationToken v "
+            + "WHERE v.user.id = :userId AND v.tokenType = :tokenType AND v.used = false "
+            + "ORDER BY v.createdAt DESC LIMIT 1"
+    )
+    Optional<VerificationToken> findLatestLive(
+        @Param("userId") Long userId,
+        @Param("tokenType") VerificationTokenType tokenType
+    );
+
+    /** Marks every unused token of a user for one purpose as used, so only the next one stays live. */
+    @Modifying
+    @Query(
+        "UPDATE VerificationToken v SET v.used = true "
+            + "WHERE v.user.id = :userId AND v.tokenType = :tokenType AND v.used = false"
+    )
+    int retireLive(@Param("userId") Long userId, @Param("tokenType") VerificationTokenType tokenType);
+
+    /** Resolves a live code with a single probe of the partial unique index on unused tokens. */
+    Optional<VerificationToken> findByTokenTypeAndTokenAndUsedFalse(VerificationTokenType tokenType, String token);
+
+    /**
+     * Inserts a token unless its code is already live for the same type. Losing the race for a
+     * code returns no id instead of failing the surrounding transaction, so the caller can retry
+     * with another code.
+     */
+    @Query(
+        value = """
+            INSERT INTO verification_token (token, user_id, expiry_date, used, token_type, additional_data,
+                                            created_at, updated_at, created_by, updated_by)
+            VALUES (:token, :userId, :expiryDate, FALSE, :tokenType, CAST(:additionalData AS TEXT),
+                    :now, :now, :auditor, :auditor)
+            ON CONFLICT (token_type, token) WHERE used = FALSE DO NOTHING
+            RETURNING id
+            """,
+        nativeQuery = true
+    )
+    Optional<Long> insertIfCodeFree(
+        @Param("token") String token,
+        @Param("userId") Long userId,
+        @Param("tokenType") String tokenType,
+        @Param("additionalData") @Nullable String additionalData,
+        @Param("expiryDate") LocalDateTime expiryDate,
+        @Param("now") LocalDateTime now,
+        @Param("auditor") String auditor
+    );
 
     @Modifying
-    @Query("DELETE FROM VerificationToken v WHERE v.expiryDate < :date AND v.used = :isUsed")
-    int deleteByExpiryDateBeforeAndIsUsed(LocalDateTime date, boolean isUsed);
+    @Query("DELETE FROM VerificationToken v WHERE v.expiryDate < :date")
+    int deleteByExpiryDateBefore(LocalDateTime date);
 }
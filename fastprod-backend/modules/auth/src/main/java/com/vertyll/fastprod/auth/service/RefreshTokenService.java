@@ -29,8 +29,5 @@ public interface RefreshTokenService {
     List<RefreshToken> getUserActiveSessions(User user);
 
     @Transactional
-    List<SessionInfoDto> getUserSessionDetails(User user);
-
-    @Transactional
-    void cleanupExpiredTokens();
+    List<SessionInfoDto> getUserSessionDetails(String email);
 }
@@ -8,6 +8,8 @@ import com.vertyll.fastprod.auth.service.AuthService;
 import com.vertyll.fastprod.auth.service.JwtService;
 import com.vertyll.fastprod.auth.service.RefreshTokenService;
 import com.vertyll.fastprod.auth.service.VerificationTokenService;
+import com.vertyll.fastprod.auth.util.ParsedUserAgent;
+import com.vertyll.fastprod.auth.util.UserAgentUtils;
 import com.vertyll.fastprod.sharedinfrastructure.config.CookieProperties;
 import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
@@ -175,12 +177,9 @@ class AuthServiceImpl implements AuthService {
     @Override
     @Transactional(readOnly = true)
     public List<SessionResponseDto> getUserActiveSessions(String email) {
-        User user = userService.findByEmailWithRoles(email)
-                .orElseThrow(() -> new ApiException(USER_NOT_FOUND_MESSAGE, HttpStatus.NOT_FOUND));
-
-        return refreshTokenService.getUserSessionDetails(user)
+        return refreshTokenService.getUserSessionDetails(email)
                 .stream()
-                .map(session -> authMapper.toSessionResponseDto(session, false))
+                .map(session -> authMapper.toSessionResponseDto(session, agentOf(session), false))
                 .toList();
     }
 
@@ -435,4 +434,14 @@ class AuthServiceImpl implements AuthService {
         claims.put("roles", roles);
         return claims;
     }
+
+    // Stored at creation; older sessions fall back to the cached classifier
+    private static ParsedUserAgent agentOf(SessionInfoDto session) {
+        String browser = session.browser();
+        String os = session.os();
+        if (browser != null && os != null) {
+            return new ParsedUserAgent(browser, os);
+        }
+        return UserAgentUtils.parse(session.userAgent());
+    }
 }
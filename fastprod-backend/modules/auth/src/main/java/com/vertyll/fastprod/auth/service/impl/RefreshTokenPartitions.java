@@ -0,0 +1,134 @@
+package com.vertyll.fastprod.auth.service.impl;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vertyll.fastprod.auth.config.RefreshTokenPartitionProperties;
+import com.vertyll.fastprod.auth.service.JwtService;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the monthly partitions of {@code refresh_token} in step with time. Partitions are created
+ * far enough ahead for the longest-lived token issued now, and a partition is dropped once its
+ * whole month lies in the past, which removes its expired tokens without deleting rows and leaves
+ * nothing for vacuum to clean up.
+ *
+ * <p>Each change runs in its own short transaction with a lock timeout, since attaching and
+ * dropping a partition locks the parent table; a change that times out is retried on the next run.
+ */
+@Component
+@Slf4j
+@SuppressFBWarnings(
+    value = "SQL_INJECTION_SPRING_JDBC",
+    justification = "Partition names and bounds are formatted from YearMonth values, never from input"
+)
+class RefreshTokenPartitions {
+
+    private static final String PARTITION_PREFIX = "refresh_token_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private static final String LIST_PARTITIONS = """
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname = 'refresh_token'
+        """;
+    // Bounds carry their offset, a bare date would be read in the session's time zone
+    private static final String CREATE_PARTITION =
+        "CREATE TABLE IF NOT EXISTS %s PARTITION OF refresh_token FOR VALUES FROM ('%s 00:00+00') TO ('%s 00:00+00')";
+    private static final String DROP_PARTITION = "DROP TABLE IF EXISTS %s";
+    private static final String SET_LOCK_TIMEOUT = "SELECT set_config('lock_timeout', ?, true)";
+
+    private final RefreshTokenPartitionProperties properties;
+    private final JwtService jwtService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    RefreshTokenPartitions(
+        RefreshTokenPartitionProperties properties,
+        JwtService jwtService,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.properties = properties;
+        this.jwtService = jwtService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Also on startup, so a deployment after a long pause never inserts into a missing partition
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.auth.refresh-token-partitions.cron:0 0 0 * * ?}")
+    void maintain() {
+        maintain(Instant.now());
+    }
+
+    void maintain(Instant now) {
+        YearMonth current = YearMonth.from(now.atOffset(ZoneOffset.UTC));
+        YearMonth last = YearMonth
+            .from(now.plusMillis(jwtService.getRefreshTokenExpirationTime()).atOffset(ZoneOffset.UTC))
+            .plusMonths(properties.monthsAhead());
+        Set<YearMonth> existing = existingPartitions();
+
+        for (YearMonth month = current; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!existing.contains(month)) {
+                apply(CREATE_PARTITION.formatted(name(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+            }
+        }
+
+        // A month before the current one ends no later than now, so every token in it has expired
+        for (YearMonth month : existing) {
+            if (month.isBefore(current)) {
+                apply(DROP_PARTITION.formatted(name(month)));
+            }
+        }
+    }
+
+    private Set<YearMonth> existingPartitions() {
+        Set<YearMonth> months = new TreeSet<>();
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+            if (!partition.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            try {
+                months.add(YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+            } catch (DateTimeParseException _) {
+                log.warn("Ignoring refresh_token partition {} with an unexpected name", partition);
+            }
+        }
+        return months;
+    }
+
+    private void apply(String ddl) {
+        try {
+            transactionTemplate.executeWithoutResult(_ -> {
+                jdbcTemplate.queryForObject(SET_LOCK_TIMEOUT, String.class, properties.lockTimeout().toMillis() + "ms");
+                jdbcTemplate.execute(ddl);
+            });
+            log.info("Applied refresh_token partition change: {}", ddl);
+        } catch (DataAccessException e) {
+            log.warn("Could not apply refresh_token partition change, retrying on the next run: {}", ddl, e);
+        }
+    }
+
+    private static String name(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
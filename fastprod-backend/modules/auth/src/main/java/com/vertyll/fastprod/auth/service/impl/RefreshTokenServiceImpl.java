@@ -1,10 +1,14 @@
 package com.vertyll.fastprod.auth.service.impl;
 
 import com.vertyll.fastprod.auth.dto.SessionInfoDto;
+import com.vertyll.fastprod.auth.event.SessionChangedEvent;
 import com.vertyll.fastprod.auth.entity.RefreshToken;
 import com.vertyll.fastprod.auth.repository.RefreshTokenRepository;
 import com.vertyll.fastprod.auth.service.JwtService;
 import com.vertyll.fastprod.auth.service.RefreshTokenService;
+import com.vertyll.fastprod.auth.util.ParsedUserAgent;
+import com.vertyll.fastprod.auth.util.UserAgentUtils;
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
 import com.vertyll.fastprod.sharedinfrastructure.util.HashUtil;
 import com.vertyll.fastprod.user.entity.User;
@@ -12,8 +16,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.google.common.base.Splitter;
@@ -41,6 +45,8 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtService jwtService;
     private final ObjectProvider<RefreshTokenService> selfProvider;
+    private final SessionActivityBuffer sessionActivityBuffer;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -49,6 +55,9 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
 
         String hashedToken = HashUtil.hashToken(tokenValue);
 
+        String userAgent = extractUserAgent(request);
+        ParsedUserAgent agent = UserAgentUtils.parse(userAgent);
+
         RefreshToken refreshToken = RefreshToken.builder()
                 .token(hashedToken)
                 .user(user)
@@ -56,11 +65,14 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
                 .revoked(false)
                 .deviceInfo(deviceInfo)
                 .ipAddress(extractIpAddress(request))
-                .userAgent(extractUserAgent(request))
+                .userAgent(userAgent)
+                .browser(agent.browser())
+                .os(agent.os())
                 .lastUsedAt(Instant.now())
                 .build();
 
-        refreshTokenRepository.save(refreshToken);
+        RefreshToken savedToken = refreshTokenRepository.save(refreshToken);
+        eventPublisher.publishEvent(new SessionChangedEvent(user.getId(), savedToken.getId(), ChangeType.CREATED));
 
         log.info("Created refresh token for user: {} from IP: {}",
                 user.getEmail(), refreshToken.getIpAddress());
@@ -71,9 +83,10 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
     /**
      * Validates a refresh token and returns the associated user if valid.
      * Compares the provided token with hashed tokens in database.
+     * The last-used time is buffered and written later, so validation itself does not write.
      */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public User validateRefreshToken(String token) {
         // Validate JWT signature and expiration
         if (!jwtService.isRefreshTokenValid(token)) {
@@ -94,9 +107,7 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
             throw new ApiException(INVALID_REFRESH_TOKEN_SIGNATURE, HttpStatus.UNAUTHORIZED);
         }
 
-        // Update last used timestamp
-        refreshToken.setLastUsedAt(Instant.now());
-        refreshTokenRepository.save(refreshToken);
+        sessionActivityBuffer.touch(refreshToken.getId(), Instant.now());
 
         return refreshToken.getUser();
     }
@@ -135,6 +146,8 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
             refreshToken.setRevoked(true);
             refreshToken.setRevokedAt(Instant.now());
             refreshTokenRepository.save(refreshToken);
+            eventPublisher.publishEvent(
+                    new SessionChangedEvent(refreshToken.getUser().getId(), refreshToken.getId(), ChangeType.DELETED));
 
             log.info("Revoked refresh token for user: {}", refreshToken.getUser().getEmail());
         } catch (ApiException e) {
@@ -148,12 +161,15 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     @Transactional
     public void revokeAllUserTokens(User user) {
-        List<RefreshToken> tokens = refreshTokenRepository.findByUserAndRevoked(user, false);
+        List<RefreshToken> tokens = refreshTokenRepository
+                .findByUserAndRevokedFalseAndExpiryDateAfter(user, Instant.now());
         tokens.forEach(token -> {
             token.setRevoked(true);
             token.setRevokedAt(Instant.now());
         });
         refreshTokenRepository.saveAll(tokens);
+        tokens.forEach(token -> eventPublisher.publishEvent(
+                new SessionChangedEvent(user.getId(), token.getId(), ChangeType.DELETED)));
 
         log.info("Revoked all refresh tokens for user: {} (count: {})",
                 user.getEmail(), tokens.size());
@@ -167,41 +183,32 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     @Transactional(readOnly = true)
     public List<RefreshToken> getUserActiveSessions(User user) {
-        return refreshTokenRepository.findByUserAndRevoked(user, false)
-                .stream()
-                .filter(token -> token.getExpiryDate().isAfter(Instant.now()))
-                .toList();
+        return refreshTokenRepository.findByUserAndRevokedFalseAndExpiryDateAfter(user, Instant.now());
     }
 
     /**
      * Gets session details including security information.
+     * Read as a projection filtered in the database, with the buffered last-used time on top.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<SessionInfoDto> getUserSessionDetails(User user) {
-        return selfProvider.getObject().getUserActiveSessions(user).stream()
-                .map(token -> SessionInfoDto.builder()
-                        .id(token.getId())
-                        .deviceInfo(token.getDeviceInfo())
-                        .ipAddress(token.getIpAddress())
-                        .userAgent(token.getUserAgent())
-                        .createdAt(token.getCreatedAt())
-                        .lastUsedAt(token.getLastUsedAt())
-                        .expiresAt(token.getExpiryDate())
+    public List<SessionInfoDto> getUserSessionDetails(String email) {
+        return refreshTokenRepository.findActiveSessionsByEmail(email, Instant.now())
+                .stream()
+                .map(session -> SessionInfoDto.builder()
+                        .id(session.id())
+                        .deviceInfo(session.deviceInfo())
+                        .ipAddress(session.ipAddress())
+                        .userAgent(session.userAgent())
+                        .browser(session.browser())
+                        .os(session.os())
+                        .createdAt(session.createdAt())
+                        .lastUsedAt(sessionActivityBuffer.lastUsedAt(session.id(), session.lastUsedAt()))
+                        .expiresAt(session.expiresAt())
                         .build())
                 .toList();
     }
 
-    /**
-     * Scheduled task to delete expired tokens.
-     */
-    @Override
-    @Scheduled(cron = "0 0 0 * * ?")
-    @Transactional
-    public void cleanupExpiredTokens() {
-        refreshTokenRepository.deleteAllExpiredTokens(Instant.now());
-    }
-
     @SuppressFBWarnings(
             value = "SERVLET_HEADER",
             justification = "IP address is used only for audit logging, not security decisions. " +
@@ -264,8 +271,7 @@ class RefreshTokenServiceImpl implements RefreshTokenService {
         String hashedToken = HashUtil.hashToken(token);
 
         return refreshTokenRepository
-                .findByUserEmailAndTokenAndRevoked(username, hashedToken, false)
-                .filter(rt -> rt.getExpiryDate().isAfter(Instant.now()))
+                .findByUserEmailAndTokenAndRevokedFalseAndExpiryDateAfter(username, hashedToken, Instant.now())
                 .orElseThrow(() -> {
                     log.warn("Refresh token not found in database for user: {}", username);
                     return new ApiException(REFRESH_TOKEN_NOT_FOUND, HttpStatus.UNAUTHORIZED);
@@ -0,0 +1,197 @@
+package com.vertyll.fastprod.auth.service.impl;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PreDestroy;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vertyll.fastprod.auth.config.SessionActivityProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer for the last-used time of refresh tokens. Touches are coalesced per token in
+ * memory and written in JDBC batches on a fixed delay, on shutdown, or as soon as the buffer
+ * fills up. A crash loses at most one flush interval of last-used times, which are only shown in
+ * the session list.
+ *
+ * <p>Writes never run on a request thread and always in a transaction of their own, so a flush
+ * neither joins, nor fails, nor holds row locks for the refresh that happened to fill the buffer.
+ *
+ * <p>The update bypasses the entity on purpose: it neither bumps the version nor the audit
+ * columns, so a flush never makes a concurrent revocation fail on optimistic locking.
+ */
+@Component
+@Slf4j
+class SessionActivityBuffer implements SchedulingConfigurer {
+
+    static final String PENDING_GAUGE = "fastprod.session.activity.pending";
+    static final String TOUCHES_COUNTER = "fastprod.session.activity.touches";
+    static final String WRITTEN_COUNTER = "fastprod.session.activity.written";
+    static final String FAILURES_COUNTER = "fastprod.session.activity.failures";
+    static final String FLUSH_TIMER = "fastprod.session.activity.flush";
+
+    // Never moves the time backwards, a flush may race with a write of the same row
+    private static final String UPDATE_LAST_USED_AT = """
+        UPDATE refresh_token SET last_used_at = ?
+        WHERE id = ? AND (last_used_at IS NULL OR last_used_at < ?)
+        """;
+
+    private final Map<Long, Instant> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(
+        Thread.ofVirtual().name("session-activity-flush").factory()
+    );
+
+    private final SessionActivityProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter touches;
+    private final Counter written;
+    private final Counter failures;
+    private final Timer flushTimer;
+
+    SessionActivityBuffer(
+        SessionActivityProperties properties,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder(PENDING_GAUGE, pending, Map::size)
+            .description("Sessions with a last-used time not yet written")
+            .register(meterRegistry);
+        this.touches = Counter.builder(TOUCHES_COUNTER)
+            .description("Refresh token uses recorded in the buffer")
+            .register(meterRegistry);
+        this.written = Counter.builder(WRITTEN_COUNTER)
+            .description("Last-used times written to the database")
+            .register(meterRegistry);
+        this.failures = Counter.builder(FAILURES_COUNTER)
+            .description("Flushes that failed and were kept for the next attempt")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder(FLUSH_TIMER)
+            .description("Time spent writing buffered last-used times")
+            .register(meterRegistry);
+    }
+
+    /** Records a use of the token; only the latest time per token is kept. */
+    void touch(Long tokenId, Instant usedAt) {
+        pending.merge(tokenId, usedAt, SessionActivityBuffer::latest);
+        touches.increment();
+        if (pending.size() >= properties.maxPending() && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    // Cleared first, so touches arriving during the flush can request the next one
+                    flushRequested.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException _) {
+                // Shutting down, the final flush writes what is pending
+            }
+        }
+    }
+
+    /** The buffered last-used time if it is newer than the stored one, so session lists stay current. */
+    @Nullable
+    Instant lastUsedAt(Long tokenId, @Nullable Instant stored) {
+        Instant buffered = pending.get(tokenId);
+        if (buffered == null) {
+            return stored;
+        }
+        return stored == null ? buffered : latest(stored, buffered);
+    }
+
+    // Registered here rather than with @Scheduled, so the interval comes from the bound properties
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::flush, properties.flushInterval());
+    }
+
+    void flush() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flusher.shutdown();
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("Lost the last-used time of {} sessions on shutdown", pending.size());
+        }
+    }
+
+    private void drain() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Entries are removed one by one, a touch arriving meanwhile is kept for the next flush
+        List<Map.Entry<Long, Instant>> batch = new ArrayList<>(pending.size());
+        for (Long tokenId : pending.keySet()) {
+            Instant usedAt = pending.remove(tokenId);
+            if (usedAt != null) {
+                batch.add(Map.entry(tokenId, usedAt));
+            }
+        }
+
+        try {
+            flushTimer.record(() -> write(batch));
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            failures.increment();
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), SessionActivityBuffer::latest));
+            log.warn("Could not write the last-used time of {} sessions, retrying later", batch.size(), e);
+        }
+    }
+
+    private void write(List<Map.Entry<Long, Instant>> batch) {
+        transactionTemplate.executeWithoutResult(_ -> jdbcTemplate.batchUpdate(
+            UPDATE_LAST_USED_AT,
+            batch,
+            properties.batchSize(),
+            (statement, entry) -> {
+                // Bound like Hibernate binds an Instant, so both writers store the same wall-clock value
+                statement.setObject(1, entry.getValue().atOffset(ZoneOffset.UTC));
+                statement.setLong(2, entry.getKey());
+                statement.setObject(3, entry.getValue().atOffset(ZoneOffset.UTC));
+            }
+        ));
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
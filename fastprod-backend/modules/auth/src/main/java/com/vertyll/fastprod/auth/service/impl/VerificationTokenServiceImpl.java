@@ -1,5 +1,6 @@
 package com.vertyll.fastprod.auth.service.impl;
 
+import com.vertyll.fastprod.auth.config.VerificationCodeProperties;
 import com.vertyll.fastprod.auth.entity.VerificationToken;
 import com.vertyll.fastprod.auth.enums.VerificationTokenType;
 import com.vertyll.fastprod.auth.repository.VerificationTokenRepository;
@@ -8,6 +9,9 @@ import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
 import com.vertyll.fastprod.user.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -16,6 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
 
 @Service
@@ -24,60 +30,89 @@ import java.util.Random;
 class VerificationTokenServiceImpl implements VerificationTokenService {
 
     private static final Random RANDOM = new SecureRandom();
+    private static final String SYSTEM_ACCOUNT = "SYSTEM";
+
+    // A 6-digit code leaves 900 000 codes per type, so a free one is found within a few tries
+    private static final int MAX_CODE_ATTEMPTS = 10;
 
     private static final String INVALID_VERIFICATION_CODE = "Invalid verification code";
-    private static final String VERIFICATION_CODE_ALREADY_USED = "Verification code already used";
     private static final String VERIFICATION_CODE_EXPIRED = "Verification code expired";
-    private static final String INVALID_VERIFICATION_CODE_TYPE = "Invalid verification code type";
+    private static final String VERIFICATION_CODE_UNAVAILABLE = "Could not issue a verification code, try again later";
 
     private final VerificationTokenRepository verificationTokenRepository;
+    private final AuditorAware<String> auditorAware;
+    private final VerificationCodeProperties verificationCodeProperties;
 
     /**
-     * Creates a verification token for a user.
+     * Creates a verification token for a user. A token issued for the same purpose and data within
+     * the reuse window is extended and its code sent again; otherwise the user's live tokens of that
+     * type are retired, so each user keeps at most one. A new code is unique among the unused
+     * tokens of its type; a taken code is detected by the insert itself and another one is drawn.
+     *
+     * <p>Expiry dates are kept in UTC, while created_at follows the clock JPA auditing stamps it
+     * with, so the reuse window is measured on that clock.
      */
     @Override
     @Transactional
-    public String createVerificationToken(User user, VerificationTokenType tokenType, String additionalData) {
-        String code = generateVerificationCode();
-
-        VerificationToken verificationToken = VerificationToken.builder()
-                .token(code)
-                .user(user)
-                .expiryDate(LocalDateTime.now(ZoneOffset.UTC).plusHours(24))
-                .used(false)
-                .tokenType(tokenType)
-                .additionalData(additionalData)
-                .build();
-
-        verificationTokenRepository.save(verificationToken);
+    public String createVerificationToken(
+            User user,
+            VerificationTokenType tokenType,
+            @Nullable String additionalData
+    ) {
+        LocalDateTime expiryDate = LocalDateTime.now(ZoneOffset.UTC).plus(verificationCodeProperties.ttl());
+        LocalDateTime createdAt = auditingNow();
+
+        Optional<VerificationToken> live = verificationTokenRepository.findLatestLive(user.getId(), tokenType);
+        if (live.isPresent()) {
+            VerificationToken token = live.get();
+            if (isReusable(token, additionalData, createdAt)) {
+                token.setExpiryDate(expiryDate);
+                log.info("Reusing verification token for user: {} with type: {}", user.getEmail(), tokenType);
+                return token.getToken();
+            }
+            verificationTokenRepository.retireLive(user.getId(), tokenType);
+        }
 
-        log.info("Created verification token for user: {} with type: {}",
-                user.getEmail(), tokenType);
+        String auditor = auditorAware.getCurrentAuditor().orElse(SYSTEM_ACCOUNT);
+
+        for (int attempt = 1; attempt <= MAX_CODE_ATTEMPTS; attempt++) {
+            String code = generateVerificationCode();
+            boolean inserted = verificationTokenRepository.insertIfCodeFree(
+                    code,
+                    user.getId(),
+                    tokenType.name(),
+                    additionalData,
+                    expiryDate,
+                    createdAt,
+                    auditor
+            ).isPresent();
+
+            if (inserted) {
+                log.info("Created verification token for user: {} with type: {}",
+                        user.getEmail(), tokenType);
+                return code;
+            }
+            log.debug("Verification code collision for type {} on attempt {}", tokenType, attempt);
+        }
 
-        return code;
+        log.error("No free verification code for type {} after {} attempts", tokenType, MAX_CODE_ATTEMPTS);
+        throw new ApiException(VERIFICATION_CODE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
     /**
-     * Validates and retrieves a verification token.
+     * Validates and retrieves a verification token. Only unused tokens of the expected type are
+     * looked up, so a used code and a code issued for another purpose are both reported as invalid.
      */
     @Override
     @Transactional(readOnly = true)
     public VerificationToken getValidToken(String code, VerificationTokenType expectedType) {
-        VerificationToken token = verificationTokenRepository.findByToken(code)
+        VerificationToken token = verificationTokenRepository.findByTokenTypeAndTokenAndUsedFalse(expectedType, code)
                 .orElseThrow(() -> new ApiException(INVALID_VERIFICATION_CODE, HttpStatus.BAD_REQUEST));
 
-        if (token.isUsed()) {
-            throw new ApiException(VERIFICATION_CODE_ALREADY_USED, HttpStatus.BAD_REQUEST);
-        }
-
         if (token.getExpiryDate().isBefore(LocalDateTime.now(ZoneOffset.UTC))) {
             throw new ApiException(VERIFICATION_CODE_EXPIRED, HttpStatus.BAD_REQUEST);
         }
 
-        if (token.getTokenType() != expectedType) {
-            throw new ApiException(INVALID_VERIFICATION_CODE_TYPE, HttpStatus.BAD_REQUEST);
-        }
-
         return token;
     }
 
@@ -94,16 +129,29 @@ class VerificationTokenServiceImpl implements VerificationTokenService {
     }
 
     /**
-     * Scheduled task to delete expired tokens.
+     * Scheduled task to delete expired tokens. Unused ones are deleted as well, since they can no
+     * longer be redeemed but still hold their code.
      */
     @Override
     @Scheduled(cron = "0 0 2 * * ?") // 2 AM daily
     @Transactional
     public void cleanupExpiredTokens() {
-        int deleted = verificationTokenRepository.deleteByExpiryDateBeforeAndIsUsed(LocalDateTime.now(ZoneOffset.UTC), true);
+        int deleted = verificationTokenRepository.deleteByExpiryDateBefore(LocalDateTime.now(ZoneOffset.UTC));
         log.info("Cleaned up {} expired verification tokens", deleted);
     }
 
+    // Data must match, a code sent for one new email address must not confirm another one
+    private boolean isReusable(VerificationToken token, @Nullable String additionalData, LocalDateTime createdAt) {
+        return token.getExpiryDate().isAfter(LocalDateTime.now(ZoneOffset.UTC))
+                && token.getCreatedAt().isAfter(createdAt.minus(verificationCodeProperties.reuseWindow()))
+                && Objects.equals(token.getAdditionalData(), additionalData);
+    }
+
+    // The default provider of @EnableJpaAuditing, i.e. the local time of the JVM's zone
+    private static LocalDateTime auditingNow() {
+        return LocalDateTime.from(CurrentDateTimeProvider.INSTANCE.getNow().orElseThrow());
+    }
+
     private String generateVerificationCode() {
         int code = 100000 + RANDOM.nextInt(900000);
         return String.valueOf(code);
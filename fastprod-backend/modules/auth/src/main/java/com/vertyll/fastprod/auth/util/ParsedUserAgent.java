@@ -0,0 +1,5 @@
+package com.vertyll.fastprod.auth.util;
+
+/** Browser and operating system shown for a session, as classified by {@link UserAgentUtils}. */
+public record ParsedUserAgent(String browser, String os) {
+}
@@ -1,51 +1,202 @@
 package com.vertyll.fastprod.auth.util;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import org.jspecify.annotations.Nullable;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Classifies user agents into the browser and operating system shown in the session list. All
+ * known product tokens are found in a single pass over the string; when several match, the most
+ * specific one wins, since Edge and Opera also announce Chrome, Chrome also announces Safari, iOS
+ * announces "like Mac OS X" and Android announces Linux. Results are cached per distinct string.
+ */
 public final class UserAgentUtils {
 
-    private static final String CHROME = "Chrome";
-    private static final String FIREFOX = "Firefox";
-    private static final String SAFARI = "Safari";
-    private static final String EDGE = "Edge";
-    private static final String OPERA = "Opera";
     private static final String UNKNOWN = "unknown";
-    private static final String WINDOWS = "Windows";
-    private static final String MAC = "Mac";
-    private static final String LINUX = "Linux";
-    private static final String ANDROID = "Android";
-    private static final String I_OS = "iOS";
-    private static final String I_PHONE = "iPhone";
-    private static final String I_PAD = "iPad";
+    private static final ParsedUserAgent UNKNOWN_AGENT = new ParsedUserAgent(UNKNOWN, UNKNOWN);
+    private static final int MAX_CACHED_AGENTS = 4096;
+
+    // Label followed by its tokens, most specific first
+    private static final String[][] BROWSERS = {
+        {
+            "Edge", "Edg/", "Edge/", "EdgA/", "EdgiOS/"
+        },
+        {
+            "Opera", "OPR/", "Opera"
+        },
+        {
+            "Firefox", "Firefox", "FxiOS"
+        },
+        {
+            "Chrome", "Chrome", "CriOS"
+        },
+        {
+            "Safari", "Safari"
+        }
+    };
+    private static final String[][] OPERATING_SYSTEMS = {
+        {
+            "iOS", "iPhone", "iPad", "iPod", "iOS"
+        },
+        {
+            "Android", "Android"
+        },
+        {
+            "Windows", "Windows"
+        },
+        {
+            "macOS", "Mac"
+        },
+        {
+            "Linux", "Linux"
+        }
+    };
+
+    // Browsers take the low bits of a match mask and operating systems the bits from OS_SHIFT up
+    private static final int OS_SHIFT = 16;
+    private static final int BROWSER_MASK = (1 << OS_SHIFT) - 1;
+
+    private static final TokenMatcher MATCHER = new TokenMatcher(tokens());
+    private static final LoadingCache<String, ParsedUserAgent> CACHE = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_AGENTS)
+        .build(CacheLoader.from(UserAgentUtils::classify));
 
     private UserAgentUtils() {
     }
 
-    public static String parseBrowser(String userAgent) {
-        String ua = userAgent != null ? userAgent : UNKNOWN;
-        if (ua.contains(CHROME))
-            return CHROME;
-        if (ua.contains(FIREFOX))
-            return FIREFOX;
-        if (ua.contains(SAFARI))
-            return SAFARI;
-        if (ua.contains(EDGE))
-            return EDGE;
-        if (ua.contains(OPERA) || ua.contains("OPR"))
-            return OPERA;
-        return UNKNOWN;
-    }
-
-    public static String parseOs(String userAgent) {
-        String ua = userAgent != null ? userAgent : UNKNOWN;
-        if (ua.contains(WINDOWS))
-            return WINDOWS;
-        if (ua.contains(MAC))
-            return "macOS";
-        if (ua.contains(LINUX))
-            return LINUX;
-        if (ua.contains(ANDROID))
-            return ANDROID;
-        if (ua.contains(I_OS) || ua.contains(I_PHONE) || ua.contains(I_PAD))
-            return I_OS;
-        return UNKNOWN;
+    public static ParsedUserAgent parse(@Nullable String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return UNKNOWN_AGENT;
+        }
+        return CACHE.getUnchecked(userAgent);
+    }
+
+    public static String parseBrowser(@Nullable String userAgent) {
+        return parse(userAgent).browser();
+    }
+
+    public static String parseOs(@Nullable String userAgent) {
+        return parse(userAgent).os();
+    }
+
+    static ParsedUserAgent classify(String userAgent) {
+        int matched = MATCHER.scan(userAgent);
+        return new ParsedUserAgent(
+            label(BROWSERS, matched & BROWSER_MASK),
+            label(OPERATING_SYSTEMS, matched >>> OS_SHIFT)
+        );
+    }
+
+    private static String label(String[][] groups, int matched) {
+        return matched == 0 ? UNKNOWN : groups[Integer.numberOfTrailingZeros(matched)][0];
+    }
+
+    private static Map<String, Integer> tokens() {
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        addTokens(tokens, BROWSERS, 0);
+        addTokens(tokens, OPERATING_SYSTEMS, OS_SHIFT);
+        return tokens;
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String[][] groups, int shift) {
+        for (int group = 0; group < groups.length; group++) {
+            for (int i = 1; i < groups[group].length; i++) {
+                tokens.merge(groups[group][i], 1 << (shift + group), (a, b) -> a | b);
+            }
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton over ASCII tokens, compiled into a full transition table so scanning
+     * costs one array lookup per character. Each state holds the mask of every token ending there,
+     * including tokens that are suffixes of the path to it.
+     */
+    private static final class TokenMatcher {
+
+        private static final int ALPHABET = 128;
+
+        private final int[][] transitions;
+        private final int[] matches;
+
+        TokenMatcher(Map<String, Integer> tokens) {
+            List<int[]> rows = new ArrayList<>();
+            List<Integer> masks = new ArrayList<>();
+            rows.add(emptyRow());
+            masks.add(0);
+
+            tokens.forEach((token, mask) -> {
+                int state = 0;
+                for (char c : token.toCharArray()) {
+                    if (c >= ALPHABET) {
+                        throw new IllegalArgumentException("Non-ASCII user agent token: " + token);
+                    }
+                    if (rows.get(state)[c] < 0) {
+                        rows.get(state)[c] = rows.size();
+                        rows.add(emptyRow());
+                        masks.add(0);
+                    }
+                    state = rows.get(state)[c];
+                }
+                masks.set(state, masks.get(state) | mask);
+            });
+
+            transitions = rows.toArray(int[][]::new);
+            matches = masks.stream().mapToInt(Integer::intValue).toArray();
+            link();
+        }
+
+        int scan(String text) {
+            int state = 0;
+            int matched = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                state = c < ALPHABET ? transitions[state][c] : 0;
+                matched |= matches[state];
+            }
+            return matched;
+        }
+
+        // Breadth-first, so the failure state of every state is complete before it is used
+        private void link() {
+            int[] failure = new int[transitions.length];
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int c = 0; c < ALPHABET; c++) {
+                if (transitions[0][c] < 0) {
+                    transitions[0][c] = 0;
+                } else {
+                    queue.add(transitions[0][c]);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                matches[state] |= matches[failure[state]];
+                for (int c = 0; c < ALPHABET; c++) {
+                    int fallback = transitions[failure[state]][c];
+                    if (transitions[state][c] < 0) {
+                        transitions[state][c] = fallback;
+                    } else {
+                        failure[transitions[state][c]] = fallback;
+                        queue.add(transitions[state][c]);
+                    }
+                }
+            }
+        }
+
+        private static int[] emptyRow() {
+            int[] row = new int[ALPHABET];
+            Arrays.fill(row, -1);
+            return row;
+        }
     }
 }
@@ -455,6 +455,32 @@ class AuthServiceTest {
         assertEquals("new-access-token", response.token());
     }
 
+    @Test
+    void refreshToken_ShouldOnlyValidateAndRotateToken() {
+        // given
+        setupCookieProperties();
+        when(httpServletRequest.getCookies()).thenReturn(
+            new Cookie[] {
+                new Cookie("refresh_token", "valid-refresh-token")
+            }
+        );
+        when(jwtService.getRefreshTokenCookieName()).thenReturn("refresh_token");
+        when(refreshTokenService.validateRefreshToken("valid-refresh-token")).thenReturn(user);
+        when(jwtService.generateToken(anyMap(), any(User.class))).thenReturn("new-access-token");
+        when(refreshTokenService.rotateRefreshToken(anyString(), any(), any(HttpServletRequest.class)))
+            .thenReturn("new-refresh-token");
+
+        // when
+        authService.refreshToken(httpServletRequest, httpServletResponse);
+
+        // then
+        // One lookup of the presented token and one rotation; the user comes with the token
+        verify(refreshTokenService, times(1)).validateRefreshToken("valid-refresh-token");
+        verify(refreshTokenService, times(1)).rotateRefreshToken(eq("valid-refresh-token"), isNull(), eq(httpServletRequest));
+        verifyNoMoreInteractions(refreshTokenService);
+        verifyNoInteractions(userService, roleService, verificationTokenService);
+    }
+
     @Test
     void refreshToken_WhenNoRefreshToken_ShouldThrowException() {
         // given
@@ -664,6 +690,31 @@ class AuthServiceTest {
         assertEquals("encodedNewPassword", updatedUser.getPassword());
     }
 
+    @Test
+    void getUserActiveSessions_ShouldMapProjectedSessionsWithoutLoadingTheUser() {
+        // given
+        String chrome = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/126.0 Safari/537.36";
+        LocalDateTime createdAt = LocalDateTime.now(ZoneOffset.UTC);
+        when(refreshTokenService.getUserSessionDetails("john@example.com")).thenReturn(
+            List.of(
+                new SessionInfoDto(1L, "laptop", "10.0.0.1", chrome, null, null, createdAt, null, null),
+                new SessionInfoDto(2L, "desktop", "10.0.0.2", chrome, "Edge", "Windows", createdAt, null, null)
+            )
+        );
+
+        // when
+        List<SessionResponseDto> sessions = authService.getUserActiveSessions("john@example.com");
+
+        // then
+        assertEquals(2, sessions.size());
+        assertEquals("Chrome", sessions.get(0).browser());
+        assertEquals("Windows", sessions.get(0).os());
+        // Stored classification is used as is
+        assertEquals("Edge", sessions.get(1).browser());
+        assertFalse(sessions.get(0).isCurrent());
+        verifyNoInteractions(userService);
+    }
+
     private void setupSecurityContext() {
         when(authentication.getName()).thenReturn("john@example.com");
         when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -0,0 +1,138 @@
+package com.vertyll.fastprod.auth.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.vertyll.fastprod.auth.config.RefreshTokenPartitionProperties;
+import com.vertyll.fastprod.auth.service.JwtService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPartitionsTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T12:00:00Z");
+    private static final long THIRTY_DAYS = Duration.ofDays(30).toMillis();
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<String> ddlCaptor;
+
+    private RefreshTokenPartitions partitions;
+
+    @BeforeEach
+    void setUp() {
+        partitions = new RefreshTokenPartitions(
+            new RefreshTokenPartitionProperties("0 0 0 * * ?", 2, Duration.ofSeconds(5)),
+            jwtService,
+            jdbcTemplate,
+            transactionManager
+        );
+        when(jwtService.getRefreshTokenExpirationTime()).thenReturn(THIRTY_DAYS);
+    }
+
+    @Test
+    void maintain_ShouldCreateMissingPartitionsUpToTheHorizon() {
+        // given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("refresh_token_p2026_10", "refresh_token_p2026_11"));
+
+        // when
+        partitions.maintain(NOW);
+
+        // then
+        verify(jdbcTemplate, times(2)).execute(ddlCaptor.capture());
+        assertEquals(
+            List.of(
+                "CREATE TABLE IF NOT EXISTS refresh_token_p2026_12 PARTITION OF refresh_token "
+                    + "FOR VALUES FROM ('2026-12-01 00:00+00') TO ('2027-01-01 00:00+00')",
+                "CREATE TABLE IF NOT EXISTS refresh_token_p2027_01 PARTITION OF refresh_token "
+                    + "FOR VALUES FROM ('2027-01-01 00:00+00') TO ('2027-02-01 00:00+00')"
+            ),
+            ddlCaptor.getAllValues()
+        );
+    }
+
+    @Test
+    void maintain_ShouldDropOnlyPartitionsOfPastMonths() {
+        // given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+            "refresh_token_p2026_08",
+            "refresh_token_p2026_09",
+            "refresh_token_p2026_10",
+            "refresh_token_p2026_11",
+            "refresh_token_p2026_12",
+            "refresh_token_p2027_01"
+        ));
+
+        // when
+        partitions.maintain(NOW);
+
+        // then
+        verify(jdbcTemplate, times(2)).execute(ddlCaptor.capture());
+        assertEquals(
+            List.of("DROP TABLE IF EXISTS refresh_token_p2026_08", "DROP TABLE IF EXISTS refresh_token_p2026_09"),
+            ddlCaptor.getAllValues()
+        );
+    }
+
+    @Test
+    void maintain_ShouldIgnoreTablesWithUnexpectedNames() {
+        // given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+            "refresh_token_archive",
+            "refresh_token_pending",
+            "refresh_token_p2026_10",
+            "refresh_token_p2026_11",
+            "refresh_token_p2026_12",
+            "refresh_token_p2027_01"
+        ));
+
+        // when
+        partitions.maintain(NOW);
+
+        // then
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void maintain_WhenAChangeTimesOut_ShouldContinueWithTheRest() {
+        // given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("refresh_token_p2026_09", "refresh_token_p2026_10", "refresh_token_p2026_11"));
+        doThrow(new CannotAcquireLockException("lock timeout"))
+            .doNothing()
+            .when(jdbcTemplate)
+            .execute(anyString());
+
+        // when
+        partitions.maintain(NOW);
+
+        // then
+        verify(jdbcTemplate, times(3)).execute(ddlCaptor.capture());
+        assertEquals("DROP TABLE IF EXISTS refresh_token_p2026_09", ddlCaptor.getAllValues().get(2));
+    }
+}
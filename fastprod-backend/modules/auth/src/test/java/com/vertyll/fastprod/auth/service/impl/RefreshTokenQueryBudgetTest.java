@@ -0,0 +1,228 @@
+package com.vertyll.fastprod.auth.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.function.Function;
+
+import jakarta.servlet.http.Cookie;
+
+import org.hibernate.Interceptor;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.vertyll.fastprod.auth.dto.AuthResponseDto;
+import com.vertyll.fastprod.auth.entity.RefreshToken;
+import com.vertyll.fastprod.auth.mapper.AuthMapper;
+import com.vertyll.fastprod.auth.repository.RefreshTokenRepository;
+import com.vertyll.fastprod.auth.service.JwtService;
+import com.vertyll.fastprod.auth.service.RefreshTokenService;
+import com.vertyll.fastprod.auth.service.VerificationTokenService;
+import com.vertyll.fastprod.email.service.EmailService;
+import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.role.service.RoleService;
+import com.vertyll.fastprod.sharedinfrastructure.config.CookieProperties;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryBudgetExceededException;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryGuardConfig;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryGuardProperties;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryInspector;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryScope;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryTracker;
+import com.vertyll.fastprod.sharedinfrastructure.util.HashUtil;
+import com.vertyll.fastprod.user.entity.User;
+import com.vertyll.fastprod.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs {@link AuthServiceImpl#refreshToken} with the real {@link RefreshTokenServiceImpl} against
+ * Hibernate on H2 with the query guard in strict mode, so the budget of the refresh endpoint is
+ * checked against the statements it really issues.
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenQueryBudgetTest {
+
+    // The token lookup, the user and its roles for the access token, the lookups repeated by
+    // rotation's validation and revocation, the new token and the revocation of the old one
+    private static final int REFRESH_TOKEN_BUDGET = 7;
+    private static final String EMAIL = "john@example.com";
+    private static final String REFRESH_TOKEN = "valid-refresh-token";
+    private static final String COOKIE_NAME = "refresh_token";
+    private static final long REFRESH_TOKEN_EXPIRATION = Duration.ofDays(30).toMillis();
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private ObjectProvider<RefreshTokenService> selfProvider;
+
+    @Mock
+    private SessionActivityBuffer sessionActivityBuffer;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        new QueryGuardConfig(new QueryGuardProperties(true, null, null));
+        registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:refresh-token-budget;DB_CLOSE_DELAY=-1")
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            // Budgets hold for a cold cache, the worst case of every request
+            .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+            .applySetting(AvailableSettings.STATEMENT_INSPECTOR, QueryInspector.class.getName())
+            .applySetting(AvailableSettings.INTERCEPTOR, new AuditingInterceptor())
+            .build();
+        sessionFactory = new MetadataSources(registry)
+            .addAnnotatedClass(Role.class)
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(RefreshToken.class)
+            .buildMetadata()
+            .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            Role employee = Role.builder().name(RoleType.EMPLOYEE).description("Employee").active(true).build();
+            session.persist(employee);
+            User user = User.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email(EMAIL)
+                .password("encodedPassword")
+                .roles(Set.of(employee))
+                .verified(true)
+                .active(true)
+                .build();
+            session.persist(user);
+            session.persist(RefreshToken.builder()
+                .token(HashUtil.hashToken(REFRESH_TOKEN))
+                .user(user)
+                .expiryDate(Instant.now().plus(Duration.ofDays(1)))
+                .lastUsedAt(Instant.now())
+                .build());
+        });
+
+        when(jwtService.getRefreshTokenCookieName()).thenReturn(COOKIE_NAME);
+        when(jwtService.getRefreshTokenExpirationTime()).thenReturn(REFRESH_TOKEN_EXPIRATION);
+        when(jwtService.isRefreshTokenValid(REFRESH_TOKEN)).thenReturn(true);
+        when(jwtService.extractUsernameFromRefreshToken(REFRESH_TOKEN)).thenReturn(EMAIL);
+        when(jwtService.validateRefreshToken(eq(REFRESH_TOKEN), any(User.class))).thenReturn(true);
+        when(jwtService.generateToken(anyMap(), any(User.class))).thenReturn("new-access-token");
+        when(jwtService.generateRefreshToken(any(User.class))).thenReturn("new-refresh-token");
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+        new QueryGuardConfig(new QueryGuardProperties(null, null, null));
+    }
+
+    @Test
+    void refreshToken_ShouldStayWithinQueryBudget() {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        AuthResponseDto result;
+        try (QueryScope _ = QueryTracker.open("refreshToken", REFRESH_TOKEN_BUDGET)) {
+            result = inTransaction(authService -> authService.refreshToken(request(), response));
+        }
+
+        // then
+        assertEquals("new-access-token", result.token());
+        assertTrue(response.getHeader("Set-Cookie").startsWith(COOKIE_NAME + "=new-refresh-token"));
+        sessionFactory.inSession(session -> assertEquals(
+            1L,
+            session.createQuery("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.revoked = false", Long.class)
+                .getSingleResult()
+        ));
+    }
+
+    @Test
+    void refreshToken_WhenOverQueryBudget_ShouldThrowException() {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when & then
+        assertThrows(QueryBudgetExceededException.class, () -> {
+            try (QueryScope _ = QueryTracker.open("refreshToken", REFRESH_TOKEN_BUDGET - 1)) {
+                inTransaction(authService -> authService.refreshToken(request(), response));
+            }
+        });
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(COOKIE_NAME, REFRESH_TOKEN));
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) Firefox/130.0");
+        return request;
+    }
+
+    private <T> T inTransaction(Function<AuthServiceImpl, T> call) {
+        return sessionFactory.fromTransaction(session -> {
+            RefreshTokenServiceImpl refreshTokenService = new RefreshTokenServiceImpl(
+                new JpaRepositoryFactory(session).getRepository(RefreshTokenRepository.class),
+                jwtService,
+                selfProvider,
+                sessionActivityBuffer,
+                mock(ApplicationEventPublisher.class)
+            );
+            when(selfProvider.getObject()).thenReturn(refreshTokenService);
+
+            return call.apply(new AuthServiceImpl(
+                mock(UserService.class),
+                mock(VerificationTokenService.class),
+                mock(RoleService.class),
+                mock(PasswordEncoder.class),
+                jwtService,
+                refreshTokenService,
+                mock(AuthenticationManager.class),
+                mock(EmailService.class),
+                new CookieProperties(null, null, null, null),
+                Mappers.getMapper(AuthMapper.class)
+            ));
+        });
+    }
+
+    /** Fills the audit columns that Spring's auditing listener would set inside an application context. */
+    private static final class AuditingInterceptor implements Interceptor {
+
+        @Override
+        public boolean onPersist(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < propertyNames.length; i++) {
+                switch (propertyNames[i]) {
+                    case "createdAt", "updatedAt" -> state[i] = now;
+                    case "createdBy", "updatedBy" -> state[i] = "test";
+                    default -> {
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
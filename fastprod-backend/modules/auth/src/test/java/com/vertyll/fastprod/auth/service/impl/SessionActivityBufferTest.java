@@ -0,0 +1,203 @@
+package com.vertyll.fastprod.auth.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vertyll.fastprod.auth.config.SessionActivityProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionActivityBufferTest {
+
+    private static final Instant EARLIER = Instant.parse("2026-01-01T10:00:00Z");
+    private static final Instant LATER = Instant.parse("2026-01-01T10:00:30Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<Collection<Map.Entry<Long, Instant>>> batchCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionActivityBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = newBuffer(100);
+    }
+
+    @Test
+    void flush_ShouldWriteOnlyTheLatestUsePerToken() {
+        // given
+        buffer.touch(1L, EARLIER);
+        buffer.touch(1L, LATER);
+        buffer.touch(2L, EARLIER);
+
+        // when
+        buffer.flush();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(anyString(), batchCaptor.capture(), eq(500), any());
+        assertEquals(Map.of(1L, LATER, 2L, EARLIER), written());
+        assertEquals(3, meterRegistry.get(SessionActivityBuffer.TOUCHES_COUNTER).counter().count());
+        assertEquals(2, meterRegistry.get(SessionActivityBuffer.WRITTEN_COUNTER).counter().count());
+        assertEquals(0, meterRegistry.get(SessionActivityBuffer.PENDING_GAUGE).gauge().value());
+    }
+
+    @Test
+    void flush_WhenNothingBuffered_ShouldNotTouchTheDatabase() {
+        // when
+        buffer.flush();
+
+        // then
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldKeepUsesForTheNextFlush() {
+        // given
+        buffer.touch(1L, LATER);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"))
+            .thenReturn(new int[0][]);
+
+        // when
+        buffer.flush();
+        buffer.touch(1L, EARLIER);
+
+        // then
+        assertEquals(1, meterRegistry.get(SessionActivityBuffer.FAILURES_COUNTER).counter().count());
+        assertEquals(LATER, buffer.lastUsedAt(1L, null));
+
+        buffer.flush();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batchCaptor.capture(), anyInt(), any());
+        assertEquals(Map.of(1L, LATER), written());
+    }
+
+    @Test
+    void touch_WhenBufferIsFull_ShouldFlushWithoutWaitingForTheInterval() {
+        // given
+        buffer = newBuffer(2);
+        buffer.touch(1L, EARLIER);
+
+        // when
+        buffer.touch(2L, EARLIER);
+
+        // then
+        verify(jdbcTemplate, timeout(5000)).batchUpdate(anyString(), batchCaptor.capture(), anyInt(), any());
+        assertEquals(2, batchCaptor.getValue().size());
+    }
+
+    @Test
+    void touch_WhenBufferFillsInATransactionThatRollsBack_ShouldStillWriteTheBatch() throws Exception {
+        // given
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:session-activity;DB_CLOSE_DELAY=-1"
+        );
+        JdbcTemplate database = new JdbcTemplate(dataSource);
+        database.execute("CREATE TABLE refresh_token (id BIGINT PRIMARY KEY, last_used_at TIMESTAMP WITH TIME ZONE)");
+        database.update("INSERT INTO refresh_token (id) VALUES (1), (2)");
+        DataSourceTransactionManager transactions = new DataSourceTransactionManager(dataSource);
+        buffer = new SessionActivityBuffer(
+            new SessionActivityProperties(Duration.ofSeconds(5), 2, 500),
+            database,
+            transactions,
+            meterRegistry
+        );
+
+        // when
+        new TransactionTemplate(transactions).executeWithoutResult(status -> {
+            buffer.touch(1L, LATER);
+            buffer.touch(2L, LATER);
+            status.setRollbackOnly();
+        });
+
+        // then
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String written = "SELECT COUNT(*) FROM refresh_token WHERE last_used_at IS NOT NULL";
+        while (database.queryForObject(written, Integer.class) < 2) {
+            if (System.nanoTime() > deadline) {
+                fail("Buffered last-used times were not written");
+            }
+            Thread.sleep(20);
+        }
+        database.execute("DROP TABLE refresh_token");
+    }
+
+    @Test
+    void lastUsedAt_ShouldPreferTheNewerOfBufferedAndStored() {
+        // given
+        buffer.touch(1L, LATER);
+
+        // when & then
+        assertEquals(LATER, buffer.lastUsedAt(1L, EARLIER));
+        assertEquals(EARLIER, buffer.lastUsedAt(2L, EARLIER));
+        assertNull(buffer.lastUsedAt(2L, null));
+    }
+
+    @Test
+    void configureTasks_ShouldFlushAtTheConfiguredInterval() {
+        // given
+        buffer = new SessionActivityBuffer(
+            new SessionActivityProperties(Duration.ofMillis(750), 100, 500),
+            jdbcTemplate,
+            transactionManager,
+            meterRegistry
+        );
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        // when
+        buffer.configureTasks(registrar);
+
+        // then
+        assertEquals(
+            List.of(Duration.ofMillis(750)),
+            registrar.getFixedDelayTaskList().stream().map(IntervalTask::getIntervalDuration).toList()
+        );
+    }
+
+    private Map<Long, Instant> written() {
+        return batchCaptor.getValue().stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private SessionActivityBuffer newBuffer(int maxPending) {
+        return new SessionActivityBuffer(
+            new SessionActivityProperties(Duration.ofSeconds(5), maxPending, 500),
+            jdbcTemplate,
+            transactionManager,
+            meterRegistry
+        );
+    }
+}
@@ -0,0 +1,325 @@
+package com.vertyll.fastprod.auth.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.HttpStatus;
+
+import com.vertyll.fastprod.auth.config.VerificationCodeProperties;
+import com.vertyll.fastprod.auth.entity.VerificationToken;
+import com.vertyll.fastprod.auth.enums.VerificationTokenType;
+import com.vertyll.fastprod.auth.repository.VerificationTokenRepository;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import com.vertyll.fastprod.user.entity.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerificationTokenServiceTest {
+
+    @Mock
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Mock
+    private AuditorAware<String> auditorAware;
+
+    @Captor
+    private ArgumentCaptor<String> codeCaptor;
+
+    private final TimeZone defaultTimeZone = TimeZone.getDefault();
+
+    private VerificationTokenServiceImpl verificationTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        verificationTokenService = new VerificationTokenServiceImpl(
+            verificationTokenRepository,
+            auditorAware,
+            new VerificationCodeProperties(Duration.ofHours(24), Duration.ofMinutes(15))
+        );
+        user = User.builder()
+            .email("test@example.com")
+            .build();
+        user.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    void createVerificationToken_WhenLiveTokenWasIssuedWithinWindow_ShouldExtendAndReuseIt() {
+        // given
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        VerificationToken live = token(now.plusHours(23));
+        live.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        when(verificationTokenRepository.findLatestLive(1L, VerificationTokenType.ACCOUNT_ACTIVATION))
+            .thenReturn(Optional.of(live));
+
+        // when
+        String code = verificationTokenService.createVerificationToken(
+            user,
+            VerificationTokenType.ACCOUNT_ACTIVATION,
+            null
+        );
+
+        // then
+        assertEquals("123456", code);
+        assertTrue(live.getExpiryDate().isAfter(now.plusHours(23).plusMinutes(30)));
+        verify(verificationTokenRepository, never()).retireLive(any(), any());
+        verify(verificationTokenRepository, never())
+            .insertIfCodeFree(anyString(), any(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void createVerificationToken_WhenZoneIsWestOfUtc_ShouldStillReuseRecentToken() {
+        // given
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Los_Angeles"));
+        VerificationToken live = token(LocalDateTime.now(ZoneOffset.UTC).plusHours(23));
+        // Stamped by JPA auditing, in the JVM's zone
+        live.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        when(verificationTokenRepository.findLatestLive(1L, VerificationTokenType.ACCOUNT_ACTIVATION))
+            .thenReturn(Optional.of(live));
+
+        // when
+        String code = verificationTokenService.createVerificationToken(
+            user,
+            VerificationTokenType.ACCOUNT_ACTIVATION,
+            null
+        );
+
+        // then
+        assertEquals("123456", code);
+        verify(verificationTokenRepository, never()).retireLive(any(), any());
+    }
+
+    @Test
+    void createVerificationToken_WhenZoneIsEastOfUtc_ShouldNotReuseTokenOlderThanWindow() {
+        // given
+        TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+        VerificationToken live = token(LocalDateTime.now(ZoneOffset.UTC).plusHours(20));
+        live.setCreatedAt(LocalDateTime.now().minusHours(4));
+        when(verificationTokenRepository.findLatestLive(1L, VerificationTokenType.ACCOUNT_ACTIVATION))
+            .thenReturn(Optional.of(live));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.empty());
+        when(verificationTokenRepository.insertIfCodeFree(anyString(), any(), anyString(), any(), any(), any(), any()))
+            .thenReturn(Optional.of(2L));
+
+        // when
+        verificationTokenService.createVerificationToken(user, VerificationTokenType.ACCOUNT_ACTIVATION, null);
+
+        // then
+        verify(verificationTokenRepository).retireLive(1L, VerificationTokenType.ACCOUNT_ACTIVATION);
+        verify(verificationTokenRepository).insertIfCodeFree(
+            anyString(),
+            eq(1L),
+            eq("ACCOUNT_ACTIVATION"),
+            isNull(),
+            any(),
+            argThat(createdAt -> Duration.between(createdAt, LocalDateTime.now()).abs().toMinutes() < 1),
+            eq("SYSTEM")
+        );
+    }
+
+    @Test
+    void createVerificationToken_WhenLiveTokenIsOlderThanWindow_ShouldRetireItAndIssueNewCode() {
+        // given
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        VerificationToken live = token(now.plusHours(20));
+        live.setCreatedAt(LocalDateTime.now().minusHours(4));
+        when(verificationTokenRepository.findLatestLive(1L, VerificationTokenType.ACCOUNT_ACTIVATION))
+            .thenReturn(Optional.of(live));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("SYSTEM"));
+        when(verificationTokenRepository.insertIfCodeFree(anyString(), any(), anyString(), any(), any(), any(), any()))
+            .thenReturn(Optional.of(10L));
+
+        // when
+        verificationTokenService.createVerificationToken(user, VerificationTokenType.ACCOUNT_ACTIVATION, null);
+
+        // then
+        verify(verificationTokenRepository).retireLive(1L, VerificationTokenType.ACCOUNT_ACTIVATION);
+        verify(verificationTokenRepository)
+            .insertIfCodeFree(anyString(), any(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void createVerificationToken_WhenDataDiffers_ShouldNotReuseTheCode() {
+        // given
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        VerificationToken live = token(now.plusHours(23));
+        live.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+        live.setTokenType(VerificationTokenType.EMAIL_CHANGE);
+        live.setAdditionalData("first@example.com");
+        when(verificationTokenRepository.findLatestLive(1L, VerificationTokenType.EMAIL_CHANGE))
+            .thenReturn(Optional.of(live));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("SYSTEM"));
+        when(verificationTokenRepository.insertIfCodeFree(anyString(), any(), anyString(), any(), any(), any(), any()))
+            .thenReturn(Optional.of(10L));
+
+        // when
+        verificationTokenService.createVerificationToken(
+            user,
+            VerificationTokenType.EMAIL_CHANGE,
+            "second@example.com"
+        );
+
+        // then
+        verify(verificationTokenRepository).retireLive(1L, VerificationTokenType.EMAIL_CHANGE);
+        verify(verificationTokenRepository).insertIfCodeFree(
+            anyString(), eq(1L), eq("EMAIL_CHANGE"), eq("second@example.com"), any(), any(), eq("SYSTEM")
+        );
+    }
+
+    @Test
+    void createVerificationToken_ShouldInsertSixDigitCodeForType() {
+        // given
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("SYSTEM"));
+        when(verificationTokenRepository.insertIfCodeFree(
+            anyString(), eq(1L), eq("PASSWORD_RESET"), isNull(), any(), any(), eq("SYSTEM")
+        )).thenReturn(Optional.of(10L));
+
+        // when
+        String code = verificationTokenService.createVerificationToken(
+            user,
+            VerificationTokenType.PASSWORD_RESET,
+            null
+        );
+
+        // then
+        assertTrue(code.matches("[1-9]\\d{5}"));
+        verify(verificationTokenRepository).insertIfCodeFree(
+            eq(code), eq(1L), eq("PASSWORD_RESET"), isNull(), any(), any(), eq("SYSTEM")
+        );
+    }
+
+    @Test
+    void createVerificationToken_WhenCodeIsTaken_ShouldRetryWithAnotherCode() {
+        // given
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("SYSTEM"));
+        when(verificationTokenRepository.insertIfCodeFree(anyString(), any(), anyString(), any(), any(), any(), any()))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(10L));
+
+        // when
+        String code = verificationTokenService.createVerificationToken(
+            user,
+            VerificationTokenType.EMAIL_CHANGE,
+            "new@example.com"
+        );
+
+        // then
+        verify(verificationTokenRepository, times(3))
+            .insertIfCodeFree(codeCaptor.capture(), any(), anyString(), any(), any(), any(), any());
+        assertEquals(code, codeCaptor.getAllValues().get(2));
+    }
+
+    @Test
+    void createVerificationToken_WhenNoCodeIsFree_ShouldThrowServiceUnavailable() {
+        // given
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.empty());
+        when(verificationTokenRepository.insertIfCodeFree(anyString(), any(), anyString(), any(), any(), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> verificationTokenService.createVerificationToken(user, VerificationTokenType.PASSWORD_RESET, null)
+        );
+
+        // then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        verify(verificationTokenRepository, times(10))
+            .insertIfCodeFree(anyString(), any(), anyString(), any(), any(), any(), eq("SYSTEM"));
+    }
+
+    @Test
+    void getValidToken_ShouldLookUpUnusedTokenOfExpectedType() {
+        // given
+        VerificationToken token = token(LocalDateTime.now(ZoneOffset.UTC).plusHours(1));
+        when(verificationTokenRepository.findByTokenTypeAndTokenAndUsedFalse(
+            VerificationTokenType.ACCOUNT_ACTIVATION,
+            "123456"
+        )).thenReturn(Optional.of(token));
+
+        // when
+        VerificationToken result = verificationTokenService.getValidToken(
+            "123456",
+            VerificationTokenType.ACCOUNT_ACTIVATION
+        );
+
+        // then
+        assertSame(token, result);
+    }
+
+    @Test
+    void getValidToken_WhenNoLiveTokenMatches_ShouldThrowBadRequest() {
+        // given
+        when(verificationTokenRepository.findByTokenTypeAndTokenAndUsedFalse(any(), anyString()))
+            .thenReturn(Optional.empty());
+
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> verificationTokenService.getValidToken("123456", VerificationTokenType.ACCOUNT_ACTIVATION)
+        );
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Invalid verification code", exception.getMessage());
+    }
+
+    @Test
+    void getValidToken_WhenTokenIsExpired_ShouldThrowBadRequest() {
+        // given
+        VerificationToken token = token(LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        when(verificationTokenRepository.findByTokenTypeAndTokenAndUsedFalse(any(), anyString()))
+            .thenReturn(Optional.of(token));
+
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> verificationTokenService.getValidToken("123456", VerificationTokenType.ACCOUNT_ACTIVATION)
+        );
+
+        // then
+        assertEquals("Verification code expired", exception.getMessage());
+    }
+
+    @Test
+    void cleanupExpiredTokens_ShouldDeleteUsedAndUnusedExpiredTokens() {
+        // when
+        verificationTokenService.cleanupExpiredTokens();
+
+        // then
+        verify(verificationTokenRepository).deleteByExpiryDateBefore(any(LocalDateTime.class));
+    }
+
+    private VerificationToken token(LocalDateTime expiryDate) {
+        return VerificationToken.builder()
+            .token("123456")
+            .user(user)
+            .expiryDate(expiryDate)
+            .tokenType(VerificationTokenType.ACCOUNT_ACTIVATION)
+            .build();
+    }
+}
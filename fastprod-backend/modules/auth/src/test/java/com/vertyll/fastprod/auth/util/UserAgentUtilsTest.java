@@ -0,0 +1,66 @@
+package com.vertyll.fastprod.auth.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserAgentUtilsTest {
+
+    @ParameterizedTest(name = "{0} on {1}")
+    @CsvFileSource(resources = "/user-agents.csv", numLinesToSkip = 1)
+    void parse_ShouldClassifyKnownUserAgents(String browser, String os, String userAgent) {
+        // when
+        ParsedUserAgent result = UserAgentUtils.parse(userAgent);
+
+        // then
+        assertEquals(new ParsedUserAgent(browser, os), result);
+    }
+
+    @ParameterizedTest(name = "{0} on {1}")
+    @CsvFileSource(resources = "/user-agents.csv", numLinesToSkip = 1)
+    void classify_ShouldMatchTheCachedResult(String browser, String os, String userAgent) {
+        // when & then
+        assertEquals(UserAgentUtils.parse(userAgent), UserAgentUtils.classify(userAgent));
+    }
+
+    @Test
+    void parse_WhenUserAgentIsMissing_ShouldReturnUnknown() {
+        // when & then
+        assertEquals(new ParsedUserAgent("unknown", "unknown"), UserAgentUtils.parse(null));
+        assertEquals(new ParsedUserAgent("unknown", "unknown"), UserAgentUtils.parse(""));
+    }
+
+    @Test
+    void parse_WhenCalledTwice_ShouldReturnTheCachedResult() {
+        // given
+        String userAgent = "Mozilla/5.0 (X11; Linux x86_64; rv:125.0) Gecko/20100101 Firefox/125.0";
+
+        // when
+        ParsedUserAgent first = UserAgentUtils.parse(userAgent);
+        ParsedUserAgent second = UserAgentUtils.parse(new String(userAgent.toCharArray()));
+
+        // then
+        assertSame(first, second);
+    }
+
+    @Test
+    void parse_WhenUserAgentContainsNonAsciiCharacters_ShouldStillMatchTokens() {
+        // when
+        ParsedUserAgent result = UserAgentUtils.parse("Mozilla/5.0 (Windows NT 10.0; Ünïcode) Firefox/125.0");
+
+        // then
+        assertEquals(new ParsedUserAgent("Firefox", "Windows"), result);
+    }
+
+    @Test
+    void parseBrowserAndParseOs_ShouldDelegateToParse() {
+        // given
+        String userAgent = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 OPR/109.0.0.0";
+
+        // when & then
+        assertEquals("Opera", UserAgentUtils.parseBrowser(userAgent));
+        assertEquals("macOS", UserAgentUtils.parseOs(userAgent));
+    }
+}
@@ -0,0 +1,101 @@
+import groovy.json.JsonSlurper
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    // JMH - Internal Modules
+    jmh(project(":modules:auth"))
+    jmh(project(":modules:security"))
+    jmh(project(":modules:employee"))
+    jmh(project(":modules:user"))
+    jmh(project(":modules:file"))
+
+    // JMH - Spring Test (MockHttpServletRequest / MockHttpServletResponse)
+    jmh(libs.spring.test)
+}
+
+// JMH generates its harness classes outside build/generated, keep Error Prone off them
+tasks.withType<JavaCompile>().configureEach {
+    options.errorprone.excludedPaths.set(".*/build/(generated|jmh-generated-sources)/.*")
+}
+
+val gitRevision: Provider<String> = providers.exec {
+    commandLine("git", "rev-parse", "--short", "HEAD")
+    isIgnoreExitValue = true
+}.standardOutput.asText.map { it.trim().ifEmpty { "local" } }
+
+val resultsDir = layout.buildDirectory.dir("results/jmh")
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+
+    // Run a subset with -Pjmh.includes=JwtServiceBenchmark
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+
+    // Attach profilers with -Pjmh.profilers=gc (comma separated)
+    providers.gradleProperty("jmh.profilers").orNull?.let { profilers.set(it.split(",")) }
+
+    warmupIterations.set(3)
+    warmup.set("1s")
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    fork.set(1)
+    failOnError.set(true)
+
+    // One JSON file per commit so runs can be diffed with the jmhCompare task
+    resultFormat.set("JSON")
+    resultsFile.set(resultsDir.zip(gitRevision) { dir, revision -> dir.file("$revision.json") })
+}
+
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Compares two JMH JSON results: -Pbaseline=<rev|file> [-Pcandidate=<rev|file>]"
+
+    val baseline = providers.gradleProperty("baseline")
+    val candidate = providers.gradleProperty("candidate").orElse(gitRevision)
+    val results = resultsDir
+
+    doLast {
+        fun resolve(value: String): File {
+            val direct = File(value)
+            return if (direct.isFile) direct else results.get().file("$value.json").asFile
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        fun scores(file: File): Map<String, Pair<Double, String>> {
+            require(file.isFile) { "JMH result not found: ${file.absolutePath}" }
+            val runs = JsonSlurper().parse(file) as List<Map<String, Any>>
+            return runs.associate { run ->
+                val metric = run["primaryMetric"] as Map<String, Any>
+                val params = (run["params"] as Map<String, Any>?)
+                    ?.entries
+                    ?.joinToString(",", "[", "]") { "${it.key}=${it.value}" }
+                    .orEmpty()
+                "${run["benchmark"]}$params" to
+                    ((metric["score"] as Number).toDouble() to metric["scoreUnit"].toString())
+            }
+        }
+
+        val before = scores(resolve(baseline.orNull ?: error("Pass -Pbaseline=<git revision or JSON file>")))
+        val after = scores(resolve(candidate.get()))
+
+        println(String.format("%-90s %14s %14s %9s", "Benchmark", "Baseline", "Candidate", "Delta"))
+        after.toSortedMap().forEach { (name, current) ->
+            val previous = before[name]
+            val delta = previous?.let { String.format("%+8.1f%%", (current.first - it.first) / it.first * 100) } ?: "new"
+            println(
+                String.format(
+                    "%-90s %14s %14s %9s",
+                    name.removePrefix("com.vertyll.fastprod."),
+                    previous?.let { String.format("%.3f", it.first) } ?: "-",
+                    String.format("%.3f %s", current.first, current.second),
+                    delta,
+                ),
+            )
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.vertyll.fastprod.auth.service.impl;
+
+import com.vertyll.fastprod.auth.service.JwtService;
+import com.vertyll.fastprod.sharedinfrastructure.config.JwtProperties;
+
+/**
+ * Exposes the package-private {@link JwtServiceImpl} to the benchmarks without widening its
+ * visibility in the production code.
+ */
+public final class JwtServiceFactory {
+
+    private JwtServiceFactory() {
+    }
+
+    public static JwtService create(JwtProperties jwtProperties) {
+        return new JwtServiceImpl(jwtProperties);
+    }
+}
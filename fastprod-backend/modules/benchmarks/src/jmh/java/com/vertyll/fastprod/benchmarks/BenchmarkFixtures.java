@@ -0,0 +1,55 @@
+package com.vertyll.fastprod.benchmarks;
+
+import java.util.Set;
+
+import com.vertyll.fastprod.auth.service.JwtService;
+import com.vertyll.fastprod.auth.service.impl.JwtServiceFactory;
+import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.sharedinfrastructure.config.JwtProperties;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.user.entity.User;
+
+/** Shared fixtures so every benchmark measures against the same inputs. */
+public final class BenchmarkFixtures {
+
+    public static final String ACCESS_SECRET = "dGhpcy1pcy1hLWJlbmNobWFyay1hY2Nlc3Mtc2VjcmV0LWtleS0zMmJ5dGVz";
+    public static final String REFRESH_SECRET = "dGhpcy1pcy1hLWJlbmNobWFyay1yZWZyZXNoLXNlY3JldC1rZXktMzJieXRlcw==";
+
+    public static final String CHROME_UA =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) "
+                    + "Chrome/126.0.0.0 Safari/537.36";
+    public static final String SAFARI_IPHONE_UA =
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) "
+                    + "Version/17.5 Mobile/15E148 Safari/604.1";
+    public static final String UNKNOWN_UA = "curl/8.7.1";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtService jwtService() {
+        return JwtServiceFactory.create(new JwtProperties(
+            new JwtProperties.AccessToken(ACCESS_SECRET, 900_000L),
+            new JwtProperties.RefreshToken(REFRESH_SECRET, 604_800_000L, "refresh_token")
+        ));
+    }
+
+    public static User user(long id) {
+        User user = User.builder()
+            .firstName("First" + id)
+            .lastName("Last" + id)
+            .email("user" + id + "@example.com")
+            .password("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbench")
+            .roles(Set.of(role(1L, RoleType.EMPLOYEE), role(2L, RoleType.MANAGER)))
+            .verified(true)
+            .active(true)
+            .build();
+        user.setId(id);
+        return user;
+    }
+
+    private static Role role(long id, RoleType type) {
+        Role role = Role.builder().name(type).description(type.name()).active(true).build();
+        role.setId(id);
+        return role;
+    }
+}
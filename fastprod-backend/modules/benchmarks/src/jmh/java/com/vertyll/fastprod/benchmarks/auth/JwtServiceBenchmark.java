@@ -0,0 +1,52 @@
+package com.vertyll.fastprod.benchmarks.auth;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.vertyll.fastprod.auth.service.JwtService;
+import com.vertyll.fastprod.benchmarks.BenchmarkFixtures;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private final JwtService jwtService = BenchmarkFixtures.jwtService();
+    private final UserDetails user = BenchmarkFixtures.user(1L);
+    private String accessToken = "";
+    private String refreshToken = "";
+
+    @Setup
+    public void setUp() {
+        accessToken = jwtService.generateToken(user);
+        refreshToken = jwtService.generateRefreshToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(accessToken);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(accessToken, user);
+    }
+
+    @Benchmark
+    public boolean validateRefreshToken() {
+        return jwtService.validateRefreshToken(refreshToken, user);
+    }
+}
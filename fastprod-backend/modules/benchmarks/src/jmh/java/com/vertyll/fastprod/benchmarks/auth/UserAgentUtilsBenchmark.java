@@ -0,0 +1,45 @@
+package com.vertyll.fastprod.benchmarks.auth;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.vertyll.fastprod.auth.util.UserAgentUtils;
+import com.vertyll.fastprod.benchmarks.BenchmarkFixtures;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class UserAgentUtilsBenchmark {
+
+    @Param({"chrome", "safari-iphone", "unknown"})
+    public String agent = "chrome";
+
+    private String userAgent = BenchmarkFixtures.CHROME_UA;
+
+    @Setup
+    public void setUp() {
+        userAgent = switch (agent) {
+            case "safari-iphone" -> BenchmarkFixtures.SAFARI_IPHONE_UA;
+            case "unknown" -> BenchmarkFixtures.UNKNOWN_UA;
+            default -> BenchmarkFixtures.CHROME_UA;
+        };
+    }
+
+    @Benchmark
+    public String parseBrowser() {
+        return UserAgentUtils.parseBrowser(userAgent);
+    }
+
+    @Benchmark
+    public String parseOs() {
+        return UserAgentUtils.parseOs(userAgent);
+    }
+}
@@ -0,0 +1,43 @@
+package com.vertyll.fastprod.benchmarks.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Pageable;
+
+import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
+import com.vertyll.fastprod.sharedinfrastructure.dto.BaseFilterDto;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FilterDtoBenchmark {
+
+    // Non-final fields keep the JIT from constant-folding the inputs
+    private Integer page = 2;
+    private Integer size = 25;
+    private String sortBy = "  lastName ";
+    private String sortDirection = " desc ";
+    private String search = "  kowalski ";
+
+    @Benchmark
+    public Pageable baseFilterToPageable() {
+        return new BaseFilterDto(page, size, sortBy, sortDirection).toPageable();
+    }
+
+    @Benchmark
+    public Pageable employeeFilterToPageable() {
+        return new EmployeeFilterDto(page, size, sortBy, sortDirection, " Jan ", null, "", true, "EMPLOYEE", search)
+            .toPageable();
+    }
+
+    @Benchmark
+    public Pageable employeeFilterDefaults() {
+        return new EmployeeFilterDto(null, null, null, null, null, null, null, null, null, null).toPageable();
+    }
+}
@@ -0,0 +1,32 @@
+package com.vertyll.fastprod.benchmarks.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.vertyll.fastprod.benchmarks.BenchmarkFixtures;
+import com.vertyll.fastprod.sharedinfrastructure.util.HashUtil;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class HashUtilBenchmark {
+
+    private String refreshToken = "";
+
+    @Setup
+    public void setUp() {
+        refreshToken = BenchmarkFixtures.jwtService().generateRefreshToken(BenchmarkFixtures.user(1L));
+    }
+
+    @Benchmark
+    public String hashToken() {
+        return HashUtil.hashToken(refreshToken);
+    }
+}
@@ -0,0 +1,61 @@
+package com.vertyll.fastprod.benchmarks.common;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import com.vertyll.fastprod.benchmarks.BenchmarkFixtures;
+import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
+import com.vertyll.fastprod.employee.mapper.EmployeeMapper;
+import com.vertyll.fastprod.sharedinfrastructure.response.PaginatedApiResponse;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Measures building and serializing the paginated employee listing envelope, which is what the
+ * {@code GET /employees} endpoint spends most of its non-database time on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PaginatedApiResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize = 10;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private PageImpl<EmployeeResponseDto> page = new PageImpl<>(List.of());
+
+    @Setup
+    public void setUp() {
+        EmployeeMapper mapper = Mappers.getMapper(EmployeeMapper.class);
+        List<EmployeeResponseDto> content = LongStream.rangeClosed(1, pageSize)
+            .mapToObj(BenchmarkFixtures::user)
+            .map(mapper::toResponseDto)
+            .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000L);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() {
+        PaginatedApiResponse<EmployeeResponseDto> body = PaginatedApiResponse
+            .buildResponse(page, "Employees retrieved successfully", HttpStatus.OK)
+            .getBody();
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,66 @@
+package com.vertyll.fastprod.benchmarks.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Disk-backed upload, like the container's multipart part once it spills past the file size
+ * threshold. {@code MockMultipartFile} keeps its content on the heap and would hide what the
+ * service itself allocates.
+ */
+final class DiskMultipartFile implements MultipartFile {
+
+    private final Path content;
+    private final long size;
+
+    DiskMultipartFile(Path content) throws IOException {
+        this.content = content;
+        this.size = Files.size(content);
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return "upload.bin";
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/octet-stream";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(content);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(content);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(content, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
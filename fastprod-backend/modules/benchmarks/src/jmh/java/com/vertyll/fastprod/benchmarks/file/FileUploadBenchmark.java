@@ -0,0 +1,90 @@
+package com.vertyll.fastprod.benchmarks.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vertyll.fastprod.file.config.FileUploadProperties;
+import com.vertyll.fastprod.file.service.impl.UploadStagerFactory;
+
+/**
+ * Streams disk-backed uploads of growing size, alone and from eight threads at once. The fork is
+ * capped at 128 MB of heap, which eight concurrent 48 MB uploads cannot fit if the service ever
+ * buffers whole files again, so a regression fails the run instead of just getting slower. Run
+ * with {@code -Pjmh.profilers=gc} and compare {@code gc.alloc.rate.norm} across sizes to see that
+ * allocation per upload does not depend on the file size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+@State(Scope.Benchmark)
+public class FileUploadBenchmark {
+
+    private static final int CHUNK = 1024 * 1024;
+
+    @Param({"1", "16", "48"})
+    public int sizeMb = 1;
+
+    private Path workDir = Path.of(".");
+    private DiskMultipartFile upload;
+    private ToLongFunction<MultipartFile> stager;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("fastprod-upload-benchmark");
+        Path source = workDir.resolve("source.bin");
+        byte[] chunk = new byte[CHUNK];
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int i = 0; i < sizeMb; i++) {
+                chunk[0] = (byte) i;
+                out.write(chunk);
+            }
+        }
+        upload = new DiskMultipartFile(source);
+
+        Path uploads = Files.createDirectories(workDir.resolve("uploads"));
+        stager = UploadStagerFactory.create(
+            new FileUploadProperties(uploads.toString(), DataSize.ofMegabytes(64), null, null, null)
+        );
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long upload() {
+        return stager.applyAsLong(upload);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long uploadConcurrently() {
+        return stager.applyAsLong(upload);
+    }
+}
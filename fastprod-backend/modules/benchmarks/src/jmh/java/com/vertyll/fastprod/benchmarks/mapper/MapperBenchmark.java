@@ -0,0 +1,60 @@
+package com.vertyll.fastprod.benchmarks.mapper;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.vertyll.fastprod.auth.dto.SessionInfoDto;
+import com.vertyll.fastprod.auth.dto.SessionResponseDto;
+import com.vertyll.fastprod.auth.mapper.AuthMapper;
+import com.vertyll.fastprod.benchmarks.BenchmarkFixtures;
+import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
+import com.vertyll.fastprod.employee.mapper.EmployeeMapper;
+import com.vertyll.fastprod.user.dto.UserResponseDto;
+import com.vertyll.fastprod.user.entity.User;
+import com.vertyll.fastprod.user.mapper.UserMapper;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final EmployeeMapper employeeMapper = Mappers.getMapper(EmployeeMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+    private final AuthMapper authMapper = Mappers.getMapper(AuthMapper.class);
+
+    private final User user = BenchmarkFixtures.user(1L);
+    private final SessionInfoDto session = SessionInfoDto.builder()
+        .id(1L)
+        .deviceInfo("Desktop")
+        .ipAddress("203.0.113.10")
+        .userAgent(BenchmarkFixtures.CHROME_UA)
+        .createdAt(LocalDateTime.now())
+        .lastUsedAt(Instant.now())
+        .expiresAt(Instant.now().plus(7, ChronoUnit.DAYS))
+        .build();
+
+    @Benchmark
+    public EmployeeResponseDto employeeToResponseDto() {
+        return employeeMapper.toResponseDto(user);
+    }
+
+    @Benchmark
+    public UserResponseDto userToResponseDto() {
+        return userMapper.toResponseDto(user);
+    }
+
+    @Benchmark
+    public SessionResponseDto sessionToResponseDto() {
+        return authMapper.toSessionResponseDto(session, true);
+    }
+}
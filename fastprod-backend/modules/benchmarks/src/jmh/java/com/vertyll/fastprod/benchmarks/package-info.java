@@ -0,0 +1,4 @@
+@NullMarked
+package com.vertyll.fastprod.benchmarks;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,74 @@
+package com.vertyll.fastprod.benchmarks.security;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.vertyll.fastprod.auth.service.JwtService;
+import com.vertyll.fastprod.benchmarks.BenchmarkFixtures;
+import com.vertyll.fastprod.security.config.JwtAuthenticationFilter;
+import com.vertyll.fastprod.user.entity.User;
+
+/**
+ * Runs a request through {@link JwtAuthenticationFilter} the way the servlet container would:
+ * header parsing, token verification, user lookup and security context population. The user
+ * lookup is an in-memory stub, so the numbers isolate the filter's own cost from the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"valid", "invalid-signature", "anonymous"})
+    public String header = "valid";
+
+    private final User user = BenchmarkFixtures.user(1L);
+    private final JwtService jwtService = BenchmarkFixtures.jwtService();
+    private final UserDetailsService userDetailsService = _ -> user;
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+
+    private String authorization = "";
+
+    @Setup
+    public void setUp() {
+        String token = jwtService.generateToken(user);
+        authorization = switch (header) {
+            case "invalid-signature" -> "Bearer " + token.substring(0, token.length() - 4) + "AAAA";
+            case "anonymous" -> "";
+            default -> "Bearer " + token;
+        };
+    }
+
+    @Benchmark
+    public void doFilter(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        if (!authorization.isEmpty()) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (_, _) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+
+        try {
+            filter.doFilter(request, response, chain);
+        } finally {
+            // The filter skips authentication when a context is already present
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.util.function.ToLongFunction;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vertyll.fastprod.file.config.FileUploadProperties;
+import com.vertyll.fastprod.file.storage.FileSystemBlobStorage;
+
+/**
+ * Exposes the streaming half of the package-private {@link ContentAddressedBlobStore} to the
+ * benchmarks without widening its visibility in the production code. The returned function stages
+ * an upload, drops it again and returns the number of bytes streamed.
+ */
+public final class UploadStagerFactory {
+
+    private UploadStagerFactory() {
+    }
+
+    public static ToLongFunction<MultipartFile> create(FileUploadProperties fileUploadProperties) {
+        ContentAddressedBlobStore blobStore = new ContentAddressedBlobStore(
+            fileUploadProperties,
+            new FileSystemBlobStorage(fileUploadProperties)
+        );
+        return file -> {
+            StagedBlob staged = blobStore.stage(file);
+            blobStore.discard(staged);
+            return staged.size();
+        };
+    }
+}
@@ -7,6 +7,7 @@ dependencies {
     api(libs.bundles.spring.boot.starters.common)
     api(libs.bundles.spring.boot.starters.mail)
     api(libs.bundles.spring.boot.starters.security)
+    api(libs.spring.boot.starter.actuator)
     api(libs.mapstruct)
     api(libs.jspecify)
 
@@ -32,4 +33,9 @@ dependencies {
     testImplementation(libs.bundles.spring.boot.test.common)
     testImplementation(libs.bundles.spring.boot.test.mail)
     testImplementation(libs.bundles.spring.boot.test.security)
+    testImplementation(libs.testcontainers.junit.jupiter)
+    testImplementation(libs.testcontainers.postgresql)
+
+    // Test Runtime Only
+    testRuntimeOnly(libs.postgresql)
 }
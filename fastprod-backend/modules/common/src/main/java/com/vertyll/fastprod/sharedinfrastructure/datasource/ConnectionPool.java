@@ -0,0 +1,26 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the database work of a request handled by the annotated controller method, or by any method
+ * of the annotated controller, on the named pool from {@code application.datasource.pools}. Takes
+ * precedence over the pool configured for the controller's package.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(
+    {
+        ElementType.TYPE,
+        ElementType.METHOD
+    }
+)
+public @interface ConnectionPool {
+
+    /** Name of a pool configured under {@code application.datasource.pools.pools}. */
+    String value();
+}
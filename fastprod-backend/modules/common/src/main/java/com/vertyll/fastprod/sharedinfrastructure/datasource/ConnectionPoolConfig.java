@@ -0,0 +1,79 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Splits request traffic to the primary database across bulkhead pools, so that, for example, slow
+ * listing queries can use up only the reporting pool and never the connections authentication
+ * needs. Requests not mapped to a pool keep using the auto-configured primary pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.pools", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ConnectionPoolProperties.class)
+public class ConnectionPoolConfig implements WebMvcConfigurer {
+
+    private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    private final ConnectionPoolProperties properties;
+
+    public ConnectionPoolConfig(ConnectionPoolProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "close")
+    ConnectionPools connectionPools(Environment environment) {
+        return new ConnectionPools(
+            properties,
+            environment.getProperty("spring.datasource.url"),
+            environment.getProperty("spring.datasource.username"),
+            environment.getProperty("spring.datasource.password")
+        );
+    }
+
+    @Bean
+    static PoolRouting poolRouting(ObjectProvider<ConnectionPools> connectionPools) {
+        return new PoolRouting(connectionPools);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConnectionPoolInterceptor(properties));
+    }
+
+    /**
+     * Ordered, so it wraps the primary before the read-replica routing does: read-only transactions
+     * still go to the replicas, and the bulkheads split what reaches the primary.
+     */
+    static final class PoolRouting implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ConnectionPools> connectionPools;
+
+        private PoolRouting(ObjectProvider<ConnectionPools> connectionPools) {
+            this.connectionPools = connectionPools;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!PRIMARY_DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource primary)) {
+                return bean;
+            }
+            return new PoolRoutingDataSource(primary, connectionPools.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
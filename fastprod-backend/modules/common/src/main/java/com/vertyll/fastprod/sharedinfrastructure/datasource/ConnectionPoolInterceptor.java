@@ -0,0 +1,99 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Selects the connection pool for the rest of the request from the handler: a
+ * {@link ConnectionPool} on the method, then on the controller, then the pool configured for the
+ * most specific package containing the controller. The choice is resolved once per handler method.
+ */
+@Slf4j
+class ConnectionPoolInterceptor implements AsyncHandlerInterceptor {
+
+    // Cached for handlers without a pool, since the map cannot hold null
+    private static final String PRIMARY_POOL = "";
+
+    private final ConnectionPoolProperties properties;
+    private final Map<Method, String> poolsByHandler = new ConcurrentHashMap<>();
+
+    ConnectionPoolInterceptor(ConnectionPoolProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            String pool = poolsByHandler.computeIfAbsent(handlerMethod.getMethod(), _ -> resolve(handlerMethod));
+            if (!pool.isEmpty()) {
+                PoolRoutingDataSource.select(pool);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        Object handler
+    ) {
+        PoolRoutingDataSource.clear();
+    }
+
+    @Override
+    public void afterCompletion(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        Object handler,
+        @Nullable Exception ex
+    ) {
+        PoolRoutingDataSource.clear();
+    }
+
+    private String resolve(HandlerMethod handlerMethod) {
+        ConnectionPool annotation = handlerMethod.getMethodAnnotation(ConnectionPool.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), ConnectionPool.class);
+        }
+        String pool = annotation != null
+            ? annotation.value()
+            : poolForPackage(handlerMethod.getBeanType().getPackageName());
+
+        if (pool == null) {
+            return PRIMARY_POOL;
+        }
+        if (!properties.pools().containsKey(pool)) {
+            log.warn("Connection pool {} of {} is not configured, using the primary pool", pool, handlerMethod);
+            return PRIMARY_POOL;
+        }
+        return pool;
+    }
+
+    @Nullable
+    private String poolForPackage(String packageName) {
+        String pool = null;
+        int longest = -1;
+        for (Map.Entry<String, ConnectionPoolProperties.Pool> entry : properties.pools().entrySet()) {
+            for (String prefix : entry.getValue().packages()) {
+                boolean contains = packageName.equals(prefix) || packageName.startsWith(prefix + ".");
+                if (contains && prefix.length() > longest) {
+                    pool = entry.getKey();
+                    longest = prefix.length();
+                }
+            }
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,48 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param enabled split request traffic across the named pools; every request uses the primary pool when off
+ * @param pools bulkhead pools to the primary database by name, used by handlers mapped to them
+ */
+@ConfigurationProperties(prefix = "application.datasource.pools")
+public record ConnectionPoolProperties(
+    Boolean enabled,
+    Map<String, Pool> pools
+) {
+    public ConnectionPoolProperties {
+        if (enabled == null)
+            enabled = false;
+        if (pools == null)
+            pools = Map.of();
+    }
+
+    /**
+     * @param packages controller packages, including subpackages, whose requests use this pool
+     * @param maximumPoolSize connections this pool may hold, none of which other traffic can take
+     * @param connectionTimeout how long a request waits for a connection before failing
+     * @param statementTimeout server-side limit for each statement run on this pool, zero for none
+     */
+    public record Pool(
+        List<String> packages,
+        Integer maximumPoolSize,
+        Duration connectionTimeout,
+        Duration statementTimeout
+    ) {
+        public Pool {
+            if (packages == null)
+                packages = List.of();
+            if (maximumPoolSize == null)
+                maximumPoolSize = 5;
+            if (connectionTimeout == null)
+                connectionTimeout = Duration.ofSeconds(2);
+            if (statementTimeout == null)
+                statementTimeout = Duration.ZERO;
+        }
+    }
+}
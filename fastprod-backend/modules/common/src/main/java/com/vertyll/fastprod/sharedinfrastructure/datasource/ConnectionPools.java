@@ -0,0 +1,62 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The bulkhead pools to the primary database. Each pool is sized on its own and sets its statement
+ * timeout on every new connection, so one kind of traffic can neither take the connections of
+ * another nor hold them with runaway statements.
+ *
+ * <p>The pools report the standard {@code hikaricp.*} metrics tagged with the pool name. They are
+ * bound as a {@link MeterBinder}, since the pools are created while the primary data source is
+ * being set up.
+ */
+class ConnectionPools implements MeterBinder, AutoCloseable {
+
+    private final Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+
+    ConnectionPools(
+        ConnectionPoolProperties properties,
+        @Nullable String url,
+        @Nullable String username,
+        @Nullable String password
+    ) {
+        properties.pools().forEach((name, settings) -> {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(settings.maximumPoolSize());
+            config.setConnectionTimeout(settings.connectionTimeout().toMillis());
+            config.setConnectionInitSql("SET statement_timeout = " + settings.statementTimeout().toMillis());
+            // Like the primary pool, connect on first use rather than fail the startup
+            config.setInitializationFailTimeout(-1);
+            pools.put(name, new HikariDataSource(config));
+        });
+    }
+
+    Map<Object, Object> targets() {
+        return new LinkedHashMap<>(pools);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pools.values().forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
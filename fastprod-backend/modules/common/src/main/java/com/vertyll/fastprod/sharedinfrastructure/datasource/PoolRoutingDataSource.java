@@ -0,0 +1,42 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import javax.sql.DataSource;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the pool selected for the current thread by
+ * {@link ConnectionPoolInterceptor}, or from the primary pool when none is selected. The pool is
+ * picked when a transaction takes its connection, so work joining an already running transaction
+ * stays on the pool that transaction started on.
+ */
+class PoolRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<String> CURRENT_POOL = new ThreadLocal<>();
+
+    PoolRoutingDataSource(DataSource primary, ConnectionPools pools) {
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(pools.targets());
+        afterPropertiesSet();
+    }
+
+    static void select(String pool) {
+        CURRENT_POOL.set(pool);
+    }
+
+    static void clear() {
+        CURRENT_POOL.remove();
+    }
+
+    @Nullable
+    static String currentPool() {
+        return CURRENT_POOL.get();
+    }
+
+    @Override
+    @Nullable
+    protected Object determineCurrentLookupKey() {
+        return currentPool();
+    }
+}
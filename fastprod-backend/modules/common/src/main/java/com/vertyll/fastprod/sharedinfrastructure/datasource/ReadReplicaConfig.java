@@ -0,0 +1,55 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions to the read replicas. The auto-configured primary data source is
+ * wrapped in a {@link LazyConnectionDataSourceProxy}: a read-only transaction marks its connection
+ * read-only before running the first statement, and only then is the physical connection fetched,
+ * from {@link ReplicaRoutingDataSource} instead of the primary. The primary keeps its Boot
+ * configuration, pool metrics and health indicator.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    @Bean(destroyMethod = "close")
+    ReplicaPool replicaPool(ReadReplicaProperties properties, Environment environment) {
+        return new ReplicaPool(
+            properties,
+            environment.getProperty("spring.datasource.username"),
+            environment.getProperty("spring.datasource.password")
+        );
+    }
+
+    @Bean
+    static BeanPostProcessor readReplicaRouting(ObjectProvider<ReplicaPool> replicaPool) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!PRIMARY_DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource primary)) {
+                    return bean;
+                }
+                return route(primary, replicaPool.getObject());
+            }
+        };
+    }
+
+    static DataSource route(DataSource primary, ReplicaPool replicaPool) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(replicaPool, primary));
+        return proxy;
+    }
+}
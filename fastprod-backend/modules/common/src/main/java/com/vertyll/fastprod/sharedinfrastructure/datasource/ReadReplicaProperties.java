@@ -0,0 +1,55 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param enabled route read-only transactions to the replicas; the primary serves everything when off
+ * @param replicas streaming replicas of the primary database
+ * @param maxLag replicas replaying further behind the primary than this serve no reads until they catch up
+ * @param healthCheckInterval how often every replica is checked for availability and lag
+ */
+@ConfigurationProperties(prefix = "application.datasource.read-replicas")
+public record ReadReplicaProperties(
+    Boolean enabled,
+    List<Replica> replicas,
+    Duration maxLag,
+    Duration healthCheckInterval
+) {
+    public ReadReplicaProperties {
+        if (enabled == null)
+            enabled = false;
+        if (replicas == null)
+            replicas = List.of();
+        if (maxLag == null)
+            maxLag = Duration.ofSeconds(5);
+        if (healthCheckInterval == null)
+            healthCheckInterval = Duration.ofSeconds(5);
+    }
+
+    /**
+     * @param name used in pool names, logs and metric tags
+     * @param url JDBC URL of the replica
+     * @param username defaults to the primary's user when absent
+     * @param password defaults to the primary's password when absent
+     * @param maximumPoolSize connections kept open to this replica
+     * @param connectionTimeout how long a read waits for a connection before falling back to the primary
+     */
+    public record Replica(
+        String name,
+        String url,
+        String username,
+        String password,
+        Integer maximumPoolSize,
+        Duration connectionTimeout
+    ) {
+        public Replica {
+            if (maximumPoolSize == null)
+                maximumPoolSize = 10;
+            if (connectionTimeout == null)
+                connectionTimeout = Duration.ofSeconds(2);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Connection pools of the read replicas together with their last known health. A replica serves
+ * reads only while it answers the health check, is still a standby, and replays within the
+ * allowed lag; otherwise reads fall back to the primary until a later check finds it usable.
+ *
+ * <p>Whether the replica still streams from the primary is read from {@code pg_stat_wal_receiver},
+ * whose status only roles with {@code pg_read_all_stats} can see, so the replica user should have
+ * it. Without it the check treats the replica as disconnected and measures lag from the last
+ * replayed transaction: replicas of an idle primary then leave rotation, but a stale one never
+ * passes as current.
+ *
+ * <p>Metrics are bound as a {@link MeterBinder} rather than through an injected registry, because
+ * the pool is created while the primary data source is being set up.
+ */
+@Slf4j
+class ReplicaPool implements MeterBinder, AutoCloseable {
+
+    static final String AVAILABLE_GAUGE = "fastprod.datasource.replica.available";
+    static final String LAG_GAUGE = "fastprod.datasource.replica.lag";
+    static final String FALLBACK_COUNTER = "fastprod.datasource.replica.fallbacks";
+
+    // A streaming standby that has replayed everything it received is current, however long ago the
+    // last write was. One that lost the primary has received nothing new, so its age is all there is.
+    private static final String HEALTH_CHECK = """
+        SELECT pg_is_in_recovery(),
+               CASE WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming')
+                        THEN EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                    WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                    ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+               END
+        """;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    ReplicaPool(ReadReplicaProperties properties, @Nullable String defaultUsername, @Nullable String defaultPassword) {
+        this.maxLagSeconds = properties.maxLag().toMillis() / 1000.0;
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReadReplicaProperties.Replica settings = properties.replicas().get(i);
+            String name = settings.name() != null ? settings.name() : "replica-" + (i + 1);
+
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(settings.url());
+            config.setUsername(settings.username() != null ? settings.username() : defaultUsername);
+            config.setPassword(settings.password() != null ? settings.password() : defaultPassword);
+            config.setMaximumPoolSize(settings.maximumPoolSize());
+            config.setConnectionTimeout(settings.connectionTimeout().toMillis());
+            config.setReadOnly(true);
+            // Start even when a replica is down, the health check brings it in once it answers
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(name, new HikariDataSource(config)));
+        }
+    }
+
+    /**
+     * A connection from the next usable replica in turn, or {@code null} when none is usable and the
+     * caller has to use the primary.
+     */
+    @Nullable
+    Connection connection() {
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.available = false;
+                log.warn("Read replica {} failed to hand out a connection, reading from the primary", replica.name, e);
+            }
+        }
+        fallbacks.incrementAndGet();
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.read-replicas.health-check-interval:5s}")
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try (
+                Connection connection = replica.dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery(HEALTH_CHECK)
+            ) {
+                result.next();
+                boolean standby = result.getBoolean(1);
+                replica.lagSeconds = result.getDouble(2);
+                // No lag when disconnected before replaying a single transaction, so its age is unknown
+                boolean lagKnown = !result.wasNull();
+                replica.available = standby && lagKnown && replica.lagSeconds <= maxLagSeconds;
+                if (!standby) {
+                    log.error("Read replica {} is not in recovery, it was promoted or is a primary", replica.name);
+                } else if (!lagKnown) {
+                    log.warn("Read replica {} is not streaming and has not replayed anything yet", replica.name);
+                }
+            } catch (SQLException e) {
+                replica.available = false;
+                log.debug("Health check of read replica {} failed", replica.name, e);
+            }
+
+            if (wasAvailable != replica.available) {
+                log.info(
+                    "Read replica {} is now {} (lag {} s)",
+                    replica.name,
+                    replica.available ? "serving reads" : "out of rotation",
+                    replica.lagSeconds
+                );
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder(AVAILABLE_GAUGE, replica, r -> r.available ? 1 : 0)
+                .description("Whether the read replica currently serves read-only transactions")
+                .tag("replica", replica.name)
+                .register(registry);
+            Gauge.builder(LAG_GAUGE, replica, r -> r.lagSeconds)
+                .description("Replay lag of the read replica at the last health check")
+                .baseUnit("seconds")
+                .tag("replica", replica.name)
+                .register(registry);
+        }
+        FunctionCounter.builder(FALLBACK_COUNTER, fallbacks, AtomicLong::get)
+            .description("Read-only connections served by the primary because no replica was usable")
+            .register(registry);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private volatile double lagSeconds;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
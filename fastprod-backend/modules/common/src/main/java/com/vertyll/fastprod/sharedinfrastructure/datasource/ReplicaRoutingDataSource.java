@@ -0,0 +1,34 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Read-only side of the primary data source: a replica connection when one is usable, a primary
+ * connection otherwise, so read-only transactions never fail just because the replicas are down.
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaPool replicaPool;
+    private final DataSource primary;
+
+    ReplicaRoutingDataSource(ReplicaPool replicaPool, DataSource primary) {
+        this.replicaPool = replicaPool;
+        this.primary = primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection replica = replicaPool.connection();
+        return replica != null ? replica : primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
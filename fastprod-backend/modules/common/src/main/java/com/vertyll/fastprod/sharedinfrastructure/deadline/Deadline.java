@@ -0,0 +1,26 @@
+package com.vertyll.fastprod.sharedinfrastructure.deadline;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Time budget of requests handled by the annotated controller method, or by any method of the
+ * annotated controller, overriding {@code application.request-deadline.default-budget}. Database
+ * work of the request is cut off once the budget is spent.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(
+    {
+        ElementType.TYPE,
+        ElementType.METHOD
+    }
+)
+public @interface Deadline {
+
+    /** The budget as a duration, e.g. {@code 5s} or {@code 750ms}. */
+    String value();
+}
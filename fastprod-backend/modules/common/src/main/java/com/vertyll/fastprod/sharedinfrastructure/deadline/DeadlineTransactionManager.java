@@ -0,0 +1,52 @@
+package com.vertyll.fastprod.sharedinfrastructure.deadline;
+
+import javax.sql.DataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.ResourceHolderSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounds every transaction a request starts by the request's {@link RequestDeadline}. Queries
+ * created through the shared entity manager, such as the select and count of a repository page,
+ * and {@code JdbcTemplate} statements get the remaining time as their query timeout, so the
+ * database cancels them when the budget runs out. Once the deadline has passed, the next query
+ * fails with {@link org.springframework.transaction.TransactionTimedOutException} without reaching
+ * the database.
+ */
+class DeadlineTransactionManager extends JpaTransactionManager {
+
+    DeadlineTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return;
+        }
+        long remainingMillis = deadline.remainingMillis();
+        limit(TransactionSynchronizationManager.getResource(obtainEntityManagerFactory()), remainingMillis);
+        DataSource dataSource = getDataSource();
+        if (dataSource != null) {
+            limit(TransactionSynchronizationManager.getResource(dataSource), remainingMillis);
+        }
+    }
+
+    // Keeps a shorter @Transactional timeout, the holder only tracks a single deadline
+    private static void limit(@Nullable Object resource, long remainingMillis) {
+        if (!(resource instanceof ResourceHolderSupport holder)) {
+            return;
+        }
+        if (!holder.hasTimeout() || holder.getTimeToLiveInMillis() > remainingMillis) {
+            holder.setTimeoutInMillis(remainingMillis);
+        }
+    }
+}
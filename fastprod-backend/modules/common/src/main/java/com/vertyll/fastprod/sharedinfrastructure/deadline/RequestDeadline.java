@@ -0,0 +1,50 @@
+package com.vertyll.fastprod.sharedinfrastructure.deadline;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The point in time by which the current request has to be done, bound to the handling thread by
+ * {@link RequestDeadlineInterceptor}. Transactions started on the thread take the remaining budget
+ * as their timeout; outside a request with a budget there is no deadline.
+ */
+public final class RequestDeadline {
+
+    /** Request attribute holding the deadline, for code that runs after the handler returned. */
+    public static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    static void bind(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public static @Nullable RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /** Milliseconds left, zero or negative once the deadline has passed. */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+}
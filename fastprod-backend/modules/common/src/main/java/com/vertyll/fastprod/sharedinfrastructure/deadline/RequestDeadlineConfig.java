@@ -0,0 +1,32 @@
+package com.vertyll.fastprod.sharedinfrastructure.deadline;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(RequestDeadlineProperties.class)
+public class RequestDeadlineConfig implements WebMvcConfigurer {
+
+    private final RequestDeadlineProperties properties;
+
+    public RequestDeadlineConfig(RequestDeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    // Takes the place of the auto-configured transaction manager, which backs off when one is defined
+    @Bean
+    JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new DeadlineTransactionManager(entityManagerFactory);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestDeadlineInterceptor(properties));
+    }
+}
@@ -0,0 +1,70 @@
+package com.vertyll.fastprod.sharedinfrastructure.deadline;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Starts the deadline of a request when its handler is known: the {@link Deadline} of the method,
+ * then of the controller, then the configured default. The budget is resolved once per handler
+ * method.
+ */
+class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private final RequestDeadlineProperties properties;
+    private final Map<Method, Duration> budgetsByHandler = new ConcurrentHashMap<>();
+
+    RequestDeadlineInterceptor(RequestDeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Duration budget = budgetsByHandler.computeIfAbsent(handlerMethod.getMethod(), _ -> resolve(handlerMethod));
+            if (budget.isPositive()) {
+                RequestDeadline deadline = RequestDeadline.after(budget);
+                request.setAttribute(RequestDeadline.ATTRIBUTE, deadline);
+                RequestDeadline.bind(deadline);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        Object handler
+    ) {
+        RequestDeadline.unbind();
+    }
+
+    @Override
+    public void afterCompletion(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        Object handler,
+        @Nullable Exception ex
+    ) {
+        RequestDeadline.unbind();
+    }
+
+    private Duration resolve(HandlerMethod handlerMethod) {
+        Deadline deadline = handlerMethod.getMethodAnnotation(Deadline.class);
+        if (deadline == null) {
+            deadline = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Deadline.class);
+        }
+        return deadline != null ? DurationStyle.detectAndParse(deadline.value()) : properties.defaultBudget();
+    }
+}
@@ -0,0 +1,18 @@
+package com.vertyll.fastprod.sharedinfrastructure.deadline;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param defaultBudget budget of requests whose handler declares no {@link Deadline}, zero for none
+ */
+@ConfigurationProperties(prefix = "application.request-deadline")
+public record RequestDeadlineProperties(
+    Duration defaultBudget
+) {
+    public RequestDeadlineProperties {
+        if (defaultBudget == null)
+            defaultBudget = Duration.ZERO;
+    }
+}
@@ -0,0 +1,7 @@
+package com.vertyll.fastprod.sharedinfrastructure.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,15 @@
+package com.vertyll.fastprod.sharedinfrastructure.event;
+
+/**
+ * A change to an aggregate, published through Spring's {@code ApplicationEventPublisher} inside the
+ * transaction that made it. {@link DomainEventBus} hands it to the {@link DomainEventListener}s once
+ * that transaction has committed; events of the same aggregate reach every listener in the order
+ * they were published.
+ */
+public interface DomainEvent {
+
+    /** Kind of aggregate, together with {@link #aggregateId()} the unit events are ordered in. */
+    String aggregateType();
+
+    Long aggregateId();
+}
@@ -0,0 +1,186 @@
+package com.vertyll.fastprod.sharedinfrastructure.event;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers committed {@link DomainEvent}s to the {@link DomainEventListener}s off the request path.
+ * Each aggregate is hashed onto one of a fixed number of single-threaded lanes, which keeps the
+ * events of an aggregate in publication order while different aggregates are delivered in
+ * parallel. Lanes are bounded: when one is full, the publishing thread waits up to
+ * {@code publishTimeout} for room, and the event is dropped and counted as overflow if none frees
+ * up. A listener publishing from a lane thread never waits, since the lane it waits on may be the
+ * one it is blocking.
+ *
+ * <p>Publishes {@code fastprod.events.lag} (commit to delivery, per event type), the
+ * {@code fastprod.events.pending} backlog, {@code fastprod.events.overflow} per event type and
+ * {@code fastprod.events.failures} per listener.
+ */
+@Component
+@Slf4j
+class DomainEventBus {
+
+    static final String LAG_TIMER = "fastprod.events.lag";
+    static final String PENDING_GAUGE = "fastprod.events.pending";
+    static final String FAILURES_COUNTER = "fastprod.events.failures";
+    static final String OVERFLOW_COUNTER = "fastprod.events.overflow";
+
+    private static final String LANE_THREAD_PREFIX = "domain-events-";
+
+    private final ObjectProvider<DomainEventListener<?>> listenerProvider;
+    private final MeterRegistry meterRegistry;
+    private final DomainEventProperties properties;
+    private final ThreadPoolExecutor[] lanes;
+    private final Map<Class<?>, List<DomainEventListener<DomainEvent>>> listenersByType = new ConcurrentHashMap<>();
+
+    DomainEventBus(
+        DomainEventProperties properties,
+        ObjectProvider<DomainEventListener<?>> listenerProvider,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.listenerProvider = listenerProvider;
+        this.meterRegistry = meterRegistry;
+        this.lanes = new ThreadPoolExecutor[properties.lanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofVirtual().name(LANE_THREAD_PREFIX + i + "-", 0).factory(),
+                this::waitForRoom
+            );
+        }
+
+        Gauge.builder(PENDING_GAUGE, this, DomainEventBus::pending)
+            .description("Committed domain events not yet delivered to every listener")
+            .register(meterRegistry);
+    }
+
+    // After commit, so listeners never see a change that was rolled back; at once outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    void publish(DomainEvent event) {
+        List<DomainEventListener<DomainEvent>> listeners = listenersByType.computeIfAbsent(
+            event.getClass(),
+            this::findListeners
+        );
+        if (listeners.isEmpty()) {
+            return;
+        }
+        long committedNanos = System.nanoTime();
+        try {
+            lane(event).execute(() -> deliver(event, listeners, committedNanos));
+        } catch (RejectedExecutionException e) {
+            Counter.builder(OVERFLOW_COUNTER)
+                .description("Domain events dropped because their lane stayed full")
+                .tag("event", event.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+            log.error("Domain event {} dropped: {}", event, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        long deadlineNanos = System.nanoTime() + properties.shutdownTimeout().toNanos();
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                log.warn("Stopped with {} domain events undelivered", lane.getQueue().size());
+            }
+        }
+    }
+
+    private void deliver(DomainEvent event, List<DomainEventListener<DomainEvent>> listeners, long committedNanos) {
+        String eventType = event.getClass().getSimpleName();
+        Timer.builder(LAG_TIMER)
+            .description("Time from commit until a domain event is delivered")
+            .tag("event", eventType)
+            .register(meterRegistry)
+            .record(System.nanoTime() - committedNanos, TimeUnit.NANOSECONDS);
+
+        for (DomainEventListener<DomainEvent> listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                String listenerName = ClassUtils.getUserClass(listener).getSimpleName();
+                Counter.builder(FAILURES_COUNTER)
+                    .description("Domain events a listener failed to handle")
+                    .tag("event", eventType)
+                    .tag("listener", listenerName)
+                    .register(meterRegistry)
+                    .increment();
+                log.error("Domain event listener {} failed to handle {}", listenerName, event, e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DomainEventListener<DomainEvent>> findListeners(Class<?> eventType) {
+        return listenerProvider.orderedStream()
+            .filter(listener -> accepts(listener, eventType))
+            .map(listener -> (DomainEventListener<DomainEvent>) listener)
+            .toList();
+    }
+
+    private static boolean accepts(DomainEventListener<?> listener, Class<?> eventType) {
+        Class<?> accepted = ResolvableType.forClass(DomainEventListener.class, ClassUtils.getUserClass(listener))
+            .getGeneric(0)
+            .resolve(DomainEvent.class);
+        return accepted.isAssignableFrom(eventType);
+    }
+
+    private ThreadPoolExecutor lane(DomainEvent event) {
+        return lanes[Math.floorMod(Objects.hash(event.aggregateType(), event.aggregateId()), lanes.length)];
+    }
+
+    private int pending() {
+        int pending = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            pending += lane.getQueue().size() + lane.getActiveCount();
+        }
+        return pending;
+    }
+
+    // Waiting keeps the lane's order, running the event on the caller would overtake the queued ones
+    private void waitForRoom(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("delivery is shutting down");
+        }
+        if (Thread.currentThread().getName().startsWith(LANE_THREAD_PREFIX)) {
+            throw new RejectedExecutionException("lane is full and the publisher is itself a lane");
+        }
+        try {
+            if (!executor.getQueue().offer(task, properties.publishTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new RejectedExecutionException("lane stayed full for " + properties.publishTimeout());
+            }
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted while waiting for room in the lane");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.vertyll.fastprod.sharedinfrastructure.event;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DomainEventProperties.class)
+public class DomainEventConfig {
+}
@@ -0,0 +1,11 @@
+package com.vertyll.fastprod.sharedinfrastructure.event;
+
+/**
+ * Receives committed domain events of type {@code E}, including its subtypes, on a
+ * {@link DomainEventBus} worker thread rather than the request thread. A listener that throws is
+ * counted and logged; the event is not redelivered.
+ */
+public interface DomainEventListener<E extends DomainEvent> {
+
+    void onEvent(E event);
+}
@@ -0,0 +1,30 @@
+package com.vertyll.fastprod.sharedinfrastructure.event;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param lanes single-threaded delivery lanes; events of one aggregate always use the same lane
+ * @param queueCapacity events a lane holds before publishers wait for room
+ * @param publishTimeout how long a publisher waits for room in a full lane before the event is dropped
+ * @param shutdownTimeout how long queued events may still be delivered when the application stops
+ */
+@ConfigurationProperties(prefix = "application.events")
+public record DomainEventProperties(
+    Integer lanes,
+    Integer queueCapacity,
+    Duration publishTimeout,
+    Duration shutdownTimeout
+) {
+    public DomainEventProperties {
+        if (lanes == null)
+            lanes = 4;
+        if (queueCapacity == null)
+            queueCapacity = 1000;
+        if (publishTimeout == null)
+            publishTimeout = Duration.ofSeconds(1);
+        if (shutdownTimeout == null)
+            shutdownTimeout = Duration.ofSeconds(10);
+    }
+}
@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -15,6 +17,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -37,6 +40,10 @@ public class GlobalExceptionHandler {
             "You do not have permission to perform this action";
     private static final String ACCESS_DENIED = "Access denied";
     private static final String AUTHENTICATION_REQUIRED = "Authentication required";
+    private static final String CONCURRENT_MODIFICATION =
+            "The resource was modified concurrently, reload it and try again";
+    private static final String REQUEST_TIMED_OUT =
+            "The request took too long and was cancelled, narrow it down and try again";
 
     @ExceptionHandler(ApiException.class)
     public ResponseEntity<ApiResponse<Void>> handleApiException(ApiException ex) {
@@ -79,6 +86,23 @@ public class GlobalExceptionHandler {
         return ApiResponse.buildResponse(null, ACCOUNT_IS_LOCKED, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailureException(
+        OptimisticLockingFailureException ignoredEx
+    ) {
+        return ApiResponse.buildResponse(null, CONCURRENT_MODIFICATION, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(
+        {
+            QueryTimeoutException.class,
+            TransactionTimedOutException.class
+        }
+    )
+    public ResponseEntity<ApiResponse<Void>> handleTimeoutException(Exception ignoredEx) {
+        return ApiResponse.buildResponse(null, REQUEST_TIMED_OUT, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleException(Exception ignoredEx) {
         return ApiResponse.buildResponse(null, AN_UNEXPECTED_ERROR_OCCURRED, HttpStatus.INTERNAL_SERVER_ERROR);
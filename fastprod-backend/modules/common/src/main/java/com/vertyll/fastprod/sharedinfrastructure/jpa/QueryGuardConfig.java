@@ -0,0 +1,17 @@
+package com.vertyll.fastprod.sharedinfrastructure.jpa;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate instantiates {@link QueryInspector} itself, so the guard settings are handed to the
+ * static {@link QueryTracker} once the properties are bound.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryGuardProperties.class)
+public class QueryGuardConfig {
+
+    public QueryGuardConfig(QueryGuardProperties properties) {
+        QueryTracker.configure(properties);
+    }
+}
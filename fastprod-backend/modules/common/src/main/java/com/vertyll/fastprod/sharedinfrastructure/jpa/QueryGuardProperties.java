@@ -0,0 +1,26 @@
+package com.vertyll.fastprod.sharedinfrastructure.jpa;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param strict fail scopes that exceed their budget or contain an N+1 pattern instead of logging
+ * @param nPlusOneThreshold executions of the same statement shape within one scope that count as N+1
+ * @param slowQueryThreshold statements slower than this are logged with their shape
+ */
+@ConfigurationProperties(prefix = "application.jpa.query-guard")
+public record QueryGuardProperties(Boolean strict, Integer nPlusOneThreshold, Duration slowQueryThreshold) {
+    public QueryGuardProperties {
+        if (strict == null)
+            strict = false;
+        if (nPlusOneThreshold == null)
+            nPlusOneThreshold = 5;
+        if (slowQueryThreshold == null)
+            slowQueryThreshold = Duration.ofMillis(200);
+    }
+
+    static QueryGuardProperties defaults() {
+        return new QueryGuardProperties(null, null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.vertyll.fastprod.sharedinfrastructure.jpa;
+
+import java.io.Serial;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Feeds every SQL statement Hibernate prepares into {@link QueryTracker}. Registered through
+ * {@code hibernate.session_factory.statement_inspector}; the SQL is returned unchanged.
+ */
+public class QueryInspector implements StatementInspector {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        QueryTracker.onStatement(sql);
+        return sql;
+    }
+}
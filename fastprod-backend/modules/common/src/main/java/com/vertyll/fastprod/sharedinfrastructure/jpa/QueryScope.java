@@ -0,0 +1,62 @@
+package com.vertyll.fastprod.sharedinfrastructure.jpa;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Statements observed on the current thread between {@link QueryTracker#open} and {@link #close()}.
+ * Closing the scope reports statements repeated often enough to look like N+1 and, when a budget
+ * was declared, statement counts over that budget.
+ */
+@Getter
+public final class QueryScope implements AutoCloseable {
+
+    private static final int NO_BUDGET = Integer.MAX_VALUE;
+
+    private final String label;
+    private final int budget;
+    private final boolean enforced;
+    private final Map<String, Integer> executionsByShape = new LinkedHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final List<QueryScope> registeredIn;
+    private int statementCount;
+
+    QueryScope(String label, int budget, boolean enforced, List<QueryScope> registeredIn) {
+        this.label = label;
+        this.budget = budget;
+        this.enforced = enforced;
+        this.registeredIn = registeredIn;
+    }
+
+    static int noBudget() {
+        return NO_BUDGET;
+    }
+
+    /** The scopes of the thread that opened this one, which may not be the thread closing it. */
+    List<QueryScope> registeredIn() {
+        return registeredIn;
+    }
+
+    void record(String shape) {
+        statementCount++;
+        executionsByShape.merge(shape, 1, Integer::sum);
+    }
+
+    /** Statement shapes executed at least {@code threshold} times in this scope. */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        return executionsByShape.entrySet()
+            .stream()
+            .filter(e -> e.getValue() >= threshold)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, _) -> a, LinkedHashMap::new));
+    }
+
+    @Override
+    public void close() {
+        QueryTracker.close(this);
+    }
+}
@@ -0,0 +1,129 @@
+package com.vertyll.fastprod.sharedinfrastructure.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Thread-bound statement accounting for the JPA layer. {@link QueryInspector} reports every
+ * statement to all scopes open on the current thread: one per HTTP request, one per Hibernate
+ * session (i.e. per transaction) and any scope a test opens with a declared budget.
+ *
+ * <p>Scopes only log by default. With {@code application.jpa.query-guard.strict=true}, closing
+ * an enforced scope that went over budget or repeated a statement shape past the N+1 threshold
+ * throws {@link QueryBudgetExceededException}.
+ */
+@UtilityClass
+@Slf4j
+public class QueryTracker {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final ThreadLocal<List<QueryScope>> ACTIVE_SCOPES = new ThreadLocal<>();
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    private static volatile QueryGuardProperties properties = QueryGuardProperties.defaults();
+
+    static void configure(QueryGuardProperties queryGuardProperties) {
+        properties = queryGuardProperties;
+    }
+
+    /** Opens a scope that logs N+1 patterns but never fails, even in strict mode. */
+    public static QueryScope open(String label) {
+        return register(label, QueryScope.noBudget(), false);
+    }
+
+    /** Opens a scope that fails in strict mode once more than {@code budget} statements run in it. */
+    public static QueryScope open(String label, int budget) {
+        return register(label, budget, true);
+    }
+
+    /**
+     * Opens a scope like {@link #open(String)} that also counts the statement inspected last on
+     * this thread, for scopes opened while their first statement is being prepared.
+     */
+    public static QueryScope openAtCurrentStatement(String label) {
+        QueryScope scope = open(label);
+        String shape = LAST_STATEMENT.get();
+        if (shape != null) {
+            scope.record(shape);
+        }
+        return scope;
+    }
+
+    static void onStatement(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        LAST_STATEMENT.set(shape);
+
+        List<QueryScope> scopes = ACTIVE_SCOPES.get();
+        if (scopes != null) {
+            for (QueryScope scope : scopes) {
+                scope.record(shape);
+            }
+        }
+    }
+
+    /**
+     * Called with the execution time of the statement most recently reported to
+     * {@link #onStatement(String)}; logs it when it exceeds the slow-query threshold.
+     */
+    public static void onStatementExecuted(long elapsedNanos) {
+        if (elapsedNanos >= properties.slowQueryThreshold().toNanos()) {
+            log.warn(
+                "Slow query ({} ms): {}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                LAST_STATEMENT.get()
+            );
+        }
+    }
+
+    // Copy-on-write, since a scope may be closed by another thread while its own thread reports statements
+    private static QueryScope register(String label, int budget, boolean enforced) {
+        List<QueryScope> scopes = ACTIVE_SCOPES.get();
+        if (scopes == null) {
+            scopes = new CopyOnWriteArrayList<>();
+            ACTIVE_SCOPES.set(scopes);
+        }
+        QueryScope scope = new QueryScope(label, budget, enforced, scopes);
+        scopes.add(scope);
+        return scope;
+    }
+
+    static void close(QueryScope scope) {
+        // Removed from the opening thread's list, not the current one, and reported only once
+        List<QueryScope> scopes = scope.registeredIn();
+        if (!scopes.remove(scope)) {
+            return;
+        }
+        if (scopes.isEmpty() && scopes == ACTIVE_SCOPES.get()) {
+            ACTIVE_SCOPES.remove();
+            LAST_STATEMENT.remove();
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (scope.getStatementCount() > scope.getBudget()) {
+            violations.add(
+                "executed " + scope.getStatementCount() + " statements, budget is " + scope.getBudget()
+            );
+        }
+        for (Map.Entry<String, Integer> repeated : scope.repeatedStatements(properties.nPlusOneThreshold())
+            .entrySet()) {
+            violations.add("possible N+1, executed " + repeated.getValue() + " times: " + repeated.getKey());
+        }
+
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        String message = "Query guard [" + scope.getLabel() + "]: " + String.join("; ", violations);
+        if (scope.isEnforced() && properties.strict()) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
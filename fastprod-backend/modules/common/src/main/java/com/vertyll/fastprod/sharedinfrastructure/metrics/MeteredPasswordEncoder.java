@@ -0,0 +1,41 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reports the time spent hashing and verifying passwords to {@link RequestMetrics}. BCrypt is
+ * deliberately slow, so it is worth telling apart from the rest of a login request.
+ */
+@RequiredArgsConstructor
+public class MeteredPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    @Override
+    public @Nullable String encode(@Nullable CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            RequestMetrics.record(RequestPhase.PASSWORD_HASHING, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean matches(@Nullable CharSequence rawPassword, @Nullable String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            RequestMetrics.record(RequestPhase.PASSWORD_HASHING, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(@Nullable String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
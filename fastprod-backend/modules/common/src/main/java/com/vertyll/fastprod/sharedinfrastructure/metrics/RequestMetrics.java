@@ -0,0 +1,67 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Per-request timing breakdown bound to the handling thread by {@link RequestMetricsFilter}.
+ * Instrumented code calls {@link #record(RequestPhase, long)}; outside a request (scheduled jobs,
+ * startup) the call is a no-op.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] counts = new long[RequestPhase.values().length];
+    private final long[] nanos = new long[RequestPhase.values().length];
+    private long serializationStartNanos;
+
+    static RequestMetrics bind() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public static @Nullable RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    public static void record(RequestPhase phase, long elapsedNanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.counts[phase.ordinal()]++;
+            metrics.nanos[phase.ordinal()] += elapsedNanos;
+        }
+    }
+
+    static void markSerializationStart() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    static void markSerializationEnd() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null && metrics.serializationStartNanos != 0) {
+            record(RequestPhase.SERIALIZATION, System.nanoTime() - metrics.serializationStartNanos);
+            metrics.serializationStartNanos = 0;
+        }
+    }
+
+    public long count(RequestPhase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public long nanos(RequestPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
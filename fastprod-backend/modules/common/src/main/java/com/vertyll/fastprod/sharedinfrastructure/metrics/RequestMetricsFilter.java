@@ -0,0 +1,119 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryScope;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryTracker;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binds a {@link RequestMetrics} to every request and publishes the breakdown as
+ * {@code fastprod.request.phase} timers (tagged by route template, method and phase) and a
+ * {@code fastprod.request.queries} summary. Runs ahead of the security filter chain so that JWT
+ * parsing is included. Requests slower than the configured threshold are logged with their
+ * breakdown.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String PHASE_TIMER = "fastprod.request.phase";
+    static final String QUERIES_SUMMARY = "fastprod.request.queries";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private static final String TOTAL = "total";
+    private static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestProperties slowRequestProperties;
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestMetrics metrics = RequestMetrics.bind();
+        try (QueryScope _ = QueryTracker.open(request.getMethod() + " " + request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestMetrics.unbind();
+            publish(request, response, metrics, metrics.elapsedNanos());
+        }
+    }
+
+    private void publish(HttpServletRequest request, HttpServletResponse response, RequestMetrics metrics, long totalNanos) {
+        String uri = resolveUri(request);
+        String method = request.getMethod();
+
+        long accountedNanos = 0;
+        phaseTimer(uri, method, TOTAL).record(totalNanos, TimeUnit.NANOSECONDS);
+        for (RequestPhase phase : RequestPhase.values()) {
+            if (metrics.count(phase) > 0) {
+                phaseTimer(uri, method, phase.getTag()).record(metrics.nanos(phase), TimeUnit.NANOSECONDS);
+                accountedNanos += metrics.nanos(phase);
+            }
+        }
+        phaseTimer(uri, method, OTHER).record(Math.max(totalNanos - accountedNanos, 0), TimeUnit.NANOSECONDS);
+
+        DistributionSummary.builder(QUERIES_SUMMARY)
+            .description("JDBC statements executed per request")
+            .tag("uri", uri)
+            .tag("method", method)
+            .register(meterRegistry)
+            .record(metrics.count(RequestPhase.SQL));
+
+        if (
+            slowRequestProperties.enabled()
+                    && totalNanos >= slowRequestProperties.threshold().toNanos()
+        ) {
+            log.warn(
+                "Slow request {} {} -> {} in {} ms (sql: {} statements / {} ms, jwt: {} ms, password hashing: {} ms, serialization: {} ms, other: {} ms)",
+                method,
+                uri,
+                response.getStatus(),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos),
+                metrics.count(RequestPhase.SQL),
+                TimeUnit.NANOSECONDS.toMillis(metrics.nanos(RequestPhase.SQL)),
+                TimeUnit.NANOSECONDS.toMillis(metrics.nanos(RequestPhase.JWT)),
+                TimeUnit.NANOSECONDS.toMillis(metrics.nanos(RequestPhase.PASSWORD_HASHING)),
+                TimeUnit.NANOSECONDS.toMillis(metrics.nanos(RequestPhase.SERIALIZATION)),
+                TimeUnit.NANOSECONDS.toMillis(Math.max(totalNanos - accountedNanos, 0))
+            );
+        }
+    }
+
+    private Timer phaseTimer(String uri, String method, String phase) {
+        return Timer.builder(PHASE_TIMER)
+            .description("Time spent per request phase")
+            .tag("uri", uri)
+            .tag("method", method)
+            .tag("phase", phase)
+            .register(meterRegistry);
+    }
+
+    private static String resolveUri(HttpServletRequest request) {
+        // Route templates keep the tag cardinality bounded, raw paths would not
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+}
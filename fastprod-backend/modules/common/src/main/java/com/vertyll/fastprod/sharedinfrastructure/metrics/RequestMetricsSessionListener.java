@@ -0,0 +1,72 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import java.io.Serial;
+
+import org.hibernate.engine.spi.SessionEventListener;
+import org.jspecify.annotations.Nullable;
+
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryScope;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryTracker;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Attributes JDBC execution time to the current request and reports slow statements. Hibernate
+ * creates one instance per session, wired through {@code hibernate.session.events.auto}. Each
+ * session that reaches the database also gets its own {@link QueryScope}, which gives
+ * per-transaction N+1 reporting. The scope is opened with the first statement, on the thread
+ * running it, and closed with the session even when that happens on another thread.
+ */
+@SuppressFBWarnings(
+    value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
+    justification = "The scope is only meaningful on the thread that ran the session's statements"
+)
+public class RequestMetricsSessionListener implements SessionEventListener {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private transient @Nullable QueryScope transactionScope;
+    private long statementStartNanos;
+    private long batchStartNanos;
+
+    // Hibernate inspects a statement just before preparing it, so the scope counts that one too
+    @Override
+    public void jdbcPrepareStatementStart() {
+        if (transactionScope == null) {
+            transactionScope = QueryTracker.openAtCurrentStatement("transaction");
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        long elapsedNanos = System.nanoTime() - statementStartNanos;
+        RequestMetrics.record(RequestPhase.SQL, elapsedNanos);
+        QueryTracker.onStatementExecuted(elapsedNanos);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        long elapsedNanos = System.nanoTime() - batchStartNanos;
+        RequestMetrics.record(RequestPhase.SQL, elapsedNanos);
+        QueryTracker.onStatementExecuted(elapsedNanos);
+    }
+
+    @Override
+    public void end() {
+        if (transactionScope != null) {
+            transactionScope.close();
+            transactionScope = null;
+        }
+    }
+}
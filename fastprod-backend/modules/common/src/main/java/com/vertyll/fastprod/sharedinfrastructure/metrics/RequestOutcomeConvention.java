@@ -0,0 +1,55 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.DisconnectedClientHelper;
+
+import com.vertyll.fastprod.sharedinfrastructure.deadline.RequestDeadline;
+
+import io.micrometer.common.KeyValue;
+
+/**
+ * Reports two outcomes of {@code http.server.requests} apart from ordinary failures: requests cut
+ * off by their {@link RequestDeadline}, and requests whose client went away before the response was
+ * written.
+ */
+@Component
+public class RequestOutcomeConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String CLIENT_ABORTED_ATTRIBUTE = RequestOutcomeConvention.class.getName() + ".clientAborted";
+    private static final KeyValue DEADLINE_EXCEEDED = LowCardinalityKeyNames.OUTCOME.withValue("DEADLINE_EXCEEDED");
+    private static final KeyValue CLIENT_ABORTED = LowCardinalityKeyNames.OUTCOME.withValue("CLIENT_ABORTED");
+
+    /** For handlers that detect the disconnect themselves and therefore end without an error. */
+    public static void markClientAborted(HttpServletRequest request) {
+        request.setAttribute(CLIENT_ABORTED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    @Override
+    protected KeyValue outcome(ServerRequestObservationContext context) {
+        HttpServletRequest request = context.getCarrier();
+        Throwable error = context.getError();
+        if (
+            request.getAttribute(CLIENT_ABORTED_ATTRIBUTE) != null
+                || (error != null && DisconnectedClientHelper.isClientDisconnectedException(error))
+        ) {
+            return CLIENT_ABORTED;
+        }
+
+        HttpServletResponse response = context.getResponse();
+        if (
+            request.getAttribute(RequestDeadline.ATTRIBUTE) instanceof RequestDeadline deadline
+                && deadline.isExpired()
+                && response != null
+                && response.getStatus() >= 500
+        ) {
+            return DEADLINE_EXCEEDED;
+        }
+        return super.outcome(context);
+    }
+}
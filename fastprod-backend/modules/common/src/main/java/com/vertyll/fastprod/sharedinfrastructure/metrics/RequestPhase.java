@@ -0,0 +1,15 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RequestPhase {
+    SQL("sql"),
+    JWT("jwt"),
+    PASSWORD_HASHING("password_hashing"),
+    SERIALIZATION("serialization");
+
+    private final String tag;
+}
@@ -0,0 +1,20 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+class SerializationTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public void afterCompletion(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        Object handler,
+        @Nullable Exception ex
+    ) {
+        RequestMetrics.markSerializationEnd();
+    }
+}
@@ -0,0 +1,15 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "application.metrics.slow-request")
+public record SlowRequestProperties(Boolean enabled, Duration threshold) {
+    public SlowRequestProperties {
+        if (enabled == null)
+            enabled = false;
+        if (threshold == null)
+            threshold = Duration.ofMillis(500);
+    }
+}
@@ -19,12 +19,23 @@ public class ApiResponse<T> extends BaseResponse<T> {
         String message,
         HttpStatus status
     ) {
-        ApiResponse<T> response = ApiResponse.<T>builder()
+        return new ResponseEntity<>(body(data, message), status);
+    }
+
+    public static <T> ResponseEntity<ApiResponse<T>> buildResponse(
+        @Nullable T data,
+        String message,
+        HttpStatus status,
+        String eTag
+    ) {
+        return ResponseEntity.status(status).eTag(eTag).body(body(data, message));
+    }
+
+    private static <T> ApiResponse<T> body(@Nullable T data, String message) {
+        return ApiResponse.<T>builder()
             .data(data)
             .message(message)
             .timestamp(LocalDateTime.now(ZoneOffset.UTC))
             .build();
-
-        return new ResponseEntity<>(response, status);
     }
 }
@@ -0,0 +1,82 @@
+package com.vertyll.fastprod.sharedinfrastructure.util;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class EntityTags {
+
+    private static final String RESOURCE_HAS_BEEN_MODIFIED = "Resource has been modified, reload it and try again";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY = "*";
+
+    /**
+     * Builds a weak entity tag from the {@code @Version} of an entity. The id is part of the tag so
+     * that URLs resolving to different entities, such as {@code /users/me}, never share one.
+     *
+     * @param id the entity id
+     * @param version the entity version
+     * @return the tag, quoted and prefixed with {@code W/}
+     */
+    public static String weak(Object id, Object version) {
+        return WEAK_PREFIX + '"' + opaque(id, version) + '"';
+    }
+
+    /**
+     * Checks an {@code If-Match} header against the current version of an entity. A missing header
+     * or {@code *} always matches. Weak tags are compared by value, since they are derived from the
+     * version column rather than from the response body.
+     *
+     * @param ifMatch the raw header value, may list several tags
+     * @param id the entity id
+     * @param version the current entity version
+     * @throws ApiException with {@code 412 Precondition Failed} when no listed tag matches
+     */
+    public static void requireMatch(@Nullable String ifMatch, Object id, Object version) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        if (!matches(ifMatch, id, version)) {
+            throw new ApiException(RESOURCE_HAS_BEEN_MODIFIED, HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+
+    /**
+     * Checks whether an {@code If-None-Match} or {@code If-Match} header lists the current version
+     * of an entity, comparing weakly. A missing header matches nothing, {@code *} matches anything.
+     *
+     * @param tags the raw header value, may list several tags
+     * @param id the entity id
+     * @param version the current entity version
+     * @return whether any listed tag matches
+     */
+    public static boolean matches(@Nullable String tags, Object id, Object version) {
+        if (tags == null) {
+            return false;
+        }
+        String current = opaque(id, version);
+        for (String tag : tags.split(",")) {
+            String value = tag.trim();
+            if (ANY.equals(value) || current.equals(unquote(value))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(Object id, Object version) {
+        return id + "-" + version;
+    }
+
+    private static String unquote(String tag) {
+        String value = tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+        if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
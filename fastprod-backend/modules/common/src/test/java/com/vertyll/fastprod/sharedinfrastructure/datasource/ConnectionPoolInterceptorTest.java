@@ -0,0 +1,124 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolInterceptorTest {
+
+    private static final String THIS_PACKAGE = ConnectionPoolInterceptorTest.class.getPackageName();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        PoolRoutingDataSource.clear();
+    }
+
+    @Test
+    void preHandle_ShouldPreferTheMethodAnnotationOverTheControllerAnnotation() throws Exception {
+        // given
+        ConnectionPoolInterceptor interceptor = interceptor(Map.of("reporting", List.of(), "auth", List.of()));
+
+        // when
+        interceptor.preHandle(request, response, handler(new ReportingController(), "login"));
+
+        // then
+        assertEquals("auth", PoolRoutingDataSource.currentPool());
+    }
+
+    @Test
+    void preHandle_ShouldPreferTheControllerAnnotationOverThePackage() throws Exception {
+        // given
+        ConnectionPoolInterceptor interceptor = interceptor(
+            Map.of("reporting", List.of(), "auth", List.of(THIS_PACKAGE))
+        );
+
+        // when
+        interceptor.preHandle(request, response, handler(new ReportingController(), "list"));
+
+        // then
+        assertEquals("reporting", PoolRoutingDataSource.currentPool());
+    }
+
+    @Test
+    void preHandle_ShouldUseThePoolOfTheMostSpecificPackage() throws Exception {
+        // given
+        ConnectionPoolInterceptor interceptor = interceptor(
+            Map.of("reporting", List.of("com.vertyll"), "auth", List.of(THIS_PACKAGE, THIS_PACKAGE + "x"))
+        );
+
+        // when
+        interceptor.preHandle(request, response, handler(new PlainController(), "get"));
+
+        // then
+        assertEquals("auth", PoolRoutingDataSource.currentPool());
+    }
+
+    @Test
+    void preHandle_WhenPoolIsNotConfigured_ShouldUseThePrimaryPool() throws Exception {
+        // given
+        ConnectionPoolInterceptor interceptor = interceptor(Map.of("auth", List.of("com.vertyll.fastprod.auth")));
+
+        // when
+        interceptor.preHandle(request, response, handler(new ReportingController(), "list"));
+        interceptor.afterCompletion(request, response, handler(new ReportingController(), "list"), null);
+        interceptor.preHandle(request, response, handler(new PlainController(), "get"));
+
+        // then
+        assertNull(PoolRoutingDataSource.currentPool());
+    }
+
+    @Test
+    void afterCompletion_ShouldReleaseTheSelectedPool() throws Exception {
+        // given
+        ConnectionPoolInterceptor interceptor = interceptor(Map.of("reporting", List.of()));
+        HandlerMethod handler = handler(new ReportingController(), "list");
+        interceptor.preHandle(request, response, handler);
+
+        // when
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // then
+        assertNull(PoolRoutingDataSource.currentPool());
+    }
+
+    private static ConnectionPoolInterceptor interceptor(Map<String, List<String>> packagesByPool) {
+        Map<String, ConnectionPoolProperties.Pool> pools = new HashMap<>();
+        packagesByPool.forEach((name, packages) -> pools.put(
+            name,
+            new ConnectionPoolProperties.Pool(packages, null, null, null)
+        ));
+        return new ConnectionPoolInterceptor(new ConnectionPoolProperties(true, pools));
+    }
+
+    private static HandlerMethod handler(Object controller, String method) throws NoSuchMethodException {
+        return new HandlerMethod(controller, controller.getClass().getDeclaredMethod(method));
+    }
+
+    @ConnectionPool("reporting")
+    static class ReportingController {
+
+        void list() {
+        }
+
+        @ConnectionPool("auth")
+        void login() {
+        }
+    }
+
+    static class PlainController {
+
+        void get() {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PoolRoutingTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @AfterEach
+    void tearDown() {
+        PoolRoutingDataSource.clear();
+    }
+
+    @Test
+    void selectedPool_ShouldServeConnectionsWithItsStatementTimeout() {
+        try (ConnectionPools pools = pools()) {
+            // given
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new PoolRoutingDataSource(primaryDataSource(), pools));
+
+            // when
+            PoolRoutingDataSource.select("reporting");
+            String reportingTimeout = jdbcTemplate.queryForObject("SHOW statement_timeout", String.class);
+            PoolRoutingDataSource.clear();
+            String primaryTimeout = jdbcTemplate.queryForObject("SHOW statement_timeout", String.class);
+
+            // then
+            assertEquals("1500ms", reportingTimeout);
+            assertEquals("0", primaryTimeout);
+        }
+    }
+
+    @Test
+    void pools_ShouldReportHikariMetricsTaggedWithTheirName() {
+        try (ConnectionPools pools = pools()) {
+            // given
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            pools.bindTo(meterRegistry);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new PoolRoutingDataSource(primaryDataSource(), pools));
+
+            // when
+            PoolRoutingDataSource.select("reporting");
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+            // then
+            assertEquals(3, meterRegistry.get("hikaricp.connections.max").tag("pool", "reporting").gauge().value());
+            assertEquals(2, meterRegistry.get("hikaricp.connections.max").tag("pool", "auth").gauge().value());
+            assertEquals(1, meterRegistry.get("hikaricp.connections.acquire").tag("pool", "reporting").timer().count());
+            assertEquals(0, meterRegistry.get("hikaricp.connections.acquire").tag("pool", "auth").timer().count());
+        }
+    }
+
+    private static ConnectionPools pools() {
+        return new ConnectionPools(
+            new ConnectionPoolProperties(
+                true,
+                Map.of(
+                    "reporting",
+                    new ConnectionPoolProperties.Pool(List.of(), 3, Duration.ofSeconds(2), Duration.ofMillis(1500)),
+                    "auth",
+                    new ConnectionPoolProperties.Pool(List.of(), 2, Duration.ofSeconds(2), null)
+                )
+            ),
+            POSTGRES.getJdbcUrl(),
+            POSTGRES.getUsername(),
+            POSTGRES.getPassword()
+        );
+    }
+
+    private static DataSource primaryDataSource() {
+        return new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
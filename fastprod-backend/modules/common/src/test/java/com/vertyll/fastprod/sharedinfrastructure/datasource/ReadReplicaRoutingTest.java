@@ -0,0 +1,200 @@
+package com.vertyll.fastprod.sharedinfrastructure.datasource;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingTest {
+
+    private static final String IMAGE = "postgres:18-alpine";
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>(IMAGE)
+        .withNetwork(NETWORK)
+        .withNetworkAliases("primary");
+
+    // Cloned from the primary once it accepts replication connections, so it is started by hand
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>(IMAGE)
+        .withNetwork(NETWORK)
+        .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+        .withEnv("PGPASSWORD", "test")
+        .withCommand(
+            "sh",
+            "-c",
+            "until pg_basebackup -h primary -U test -D /tmp/replica -R -X stream; do rm -rf /tmp/replica; sleep 1; done"
+                + " && exec postgres -D /tmp/replica"
+        )
+        .withExposedPorts(5432)
+        .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1))
+        .withStartupTimeout(Duration.ofMinutes(2));
+
+    private static JdbcTemplate primaryJdbc;
+    private static JdbcTemplate replicaJdbc;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        PRIMARY.execInContainer(
+            "sh",
+            "-c",
+            "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\""
+        );
+        primaryJdbc = new JdbcTemplate(primaryDataSource());
+        primaryJdbc.queryForObject("SELECT pg_reload_conf()", Boolean.class);
+        REPLICA.start();
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(replicaUrl(), "test", "test"));
+
+        // Gives the replica a replayed transaction, so its lag is measured from a real commit
+        primaryJdbc.execute("CREATE TABLE replication_probe (id BIGSERIAL PRIMARY KEY)");
+        awaitReplica("SELECT to_regclass('replication_probe') IS NOT NULL");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        REPLICA.stop();
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldRunOnTheReplica() {
+        try (ReplicaPool pool = pool(replicaUrl(), Duration.ofSeconds(30))) {
+            // given
+            pool.checkHealth();
+            DataSource routing = ReadReplicaConfig.route(primaryDataSource(), pool);
+
+            // when & then
+            assertTrue(inRecovery(routing, true));
+            assertFalse(inRecovery(routing, false));
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_WhenReplicaLagsBehind_ShouldFallBackToThePrimary() throws Exception {
+        try (ReplicaPool pool = pool(replicaUrl(), Duration.ofMillis(100))) {
+            // given
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            pool.bindTo(meterRegistry);
+            replicaJdbc.execute("SELECT pg_wal_replay_pause()");
+            try {
+                primaryJdbc.update("INSERT INTO replication_probe DEFAULT VALUES");
+                awaitReplica("SELECT pg_last_wal_receive_lsn() <> pg_last_wal_replay_lsn()");
+                Thread.sleep(200);
+
+                // when
+                pool.checkHealth();
+
+                // then
+                assertFalse(inRecovery(ReadReplicaConfig.route(primaryDataSource(), pool), true));
+                assertEquals(0, meterRegistry.get(ReplicaPool.AVAILABLE_GAUGE).gauge().value());
+                assertTrue(meterRegistry.get(ReplicaPool.LAG_GAUGE).gauge().value() > 0.1);
+                assertEquals(1, meterRegistry.get(ReplicaPool.FALLBACK_COUNTER).functionCounter().count());
+            } finally {
+                replicaJdbc.execute("SELECT pg_wal_replay_resume()");
+            }
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_WhenReplicaLostThePrimary_ShouldFallBackToThePrimary() throws Exception {
+        try (ReplicaPool pool = pool(replicaUrl(), Duration.ofMillis(100))) {
+            // given
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            pool.bindTo(meterRegistry);
+            // Keeps the replica from reconnecting while the check runs
+            replicaJdbc.execute("ALTER SYSTEM SET wal_retrieve_retry_interval = '1h'");
+            replicaJdbc.queryForObject("SELECT pg_reload_conf()", Boolean.class);
+            try {
+                primaryJdbc.queryForObject(
+                    "SELECT bool_and(pg_terminate_backend(pid)) FROM pg_stat_replication",
+                    Boolean.class
+                );
+                awaitReplica("NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming')");
+                primaryJdbc.update("INSERT INTO replication_probe DEFAULT VALUES");
+                Thread.sleep(200);
+
+                // when
+                pool.checkHealth();
+
+                // then
+                assertFalse(inRecovery(ReadReplicaConfig.route(primaryDataSource(), pool), true));
+                assertEquals(0, meterRegistry.get(ReplicaPool.AVAILABLE_GAUGE).gauge().value());
+                assertTrue(meterRegistry.get(ReplicaPool.LAG_GAUGE).gauge().value() > 0.1);
+            } finally {
+                replicaJdbc.execute("ALTER SYSTEM RESET wal_retrieve_retry_interval");
+                replicaJdbc.queryForObject("SELECT pg_reload_conf()", Boolean.class);
+                awaitReplica("EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming')");
+            }
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_WhenReplicaIsUnreachable_ShouldFallBackToThePrimary() {
+        try (ReplicaPool pool = pool("jdbc:postgresql://localhost:1/test", Duration.ofSeconds(30))) {
+            // given
+            pool.checkHealth();
+
+            // when & then
+            assertFalse(inRecovery(ReadReplicaConfig.route(primaryDataSource(), pool), true));
+        }
+    }
+
+    private static ReplicaPool pool(String url, Duration maxLag) {
+        return new ReplicaPool(
+            new ReadReplicaProperties(
+                true,
+                List.of(new ReadReplicaProperties.Replica("replica", url, null, null, 2, Duration.ofMillis(500))),
+                maxLag,
+                Duration.ofSeconds(5)
+            ),
+            PRIMARY.getUsername(),
+            PRIMARY.getPassword()
+        );
+    }
+
+    private static boolean inRecovery(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Boolean inRecovery = transactionTemplate.execute(
+            _ -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)
+        );
+        return Boolean.TRUE.equals(inRecovery);
+    }
+
+    private static void awaitReplica(String condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!Boolean.TRUE.equals(replicaJdbc.queryForObject(condition, Boolean.class))) {
+            if (System.nanoTime() > deadline) {
+                fail("Replica did not reach: " + condition);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static DataSource primaryDataSource() {
+        return new DriverManagerDataSource(PRIMARY.getJdbcUrl(), PRIMARY.getUsername(), PRIMARY.getPassword());
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://%s:%d/test".formatted(REPLICA.getHost(), REPLICA.getMappedPort(5432));
+    }
+}
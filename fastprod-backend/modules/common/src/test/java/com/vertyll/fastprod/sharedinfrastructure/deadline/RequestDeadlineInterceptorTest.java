@@ -0,0 +1,128 @@
+package com.vertyll.fastprod.sharedinfrastructure.deadline;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineInterceptorTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.unbind();
+    }
+
+    @Test
+    void preHandle_ShouldPreferTheMethodBudgetOverTheControllerBudget() throws Exception {
+        // given
+        RequestDeadlineInterceptor interceptor = interceptor(Duration.ofMinutes(1));
+
+        // when
+        interceptor.preHandle(request, response, handler(new ReportingController(), "search"));
+
+        // then
+        RequestDeadline deadline = RequestDeadline.current();
+        assertNotNull(deadline);
+        assertTrue(deadline.remainingMillis() <= 250);
+        assertSame(deadline, request.getAttribute(RequestDeadline.ATTRIBUTE));
+    }
+
+    @Test
+    void preHandle_ShouldFallBackToTheControllerBudget() throws Exception {
+        // given
+        RequestDeadlineInterceptor interceptor = interceptor(Duration.ofMinutes(1));
+
+        // when
+        interceptor.preHandle(request, response, handler(new ReportingController(), "list"));
+
+        // then
+        RequestDeadline deadline = RequestDeadline.current();
+        assertNotNull(deadline);
+        assertTrue(deadline.remainingMillis() > 250 && deadline.remainingMillis() <= 2_000);
+    }
+
+    @Test
+    void preHandle_WithoutAnnotation_ShouldUseTheDefaultBudget() throws Exception {
+        // given
+        RequestDeadlineInterceptor interceptor = interceptor(Duration.ofMinutes(1));
+
+        // when
+        interceptor.preHandle(request, response, handler(new PlainController(), "get"));
+
+        // then
+        RequestDeadline deadline = RequestDeadline.current();
+        assertNotNull(deadline);
+        assertTrue(deadline.remainingMillis() > 2_000);
+    }
+
+    @Test
+    void preHandle_WhenNoBudgetApplies_ShouldNotStartADeadline() throws Exception {
+        // given
+        RequestDeadlineInterceptor interceptor = interceptor(Duration.ZERO);
+
+        // when
+        interceptor.preHandle(request, response, handler(new PlainController(), "get"));
+
+        // then
+        assertNull(RequestDeadline.current());
+        assertNull(request.getAttribute(RequestDeadline.ATTRIBUTE));
+    }
+
+    @Test
+    void afterCompletion_ShouldReleaseTheDeadline() throws Exception {
+        // given
+        RequestDeadlineInterceptor interceptor = interceptor(Duration.ZERO);
+        HandlerMethod handler = handler(new ReportingController(), "list");
+        interceptor.preHandle(request, response, handler);
+
+        // when
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // then
+        assertNull(RequestDeadline.current());
+    }
+
+    @Test
+    void isExpired_ShouldTurnTrueOnceTheBudgetIsSpent() {
+        // when
+        RequestDeadline deadline = RequestDeadline.after(Duration.ZERO);
+
+        // then
+        assertTrue(deadline.isExpired());
+        assertTrue(deadline.remainingMillis() <= 0);
+        assertFalse(RequestDeadline.after(Duration.ofMinutes(1)).isExpired());
+    }
+
+    private static RequestDeadlineInterceptor interceptor(Duration defaultBudget) {
+        return new RequestDeadlineInterceptor(new RequestDeadlineProperties(defaultBudget));
+    }
+
+    private static HandlerMethod handler(Object controller, String method) throws NoSuchMethodException {
+        return new HandlerMethod(controller, controller.getClass().getDeclaredMethod(method));
+    }
+
+    @Deadline("2s")
+    static class ReportingController {
+
+        void list() {
+        }
+
+        @Deadline("250ms")
+        void search() {
+        }
+    }
+
+    static class PlainController {
+
+        void get() {
+        }
+    }
+}
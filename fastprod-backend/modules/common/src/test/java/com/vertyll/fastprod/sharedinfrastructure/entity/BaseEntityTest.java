@@ -6,6 +6,7 @@ import java.time.ZoneOffset;
 
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -68,4 +69,17 @@ class BaseEntityTest {
         // then
         assertEquals(id, entity.getId());
     }
+
+    @Test
+    void version_ShouldBeMappedForOptimisticLocking() throws NoSuchFieldException {
+        // given
+        TestEntity entity = new TestEntity();
+
+        // when
+        entity.setVersion(2L);
+
+        // then
+        assertEquals(2L, entity.getVersion());
+        assertTrue(BaseEntity.class.getDeclaredField("version").isAnnotationPresent(Version.class));
+    }
 }
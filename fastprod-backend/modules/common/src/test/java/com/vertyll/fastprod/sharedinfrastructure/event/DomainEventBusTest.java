@@ -0,0 +1,230 @@
+package com.vertyll.fastprod.sharedinfrastructure.event;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainEventBusTest {
+
+    private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    private final OrderListener orderListener = new OrderListener();
+    private final AllEventsListener allEventsListener = new AllEventsListener();
+
+    private SimpleMeterRegistry meterRegistry;
+    private DomainEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        beanFactory.addBean("orderListener", orderListener);
+        beanFactory.addBean("allEventsListener", allEventsListener);
+    }
+
+    @Test
+    void publish_ShouldDeliverEventsToListenersOfTheirType() throws Exception {
+        // given
+        bus = newBus();
+
+        // when
+        bus.publish(new OrderChanged(1L, 1));
+        bus.publish(new CustomerChanged(1L));
+        bus.shutdown();
+
+        // then
+        assertEquals(List.of(new OrderChanged(1L, 1)), orderListener.received);
+        assertEquals(List.of(new OrderChanged(1L, 1), new CustomerChanged(1L)), allEventsListener.received);
+        assertTrue(orderListener.threads.stream().allMatch(Thread::isVirtual));
+        assertEquals(2, meterRegistry.get(DomainEventBus.LAG_TIMER).timers().size());
+    }
+
+    @Test
+    void publish_ShouldKeepTheOrderOfEachAggregate() throws Exception {
+        // given
+        bus = newBus();
+
+        // when
+        IntStream.rangeClosed(1, 500).forEach(sequence -> {
+            bus.publish(new OrderChanged(1L, sequence));
+            bus.publish(new OrderChanged(2L, sequence));
+        });
+        bus.shutdown();
+
+        // then
+        assertEquals(IntStream.rangeClosed(1, 500).boxed().toList(), orderListener.sequencesOf(1L));
+        assertEquals(IntStream.rangeClosed(1, 500).boxed().toList(), orderListener.sequencesOf(2L));
+    }
+
+    @Test
+    void publish_WhenAListenerFails_ShouldStillDeliverToTheOthers() throws Exception {
+        // given
+        beanFactory.addBean("failingListener", new FailingListener());
+        bus = newBus();
+
+        // when
+        bus.publish(new OrderChanged(1L, 1));
+        bus.publish(new OrderChanged(1L, 2));
+        bus.shutdown();
+
+        // then
+        assertEquals(List.of(1, 2), orderListener.sequencesOf(1L));
+        assertEquals(
+            2,
+            meterRegistry.get(DomainEventBus.FAILURES_COUNTER).tag("listener", "FailingListener").counter().count()
+        );
+    }
+
+    @Test
+    void publish_WhenLaneStaysFull_ShouldCountOverflowInsteadOfWaitingForever() throws Exception {
+        // given
+        BlockingListener blockingListener = new BlockingListener();
+        beanFactory.addBean("blockingListener", blockingListener);
+        bus = newBus(1, 1, Duration.ofMillis(50));
+
+        // when
+        bus.publish(new CustomerChanged(1L));
+        bus.publish(new CustomerChanged(2L));
+        bus.publish(new CustomerChanged(3L));
+        blockingListener.release.countDown();
+        bus.shutdown();
+
+        // then
+        assertEquals(List.of(1L, 2L), blockingListener.received);
+        assertEquals(
+            1,
+            meterRegistry.get(DomainEventBus.OVERFLOW_COUNTER).tag("event", "CustomerChanged").counter().count()
+        );
+    }
+
+    @Test
+    void publish_FromAListenerOntoItsOwnFullLane_ShouldNotDeadlock() {
+        // given
+        beanFactory.addBean("republishingListener", new RepublishingListener());
+        bus = newBus(1, 1, Duration.ofSeconds(10));
+
+        // when
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            bus.publish(new CustomerChanged(1L));
+            bus.shutdown();
+        });
+
+        // then
+        assertEquals(List.of(1), orderListener.sequencesOf(1L));
+        assertEquals(
+            1,
+            meterRegistry.get(DomainEventBus.OVERFLOW_COUNTER).tag("event", "OrderChanged").counter().count()
+        );
+    }
+
+    private DomainEventBus newBus() {
+        return newBus(4, 16, Duration.ofSeconds(10));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private DomainEventBus newBus(int lanes, int queueCapacity, Duration publishTimeout) {
+        ObjectProvider<DomainEventListener<?>> listeners = (ObjectProvider) beanFactory.getBeanProvider(
+            DomainEventListener.class
+        );
+        return new DomainEventBus(
+            new DomainEventProperties(lanes, queueCapacity, publishTimeout, Duration.ofSeconds(10)),
+            listeners,
+            meterRegistry
+        );
+    }
+
+    record OrderChanged(Long orderId, int sequence) implements DomainEvent {
+
+        @Override
+        public String aggregateType() {
+            return "order";
+        }
+
+        @Override
+        public Long aggregateId() {
+            return orderId;
+        }
+    }
+
+    record CustomerChanged(Long customerId) implements DomainEvent {
+
+        @Override
+        public String aggregateType() {
+            return "customer";
+        }
+
+        @Override
+        public Long aggregateId() {
+            return customerId;
+        }
+    }
+
+    static class OrderListener implements DomainEventListener<OrderChanged> {
+
+        private final List<OrderChanged> received = new CopyOnWriteArrayList<>();
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvent(OrderChanged event) {
+            received.add(event);
+            threads.add(Thread.currentThread());
+        }
+
+        List<Integer> sequencesOf(Long orderId) {
+            return received.stream().filter(e -> e.orderId().equals(orderId)).map(OrderChanged::sequence).toList();
+        }
+    }
+
+    static class AllEventsListener implements DomainEventListener<DomainEvent> {
+
+        private final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvent(DomainEvent event) {
+            received.add(event);
+        }
+    }
+
+    static class FailingListener implements DomainEventListener<OrderChanged> {
+
+        @Override
+        public void onEvent(OrderChanged event) {
+            throw new IllegalStateException("listener failure");
+        }
+    }
+
+    static class BlockingListener implements DomainEventListener<CustomerChanged> {
+
+        private final List<Long> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(CustomerChanged event) {
+            try {
+                release.await();
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event.customerId());
+        }
+    }
+
+    // Fills its own lane: the first event takes the only queue slot, the second finds it full
+    class RepublishingListener implements DomainEventListener<CustomerChanged> {
+
+        @Override
+        public void onEvent(CustomerChanged event) {
+            bus.publish(new OrderChanged(event.customerId(), 1));
+            bus.publish(new OrderChanged(event.customerId(), 2));
+        }
+    }
+}
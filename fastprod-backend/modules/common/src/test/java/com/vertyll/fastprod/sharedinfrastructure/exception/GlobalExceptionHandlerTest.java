@@ -7,6 +7,7 @@ import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -155,6 +156,22 @@ class GlobalExceptionHandlerTest {
         assertEquals("Account is locked", body.getMessage());
     }
 
+    @Test
+    void handleOptimisticLockingFailureException_ShouldReturnConflict() {
+        // given
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("row was updated");
+
+        // when
+        ResponseEntity<ApiResponse<Void>> response = handler.handleOptimisticLockingFailureException(ex);
+
+        // then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+
+        ApiResponse<Void> body = response.getBody();
+        assertNotNull(body);
+        assertEquals("The resource was modified concurrently, reload it and try again", body.getMessage());
+    }
+
     @Test
     void handleException_ShouldReturnInternalServerError() {
         // given
@@ -0,0 +1,120 @@
+package com.vertyll.fastprod.sharedinfrastructure.jpa;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTrackerTest {
+
+    private final QueryInspector inspector = new QueryInspector();
+
+    @AfterEach
+    void tearDown() {
+        QueryTracker.configure(QueryGuardProperties.defaults());
+    }
+
+    @Test
+    void open_ShouldCountStatementsInspectedWhileScopeIsOpen() {
+        // given
+        QueryTracker.configure(new QueryGuardProperties(true, 5, Duration.ofMillis(200)));
+
+        // when
+        int statementCount;
+        try (QueryScope scope = QueryTracker.open("employees", 2)) {
+            inspector.inspect("select u.id from \"user\" u where u.is_active = ?");
+            inspector.inspect("select count(u.id) from \"user\" u where u.is_active = ?");
+            statementCount = scope.getStatementCount();
+        }
+        inspector.inspect("select 1");
+
+        // then
+        assertEquals(2, statementCount);
+    }
+
+    @Test
+    void close_WhenBudgetExceededInStrictMode_ShouldThrowException() {
+        // given
+        QueryTracker.configure(new QueryGuardProperties(true, 5, Duration.ofMillis(200)));
+        QueryScope scope = QueryTracker.open("refreshToken", 1);
+        inspector.inspect("select * from refresh_token where token = ?");
+        inspector.inspect("update refresh_token set last_used_at = ? where id = ?");
+
+        // when & then
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class, scope::close);
+        assertTrue(exception.getMessage().contains("executed 2 statements, budget is 1"));
+    }
+
+    @Test
+    void close_WhenStatementRepeatedPastThresholdInStrictMode_ShouldReportNPlusOne() {
+        // given
+        QueryTracker.configure(new QueryGuardProperties(true, 3, Duration.ofMillis(200)));
+        QueryScope scope = QueryTracker.open("getAllEmployees", 100);
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect("select r.* from role r join user_role ur on r.id = ur.role_id where ur.user_id = ?");
+        }
+
+        // when & then
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class, scope::close);
+        assertTrue(exception.getMessage().contains("possible N+1, executed 3 times"));
+    }
+
+    @Test
+    void close_WhenNotStrict_ShouldOnlyLog() {
+        // given
+        QueryTracker.configure(new QueryGuardProperties(false, 2, Duration.ofMillis(200)));
+        QueryScope scope = QueryTracker.open("getCurrentUser", 0);
+        inspector.inspect("select * from \"user\" where email = ?");
+        inspector.inspect("select * from \"user\" where email = ?");
+
+        // when & then
+        assertDoesNotThrow(scope::close);
+    }
+
+    @Test
+    void open_WithoutBudget_ShouldNeverThrowEvenInStrictMode() {
+        // given
+        QueryTracker.configure(new QueryGuardProperties(true, 2, Duration.ofMillis(200)));
+        QueryScope scope = QueryTracker.open("transaction");
+        inspector.inspect("select * from role where id = ?");
+        inspector.inspect("select   *  from role\n where id = ?");
+
+        // when & then
+        assertEquals(1, scope.repeatedStatements(2).size());
+        assertDoesNotThrow(scope::close);
+    }
+
+    @Test
+    void openAtCurrentStatement_ShouldCountTheStatementJustInspected() {
+        // given
+        QueryScope request = QueryTracker.open("request");
+        inspector.inspect("select * from role where id = ?");
+
+        // when
+        QueryScope transaction = QueryTracker.openAtCurrentStatement("transaction");
+        inspector.inspect("select * from \"user\" where id = ?");
+        transaction.close();
+        request.close();
+
+        // then
+        assertEquals(2, transaction.getStatementCount());
+        assertEquals(2, request.getStatementCount());
+    }
+
+    @Test
+    void close_FromAnotherThread_ShouldStopRecordingOnTheOpeningThread() throws InterruptedException {
+        // given
+        QueryScope scope = QueryTracker.open("transaction");
+        inspector.inspect("select * from role where id = ?");
+
+        // when
+        Thread.ofVirtual().start(scope::close).join();
+        inspector.inspect("select * from \"user\" where id = ?");
+
+        // then
+        assertEquals(1, scope.getStatementCount());
+        assertDoesNotThrow(scope::close);
+    }
+}
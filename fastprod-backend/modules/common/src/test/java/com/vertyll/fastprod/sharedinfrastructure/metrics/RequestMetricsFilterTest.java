@@ -0,0 +1,97 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestMetricsFilter(meterRegistry, new SlowRequestProperties(true, Duration.ofMillis(500)));
+    }
+
+    @Test
+    void doFilter_ShouldPublishPhaseBreakdownTaggedByRouteTemplate() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, (_, _) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/employees/{id}");
+            RequestMetrics.record(RequestPhase.SQL, TimeUnit.MILLISECONDS.toNanos(3));
+            RequestMetrics.record(RequestPhase.SQL, TimeUnit.MILLISECONDS.toNanos(2));
+            RequestMetrics.record(RequestPhase.JWT, TimeUnit.MILLISECONDS.toNanos(1));
+        });
+
+        // then
+        Timer sql = meterRegistry.get(RequestMetricsFilter.PHASE_TIMER)
+            .tag("uri", "/employees/{id}")
+            .tag("method", "GET")
+            .tag("phase", "sql")
+            .timer();
+        assertEquals(5, sql.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        Timer jwt = meterRegistry.get(RequestMetricsFilter.PHASE_TIMER).tag("phase", "jwt").timer();
+        assertEquals(1, jwt.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        assertNotNull(meterRegistry.get(RequestMetricsFilter.PHASE_TIMER).tag("phase", "total").timer());
+        assertNotNull(meterRegistry.get(RequestMetricsFilter.PHASE_TIMER).tag("phase", "other").timer());
+        assertTrue(meterRegistry.find(RequestMetricsFilter.PHASE_TIMER).tag("phase", "serialization").timers().isEmpty());
+
+        DistributionSummary queries = meterRegistry.get(RequestMetricsFilter.QUERIES_SUMMARY)
+            .tag("uri", "/employees/{id}")
+            .summary();
+        assertEquals(2, queries.totalAmount(), 0.001);
+    }
+
+    @Test
+    void doFilter_ShouldUseUnknownUriWhenNoHandlerMatched() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/does-not-exist/123");
+
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), (_, _) -> {
+        });
+
+        // then
+        assertNotNull(meterRegistry.get(RequestMetricsFilter.PHASE_TIMER).tag("uri", "UNKNOWN").tag("phase", "total").timer());
+    }
+
+    @Test
+    void doFilter_ShouldUnbindMetricsAfterRequest() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/authenticate");
+
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), (_, _) -> assertNotNull(RequestMetrics.current()));
+
+        // then
+        assertNull(RequestMetrics.current());
+    }
+
+    @Test
+    void record_ShouldBeNoOpOutsideRequest() {
+        // when
+        RequestMetrics.record(RequestPhase.SQL, 1_000L);
+
+        // then
+        assertNull(RequestMetrics.current());
+    }
+}
@@ -0,0 +1,72 @@
+package com.vertyll.fastprod.sharedinfrastructure.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.vertyll.fastprod.sharedinfrastructure.deadline.RequestDeadline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestOutcomeConventionTest {
+
+    private final RequestOutcomeConvention convention = new RequestOutcomeConvention();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void outcome_WhenDeadlineExpiredAndRequestFailed_ShouldBeDeadlineExceeded() {
+        // given
+        request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(Duration.ZERO));
+        response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+
+        // when & then
+        assertEquals("DEADLINE_EXCEEDED", outcome());
+    }
+
+    @Test
+    void outcome_WhenDeadlineExpiredButRequestSucceeded_ShouldBeSuccess() {
+        // given
+        request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(Duration.ZERO));
+
+        // when & then
+        assertEquals("SUCCESS", outcome());
+    }
+
+    @Test
+    void outcome_WhenClientDisconnected_ShouldBeClientAborted() {
+        // given
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, response);
+        context.setError(new IOException("Broken pipe"));
+
+        // when & then
+        assertEquals("CLIENT_ABORTED", outcome(context));
+    }
+
+    @Test
+    void outcome_WhenHandlerMarkedTheClientAborted_ShouldBeClientAborted() {
+        // given
+        RequestOutcomeConvention.markClientAborted(request);
+
+        // when & then
+        assertEquals("CLIENT_ABORTED", outcome());
+    }
+
+    private String outcome() {
+        return outcome(new ServerRequestObservationContext(request, response));
+    }
+
+    private String outcome(ServerRequestObservationContext context) {
+        return convention.getLowCardinalityKeyValues(context)
+            .stream()
+            .filter(keyValue -> keyValue.getKey().equals("outcome"))
+            .findFirst()
+            .orElseThrow()
+            .getValue();
+    }
+}
@@ -47,6 +47,20 @@ class ApiResponseTest {
         assertNull(body.getData());
     }
 
+    @Test
+    void buildResponse_WithETag_ShouldSetHeader() {
+        // when
+        ResponseEntity<ApiResponse<String>> response =
+                ApiResponse.buildResponse("data", "message", HttpStatus.OK, "W/\"1-0\"");
+
+        // then
+        assertEquals("W/\"1-0\"", response.getHeaders().getETag());
+
+        ApiResponse<String> body = response.getBody();
+        assertNotNull(body);
+        assertEquals("data", body.getData());
+    }
+
     @Test
     void constructor_ShouldSetDefaultTimestamp() {
         // when
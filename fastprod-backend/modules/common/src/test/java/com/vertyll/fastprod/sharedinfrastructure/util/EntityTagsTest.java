@@ -0,0 +1,46 @@
+package com.vertyll.fastprod.sharedinfrastructure.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+
+    @Test
+    void weak_ShouldCombineIdAndVersion() {
+        // when & then
+        assertEquals("W/\"7-3\"", EntityTags.weak(7L, 3));
+    }
+
+    @Test
+    void requireMatch_ShouldAcceptMissingWildcardAndMatchingTags() {
+        // when & then
+        assertDoesNotThrow(() -> EntityTags.requireMatch(null, 7L, 3));
+        assertDoesNotThrow(() -> EntityTags.requireMatch("*", 7L, 3));
+        assertDoesNotThrow(() -> EntityTags.requireMatch("W/\"7-3\"", 7L, 3));
+        assertDoesNotThrow(() -> EntityTags.requireMatch("\"7-2\", \"7-3\"", 7L, 3));
+    }
+
+    @Test
+    void requireMatch_ShouldRejectStaleVersionOrOtherEntity() {
+        // when
+        ApiException stale = assertThrows(ApiException.class, () -> EntityTags.requireMatch("W/\"7-2\"", 7L, 3));
+        ApiException other = assertThrows(ApiException.class, () -> EntityTags.requireMatch("W/\"8-3\"", 7L, 3));
+
+        // then
+        assertEquals(HttpStatus.PRECONDITION_FAILED, stale.getStatus());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, other.getStatus());
+    }
+
+    @Test
+    void matches_ShouldMatchListedOrWildcardTagsOnly() {
+        // when & then
+        assertFalse(EntityTags.matches(null, 7L, 3));
+        assertTrue(EntityTags.matches("*", 7L, 3));
+        assertTrue(EntityTags.matches("\"7-2\", W/\"7-3\"", 7L, 3));
+        assertFalse(EntityTags.matches("W/\"7-2\"", 7L, 3));
+    }
+}
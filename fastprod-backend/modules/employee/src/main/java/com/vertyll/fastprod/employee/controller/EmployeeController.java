@@ -1,28 +1,46 @@
 package com.vertyll.fastprod.employee.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.vertyll.fastprod.employee.dto.EmployeeChangesDto;
 import com.vertyll.fastprod.employee.dto.EmployeeCreateDto;
+import com.vertyll.fastprod.employee.dto.EmployeeExportFormat;
 import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
 import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
 import com.vertyll.fastprod.employee.dto.EmployeeUpdateDto;
+import com.vertyll.fastprod.employee.service.EmployeeExportService;
 import com.vertyll.fastprod.employee.service.EmployeeService;
+import com.vertyll.fastprod.sharedinfrastructure.datasource.ConnectionPool;
+import com.vertyll.fastprod.sharedinfrastructure.deadline.Deadline;
+import com.vertyll.fastprod.sharedinfrastructure.metrics.RequestOutcomeConvention;
 import com.vertyll.fastprod.sharedinfrastructure.response.ApiResponse;
 import com.vertyll.fastprod.sharedinfrastructure.response.PaginatedApiResponse;
+import com.vertyll.fastprod.sharedinfrastructure.util.EntityTags;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @RequestMapping("/employees")
 @RequiredArgsConstructor
+@Slf4j
 @Tag(name = "Employees", description = "Employee management APIs")
 public class EmployeeController {
 
@@ -31,8 +49,10 @@ public class EmployeeController {
     private static final String EMPLOYEE_RETRIEVED_SUCCESSFULLY = "Employee retrieved successfully";
     private static final String EMPLOYEES_RETRIEVED_SUCCESSFULLY = "Employees retrieved successfully";
     private static final String EMPLOYEE_DELETED_SUCCESSFULLY = "Employee deleted successfully";
+    private static final String EMPLOYEE_CHANGES_RETRIEVED_SUCCESSFULLY = "Employee changes retrieved successfully";
 
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -44,25 +64,40 @@ public class EmployeeController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Update existing employee")
+    @Operation(summary = "Update existing employee", description = "Rejected with 412 when If-Match is stale")
     public ResponseEntity<ApiResponse<EmployeeResponseDto>> updateEmployee(
         @PathVariable Long id,
-        @RequestBody @Valid EmployeeUpdateDto dto
+        @RequestBody @Valid EmployeeUpdateDto dto,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Nullable String ifMatch
     ) {
-        EmployeeResponseDto employee = employeeService.updateEmployee(id, dto);
+        EmployeeResponseDto employee = employeeService.updateEmployee(id, dto, ifMatch);
         return ApiResponse.buildResponse(employee, EMPLOYEE_UPDATED_SUCCESSFULLY, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN')")
-    @Operation(summary = "Get employee by ID")
-    public ResponseEntity<ApiResponse<EmployeeResponseDto>> getEmployee(@PathVariable Long id) {
+    @Operation(summary = "Get employee by ID", description = "Answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<ApiResponse<EmployeeResponseDto>> getEmployee(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Nullable String ifNoneMatch
+    ) {
+        // Only the version is read up front, so a revalidation skips loading, mapping and serialization
+        UserVersionDto version = employeeService.getEmployeeVersion(id);
+        if (EntityTags.matches(ifNoneMatch, version.id(), version.version())) {
+            String eTag = EntityTags.weak(version.id(), version.version());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        // Tagged from the loaded body, an update in between must not pair it with the older version
         EmployeeResponseDto employee = employeeService.getEmployeeById(id);
-        return ApiResponse.buildResponse(employee, EMPLOYEE_RETRIEVED_SUCCESSFULLY, HttpStatus.OK);
+        String eTag = EntityTags.weak(employee.id(), employee.version());
+        return ApiResponse.buildResponse(employee, EMPLOYEE_RETRIEVED_SUCCESSFULLY, HttpStatus.OK, eTag);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN')")
+    @ConnectionPool("reporting")
+    @Deadline("5s")
     @Operation(summary = "Get all employees with pagination and filters")
     public ResponseEntity<PaginatedApiResponse<EmployeeResponseDto>> getAllEmployees(
         @Valid @ModelAttribute EmployeeFilterDto filterDto
@@ -71,6 +106,48 @@ public class EmployeeController {
         return PaginatedApiResponse.buildResponse(employees, EMPLOYEES_RETRIEVED_SUCCESSFULLY, HttpStatus.OK);
     }
 
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get employees changed since a cursor",
+        description = "Start without since, then pass nextCursor back; deactivated employees come as tombstones"
+    )
+    public ResponseEntity<ApiResponse<EmployeeChangesDto>> getEmployeeChanges(
+        @RequestParam(required = false) @Nullable String since,
+        @RequestParam(defaultValue = "100") int limit
+    ) {
+        EmployeeChangesDto changes = employeeService.getChanges(since, limit);
+        return ApiResponse.buildResponse(changes, EMPLOYEE_CHANGES_RETRIEVED_SUCCESSFULLY, HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Export all employees matching the filters",
+        description = "Streams NDJSON or CSV in a single response, paging parameters are ignored"
+    )
+    public void exportEmployees(
+        @Valid @ModelAttribute EmployeeFilterDto filterDto,
+        @RequestParam(defaultValue = "NDJSON") EmployeeExportFormat format,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) {
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("employees." + format.getExtension()).build().toString()
+        );
+
+        try {
+            employeeExportService.exportEmployees(filterDto, format, response.getOutputStream());
+        } catch (IOException e) {
+            // The client went away mid-export; the cursor is already closed and there is nobody to answer
+            log.debug("Employee export aborted: {}", e.getMessage());
+            RequestOutcomeConvention.markClientAborted(request);
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete employee")
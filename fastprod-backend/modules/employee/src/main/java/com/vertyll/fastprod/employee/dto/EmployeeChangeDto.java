@@ -0,0 +1,17 @@
+package com.vertyll.fastprod.employee.dto;
+
+import java.time.LocalDateTime;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * @param deleted tombstone of a deactivated employee, {@code employee} is then absent
+ * @param employee current state of the employee, absent for tombstones
+ */
+public record EmployeeChangeDto(
+    Long id,
+    LocalDateTime updatedAt,
+    boolean deleted,
+    @Nullable EmployeeResponseDto employee
+) {
+}
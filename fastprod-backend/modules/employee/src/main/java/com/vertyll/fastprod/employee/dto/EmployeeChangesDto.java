@@ -0,0 +1,11 @@
+package com.vertyll.fastprod.employee.dto;
+
+import java.util.List;
+
+/**
+ * @param changes employees changed after the requested cursor, oldest first
+ * @param nextCursor cursor to pass as {@code since} on the next call, unchanged when nothing new was found
+ * @param hasMore more changes are available right away
+ */
+public record EmployeeChangesDto(List<EmployeeChangeDto> changes, String nextCursor, boolean hasMore) {
+}
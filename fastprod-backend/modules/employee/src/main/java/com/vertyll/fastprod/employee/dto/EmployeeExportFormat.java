@@ -0,0 +1,20 @@
+package com.vertyll.fastprod.employee.dto;
+
+import org.springframework.http.MediaType;
+
+import lombok.Getter;
+
+@Getter
+public enum EmployeeExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+
+    private final String extension;
+
+    EmployeeExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+}
@@ -10,6 +10,7 @@ public record EmployeeResponseDto(
     String lastName,
     String email,
     Set<RoleType> roles,
-    boolean isVerified
+    boolean isVerified,
+    Long version
 ) {
 }
@@ -0,0 +1,19 @@
+package com.vertyll.fastprod.employee.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.vertyll.fastprod.employee.dto.EmployeeExportFormat;
+import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
+
+public interface EmployeeExportService {
+    /**
+     * Writes every employee matching the filter to {@code out}, ignoring the paging parameters.
+     * Rows are read from a forward-only cursor and written as they arrive, so memory use does not
+     * depend on the number of employees. An {@link IOException} means the client stopped reading.
+     *
+     * @return number of employees written
+     */
+    long exportEmployees(EmployeeFilterDto filterDto, EmployeeExportFormat format, OutputStream out)
+        throws IOException;
+}
@@ -2,24 +2,37 @@ package com.vertyll.fastprod.employee.service;
 
 import jakarta.transaction.Transactional;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 
+import com.vertyll.fastprod.employee.dto.EmployeeChangesDto;
 import com.vertyll.fastprod.employee.dto.EmployeeCreateDto;
 import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
 import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
 import com.vertyll.fastprod.employee.dto.EmployeeUpdateDto;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 
 public interface EmployeeService {
     @Transactional
     EmployeeResponseDto createEmployee(EmployeeCreateDto dto);
 
     @Transactional
-    EmployeeResponseDto updateEmployee(Long id, EmployeeUpdateDto dto);
+    EmployeeResponseDto updateEmployee(Long id, EmployeeUpdateDto dto, @Nullable String ifMatch);
 
     EmployeeResponseDto getEmployeeById(Long id);
 
+    /** Version of an active employee for conditional reads, without loading or mapping the entity. */
+    UserVersionDto getEmployeeVersion(Long id);
+
     Page<EmployeeResponseDto> getAllEmployees(EmployeeFilterDto filterDto);
 
+    /**
+     * Users created, updated or deactivated after {@code since}, oldest first, with deactivated
+     * users reported as tombstones. Changes younger than a few seconds are held back so that a
+     * transaction committing late cannot slip in behind a cursor that was already handed out.
+     */
+    EmployeeChangesDto getChanges(@Nullable String since, int limit);
+
     @Transactional
     void deleteEmployee(Long id);
 }
@@ -0,0 +1,47 @@
+package com.vertyll.fastprod.employee.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+/**
+ * Position in the change feed: the {@code (updated_at, id)} of the last change a consumer has seen.
+ * Serialised as an opaque URL-safe token so clients do not depend on its shape.
+ */
+record EmployeeChangeCursor(LocalDateTime updatedAt, long id) {
+
+    static final EmployeeChangeCursor START = new EmployeeChangeCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    private static final String INVALID_CURSOR = "Invalid change cursor";
+    private static final char SEPARATOR = '|';
+
+    static EmployeeChangeCursor parse(@Nullable String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ApiException(INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+            }
+            return new EmployeeChangeCursor(
+                LocalDateTime.parse(decoded.substring(0, separator)),
+                Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException _) {
+            throw new ApiException(INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    String format() {
+        String raw = updatedAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
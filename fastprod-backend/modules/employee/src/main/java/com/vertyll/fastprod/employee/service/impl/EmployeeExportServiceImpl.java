@@ -0,0 +1,142 @@
+package com.vertyll.fastprod.employee.service.impl;
+
+import com.vertyll.fastprod.employee.dto.EmployeeExportFormat;
+import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
+import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
+import com.vertyll.fastprod.employee.service.EmployeeExportService;
+import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.user.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+class EmployeeExportServiceImpl implements EmployeeExportService {
+
+    // Rows the driver pulls per round trip; PostgreSQL only uses a cursor inside a transaction
+    private static final int FETCH_SIZE = 500;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String ID = "id";
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String EMAIL = "email";
+    private static final String VERIFIED = "verified";
+    private static final String VERSION = "version";
+    private static final String ROLE = "role";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEmployees(EmployeeFilterDto filterDto, EmployeeExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        EmployeeExportWriter exportWriter = EmployeeExportWriter.create(format, writer, objectMapper);
+        exportWriter.writeHeader();
+
+        long exported = 0;
+        try (ScrollableResults<Tuple> rows = scroll(filterDto)) {
+            // One row per employee and role, ordered so that the rows of an employee are adjacent
+            EmployeeResponseDto pending = null;
+            while (rows.next()) {
+                Tuple row = rows.get();
+                Long id = row.get(ID, Long.class);
+                if (pending == null || !pending.id().equals(id)) {
+                    if (pending != null) {
+                        exportWriter.write(pending);
+                        exported++;
+                    }
+                    pending = new EmployeeResponseDto(
+                            id,
+                            row.get(FIRST_NAME, String.class),
+                            row.get(LAST_NAME, String.class),
+                            row.get(EMAIL, String.class),
+                            EnumSet.noneOf(RoleType.class),
+                            row.get(VERIFIED, Boolean.class),
+                            row.get(VERSION, Long.class));
+                }
+                RoleType role = row.get(ROLE, RoleType.class);
+                if (role != null) {
+                    pending.roles().add(role);
+                }
+            }
+            if (pending != null) {
+                exportWriter.write(pending);
+                exported++;
+            }
+        }
+
+        writer.flush();
+        log.info("Exported {} employees as {}", exported, format);
+        return exported;
+    }
+
+    /**
+     * Selects only the exported columns, so the persistence context stays empty and the role
+     * collection cache is not involved. Roles come from a left join on the same cursor instead of a
+     * query per employee.
+     */
+    private ScrollableResults<Tuple> scroll(EmployeeFilterDto filterDto) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        Join<User, Role> roles = root.join("roles", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id").alias(ID),
+                root.get("firstName").alias(FIRST_NAME),
+                root.get("lastName").alias(LAST_NAME),
+                root.get("email").alias(EMAIL),
+                root.get("verified").alias(VERIFIED),
+                root.get("version").alias(VERSION),
+                roles.get("name").alias(ROLE));
+
+        Predicate filter = EmployeeSpecifications.matching(filterDto).toPredicate(root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(filterDto.toPageable().getSort(), root, cb));
+        if (!ID.equals(filterDto.sortBy())) {
+            orders.add(cb.asc(root.get("id")));
+        }
+        query.orderBy(orders);
+
+        return entityManager.unwrap(Session.class)
+                .createSelectionQuery(query)
+                .setFetchSize(FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+}
@@ -0,0 +1,102 @@
+package com.vertyll.fastprod.employee.service.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Collectors;
+
+import com.vertyll.fastprod.employee.dto.EmployeeExportFormat;
+import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+
+import tools.jackson.databind.ObjectMapper;
+
+/** Serialises exported employees one record at a time. */
+interface EmployeeExportWriter {
+
+    void writeHeader() throws IOException;
+
+    void write(EmployeeResponseDto employee) throws IOException;
+
+    static EmployeeExportWriter create(EmployeeExportFormat format, Writer out, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> new Ndjson(out, objectMapper);
+            case CSV -> new Csv(out);
+        };
+    }
+
+    /** One JSON object per line, the same shape as the paged listing returns. */
+    final class Ndjson implements EmployeeExportWriter {
+
+        private final Writer out;
+        private final ObjectMapper objectMapper;
+
+        Ndjson(Writer out, ObjectMapper objectMapper) {
+            this.out = out;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void writeHeader() {
+            // NDJSON has no header
+        }
+
+        @Override
+        public void write(EmployeeResponseDto employee) throws IOException {
+            // Serialised to a string first so a failing socket surfaces as IOException, not a Jackson error
+            out.write(objectMapper.writeValueAsString(employee));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with roles joined by {@code ;}. Cells that a spreadsheet would evaluate as a
+     * formula are prefixed with a quote.
+     */
+    final class Csv implements EmployeeExportWriter {
+
+        private static final String HEADER = "id,firstName,lastName,email,roles,isVerified";
+        private static final String LINE_BREAK = "\r\n";
+
+        private final Writer out;
+
+        Csv(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            out.write(HEADER);
+            out.write(LINE_BREAK);
+        }
+
+        @Override
+        public void write(EmployeeResponseDto employee) throws IOException {
+            String roles = employee.roles()
+                .stream()
+                .sorted()
+                .map(RoleType::getValue)
+                .collect(Collectors.joining(";"));
+
+            out.write(String.valueOf(employee.id()));
+            out.write(',');
+            out.write(cell(employee.firstName()));
+            out.write(',');
+            out.write(cell(employee.lastName()));
+            out.write(',');
+            out.write(cell(employee.email()));
+            out.write(',');
+            out.write(roles);
+            out.write(',');
+            out.write(String.valueOf(employee.isVerified()));
+            out.write(LINE_BREAK);
+        }
+
+        static String cell(String value) {
+            String safe = !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+            if (safe.indexOf(',') < 0 && safe.indexOf('"') < 0 && safe.indexOf('\n') < 0 && safe.indexOf('\r') < 0) {
+                return safe;
+            }
+            return '"' + safe.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.vertyll.fastprod.employee.service.impl;
 
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import com.vertyll.fastprod.sharedinfrastructure.util.EntityTags;
+import com.vertyll.fastprod.employee.dto.EmployeeChangeDto;
+import com.vertyll.fastprod.employee.dto.EmployeeChangesDto;
 import com.vertyll.fastprod.employee.dto.EmployeeCreateDto;
 import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
 import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
@@ -10,11 +14,16 @@ import com.vertyll.fastprod.employee.service.EmployeeService;
 import com.vertyll.fastprod.role.entity.Role;
 import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
 import com.vertyll.fastprod.role.service.RoleService;
+import com.vertyll.fastprod.user.dto.UserChangeDto;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 import com.vertyll.fastprod.user.entity.User;
+import com.vertyll.fastprod.user.event.UserChangedEvent;
 import com.vertyll.fastprod.user.repository.UserRepository;
-import jakarta.persistence.criteria.Join;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -22,10 +31,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,10 +48,15 @@ class EmployeeServiceImpl implements EmployeeService {
     private static final String CANNOT_UPDATE_INACTIVE_EMPLOYEE = "Cannot update inactive employee";
     private static final String EMPLOYEE_ALREADY_DELETED = "Employee already deleted";
 
+    // Longer than any write transaction runs, so rows stamped before this have committed
+    private static final Duration CHANGE_SETTLE_WINDOW = Duration.ofSeconds(5);
+    private static final int MAX_CHANGES_PER_PAGE = 500;
+
     private final UserRepository userRepository;
     private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
     private final EmployeeMapper employeeMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -55,12 +72,13 @@ class EmployeeServiceImpl implements EmployeeService {
         assignRolesToUser(user, dto.roleNames());
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), ChangeType.CREATED));
         return employeeMapper.toResponseDto(savedUser);
     }
 
     @Override
     @Transactional
-    public EmployeeResponseDto updateEmployee(Long id, EmployeeUpdateDto dto) {
+    public EmployeeResponseDto updateEmployee(Long id, EmployeeUpdateDto dto, @Nullable String ifMatch) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ApiException(EMPLOYEE_NOT_FOUND_MESSAGE, HttpStatus.NOT_FOUND));
 
@@ -68,6 +86,9 @@ class EmployeeServiceImpl implements EmployeeService {
             throw new ApiException(CANNOT_UPDATE_INACTIVE_EMPLOYEE, HttpStatus.BAD_REQUEST);
         }
 
+        // A concurrent update between this check and the commit still fails on the version column
+        EntityTags.requireMatch(ifMatch, user.getId(), user.getVersion());
+
         if (dto.email() != null && !dto.email().equals(user.getEmail()) && userRepository.existsByEmail(dto.email())) {
             throw new ApiException(EMAIL_ALREADY_EXISTS, HttpStatus.BAD_REQUEST);
         }
@@ -85,7 +106,9 @@ class EmployeeServiceImpl implements EmployeeService {
             assignRolesToUser(user, roleNames);
         }
 
-        User updatedUser = userRepository.save(user);
+        // The response carries the version, which only increments on flush
+        User updatedUser = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), ChangeType.UPDATED));
         return employeeMapper.toResponseDto(updatedUser);
     }
 
@@ -101,14 +124,50 @@ class EmployeeServiceImpl implements EmployeeService {
         return employeeMapper.toResponseDto(user);
     }
 
+    @Override
+    public UserVersionDto getEmployeeVersion(Long id) {
+        return userRepository.findActiveVersionById(id)
+                .orElseThrow(() -> new ApiException(EMPLOYEE_NOT_FOUND_MESSAGE, HttpStatus.NOT_FOUND));
+    }
+
     @Override
     public Page<EmployeeResponseDto> getAllEmployees(EmployeeFilterDto filterDto) {
         Pageable pageable = filterDto.toPageable();
-        Specification<User> spec = buildEmployeeSpecification(filterDto);
+        Specification<User> spec = EmployeeSpecifications.matching(filterDto);
         Page<User> page = userRepository.findAll(spec, pageable);
         return page.map(employeeMapper::toResponseDto);
     }
 
+    @Override
+    public EmployeeChangesDto getChanges(@Nullable String since, int limit) {
+        EmployeeChangeCursor cursor = EmployeeChangeCursor.parse(since);
+        int pageSize = Math.clamp(limit, 1, MAX_CHANGES_PER_PAGE);
+        LocalDateTime changedBefore = LocalDateTime.now().minus(CHANGE_SETTLE_WINDOW);
+
+        // Keyset over (updated_at, id) first, loading entities with a limit would apply it after the role join
+        List<UserChangeDto> page = userRepository.findChangedAfter(
+                cursor.updatedAt(), cursor.id(), changedBefore, Limit.of(pageSize + 1));
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+        if (page.isEmpty()) {
+            return new EmployeeChangesDto(List.of(), cursor.format(), false);
+        }
+
+        Map<Long, User> users = userRepository.findAllWithRolesByIdIn(page.stream().map(UserChangeDto::id).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<EmployeeChangeDto> changes = page.stream()
+                .map(change -> toChange(change, users.get(change.id())))
+                .toList();
+
+        // Taken from the keyset read, the entity may have been updated again since
+        UserChangeDto last = page.getLast();
+        EmployeeChangeCursor next = new EmployeeChangeCursor(last.updatedAt(), last.id());
+        return new EmployeeChangesDto(changes, next.format(), hasMore);
+    }
+
     @Override
     @Transactional
     public void deleteEmployee(Long id) {
@@ -121,83 +180,15 @@ class EmployeeServiceImpl implements EmployeeService {
 
         user.setActive(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), ChangeType.DELETED));
     }
 
-    private Specification<User> buildEmployeeSpecification(EmployeeFilterDto filterDto) {
-        Specification<User> spec = Specification.where((root, _, cb) -> cb.isTrue(root.get("active")));
-
-        spec = addFirstNameFilter(spec, filterDto.firstName());
-        spec = addLastNameFilter(spec, filterDto.lastName());
-        spec = addEmailFilter(spec, filterDto.email());
-        spec = addVerifiedFilter(spec, filterDto.isVerified());
-        spec = addRolesFilter(spec, filterDto.roles());
-        spec = addSearchFilter(spec, filterDto.search());
-
-        return spec;
-    }
-
-    private Specification<User> addFirstNameFilter(Specification<User> spec, String firstName) {
-        if (firstName == null || firstName.isBlank()) {
-            return spec;
-        }
-        String likePattern = "%" + firstName.trim().toLowerCase(Locale.ROOT) + "%";
-        return spec.and((root, _, cb) -> cb.like(cb.lower(root.get("firstName")), likePattern));
-    }
-
-    private Specification<User> addLastNameFilter(Specification<User> spec, String lastName) {
-        if (lastName == null || lastName.isBlank()) {
-            return spec;
-        }
-        String likePattern = "%" + lastName.trim().toLowerCase(Locale.ROOT) + "%";
-        return spec.and((root, _, cb) -> cb.like(cb.lower(root.get("lastName")), likePattern));
-    }
-
-    private Specification<User> addEmailFilter(Specification<User> spec, String email) {
-        if (email == null || email.isBlank()) {
-            return spec;
-        }
-        String likePattern = "%" + email.trim().toLowerCase(Locale.ROOT) + "%";
-        return spec.and((root, _, cb) -> cb.like(cb.lower(root.get("email")), likePattern));
-    }
-
-    private Specification<User> addVerifiedFilter(Specification<User> spec, Boolean isVerified) {
-        if (isVerified == null) {
-            return spec;
-        }
-        return spec.and((root, _, cb) -> cb.equal(root.get("verified"), isVerified));
-    }
-
-    private Specification<User> addRolesFilter(Specification<User> spec, String roles) {
-        if (roles == null || roles.isBlank()) {
-            return spec;
-        }
-
-        List<String> roleNames = Arrays.stream(roles.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isBlank())
-                .map(String::toUpperCase)
-                .toList();
-
-        if (roleNames.isEmpty()) {
-            return spec;
-        }
-
-        return spec.and((root, _, cb) -> {
-            Join<User, Role> rolesJoin = root.join("roles");
-            return cb.upper(rolesJoin.get("name")).in(roleNames);
-        });
-    }
-
-    private Specification<User> addSearchFilter(Specification<User> spec, String searchTerm) {
-        if (searchTerm == null || searchTerm.isBlank()) {
-            return spec;
+    private EmployeeChangeDto toChange(UserChangeDto change, @Nullable User user) {
+        // A user removed between the two reads is reported like a deactivated one
+        if (user == null || !user.isActive()) {
+            return new EmployeeChangeDto(change.id(), change.updatedAt(), true, null);
         }
-        String likePattern = "%" + searchTerm.trim().toLowerCase(Locale.ROOT) + "%";
-        return spec.and((root, _, cb) -> cb.or(
-                cb.like(cb.lower(root.get("firstName")), likePattern),
-                cb.like(cb.lower(root.get("lastName")), likePattern),
-                cb.like(cb.lower(root.get("email")), likePattern)
-        ));
+        return new EmployeeChangeDto(user.getId(), user.getUpdatedAt(), false, employeeMapper.toResponseDto(user));
     }
 
     private void assignRolesToUser(User user, Set<String> roleNames) {
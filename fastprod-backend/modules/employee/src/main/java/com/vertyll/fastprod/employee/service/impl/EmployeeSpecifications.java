@@ -0,0 +1,102 @@
+package com.vertyll.fastprod.employee.service.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import jakarta.persistence.criteria.Join;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
+import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.user.entity.User;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Translates {@link EmployeeFilterDto} into a JPA specification over active users, shared by the
+ * paged listing and the streaming export so both return the same employees.
+ */
+@UtilityClass
+class EmployeeSpecifications {
+
+    static Specification<User> matching(EmployeeFilterDto filterDto) {
+        Specification<User> spec = Specification.where((root, _, cb) -> cb.isTrue(root.get("active")));
+
+        spec = addFirstNameFilter(spec, filterDto.firstName());
+        spec = addLastNameFilter(spec, filterDto.lastName());
+        spec = addEmailFilter(spec, filterDto.email());
+        spec = addVerifiedFilter(spec, filterDto.isVerified());
+        spec = addRolesFilter(spec, filterDto.roles());
+        spec = addSearchFilter(spec, filterDto.search());
+
+        return spec;
+    }
+
+    private static Specification<User> addFirstNameFilter(Specification<User> spec, String firstName) {
+        if (firstName == null || firstName.isBlank()) {
+            return spec;
+        }
+        String likePattern = "%" + firstName.trim().toLowerCase(Locale.ROOT) + "%";
+        return spec.and((root, _, cb) -> cb.like(cb.lower(root.get("firstName")), likePattern));
+    }
+
+    private static Specification<User> addLastNameFilter(Specification<User> spec, String lastName) {
+        if (lastName == null || lastName.isBlank()) {
+            return spec;
+        }
+        String likePattern = "%" + lastName.trim().toLowerCase(Locale.ROOT) + "%";
+        return spec.and((root, _, cb) -> cb.like(cb.lower(root.get("lastName")), likePattern));
+    }
+
+    private static Specification<User> addEmailFilter(Specification<User> spec, String email) {
+        if (email == null || email.isBlank()) {
+            return spec;
+        }
+        String likePattern = "%" + email.trim().toLowerCase(Locale.ROOT) + "%";
+        return spec.and((root, _, cb) -> cb.like(cb.lower(root.get("email")), likePattern));
+    }
+
+    private static Specification<User> addVerifiedFilter(Specification<User> spec, Boolean isVerified) {
+        if (isVerified == null) {
+            return spec;
+        }
+        return spec.and((root, _, cb) -> cb.equal(root.get("verified"), isVerified));
+    }
+
+    private static Specification<User> addRolesFilter(Specification<User> spec, String roles) {
+        if (roles == null || roles.isBlank()) {
+            return spec;
+        }
+
+        List<String> roleNames = Arrays.stream(roles.split(","))
+            .map(String::trim)
+            .filter(s -> !s.isBlank())
+            .map(String::toUpperCase)
+            .toList();
+
+        if (roleNames.isEmpty()) {
+            return spec;
+        }
+
+        return spec.and((root, _, cb) -> {
+            Join<User, Role> rolesJoin = root.join("roles");
+            return cb.upper(rolesJoin.get("name")).in(roleNames);
+        });
+    }
+
+    private static Specification<User> addSearchFilter(Specification<User> spec, String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return spec;
+        }
+        String likePattern = "%" + searchTerm.trim().toLowerCase(Locale.ROOT) + "%";
+        return spec.and(
+            (root, _, cb) -> cb.or(
+                cb.like(cb.lower(root.get("firstName")), likePattern),
+                cb.like(cb.lower(root.get("lastName")), likePattern),
+                cb.like(cb.lower(root.get("email")), likePattern)
+            )
+        );
+    }
+}
@@ -1,5 +1,10 @@
 package com.vertyll.fastprod.employee.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
@@ -9,19 +14,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import com.vertyll.fastprod.employee.dto.EmployeeChangeDto;
+import com.vertyll.fastprod.employee.dto.EmployeeChangesDto;
 import com.vertyll.fastprod.employee.dto.EmployeeCreateDto;
+import com.vertyll.fastprod.employee.dto.EmployeeExportFormat;
+import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
 import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
 import com.vertyll.fastprod.employee.dto.EmployeeUpdateDto;
+import com.vertyll.fastprod.employee.service.EmployeeExportService;
 import com.vertyll.fastprod.employee.service.EmployeeService;
 import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
 import com.vertyll.fastprod.sharedinfrastructure.exception.GlobalExceptionHandler;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 
 import tools.jackson.databind.ObjectMapper;
 
@@ -43,6 +55,10 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService;
 
+    @SuppressWarnings("NullAway")
+    @Mock
+    private EmployeeExportService employeeExportService;
+
     @SuppressWarnings("NullAway")
     @InjectMocks
     private EmployeeController employeeController;
@@ -72,7 +88,15 @@ class EmployeeControllerTest {
             Set.of("EMPLOYEE", "ADMIN")
         );
 
-        responseDto = new EmployeeResponseDto(1L, "John", "Doe", "john@example.com", Set.of(RoleType.EMPLOYEE), true);
+        responseDto = new EmployeeResponseDto(
+            1L,
+            "John",
+            "Doe",
+            "john@example.com",
+            Set.of(RoleType.EMPLOYEE),
+            true,
+            4L
+        );
     }
 
     @AfterEach
@@ -129,7 +153,7 @@ class EmployeeControllerTest {
     @Test
     void updateEmployee_WhenValidInput_ShouldReturnSuccess() throws Exception {
         // given
-        when(employeeService.updateEmployee(anyLong(), any(EmployeeUpdateDto.class))).thenReturn(responseDto);
+        when(employeeService.updateEmployee(anyLong(), any(EmployeeUpdateDto.class), isNull())).thenReturn(responseDto);
 
         // when & then
         mockMvc
@@ -141,14 +165,14 @@ class EmployeeControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.message").value("Employee updated successfully"));
 
-        verify(employeeService).updateEmployee(eq(1L), any(EmployeeUpdateDto.class));
+        verify(employeeService).updateEmployee(eq(1L), any(EmployeeUpdateDto.class), isNull());
     }
 
     @Test
     void updateEmployee_WhenEmployeeNotFound_ShouldReturnNotFound() throws Exception {
         // given
         doThrow(new ApiException("Employee not found", HttpStatus.NOT_FOUND)).when(employeeService)
-            .updateEmployee(anyLong(), any(EmployeeUpdateDto.class));
+            .updateEmployee(anyLong(), any(EmployeeUpdateDto.class), any());
 
         // when & then
         mockMvc
@@ -161,15 +185,34 @@ class EmployeeControllerTest {
             .andExpect(jsonPath("$.message").value("Employee not found"));
     }
 
+    @Test
+    void updateEmployee_WhenIfMatchIsStale_ShouldReturnPreconditionFailed() throws Exception {
+        // given
+        doThrow(new ApiException("Resource has been modified", HttpStatus.PRECONDITION_FAILED)).when(employeeService)
+            .updateEmployee(eq(1L), any(EmployeeUpdateDto.class), eq("W/\"1-2\""));
+
+        // when & then
+        mockMvc
+            .perform(
+                put("/employees/1").contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.IF_MATCH, "W/\"1-2\"")
+                    .content(objectMapper.writeValueAsString(updateDto))
+            )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.message").value("Resource has been modified"));
+    }
+
     @Test
     void getEmployee_WhenExists_ShouldReturnEmployee() throws Exception {
         // given
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(new UserVersionDto(1L, 4L));
         when(employeeService.getEmployeeById(1L)).thenReturn(responseDto);
 
         // when & then
         mockMvc.perform(get("/employees/1"))
             .andDo(print())
             .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-4\""))
             .andExpect(jsonPath("$.data.id").value(1))
             .andExpect(jsonPath("$.data.firstName").value("John"))
             .andExpect(jsonPath("$.message").value("Employee retrieved successfully"));
@@ -180,7 +223,7 @@ class EmployeeControllerTest {
     @Test
     void getEmployee_WhenNotFound_ShouldReturnNotFound() throws Exception {
         // given
-        when(employeeService.getEmployeeById(1L))
+        when(employeeService.getEmployeeVersion(1L))
             .thenThrow(new ApiException("Employee not found", HttpStatus.NOT_FOUND));
 
         // when & then
@@ -190,6 +233,36 @@ class EmployeeControllerTest {
             .andExpect(jsonPath("$.message").value("Employee not found"));
     }
 
+    @Test
+    void getEmployee_WhenETagMatches_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        // given
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(new UserVersionDto(1L, 4L));
+
+        // when & then
+        mockMvc.perform(get("/employees/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-3\", W/\"1-4\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-4\""))
+            .andExpect(content().string(""));
+
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    @Test
+    void getEmployee_WhenUpdatedAfterVersionCheck_ShouldTagTheReturnedBody() throws Exception {
+        // given
+        EmployeeResponseDto updated =
+            new EmployeeResponseDto(1L, "Johnny", "Doe", "john@example.com", Set.of(), true, 5L);
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(new UserVersionDto(1L, 4L));
+        when(employeeService.getEmployeeById(1L)).thenReturn(updated);
+
+        // when & then
+        mockMvc.perform(get("/employees/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().stringValues(HttpHeaders.ETAG, "W/\"1-5\""))
+            .andExpect(jsonPath("$.data.firstName").value("Johnny"))
+            .andExpect(jsonPath("$.data.version").value(5));
+    }
+
     @Test
     void deleteEmployee_WhenExists_ShouldReturnSuccess() throws Exception {
         // given
@@ -215,4 +288,63 @@ class EmployeeControllerTest {
             .andExpect(status().isNotFound())
             .andExpect(jsonPath("$.message").value("Employee not found"));
     }
+
+    @Test
+    void getEmployeeChanges_ShouldReturnChangesAndNextCursor() throws Exception {
+        // given
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 3, 1, 10, 0);
+        EmployeeChangesDto changes = new EmployeeChangesDto(
+            List.of(
+                new EmployeeChangeDto(1L, updatedAt, false, responseDto),
+                new EmployeeChangeDto(2L, updatedAt, true, null)
+            ),
+            "next",
+            false
+        );
+        when(employeeService.getChanges("previous", 50)).thenReturn(changes);
+
+        // when & then
+        mockMvc.perform(get("/employees/changes").param("since", "previous").param("limit", "50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.changes[0].employee.firstName").value("John"))
+            .andExpect(jsonPath("$.data.changes[1].deleted").value(true))
+            .andExpect(jsonPath("$.data.nextCursor").value("next"))
+            .andExpect(jsonPath("$.message").value("Employee changes retrieved successfully"));
+    }
+
+    @Test
+    void exportEmployees_ShouldStreamAsAttachment() throws Exception {
+        // given
+        when(employeeExportService.exportEmployees(any(EmployeeFilterDto.class), eq(EmployeeExportFormat.CSV), any()))
+            .thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(2);
+                out.write("id,firstName\r\n1,John\r\n".getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            });
+
+        // when & then
+        mockMvc.perform(get("/employees/export").param("format", "CSV").param("lastName", "Doe"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv;charset=UTF-8"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+            .andExpect(content().string("id,firstName\r\n1,John\r\n"));
+
+        verify(employeeExportService).exportEmployees(
+            argThat(filter -> "Doe".equals(filter.lastName())),
+            eq(EmployeeExportFormat.CSV),
+            any()
+        );
+    }
+
+    @Test
+    void exportEmployees_WhenClientDisconnects_ShouldNotReportError() throws Exception {
+        // given
+        doThrow(new IOException("Broken pipe")).when(employeeExportService)
+            .exportEmployees(any(EmployeeFilterDto.class), eq(EmployeeExportFormat.NDJSON), any());
+
+        // when & then
+        mockMvc.perform(get("/employees/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"));
+    }
 }
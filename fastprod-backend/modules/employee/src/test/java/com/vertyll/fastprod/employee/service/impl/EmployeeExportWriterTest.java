@@ -0,0 +1,86 @@
+package com.vertyll.fastprod.employee.service.impl;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.vertyll.fastprod.employee.dto.EmployeeExportFormat;
+import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_ShouldWriteHeaderAndOneLinePerEmployee() throws IOException {
+        // given
+        StringWriter out = new StringWriter();
+        EmployeeExportWriter writer = EmployeeExportWriter.create(EmployeeExportFormat.CSV, out, objectMapper);
+
+        // when
+        writer.writeHeader();
+        writer.write(
+            new EmployeeResponseDto(
+                1L,
+                "John",
+                "Doe",
+                "john@example.com",
+                EnumSet.of(RoleType.EMPLOYEE, RoleType.ADMIN),
+                true,
+                0L
+            )
+        );
+        writer.write(new EmployeeResponseDto(2L, "Jane", "Roe", "jane@example.com", Set.of(), false, 0L));
+
+        // then
+        assertEquals(
+            "id,firstName,lastName,email,roles,isVerified\r\n"
+                + "1,John,Doe,john@example.com,ADMIN;EMPLOYEE,true\r\n"
+                + "2,Jane,Roe,jane@example.com,,false\r\n",
+            out.toString()
+        );
+    }
+
+    @Test
+    void csvCell_ShouldQuoteSeparatorsAndNeutraliseFormulas() {
+        // when & then
+        assertEquals("plain", EmployeeExportWriter.Csv.cell("plain"));
+        assertEquals("\"Doe, Jr.\"", EmployeeExportWriter.Csv.cell("Doe, Jr."));
+        assertEquals("\"say \"\"hi\"\"\"", EmployeeExportWriter.Csv.cell("say \"hi\""));
+        assertEquals("\"two\nlines\"", EmployeeExportWriter.Csv.cell("two\nlines"));
+        assertEquals("'=1+2", EmployeeExportWriter.Csv.cell("=1+2"));
+        assertEquals("'@SUM(A1)", EmployeeExportWriter.Csv.cell("@SUM(A1)"));
+    }
+
+    @Test
+    void ndjson_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        // given
+        StringWriter out = new StringWriter();
+        EmployeeExportWriter writer = EmployeeExportWriter.create(EmployeeExportFormat.NDJSON, out, objectMapper);
+
+        // when
+        writer.writeHeader();
+        writer.write(
+            new EmployeeResponseDto(1L, "John", "Doe", "john@example.com", EnumSet.of(RoleType.EMPLOYEE), true, 0L)
+        );
+        writer.write(new EmployeeResponseDto(2L, "Jane", "Roe", "jane@example.com", Set.of(), false, 0L));
+
+        // then
+        String[] lines = out.toString().split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asInt());
+        assertEquals("EMPLOYEE", first.get("roles").get(0).asString());
+        assertEquals("Jane", objectMapper.readTree(lines[1]).get("firstName").asString());
+    }
+}
@@ -0,0 +1,148 @@
+package com.vertyll.fastprod.employee.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
+import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
+import com.vertyll.fastprod.employee.mapper.EmployeeMapper;
+import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.role.service.RoleService;
+import com.vertyll.fastprod.sharedinfrastructure.entity.BaseEntity;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryBudgetExceededException;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryGuardConfig;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryGuardProperties;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryInspector;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryScope;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryTracker;
+import com.vertyll.fastprod.user.entity.User;
+import com.vertyll.fastprod.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs {@link EmployeeServiceImpl#getAllEmployees} against Hibernate on H2 with the query guard in
+ * strict mode, so its budget is checked against the statements Hibernate actually issues.
+ */
+class EmployeeQueryBudgetTest {
+
+    // The page, its count and one batched select of the roles of every employee on the page
+    private static final int GET_ALL_EMPLOYEES_BUDGET = 3;
+    private static final int PAGE_SIZE = 20;
+    private static final int EMPLOYEES = 25;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        new QueryGuardConfig(new QueryGuardProperties(true, null, null));
+        registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:employee-query-budget;DB_CLOSE_DELAY=-1")
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            // Budgets hold for a cold cache, the worst case of every request
+            .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+            .applySetting(AvailableSettings.STATEMENT_INSPECTOR, QueryInspector.class.getName())
+            .build();
+        sessionFactory = new MetadataSources(registry)
+            .addAnnotatedClass(Role.class)
+            .addAnnotatedClass(User.class)
+            .buildMetadata()
+            .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            Role employee = Role.builder().name(RoleType.EMPLOYEE).description("Employee").active(true).build();
+            session.persist(audited(employee));
+            for (int i = 0; i < EMPLOYEES; i++) {
+                session.persist(audited(User.builder()
+                    .firstName("John")
+                    .lastName("Doe " + i)
+                    .email("john" + i + "@example.com")
+                    .password("encodedPassword")
+                    .roles(Set.of(employee))
+                    .verified(true)
+                    .active(true)
+                    .build()));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+        new QueryGuardConfig(new QueryGuardProperties(null, null, null));
+    }
+
+    @Test
+    void getAllEmployees_ShouldStayWithinQueryBudget() {
+        // given
+        EmployeeFilterDto filter = filter();
+
+        // when
+        Page<EmployeeResponseDto> result;
+        try (QueryScope _ = QueryTracker.open("getAllEmployees", GET_ALL_EMPLOYEES_BUDGET)) {
+            result = inTransaction(employeeService -> employeeService.getAllEmployees(filter));
+        }
+
+        // then
+        assertEquals(EMPLOYEES, result.getTotalElements());
+        assertEquals(PAGE_SIZE, result.getContent().size());
+        assertTrue(result.getContent().stream().allMatch(e -> e.roles().equals(Set.of(RoleType.EMPLOYEE))));
+    }
+
+    @Test
+    void getAllEmployees_WhenOverQueryBudget_ShouldThrowException() {
+        // given
+        EmployeeFilterDto filter = filter();
+
+        // when & then
+        assertThrows(QueryBudgetExceededException.class, () -> {
+            try (QueryScope _ = QueryTracker.open("getAllEmployees", GET_ALL_EMPLOYEES_BUDGET - 1)) {
+                inTransaction(employeeService -> employeeService.getAllEmployees(filter));
+            }
+        });
+    }
+
+    private static EmployeeFilterDto filter() {
+        // A full first page, so Spring Data has to run the count query as well
+        return new EmployeeFilterDto(0, PAGE_SIZE, "lastName", "asc", null, null, null, null, null, null);
+    }
+
+    private <T> T inTransaction(Function<EmployeeServiceImpl, T> call) {
+        return sessionFactory.fromTransaction(session -> call.apply(new EmployeeServiceImpl(
+            new JpaRepositoryFactory(session).getRepository(UserRepository.class),
+            mock(RoleService.class),
+            mock(PasswordEncoder.class),
+            Mappers.getMapper(EmployeeMapper.class),
+            mock(ApplicationEventPublisher.class)
+        )));
+    }
+
+    private static <T extends BaseEntity> T audited(T entity) {
+        // Spring's auditing listener has nothing to delegate to outside an application context
+        LocalDateTime now = LocalDateTime.now();
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        entity.setCreatedBy("test");
+        entity.setUpdatedBy("test");
+        return entity;
+    }
+}
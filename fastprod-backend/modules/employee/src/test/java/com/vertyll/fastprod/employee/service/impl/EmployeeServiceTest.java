@@ -1,6 +1,9 @@
 package com.vertyll.fastprod.employee.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -9,23 +12,35 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.vertyll.fastprod.employee.dto.EmployeeChangesDto;
 import com.vertyll.fastprod.employee.dto.EmployeeCreateDto;
+import com.vertyll.fastprod.employee.dto.EmployeeFilterDto;
 import com.vertyll.fastprod.employee.dto.EmployeeResponseDto;
 import com.vertyll.fastprod.employee.dto.EmployeeUpdateDto;
 import com.vertyll.fastprod.employee.mapper.EmployeeMapper;
 import com.vertyll.fastprod.role.entity.Role;
 import com.vertyll.fastprod.role.service.RoleService;
 import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import com.vertyll.fastprod.user.dto.UserChangeDto;
 import com.vertyll.fastprod.user.entity.User;
+import com.vertyll.fastprod.user.event.UserChangedEvent;
 import com.vertyll.fastprod.user.repository.UserRepository;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -33,6 +48,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SuppressFBWarnings(
@@ -54,6 +70,9 @@ class EmployeeServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     @SuppressWarnings("UnusedVariable")
     private final EmployeeMapper employeeMapper = Mappers.getMapper(EmployeeMapper.class);
@@ -142,13 +161,13 @@ class EmployeeServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(roleService.getOrCreateDefaultRole(RoleType.EMPLOYEE)).thenReturn(employeeRole);
         when(roleService.getOrCreateDefaultRole(RoleType.ADMIN)).thenReturn(adminRole);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // when
-        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateDto);
+        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateDto, null);
 
         // then
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
 
         assertNotNull(result);
@@ -166,7 +185,8 @@ class EmployeeServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         // when & then
-        ApiException exception = assertThrows(ApiException.class, () -> employeeService.updateEmployee(1L, updateDto));
+        ApiException exception =
+                assertThrows(ApiException.class, () -> employeeService.updateEmployee(1L, updateDto, null));
 
         assertEquals("Employee not found", exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
@@ -179,7 +199,8 @@ class EmployeeServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         // when & then
-        ApiException exception = assertThrows(ApiException.class, () -> employeeService.updateEmployee(1L, updateDto));
+        ApiException exception =
+                assertThrows(ApiException.class, () -> employeeService.updateEmployee(1L, updateDto, null));
 
         assertEquals("Cannot update inactive employee", exception.getMessage());
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
@@ -196,12 +217,39 @@ class EmployeeServiceTest {
 
         // when & then
         ApiException exception =
-                assertThrows(ApiException.class, () -> employeeService.updateEmployee(1L, dtoWithDifferentEmail));
+                assertThrows(ApiException.class, () -> employeeService.updateEmployee(1L, dtoWithDifferentEmail, null));
 
         assertEquals("Email already exists", exception.getMessage());
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
     }
 
+    @Test
+    void updateEmployee_WhenIfMatchIsStale_ShouldThrowPreconditionFailed() {
+        // given
+        user.setId(1L);
+        user.setVersion(3L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // when & then
+        ApiException exception =
+                assertThrows(ApiException.class, () -> employeeService.updateEmployee(1L, updateDto, "W/\"1-2\""));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatus());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void getEmployeeVersion_WhenEmployeeInactiveOrMissing_ShouldThrowNotFound() {
+        // given
+        when(userRepository.findActiveVersionById(1L)).thenReturn(Optional.empty());
+
+        // when & then
+        ApiException exception = assertThrows(ApiException.class, () -> employeeService.getEmployeeVersion(1L));
+
+        assertEquals("Employee not found", exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
     @Test
     void getEmployeeById_WhenEmployeeExists_ShouldReturnEmployee() {
         // given
@@ -259,6 +307,7 @@ class EmployeeServiceTest {
         User capturedUser = userCaptor.getValue();
 
         assertFalse(capturedUser.isActive());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(user.getId(), ChangeType.DELETED));
     }
 
     @Test
@@ -291,16 +340,16 @@ class EmployeeServiceTest {
         // given
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(roleService.getOrCreateDefaultRole(RoleType.ADMIN)).thenReturn(adminRole);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         EmployeeUpdateDto updateRequest =
                 new EmployeeUpdateDto("John", "Doe", "john@example.com", null, Set.of("ADMIN"));
 
         // when
-        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateRequest);
+        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateRequest, null);
 
         // then
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
 
         assertNotNull(result);
@@ -355,13 +404,13 @@ class EmployeeServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(passwordEncoder.encode("newPassword123")).thenReturn("encodedNewPassword");
         when(roleService.getOrCreateDefaultRole(RoleType.EMPLOYEE)).thenReturn(employeeRole);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // when
-        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateWithPassword);
+        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateWithPassword, null);
 
         // then
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
 
         assertNotNull(result);
         verify(passwordEncoder).encode("newPassword123");
@@ -375,10 +424,10 @@ class EmployeeServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(roleService.getOrCreateDefaultRole(RoleType.EMPLOYEE)).thenReturn(employeeRole);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // when
-        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateWithoutPassword);
+        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateWithoutPassword, null);
 
         // then
         assertNotNull(result);
@@ -393,13 +442,101 @@ class EmployeeServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(roleService.getOrCreateDefaultRole(RoleType.EMPLOYEE)).thenReturn(employeeRole);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // when
-        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateWithBlankPassword);
+        EmployeeResponseDto result = employeeService.updateEmployee(1L, updateWithBlankPassword, null);
 
         // then
         assertNotNull(result);
         verify(passwordEncoder, never()).encode(anyString());
     }
+
+    @Test
+    void getAllEmployees_ShouldMapOnePageFromSingleRepositoryCall() {
+        // given
+        EmployeeFilterDto filter = new EmployeeFilterDto(0, 20, "lastName", "asc", null, "Doe", null, true, "EMPLOYEE", "jo");
+        when(userRepository.findAll(ArgumentMatchers.<Specification<User>>any(), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(user)));
+
+        // when
+        Page<EmployeeResponseDto> result = employeeService.getAllEmployees(filter);
+
+        // then
+        assertEquals(1, result.getTotalElements());
+        assertEquals(Set.of(RoleType.EMPLOYEE), result.getContent().getFirst().roles());
+        verify(userRepository, times(1))
+            .findAll(ArgumentMatchers.<Specification<User>>any(), any(Pageable.class));
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(roleService);
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangesWithTombstonesAndKeysetCursor() {
+        // given
+        LocalDateTime firstChange = LocalDateTime.of(2026, 3, 1, 10, 0);
+        LocalDateTime secondChange = LocalDateTime.of(2026, 3, 1, 11, 0);
+        user.setId(1L);
+        user.setUpdatedAt(firstChange);
+        User deactivated = User.builder()
+            .firstName("Jane")
+            .lastName("Roe")
+            .email("jane@example.com")
+            .active(false)
+            .build();
+        deactivated.setId(2L);
+        // Updated again after the keyset read, the cursor must not jump ahead to this timestamp
+        deactivated.setUpdatedAt(secondChange.plusHours(1));
+        when(userRepository.findChangedAfter(any(), eq(0L), any(), eq(Limit.of(3))))
+            .thenReturn(
+                List.of(
+                    new UserChangeDto(1L, firstChange),
+                    new UserChangeDto(2L, secondChange),
+                    new UserChangeDto(3L, secondChange)
+                )
+            );
+        when(userRepository.findAllWithRolesByIdIn(List.of(1L, 2L))).thenReturn(List.of(deactivated, user));
+
+        // when
+        EmployeeChangesDto result = employeeService.getChanges(null, 2);
+
+        // then
+        assertTrue(result.hasMore());
+        assertEquals(2, result.changes().size());
+        assertFalse(result.changes().get(0).deleted());
+        assertEquals("John", Objects.requireNonNull(result.changes().get(0).employee()).firstName());
+        assertTrue(result.changes().get(1).deleted());
+        assertNull(result.changes().get(1).employee());
+        assertEquals(new EmployeeChangeCursor(secondChange, 2L), EmployeeChangeCursor.parse(result.nextCursor()));
+    }
+
+    @Test
+    void getChanges_WhenNothingChanged_ShouldKeepCursor() {
+        // given
+        String since = new EmployeeChangeCursor(LocalDateTime.of(2026, 3, 1, 10, 0), 7L).format();
+        when(userRepository.findChangedAfter(eq(LocalDateTime.of(2026, 3, 1, 10, 0)), eq(7L), any(), any()))
+            .thenReturn(List.of());
+
+        // when
+        EmployeeChangesDto result = employeeService.getChanges(since, 100);
+
+        // then
+        assertTrue(result.changes().isEmpty());
+        assertFalse(result.hasMore());
+        assertEquals(since, result.nextCursor());
+        verify(userRepository, never()).findAllWithRolesByIdIn(any());
+    }
+
+    @Test
+    void getChanges_WhenCursorMalformed_ShouldReturnBadRequest() {
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> employeeService.getChanges("not-a-cursor", 100)
+        );
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(userRepository);
+    }
 }
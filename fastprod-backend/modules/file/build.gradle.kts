@@ -5,6 +5,7 @@ plugins {
 dependencies {
     // API - Internal Modules
     api(project(":modules:common"))
+    api(project(":modules:user"))
 
     // API
     api(libs.spring.boot.starter.webmvc)
@@ -13,8 +14,13 @@ dependencies {
     implementation(libs.commons.lang3)
     implementation(libs.guava)
 
+    // Implementation - S3 blob storage
+    implementation(libs.awssdk.s3)
+    implementation(libs.awssdk.netty.nio.client)
+
     // Compile Only
     compileOnly(libs.lombok)
+    compileOnly(libs.springdoc.openapi.starter.webmvc.ui)
 
     // Annotation Processor
     annotationProcessor(libs.lombok)
@@ -27,4 +33,6 @@ dependencies {
 
     // Test Implementation
     testImplementation(libs.spring.boot.starter.webmvc.test)
+    testImplementation(libs.testcontainers.junit.jupiter)
+    testImplementation(libs.testcontainers.minio)
 }
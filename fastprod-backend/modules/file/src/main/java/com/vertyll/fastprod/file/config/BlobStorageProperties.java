@@ -0,0 +1,66 @@
+package com.vertyll.fastprod.file.config;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param type backend published blobs are kept in; uploads are staged on local disk either way
+ * @param s3 settings of the S3-compatible backend, ignored for {@code filesystem}
+ */
+@ConfigurationProperties(prefix = "application.file.storage")
+public record BlobStorageProperties(StorageType type, S3 s3) {
+    public BlobStorageProperties {
+        if (type == null)
+            type = StorageType.FILESYSTEM;
+        if (s3 == null)
+            s3 = new S3(null, null, null, null, null, null, null, null, null, null);
+    }
+
+    public enum StorageType {
+        FILESYSTEM,
+        S3
+    }
+
+    /**
+     * @param bucket bucket holding the blobs, has to exist
+     * @param region signing region, any value works for most S3-compatible servers
+     * @param endpoint custom endpoint such as a MinIO server, AWS is used when absent
+     * @param pathStyleAccess put the bucket in the path instead of the host name, needed by most self-hosted servers
+     * @param accessKey static credentials, the default AWS credential chain is used when absent
+     * @param secretKey secret belonging to {@code accessKey}
+     * @param maxConnections size of the HTTP connection pool shared by all transfers
+     * @param connectionAcquisitionTimeout how long a transfer waits for a pooled connection before failing
+     * @param multipartThreshold objects at least this large are uploaded as parts sent in parallel
+     * @param partSize size of each uploaded part
+     */
+    public record S3(
+        String bucket,
+        String region,
+        URI endpoint,
+        Boolean pathStyleAccess,
+        String accessKey,
+        String secretKey,
+        Integer maxConnections,
+        Duration connectionAcquisitionTimeout,
+        DataSize multipartThreshold,
+        DataSize partSize
+    ) {
+        public S3 {
+            if (region == null)
+                region = "us-east-1";
+            if (pathStyleAccess == null)
+                pathStyleAccess = false;
+            if (maxConnections == null)
+                maxConnections = 64;
+            if (connectionAcquisitionTimeout == null)
+                connectionAcquisitionTimeout = Duration.ofSeconds(10);
+            if (multipartThreshold == null)
+                multipartThreshold = DataSize.ofMegabytes(16);
+            if (partSize == null)
+                partSize = DataSize.ofMegabytes(8);
+        }
+    }
+}
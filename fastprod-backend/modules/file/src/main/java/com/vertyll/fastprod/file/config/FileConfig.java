@@ -4,6 +4,14 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableConfigurationProperties(FileUploadProperties.class)
+@EnableConfigurationProperties(
+    {
+        FileUploadProperties.class,
+        ResumableUploadProperties.class,
+        ThumbnailProperties.class,
+        StorageQuotaProperties.class,
+        BlobStorageProperties.class
+    }
+)
 public class FileConfig {
 }
@@ -1,11 +1,37 @@
 package com.vertyll.fastprod.file.config;
 
+import java.time.Duration;
+
 import jakarta.validation.constraints.NotBlank;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+/**
+ * @param fileOutputPath base directory uploads are stored under
+ * @param maxFileSize uploads are aborted as soon as more than this many bytes have been streamed
+ * @param bufferSize size of the copy buffer used per upload, bounding heap use regardless of file size
+ * @param orphanGracePeriod how long an unreferenced blob is kept before the collector deletes it
+ * @param collectorBatchSize blobs deleted per collector transaction
+ */
 @ConfigurationProperties(prefix = "application.file.uploads")
 @Validated
-public record FileUploadProperties(@NotBlank(message = "File output path is required") String fileOutputPath) {
+public record FileUploadProperties(
+    @NotBlank(message = "File output path is required") String fileOutputPath,
+    DataSize maxFileSize,
+    DataSize bufferSize,
+    Duration orphanGracePeriod,
+    Integer collectorBatchSize
+) {
+    public FileUploadProperties {
+        if (maxFileSize == null)
+            maxFileSize = DataSize.ofMegabytes(50);
+        if (bufferSize == null)
+            bufferSize = DataSize.ofKilobytes(64);
+        if (orphanGracePeriod == null)
+            orphanGracePeriod = Duration.ofHours(1);
+        if (collectorBatchSize == null)
+            collectorBatchSize = 500;
+    }
 }
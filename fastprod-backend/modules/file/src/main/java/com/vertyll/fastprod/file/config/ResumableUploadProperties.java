@@ -0,0 +1,23 @@
+package com.vertyll.fastprod.file.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param maxFileSize largest file a resumable upload session may declare
+ * @param maxChunkSize largest body accepted by a single chunk request, and so the most a retry can re-send
+ * @param sessionExpiry idle time after which an unfinished session and its partial file are removed
+ */
+@ConfigurationProperties(prefix = "application.file.resumable")
+public record ResumableUploadProperties(DataSize maxFileSize, DataSize maxChunkSize, Duration sessionExpiry) {
+    public ResumableUploadProperties {
+        if (maxFileSize == null)
+            maxFileSize = DataSize.ofGigabytes(2);
+        if (maxChunkSize == null)
+            maxChunkSize = DataSize.ofMegabytes(8);
+        if (sessionExpiry == null)
+            sessionExpiry = Duration.ofHours(24);
+    }
+}
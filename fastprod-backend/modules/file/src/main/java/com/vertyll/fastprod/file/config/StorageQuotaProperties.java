@@ -0,0 +1,18 @@
+package com.vertyll.fastprod.file.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param userQuota total size of the files a single user may store; shared content is charged to every file
+ * @param maxTopConsumers upper bound on the number of users the top consumers listing returns
+ */
+@ConfigurationProperties(prefix = "application.file.quota")
+public record StorageQuotaProperties(DataSize userQuota, Integer maxTopConsumers) {
+    public StorageQuotaProperties {
+        if (userQuota == null)
+            userQuota = DataSize.ofGigabytes(1);
+        if (maxTopConsumers == null)
+            maxTopConsumers = 100;
+    }
+}
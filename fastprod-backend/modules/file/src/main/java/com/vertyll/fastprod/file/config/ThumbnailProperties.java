@@ -0,0 +1,43 @@
+package com.vertyll.fastprod.file.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param enabled generate thumbnails in the background after uploads
+ * @param sizes bounding box edges, in pixels, that thumbnails are rendered for
+ * @param workers thumbnails rendered at the same time
+ * @param queueCapacity pending jobs kept before new ones are dropped; dropped ones are rendered on first request
+ * @param maxSourcePixels images with more pixels than this are not decoded at all
+ * @param quality JPEG quality between 0 and 1
+ */
+@ConfigurationProperties(prefix = "application.file.thumbnails")
+public record ThumbnailProperties(
+    Boolean enabled,
+    List<Integer> sizes,
+    Integer workers,
+    Integer queueCapacity,
+    Long maxSourcePixels,
+    Float quality
+) {
+    public ThumbnailProperties {
+        if (enabled == null)
+            enabled = true;
+        if (sizes == null || sizes.isEmpty())
+            sizes = List.of(64, 256);
+        if (workers == null)
+            workers = 2;
+        if (queueCapacity == null)
+            queueCapacity = 256;
+        if (maxSourcePixels == null)
+            maxSourcePixels = 50_000_000L;
+        if (quality == null)
+            quality = 0.8f;
+
+        sizes = List.copyOf(sizes);
+        if (quality <= 0 || quality > 1) {
+            throw new IllegalArgumentException("Invalid thumbnail quality: " + quality);
+        }
+    }
+}
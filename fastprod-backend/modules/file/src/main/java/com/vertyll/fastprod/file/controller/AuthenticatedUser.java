@@ -0,0 +1,25 @@
+package com.vertyll.fastprod.file.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import com.vertyll.fastprod.user.entity.User;
+
+/**
+ * Resolves who owns the files of a request. Ownership is keyed by the user id rather than the
+ * authentication name, which is the email and changes when the user updates it.
+ */
+final class AuthenticatedUser {
+
+    private static final String AUTHENTICATION_REQUIRED = "Authentication required";
+
+    private AuthenticatedUser() {}
+
+    static Long id(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof User user && user.getId() != null) {
+            return user.getId();
+        }
+        throw new ApiException(AUTHENTICATION_REQUIRED, HttpStatus.UNAUTHORIZED);
+    }
+}
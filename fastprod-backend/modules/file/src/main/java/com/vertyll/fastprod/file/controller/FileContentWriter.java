@@ -0,0 +1,145 @@
+package com.vertyll.fastprod.file.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.vertyll.fastprod.file.dto.FileContentDto;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Writes stored files to the socket without reading them into the heap. Files on local disk are
+ * handed to Tomcat's sendfile support, elsewhere {@link FileChannel#transferTo} copies through the
+ * container's output buffer; remote content is streamed through a small buffer.
+ */
+@UtilityClass
+class FileContentWriter {
+
+    // Tomcat request attributes, see org.apache.coyote.Constants / Globals
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String BYTES = "bytes";
+
+    static void write(FileContentDto file, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        String etag = "\"" + file.checksum() + "\"";
+        long lastModified = file.lastModified().toEpochMilli();
+
+        // Clients may keep the file but have to revalidate, which is answered with a bodyless 304
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(file.contentType() != null ? file.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        if (file.originalFilename() != null) {
+            response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.originalFilename(), StandardCharsets.UTF_8).build().toString()
+            );
+        }
+
+        long size = file.content().size();
+        long start = 0;
+        long end = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+                // Multipart byteranges are not worth the complexity, the full body is a valid answer
+                if (ranges.size() == 1) {
+                    start = ranges.getFirst().getRangeStart(size);
+                    end = ranges.getFirst().getRangeEnd(size) + 1;
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "%s %d-%d/%d".formatted(BYTES, start, end - 1, size));
+                }
+            } catch (IllegalArgumentException _) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "%s */%d".formatted(BYTES, size));
+                return;
+            }
+        }
+
+        response.setContentLengthLong(end - start);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || end == start) {
+            return;
+        }
+        transfer(file, start, end, request, response);
+    }
+
+    /** {@code If-Range} only lets the range through while the client still has the current version. */
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException _) {
+            return false;
+        }
+    }
+
+    @SuppressFBWarnings(
+        value = "PATH_TRAVERSAL_IN",
+        justification = "Path is resolved by the blob store from a validated checksum"
+    )
+    private static void transfer(
+        FileContentDto file,
+        long start,
+        long end,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        Path localPath = file.content().localPath();
+        if (localPath == null) {
+            try (InputStream in = file.content().openStream(start, end - start)) {
+                in.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, localPath.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(localPath, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+}
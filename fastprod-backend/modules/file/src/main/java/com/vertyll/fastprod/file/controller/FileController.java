@@ -0,0 +1,89 @@
+package com.vertyll.fastprod.file.controller;
+
+import java.io.IOException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vertyll.fastprod.file.dto.FileContentDto;
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.file.service.FileStorageService;
+import com.vertyll.fastprod.file.service.ThumbnailService;
+import com.vertyll.fastprod.sharedinfrastructure.response.ApiResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/files")
+@RequiredArgsConstructor
+@Tag(name = "Files", description = "File storage APIs")
+public class FileController {
+
+    private static final String FILE_UPLOADED_SUCCESSFULLY = "File uploaded successfully";
+    private static final String FILE_DELETED_SUCCESSFULLY = "File deleted successfully";
+
+    private final FileStorageService fileStorageService;
+    private final ThumbnailService thumbnailService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Upload a file")
+    public ResponseEntity<ApiResponse<StoredFileDto>> uploadFile(
+        @RequestParam("file") MultipartFile file,
+        Authentication authentication
+    ) {
+        StoredFileDto storedFile = fileStorageService.saveFile(file, AuthenticatedUser.id(authentication));
+        return ApiResponse.buildResponse(storedFile, FILE_UPLOADED_SUCCESSFULLY, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}/content")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+        summary = "Download file content",
+        description = "Supports Range requests and conditional GET with If-None-Match / If-Modified-Since"
+    )
+    public void downloadFile(
+        @PathVariable Long id,
+        Authentication authentication,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        FileContentDto file = fileStorageService.getFileContent(id, AuthenticatedUser.id(authentication));
+        FileContentWriter.write(file, request, response);
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+        summary = "Download an image thumbnail",
+        description = "Rendered on first request if the background job has not produced it yet"
+    )
+    public void downloadThumbnail(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "256") int size,
+        Authentication authentication,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        FileContentDto thumbnail = thumbnailService.getThumbnail(id, AuthenticatedUser.id(authentication), size);
+        FileContentWriter.write(thumbnail, request, response);
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Delete a file")
+    public ResponseEntity<ApiResponse<Void>> deleteFile(@PathVariable Long id, Authentication authentication) {
+        fileStorageService.deleteFile(id, AuthenticatedUser.id(authentication));
+        return ApiResponse.buildResponse(null, FILE_DELETED_SUCCESSFULLY, HttpStatus.OK);
+    }
+}
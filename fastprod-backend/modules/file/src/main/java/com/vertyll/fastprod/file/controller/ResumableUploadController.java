@@ -0,0 +1,118 @@
+package com.vertyll.fastprod.file.controller;
+
+import java.io.IOException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.file.dto.UploadSessionCreateDto;
+import com.vertyll.fastprod.file.dto.UploadSessionDto;
+import com.vertyll.fastprod.file.service.ResumableUploadService;
+import com.vertyll.fastprod.sharedinfrastructure.response.ApiResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Chunked uploads modelled on the tus protocol: create a session, {@code PATCH} raw chunks with an
+ * {@code Upload-Offset} header, {@code HEAD} the session to find where to resume, then complete it.
+ */
+@RestController
+@RequestMapping("/files/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Resumable uploads", description = "Chunked, resumable file upload APIs")
+public class ResumableUploadController {
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+    static final String UPLOAD_LENGTH = "Upload-Length";
+    static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private static final String UPLOAD_CREATED_SUCCESSFULLY = "Upload created successfully";
+    private static final String UPLOAD_RETRIEVED_SUCCESSFULLY = "Upload retrieved successfully";
+    private static final String CHUNK_RECEIVED_SUCCESSFULLY = "Chunk received successfully";
+    private static final String UPLOAD_COMPLETED_SUCCESSFULLY = "Upload completed successfully";
+    private static final String UPLOAD_CANCELLED_SUCCESSFULLY = "Upload cancelled successfully";
+
+    private final ResumableUploadService resumableUploadService;
+
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Create a resumable upload session")
+    public ResponseEntity<ApiResponse<UploadSessionDto>> createUpload(
+        @RequestBody @Valid UploadSessionCreateDto dto,
+        Authentication authentication
+    ) {
+        UploadSessionDto upload = resumableUploadService.createUpload(dto, AuthenticatedUser.id(authentication));
+        return ApiResponse.buildResponse(upload, UPLOAD_CREATED_SUCCESSFULLY, HttpStatus.CREATED);
+    }
+
+    @RequestMapping(path = "/{uploadKey}", method = RequestMethod.HEAD)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get the offset to resume an upload from")
+    public ResponseEntity<Void> getUploadOffset(@PathVariable String uploadKey, Authentication authentication) {
+        UploadSessionDto upload = resumableUploadService.getUpload(uploadKey, AuthenticatedUser.id(authentication));
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .header(UPLOAD_OFFSET, Long.toString(upload.offset()))
+            .header(UPLOAD_LENGTH, Long.toString(upload.size()))
+            .build();
+    }
+
+    @GetMapping("/{uploadKey}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get a resumable upload session")
+    public ResponseEntity<ApiResponse<UploadSessionDto>> getUpload(
+        @PathVariable String uploadKey,
+        Authentication authentication
+    ) {
+        UploadSessionDto upload = resumableUploadService.getUpload(uploadKey, AuthenticatedUser.id(authentication));
+        return ApiResponse.buildResponse(upload, UPLOAD_RETRIEVED_SUCCESSFULLY, HttpStatus.OK);
+    }
+
+    @PatchMapping(path = "/{uploadKey}", consumes = OFFSET_OCTET_STREAM)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Append a chunk at the given offset")
+    public ResponseEntity<ApiResponse<UploadSessionDto>> appendChunk(
+        @PathVariable String uploadKey,
+        @RequestHeader(UPLOAD_OFFSET) long offset,
+        HttpServletRequest request,
+        Authentication authentication
+    ) throws IOException {
+        UploadSessionDto upload = resumableUploadService.appendChunk(
+            uploadKey,
+            offset,
+            request.getInputStream(),
+            AuthenticatedUser.id(authentication)
+        );
+        return ApiResponse.buildResponse(upload, CHUNK_RECEIVED_SUCCESSFULLY, HttpStatus.OK);
+    }
+
+    @PostMapping("/{uploadKey}/complete")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Complete an upload and store the file")
+    public ResponseEntity<ApiResponse<StoredFileDto>> completeUpload(
+        @PathVariable String uploadKey,
+        Authentication authentication
+    ) {
+        Long userId = AuthenticatedUser.id(authentication);
+        StoredFileDto storedFile = resumableUploadService.completeUpload(uploadKey, userId);
+        return ApiResponse.buildResponse(storedFile, UPLOAD_COMPLETED_SUCCESSFULLY, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{uploadKey}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Cancel an upload")
+    public ResponseEntity<ApiResponse<Void>> cancelUpload(@PathVariable String uploadKey, Authentication authentication) {
+        resumableUploadService.cancelUpload(uploadKey, AuthenticatedUser.id(authentication));
+        return ApiResponse.buildResponse(null, UPLOAD_CANCELLED_SUCCESSFULLY, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,53 @@
+package com.vertyll.fastprod.file.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.vertyll.fastprod.file.dto.StorageUsageDto;
+import com.vertyll.fastprod.file.service.StorageQuotaService;
+import com.vertyll.fastprod.sharedinfrastructure.response.ApiResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/files/usage")
+@RequiredArgsConstructor
+@Tag(name = "Storage usage", description = "Per-user storage quota APIs")
+public class StorageUsageController {
+
+    private static final String USAGE_RETRIEVED_SUCCESSFULLY = "Storage usage retrieved successfully";
+    private static final String TOP_CONSUMERS_RETRIEVED_SUCCESSFULLY = "Top storage consumers retrieved successfully";
+
+    private final StorageQuotaService storageQuotaService;
+
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get own storage usage and quota")
+    public ResponseEntity<ApiResponse<StorageUsageDto>> getUsage(Authentication authentication) {
+        StorageUsageDto usage = storageQuotaService.getUsage(AuthenticatedUser.id(authentication));
+        return ApiResponse.buildResponse(usage, USAGE_RETRIEVED_SUCCESSFULLY, HttpStatus.OK);
+    }
+
+    @GetMapping("/top")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "List users storing the most data",
+        description = "Read from the usage counters, without scanning files"
+    )
+    public ResponseEntity<ApiResponse<List<StorageUsageDto>>> getTopConsumers(
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<StorageUsageDto> consumers = storageQuotaService.getTopConsumers(limit);
+        return ApiResponse.buildResponse(consumers, TOP_CONSUMERS_RETRIEVED_SUCCESSFULLY, HttpStatus.OK);
+    }
+}
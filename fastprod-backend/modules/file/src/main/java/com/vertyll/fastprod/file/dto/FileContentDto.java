@@ -0,0 +1,23 @@
+package com.vertyll.fastprod.file.dto;
+
+import java.time.Instant;
+
+import com.vertyll.fastprod.file.storage.BlobContent;
+
+/**
+ * Everything needed to serve a stored file without loading it.
+ *
+ * @param content stored content, not read until it is written out
+ * @param checksum SHA-256 of the content, used as the strong ETag
+ * @param lastModified when the user's file was created, blobs never change afterwards
+ * @param contentType content type declared on upload
+ * @param originalFilename name the file was uploaded with
+ */
+public record FileContentDto(
+    BlobContent content,
+    String checksum,
+    Instant lastModified,
+    String contentType,
+    String originalFilename
+) {
+}
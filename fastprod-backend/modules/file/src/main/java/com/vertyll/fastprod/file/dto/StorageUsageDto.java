@@ -0,0 +1,15 @@
+package com.vertyll.fastprod.file.dto;
+
+/**
+ * @param userId owner of the files
+ * @param usedBytes total size of the user's files, shared content counted once per file
+ * @param fileCount number of files the user has stored
+ * @param quotaBytes most the user may store
+ */
+public record StorageUsageDto(
+    Long userId,
+    long usedBytes,
+    int fileCount,
+    long quotaBytes
+) {
+}
@@ -0,0 +1,17 @@
+package com.vertyll.fastprod.file.dto;
+
+/**
+ * @param id identifier of the user's file reference
+ * @param originalFilename name the file was uploaded with
+ * @param contentType content type declared by the client
+ * @param size number of bytes stored
+ * @param checksum lowercase hex SHA-256 of the content, also the key of the stored blob
+ */
+public record StoredFileDto(
+    Long id,
+    String originalFilename,
+    String contentType,
+    long size,
+    String checksum
+) {
+}
@@ -0,0 +1,13 @@
+package com.vertyll.fastprod.file.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import org.jspecify.annotations.Nullable;
+
+public record UploadSessionCreateDto(
+    @Nullable String filename,
+    @Nullable String contentType,
+    @NotNull(message = "Size is required") @PositiveOrZero(message = "Size must not be negative") Long size
+) {
+}
@@ -0,0 +1,17 @@
+package com.vertyll.fastprod.file.dto;
+
+import java.time.Instant;
+
+/**
+ * @param uploadKey identifier to send chunks to
+ * @param offset bytes received so far, the next chunk has to start here
+ * @param size declared total size
+ * @param expiresAt when the session is discarded unless another chunk arrives
+ */
+public record UploadSessionDto(
+    String uploadKey,
+    long offset,
+    long size,
+    Instant expiresAt
+) {
+}
@@ -0,0 +1,53 @@
+package com.vertyll.fastprod.file.entity;
+
+import java.io.Serial;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import com.vertyll.fastprod.sharedinfrastructure.entity.BaseEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stored content, keyed by its SHA-256. Every {@link UserFile} pointing at a blob holds one
+ * reference; blobs whose count dropped to zero are removed by the orphan collector once
+ * {@code orphanedAt} is older than the grace period.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "file_blob",
+    indexes = {
+        @Index(name = "idx_file_blob_orphaned_at", columnList = "orphaned_at"),
+    }
+)
+public class FileBlob extends BaseEntity {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String checksum;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int referenceCount = 0;
+
+    @Column
+    private Instant orphanedAt;
+}
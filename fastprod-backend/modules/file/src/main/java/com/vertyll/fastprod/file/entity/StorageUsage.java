@@ -0,0 +1,54 @@
+package com.vertyll.fastprod.file.entity;
+
+import java.io.Serial;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import com.vertyll.fastprod.sharedinfrastructure.entity.BaseEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running total of what a user has stored, counted per {@link UserFile} so a blob shared by
+ * several files is charged to each of them. Kept up to date in the same transaction as the file
+ * references and periodically reconciled against them.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "storage_usage",
+    indexes = {
+        @Index(name = "idx_storage_usage_used_bytes", columnList = "used_bytes DESC"),
+    }
+)
+public class StorageUsage extends BaseEntity {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false, unique = true)
+    private Long userId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long usedBytes = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int fileCount = 0;
+
+    @Column
+    private Instant reconciledAt;
+}
@@ -0,0 +1,60 @@
+package com.vertyll.fastprod.file.entity;
+
+import java.io.Serial;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import com.vertyll.fastprod.sharedinfrastructure.entity.BaseEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumable upload in progress. The partial file is pre-allocated to {@code size} bytes and
+ * {@code uploadOffset} marks how much of it has been received contiguously from the start.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "upload_session",
+    indexes = {
+        @Index(name = "idx_upload_session_user_id", columnList = "user_id"),
+        @Index(name = "idx_upload_session_expires_at", columnList = "expires_at"),
+    }
+)
+public class UploadSession extends BaseEntity {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String uploadKey;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private String originalFilename;
+
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long uploadOffset = 0;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,50 @@
+package com.vertyll.fastprod.file.entity;
+
+import java.io.Serial;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import com.vertyll.fastprod.sharedinfrastructure.entity.BaseEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "user_file",
+    indexes = {
+        @Index(name = "idx_user_file_user_id", columnList = "user_id"),
+        @Index(name = "idx_user_file_blob_id", columnList = "blob_id"),
+    }
+)
+public class UserFile extends BaseEntity {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id", nullable = false, foreignKey = @ForeignKey(name = "fk_user_file_blob"))
+    private FileBlob blob;
+
+    private String originalFilename;
+
+    private String contentType;
+}
@@ -0,0 +1,14 @@
+package com.vertyll.fastprod.file.event;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Published when a user's file reference has been stored, whether from a single request or a
+ * completed resumable upload.
+ *
+ * @param fileId identifier of the new user file
+ * @param checksum SHA-256 of the content, identifying the blob on disk
+ * @param contentType content type declared by the client
+ */
+public record FileStoredEvent(Long fileId, String checksum, @Nullable String contentType) {
+}
@@ -0,0 +1,82 @@
+package com.vertyll.fastprod.file.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.vertyll.fastprod.file.entity.FileBlob;
+
+public interface FileBlobRepository extends JpaRepository<FileBlob, Long> {
+
+    /**
+     * Inserts the blob with a single reference or adds a reference to the existing row. The row
+     * stays locked until the surrounding transaction ends, which keeps the orphan collector from
+     * deleting the content while the caller places it on disk.
+     */
+    @Query(
+        value = """
+            INSERT INTO file_blob (checksum, size, reference_count, orphaned_at, created_at, updated_at, created_by, updated_by)
+            VALUES (:checksum, :size, 1, NULL, :now, :now, :auditor, :auditor)
+            ON CONFLICT (checksum) DO UPDATE
+            SET reference_count = file_blob.reference_count + 1,
+                orphaned_at = NULL,
+                updated_at = EXCLUDED.updated_at,
+                updated_by = EXCLUDED.updated_by
+            RETURNING id
+            """,
+        nativeQuery = true
+    )
+    Long acquireReference(
+        @Param("checksum") String checksum,
+        @Param("size") long size,
+        @Param("now") LocalDateTime now,
+        @Param("auditor") String auditor
+    );
+
+    /**
+     * Records content that reached storage without being referenced, so the orphan collector
+     * removes it. Existing rows are left alone: their content is referenced or already collectable.
+     */
+    @Modifying
+    @Query(
+        value = """
+            INSERT INTO file_blob (checksum, size, reference_count, orphaned_at, created_at, updated_at, created_by, updated_by)
+            VALUES (:checksum, :size, 0, :orphanedAt, :now, :now, :auditor, :auditor)
+            ON CONFLICT (checksum) DO NOTHING
+            """,
+        nativeQuery = true
+    )
+    int insertOrphan(
+        @Param("checksum") String checksum,
+        @Param("size") long size,
+        @Param("orphanedAt") Instant orphanedAt,
+        @Param("now") LocalDateTime now,
+        @Param("auditor") String auditor
+    );
+
+    @Modifying
+    @Query(
+        "UPDATE FileBlob b SET b.referenceCount = b.referenceCount - 1, "
+            + "b.orphanedAt = CASE WHEN b.referenceCount = 1 THEN :now ELSE b.orphanedAt END "
+            + "WHERE b.id = :id AND b.referenceCount > 0"
+    )
+    int releaseReference(@Param("id") Long id, @Param("now") Instant now);
+
+    /** Locks a batch of collectable blobs, skipping rows an upload is currently re-referencing. */
+    @Query(
+        value = """
+            SELECT * FROM file_blob
+            WHERE reference_count = 0 AND orphaned_at < :orphanedBefore
+            ORDER BY orphaned_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """,
+        nativeQuery = true
+    )
+    List<FileBlob> lockCollectable(@Param("orphanedBefore") Instant orphanedBefore, @Param("limit") int limit);
+}
@@ -0,0 +1,112 @@
+package com.vertyll.fastprod.file.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.vertyll.fastprod.file.entity.StorageUsage;
+
+public interface StorageUsageRepository extends JpaRepository<StorageUsage, Long> {
+
+    Optional<StorageUsage> findByUserId(Long userId);
+
+    List<StorageUsage> findByOrderByUsedBytesDesc(Limit limit);
+
+    /**
+     * Charges one file of {@code size} bytes to the user unless that would take them over
+     * {@code quota}. Check and increment are one statement on a locked row, so concurrent uploads
+     * cannot overshoot the quota together.
+     *
+     * @return {@code 1} if charged, {@code 0} if the quota would be exceeded
+     */
+    @Modifying
+    @Query(
+        value = """
+            INSERT INTO storage_usage (user_id, used_bytes, file_count, created_at, updated_at, created_by, updated_by)
+            SELECT :userId, :size, 1, :now, :now, :auditor, :auditor
+            WHERE :size <= :quota
+            ON CONFLICT (user_id) DO UPDATE
+            SET used_bytes = storage_usage.used_bytes + EXCLUDED.used_bytes,
+                file_count = storage_usage.file_count + 1,
+                updated_at = EXCLUDED.updated_at,
+                updated_by = EXCLUDED.updated_by
+            WHERE storage_usage.used_bytes + EXCLUDED.used_bytes <= :quota
+            """,
+        nativeQuery = true
+    )
+    int charge(
+        @Param("userId") Long userId,
+        @Param("size") long size,
+        @Param("quota") long quota,
+        @Param("now") LocalDateTime now,
+        @Param("auditor") String auditor
+    );
+
+    @Modifying
+    @Query(
+        "UPDATE StorageUsage u SET "
+            + "u.usedBytes = CASE WHEN u.usedBytes > :size THEN u.usedBytes - :size ELSE 0 END, "
+            + "u.fileCount = CASE WHEN u.fileCount > 0 THEN u.fileCount - 1 ELSE 0 END "
+            + "WHERE u.userId = :userId"
+    )
+    int refund(@Param("userId") Long userId, @Param("size") long size);
+
+    /**
+     * Users whose counter disagrees with their file references, including users with files but no
+     * counter and counters left over after all files were deleted.
+     */
+    @Query(
+        value = """
+            SELECT COALESCE(u.user_id, f.user_id)
+            FROM storage_usage u
+            FULL OUTER JOIN (
+                SELECT uf.user_id, SUM(b.size) AS used_bytes, COUNT(*) AS file_count
+                FROM user_file uf
+                JOIN file_blob b ON b.id = uf.blob_id
+                GROUP BY uf.user_id
+            ) f ON f.user_id = u.user_id
+            WHERE COALESCE(u.used_bytes, 0) <> COALESCE(f.used_bytes, 0)
+               OR COALESCE(u.file_count, 0) <> COALESCE(f.file_count, 0)
+            """,
+        nativeQuery = true
+    )
+    List<Long> findDriftedUserIds();
+
+    /** Makes sure the user has a counter row to lock, without touching an existing one. */
+    @Modifying
+    @Query(
+        value = """
+            INSERT INTO storage_usage (user_id, used_bytes, file_count, created_at, updated_at, created_by, updated_by)
+            VALUES (:userId, 0, 0, :now, :now, :auditor, :auditor)
+            ON CONFLICT (user_id) DO NOTHING
+            """,
+        nativeQuery = true
+    )
+    int ensureExists(
+        @Param("userId") Long userId,
+        @Param("now") LocalDateTime now,
+        @Param("auditor") String auditor
+    );
+
+    @Query(value = "SELECT * FROM storage_usage WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    StorageUsage lockByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(
+        "UPDATE StorageUsage u SET u.usedBytes = :usedBytes, u.fileCount = :fileCount, u.reconciledAt = :now "
+            + "WHERE u.userId = :userId"
+    )
+    int reconcile(
+        @Param("userId") Long userId,
+        @Param("usedBytes") long usedBytes,
+        @Param("fileCount") int fileCount,
+        @Param("now") Instant now
+    );
+}
@@ -0,0 +1,45 @@
+package com.vertyll.fastprod.file.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.vertyll.fastprod.file.entity.UploadSession;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    Optional<UploadSession> findByUploadKeyAndUserId(String uploadKey, Long userId);
+
+    /**
+     * Moves the offset forward only if nobody else did in the meantime, so two clients racing on
+     * the same session cannot both claim the same range.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "UPDATE UploadSession s SET s.uploadOffset = :newOffset, s.expiresAt = :expiresAt "
+            + "WHERE s.id = :id AND s.uploadOffset = :expectedOffset"
+    )
+    int advanceOffset(
+        @Param("id") Long id,
+        @Param("expectedOffset") long expectedOffset,
+        @Param("newOffset") long newOffset,
+        @Param("expiresAt") Instant expiresAt
+    );
+
+    /** Removes a fully received session; zero means it is incomplete or already being finalized. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id AND s.uploadOffset = s.size")
+    int claimCompleted(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.expiresAt < :now")
+    int deleteAllExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,23 @@
+package com.vertyll.fastprod.file.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.vertyll.fastprod.file.entity.UserFile;
+
+public interface UserFileRepository extends JpaRepository<UserFile, Long> {
+
+    Optional<UserFile> findByIdAndUserId(Long id, Long userId);
+
+    @EntityGraph(attributePaths = "blob")
+    Optional<UserFile> findWithBlobByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+
+    @Query("SELECT COALESCE(SUM(b.size), 0) FROM UserFile f JOIN f.blob b WHERE f.userId = :userId")
+    long sumSizeByUserId(@Param("userId") Long userId);
+}
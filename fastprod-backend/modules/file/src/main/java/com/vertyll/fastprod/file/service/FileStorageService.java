@@ -4,7 +4,15 @@ import jakarta.annotation.Nonnull;
 
 import org.springframework.web.multipart.MultipartFile;
 
-@FunctionalInterface
+import com.vertyll.fastprod.file.dto.FileContentDto;
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+
 public interface FileStorageService {
-    String saveFile(@Nonnull MultipartFile sourceFile, @Nonnull String userId);
+    StoredFileDto saveFile(@Nonnull MultipartFile sourceFile, @Nonnull Long userId);
+
+    FileContentDto getFileContent(@Nonnull Long fileId, @Nonnull Long userId);
+
+    void deleteFile(@Nonnull Long fileId, @Nonnull Long userId);
+
+    void collectOrphanedBlobs();
 }
@@ -0,0 +1,28 @@
+package com.vertyll.fastprod.file.service;
+
+import java.io.InputStream;
+
+import jakarta.annotation.Nonnull;
+
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.file.dto.UploadSessionCreateDto;
+import com.vertyll.fastprod.file.dto.UploadSessionDto;
+
+public interface ResumableUploadService {
+    UploadSessionDto createUpload(@Nonnull UploadSessionCreateDto dto, @Nonnull Long userId);
+
+    UploadSessionDto getUpload(@Nonnull String uploadKey, @Nonnull Long userId);
+
+    UploadSessionDto appendChunk(
+        @Nonnull String uploadKey,
+        long offset,
+        @Nonnull InputStream chunk,
+        @Nonnull Long userId
+    );
+
+    StoredFileDto completeUpload(@Nonnull String uploadKey, @Nonnull Long userId);
+
+    void cancelUpload(@Nonnull String uploadKey, @Nonnull Long userId);
+
+    void cleanupExpiredUploads();
+}
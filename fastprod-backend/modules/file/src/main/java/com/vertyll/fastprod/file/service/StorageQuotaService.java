@@ -0,0 +1,18 @@
+package com.vertyll.fastprod.file.service;
+
+import java.util.List;
+
+import jakarta.annotation.Nonnull;
+
+import com.vertyll.fastprod.file.dto.StorageUsageDto;
+
+public interface StorageQuotaService {
+    /** Rejects an upload of {@code incomingBytes} up front if it cannot fit the user's remaining quota. */
+    void checkQuota(@Nonnull Long userId, long incomingBytes);
+
+    StorageUsageDto getUsage(@Nonnull Long userId);
+
+    List<StorageUsageDto> getTopConsumers(int limit);
+
+    void reconcileUsage();
+}
@@ -0,0 +1,10 @@
+package com.vertyll.fastprod.file.service;
+
+import jakarta.annotation.Nonnull;
+
+import com.vertyll.fastprod.file.dto.FileContentDto;
+
+@FunctionalInterface
+public interface ThumbnailService {
+    FileContentDto getThumbnail(@Nonnull Long fileId, @Nonnull Long userId, int size);
+}
@@ -0,0 +1,368 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vertyll.fastprod.file.config.FileUploadProperties;
+import com.vertyll.fastprod.file.storage.BlobContent;
+import com.vertyll.fastprod.file.storage.BlobStorage;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores content in {@link BlobStorage} under {@code blobs/ab/cd/<sha256>}. Two levels of two hex
+ * characters give 65536 directories, so no single directory grows with the number of stored
+ * files, and identical uploads resolve to the same key. Uploads are streamed into the local
+ * {@code staging} directory first, and resumable uploads are assembled in {@code resumable}; with
+ * file system storage both sit under the same base directory so publishing is an atomic rename.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+class ContentAddressedBlobStore {
+
+    private static final String BLOBS = "blobs";
+    private static final String STAGING = "staging";
+    private static final String RESUMABLE = "resumable";
+    private static final String CHECKSUM_ALGORITHM = "SHA-256";
+    private static final String TEMP_FILE_PREFIX = ".upload-";
+    private static final String TEMP_FILE_SUFFIX = ".part";
+    private static final Pattern CHECKSUM_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern DERIVATIVE_VARIANT_PATTERN = Pattern.compile("[0-9a-z]+(\\.[0-9a-z]+)?");
+    private static final Pattern UPLOAD_KEY_PATTERN = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}");
+
+    private static final String FILE_NOT_SAVED = "File was not saved";
+    private static final String FILE_CONTENT_NOT_FOUND = "File content not found";
+    private static final String FILE_TOO_LARGE = "File exceeds the maximum upload size of %s bytes";
+
+    private final FileUploadProperties fileUploadProperties;
+    private final BlobStorage blobStorage;
+
+    /**
+     * Streams the upload into the staging area through a single buffer of {@code bufferSize}
+     * bytes, computing the checksum on the way and aborting as soon as the limit is crossed.
+     */
+    StagedBlob stage(MultipartFile sourceFile) {
+        // Reject early when the client declared the size, the streaming check below covers the rest
+        long maxFileSize = fileUploadProperties.maxFileSize().toBytes();
+        if (sourceFile.getSize() > maxFileSize) {
+            throw fileTooLarge(maxFileSize);
+        }
+
+        Path tempFile = null;
+        try {
+            tempFile = createWorkFile();
+            MessageDigest digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+            long size = copy(sourceFile, tempFile, digest, maxFileSize);
+
+            StagedBlob staged = new StagedBlob(tempFile, size, HexFormat.of().formatHex(digest.digest()));
+            tempFile = null;
+            return staged;
+
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error(FILE_NOT_SAVED, e);
+            throw new ApiException(FILE_NOT_SAVED, HttpStatus.INTERNAL_SERVER_ERROR);
+        } finally {
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Uploads a staged file to remote storage ahead of registering it, so that no transaction waits
+     * on the transfer and {@link #publish} only has to confirm the object is there. Local storage
+     * publishes with a rename and skips this step.
+     *
+     * @return whether the content was sent to remote storage
+     */
+    boolean transfer(StagedBlob staged) {
+        if (!blobStorage.isRemote()) {
+            return false;
+        }
+        store(staged);
+        return true;
+    }
+
+    /**
+     * Places the staged file at its content address. When the content is already stored nothing
+     * is written, so every distinct content exists exactly once; the staged copy stays with the
+     * caller to discard.
+     *
+     * @return whether this call wrote the content, rather than finding it already stored
+     */
+    boolean publish(StagedBlob staged) {
+        return store(staged);
+    }
+
+    /** Stored content that is expected to exist, for serving it. */
+    BlobContent locate(String checksum) {
+        try {
+            return blobStorage.open(blobKey(checksum));
+        } catch (NoSuchFileException _) {
+            log.error("Blob {} is referenced but missing from storage", checksum);
+        } catch (IOException e) {
+            log.error("Could not open blob {}", checksum, e);
+        }
+        throw new ApiException(FILE_CONTENT_NOT_FOUND, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Creates the partial file of a resumable upload at its final length, so chunks are written in
+     * place at their offset and the file system can reserve the space up front.
+     */
+    void allocateResumable(String uploadKey, long size) {
+        try {
+            Path path = resumablePath(uploadKey);
+            Files.createDirectories(path.getParent());
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                file.setLength(size);
+            }
+        } catch (IOException e) {
+            log.error(FILE_NOT_SAVED, e);
+            throw new ApiException(FILE_NOT_SAVED, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Writes at most {@code maxLength} bytes from {@code source} at {@code offset}. If the client
+     * disconnects mid-chunk, the bytes that did arrive are kept and counted, so a retry only has
+     * to resend the remainder.
+     *
+     * @return number of bytes written contiguously from {@code offset}
+     */
+    long writeChunk(String uploadKey, long offset, long maxLength, InputStream source) {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(fileUploadProperties.bufferSize().toBytes()));
+        long written = 0;
+        try (FileChannel destination = FileChannel.open(resumablePath(uploadKey), StandardOpenOption.WRITE)) {
+            ReadableByteChannel channel = Channels.newChannel(source);
+            while (written < maxLength) {
+                buffer.limit((int) Math.min(buffer.capacity(), maxLength - written));
+                int read;
+                try {
+                    read = channel.read(buffer);
+                } catch (IOException e) {
+                    log.info("Upload {} interrupted after {} bytes of the chunk", uploadKey, written, e);
+                    break;
+                }
+                if (read == -1) {
+                    break;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    written += destination.write(buffer, offset + written);
+                }
+                buffer.clear();
+            }
+            destination.force(false);
+            return written;
+        } catch (IOException e) {
+            log.error(FILE_NOT_SAVED, e);
+            throw new ApiException(FILE_NOT_SAVED, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /** Checksums a completed resumable upload in one streaming pass so it can be published. */
+    StagedBlob sealResumable(String uploadKey, long size) {
+        try {
+            Path path = resumablePath(uploadKey);
+            MessageDigest digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(fileUploadProperties.bufferSize().toBytes()));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                while (channel.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            }
+            return new StagedBlob(path, size, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error(FILE_NOT_SAVED, e);
+            throw new ApiException(FILE_NOT_SAVED, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    void deleteResumable(String uploadKey) {
+        try {
+            deleteQuietly(resumablePath(uploadKey));
+        } catch (IOException e) {
+            log.warn("Could not resolve resumable upload {}", uploadKey, e);
+        }
+    }
+
+    /**
+     * Removes partial files not written to since {@code olderThan}. Every chunk touches the file,
+     * so this lines up with session expiry and also catches files whose session row is gone.
+     */
+    int purgeResumable(Instant olderThan) throws IOException {
+        return purgeOlderThan(baseDir().resolve(RESUMABLE), olderThan);
+    }
+
+    void discard(StagedBlob staged) {
+        deleteQuietly(staged.path());
+    }
+
+    /** Deletes the blob together with every derivative stored next to it. */
+    void delete(String checksum) throws IOException {
+        blobStorage.deleteWithDerivatives(blobKey(checksum));
+    }
+
+    /**
+     * A file derived from a blob, such as a thumbnail. Derivatives are stored next to the blob as
+     * {@code <sha256>-<variant>}, so their keys change whenever the content does and they can be
+     * cached forever.
+     *
+     * @throws NoSuchFileException when the derivative has not been created yet
+     */
+    BlobContent openDerivative(String checksum, String variant) throws IOException {
+        return blobStorage.open(derivativeKey(checksum, variant));
+    }
+
+    /** Stores {@code file} as a derivative of the blob; the file is moved or left for the caller. */
+    void putDerivative(String checksum, String variant, Path file) throws IOException {
+        blobStorage.put(derivativeKey(checksum, variant), file, Files.size(file));
+    }
+
+    /** Empty local scratch file, removed by {@link #purgeStaging} if the caller does not. */
+    Path createWorkFile() throws IOException {
+        Path stagingDir = Files.createDirectories(baseDir().resolve(STAGING));
+        return Files.createTempFile(stagingDir, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+    }
+
+    /** Removes staging files left behind by uploads that died before publishing. */
+    int purgeStaging(Instant olderThan) throws IOException {
+        return purgeOlderThan(baseDir().resolve(STAGING), olderThan);
+    }
+
+    static String blobKey(String checksum) {
+        if (!CHECKSUM_PATTERN.matcher(checksum).matches()) {
+            throw new IllegalArgumentException("Invalid checksum: " + checksum);
+        }
+        return String.join("/", BLOBS, checksum.substring(0, 2), checksum.substring(2, 4), checksum);
+    }
+
+    private static String derivativeKey(String checksum, String variant) {
+        if (!DERIVATIVE_VARIANT_PATTERN.matcher(variant).matches()) {
+            throw new IllegalArgumentException("Invalid derivative variant: " + variant);
+        }
+        return blobKey(checksum) + "-" + variant;
+    }
+
+    private boolean store(StagedBlob staged) {
+        try {
+            boolean stored = blobStorage.put(blobKey(staged.checksum()), staged.path(), staged.size());
+            if (stored) {
+                log.info("Stored blob {} ({} bytes)", staged.checksum(), staged.size());
+            }
+            return stored;
+        } catch (IOException e) {
+            log.error(FILE_NOT_SAVED, e);
+            throw new ApiException(FILE_NOT_SAVED, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @SuppressFBWarnings(
+        value = "PATH_TRAVERSAL_IN",
+        justification = "Upload key is validated as a lowercase UUID before it is used in a path"
+    )
+    private Path resumablePath(String uploadKey) throws IOException {
+        if (!UPLOAD_KEY_PATTERN.matcher(uploadKey).matches()) {
+            throw new IllegalArgumentException("Invalid upload key: " + uploadKey);
+        }
+        return baseDir().resolve(RESUMABLE).resolve(uploadKey);
+    }
+
+    private static int purgeOlderThan(Path directory, Instant olderThan) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<Path> stale;
+        try (Stream<Path> files = Files.list(directory)) {
+            stale = files.filter(path -> isOlderThan(path, olderThan)).toList();
+        }
+        for (Path path : stale) {
+            deleteQuietly(path);
+        }
+        return stale.size();
+    }
+
+    @SuppressFBWarnings(
+        value = "PATH_TRAVERSAL_IN",
+        justification = "Base directory comes from application configuration, not user input"
+    )
+    private Path baseDir() throws IOException {
+        return Files.createDirectories(Paths.get(fileUploadProperties.fileOutputPath()))
+            .toRealPath()
+            .normalize();
+    }
+
+    private long copy(MultipartFile sourceFile, Path target, MessageDigest digest, long maxFileSize)
+        throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(fileUploadProperties.bufferSize().toBytes()));
+        long written = 0;
+        try (
+            InputStream inputStream = sourceFile.getInputStream();
+            ReadableByteChannel source = Channels.newChannel(inputStream);
+            FileChannel destination = FileChannel.open(target, StandardOpenOption.WRITE)
+        ) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                written += buffer.remaining();
+                if (written > maxFileSize) {
+                    throw fileTooLarge(maxFileSize);
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    destination.write(buffer);
+                }
+                buffer.clear();
+            }
+            destination.force(false);
+        }
+        return written;
+    }
+
+    private static boolean isOlderThan(Path path, Instant instant) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(instant);
+        } catch (IOException _) {
+            return false;
+        }
+    }
+
+    private static ApiException fileTooLarge(long maxFileSize) {
+        return new ApiException(FILE_TOO_LARGE.formatted(maxFileSize), HttpStatus.CONTENT_TOO_LARGE);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload file {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vertyll.fastprod.file.config.StorageQuotaProperties;
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.file.entity.FileBlob;
+import com.vertyll.fastprod.file.entity.StorageUsage;
+import com.vertyll.fastprod.file.entity.UserFile;
+import com.vertyll.fastprod.file.event.FileStoredEvent;
+import com.vertyll.fastprod.file.repository.FileBlobRepository;
+import com.vertyll.fastprod.file.repository.StorageUsageRepository;
+import com.vertyll.fastprod.file.repository.UserFileRepository;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Database side of the blob store. Kept apart from {@link FileStorageServiceImpl} so that
+ * streaming an upload never holds a connection; only the short bookkeeping steps are
+ * transactional. Steps that touch a user's storage counter lock it before anything else, which
+ * keeps the counter consistent with the file references and the lock order the same everywhere.
+ */
+@Component
+@Slf4j
+class FileBlobRegistry {
+
+    private static final String FILE_NOT_FOUND = "File not found";
+    private static final String QUOTA_EXCEEDED = "Storage quota of %d bytes exceeded";
+    private static final String SYSTEM_ACCOUNT = "SYSTEM";
+
+    private final FileBlobRepository fileBlobRepository;
+    private final UserFileRepository userFileRepository;
+    private final StorageUsageRepository storageUsageRepository;
+    private final StorageQuotaProperties storageQuotaProperties;
+    private final ContentAddressedBlobStore blobStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditorAware<String> auditorAware;
+    private final TransactionTemplate separateTransaction;
+
+    FileBlobRegistry(
+        FileBlobRepository fileBlobRepository,
+        UserFileRepository userFileRepository,
+        StorageUsageRepository storageUsageRepository,
+        StorageQuotaProperties storageQuotaProperties,
+        ContentAddressedBlobStore blobStore,
+        ApplicationEventPublisher eventPublisher,
+        AuditorAware<String> auditorAware,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.fileBlobRepository = fileBlobRepository;
+        this.userFileRepository = userFileRepository;
+        this.storageUsageRepository = storageUsageRepository;
+        this.storageQuotaProperties = storageQuotaProperties;
+        this.blobStore = blobStore;
+        this.eventPublisher = eventPublisher;
+        this.auditorAware = auditorAware;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional
+    public StoredFileDto register(
+        StagedBlob staged,
+        Long userId,
+        @Nullable String originalFilename,
+        @Nullable String contentType
+    ) {
+        String auditor = auditor();
+        long quota = storageQuotaProperties.userQuota().toBytes();
+        if (storageUsageRepository.charge(userId, staged.size(), quota, LocalDateTime.now(), auditor) == 0) {
+            throw new ApiException(QUOTA_EXCEEDED.formatted(quota), HttpStatus.CONTENT_TOO_LARGE);
+        }
+
+        Long blobId = fileBlobRepository.acquireReference(
+            staged.checksum(),
+            staged.size(),
+            LocalDateTime.now(),
+            auditor
+        );
+
+        // The blob row is locked until commit, so the collector cannot remove the content in between
+        if (blobStore.publish(staged)) {
+            trackUnreferencedOnRollback(staged);
+        }
+
+        UserFile userFile = UserFile.builder()
+            .userId(userId)
+            .blob(fileBlobRepository.getReferenceById(blobId))
+            .originalFilename(originalFilename)
+            .contentType(contentType)
+            .build();
+        userFileRepository.save(userFile);
+        log.info("File {} saved for user {} as blob {}", userFile.getId(), userId, staged.checksum());
+
+        // Delivered to transactional listeners only once the reference is committed
+        eventPublisher.publishEvent(new FileStoredEvent(userFile.getId(), staged.checksum(), contentType));
+        return new StoredFileDto(
+            userFile.getId(),
+            userFile.getOriginalFilename(),
+            userFile.getContentType(),
+            staged.size(),
+            staged.checksum()
+        );
+    }
+
+    /**
+     * Makes content that was sent to storage ahead of a failed registration collectable, as
+     * nothing else would ever find it.
+     */
+    @Transactional
+    public void trackUnreferenced(StagedBlob staged) {
+        fileBlobRepository.insertOrphan(
+            staged.checksum(),
+            staged.size(),
+            Instant.now(),
+            LocalDateTime.now(),
+            auditor()
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public UserFile findOwned(Long fileId, Long userId) {
+        return userFileRepository.findWithBlobByIdAndUserId(fileId, userId)
+            .orElseThrow(() -> new ApiException(FILE_NOT_FOUND, HttpStatus.NOT_FOUND));
+    }
+
+    @Transactional
+    public void release(Long fileId, Long userId) {
+        UserFile userFile = userFileRepository.findByIdAndUserId(fileId, userId)
+            .orElseThrow(() -> new ApiException(FILE_NOT_FOUND, HttpStatus.NOT_FOUND));
+        FileBlob blob = userFile.getBlob();
+        storageUsageRepository.refund(userId, blob.getSize());
+        userFileRepository.delete(userFile);
+        fileBlobRepository.releaseReference(blob.getId(), Instant.now());
+    }
+
+    /**
+     * Recounts the user's storage from their file references. The counter row is locked first, so
+     * uploads and deletes of that user wait and the count cannot miss one that commits meanwhile.
+     */
+    @Transactional
+    public void reconcileUsage(Long userId) {
+        storageUsageRepository.ensureExists(userId, LocalDateTime.now(), auditor());
+        StorageUsage usage = storageUsageRepository.lockByUserId(userId);
+
+        long usedBytes = userFileRepository.sumSizeByUserId(userId);
+        int fileCount = Math.toIntExact(userFileRepository.countByUserId(userId));
+        if (usage.getUsedBytes() != usedBytes || usage.getFileCount() != fileCount) {
+            log.warn(
+                "Storage usage of user {} drifted: counted {} bytes in {} files, actual {} bytes in {} files",
+                userId,
+                usage.getUsedBytes(),
+                usage.getFileCount(),
+                usedBytes,
+                fileCount
+            );
+        }
+        storageUsageRepository.reconcile(userId, usedBytes, fileCount, Instant.now());
+    }
+
+    /**
+     * Deletes one batch of blobs that have been unreferenced since before {@code orphanedBefore}.
+     * Files are removed while the rows are still locked; if the transaction then rolls back the
+     * next upload of that content finds the file missing and publishes it again.
+     *
+     * @return number of blobs deleted
+     */
+    @Transactional
+    public int collectOrphans(Instant orphanedBefore, int batchSize) {
+        List<FileBlob> orphans = fileBlobRepository.lockCollectable(orphanedBefore, batchSize);
+        for (FileBlob orphan : orphans) {
+            try {
+                blobStore.delete(orphan.getChecksum());
+            } catch (IOException e) {
+                log.warn("Could not delete blob {}", orphan.getChecksum(), e);
+            }
+        }
+        fileBlobRepository.deleteAllInBatch(orphans);
+        return orphans.size();
+    }
+
+    /**
+     * Content this transaction wrote to storage stays there when the transaction rolls back, while
+     * the row that would have pointed at it does not. Remote content is tracked by
+     * {@link StagedBlobPublisher}, which uploaded it, so this only ever fires for a local rename.
+     */
+    private void trackUnreferencedOnRollback(StagedBlob staged) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    separateTransaction.executeWithoutResult(_ -> trackUnreferenced(staged));
+                } catch (RuntimeException e) {
+                    log.warn("Blob {} was stored but could not be marked for collection", staged.checksum(), e);
+                }
+            }
+        });
+    }
+
+    private String auditor() {
+        return auditorAware.getCurrentAuditor().orElse(SYSTEM_ACCOUNT);
+    }
+}
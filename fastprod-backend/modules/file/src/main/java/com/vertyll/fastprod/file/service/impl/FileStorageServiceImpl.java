@@ -1,19 +1,19 @@
 package com.vertyll.fastprod.file.service.impl;
 
-import static java.io.File.separator;
-import static java.lang.System.currentTimeMillis;
-
-import com.google.common.base.Ascii;
 import com.vertyll.fastprod.file.config.FileUploadProperties;
+import com.vertyll.fastprod.file.dto.FileContentDto;
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.file.entity.FileBlob;
+import com.vertyll.fastprod.file.entity.UserFile;
 import com.vertyll.fastprod.file.service.FileStorageService;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import com.vertyll.fastprod.file.service.StorageQuotaService;
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -22,69 +22,60 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 class FileStorageServiceImpl implements FileStorageService {
 
-    private static final String USERS = "users";
-
     private final FileUploadProperties fileUploadProperties;
+    private final ContentAddressedBlobStore blobStore;
+    private final FileBlobRegistry fileBlobRegistry;
+    private final StagedBlobPublisher stagedBlobPublisher;
+    private final StorageQuotaService storageQuotaService;
 
     @Override
-    public String saveFile(@Nonnull MultipartFile sourceFile, @Nonnull String userId) {
-        final String fileUploadSubPath = USERS + separator + userId;
-        return uploadFile(sourceFile, fileUploadSubPath);
+    public StoredFileDto saveFile(@Nonnull MultipartFile sourceFile, @Nonnull Long userId) {
+        // Checked again when registering, the declared size of a chunked request may be unknown
+        storageQuotaService.checkQuota(userId, sourceFile.getSize());
+        StagedBlob staged = blobStore.stage(sourceFile);
+        return stagedBlobPublisher.publish(
+                staged, userId, sourceFile.getOriginalFilename(), sourceFile.getContentType());
     }
 
-    @SuppressFBWarnings(
-            value = "PATH_TRAVERSAL_IN",
-            justification = "Path traversal is prevented by normalize() and startsWith() validation")
-    private String uploadFile(@Nonnull MultipartFile sourceFile,
-                              @Nonnull String fileUploadSubPath) {
-
-        try {
-            // Get the base directory and normalize it
-            Path baseDir = Paths.get(fileUploadProperties.fileOutputPath())
-                    .toRealPath()
-                    .normalize();
-
-            // Resolve the user directory and normalize it
-            Path userDir = baseDir.resolve(fileUploadSubPath).normalize();
-
-            // SECURITY: Prevent path traversal attacks
-            // Ensure the resolved path is still within the base directory
-            if (!userDir.startsWith(baseDir)) {
-                log.warn("Blocked path traversal attempt: {}", fileUploadSubPath);
-                return "";
-            }
-
-            // Create the directory if it doesn't exist
-            Files.createDirectories(userDir);
-
-            // Generate a safe filename
-            String extension = getFileExtension(sourceFile.getOriginalFilename());
-            String fileName = currentTimeMillis() + "." + extension;
-
-            // Resolve the final file path and normalize it
-            Path targetPath = userDir.resolve(fileName).normalize();
-
-            // Write the file
-            Files.write(targetPath, sourceFile.getBytes());
-
-            log.info("File saved to: {}", targetPath);
-            return targetPath.toString();
+    @Override
+    public FileContentDto getFileContent(@Nonnull Long fileId, @Nonnull Long userId) {
+        UserFile userFile = fileBlobRegistry.findOwned(fileId, userId);
+        FileBlob blob = userFile.getBlob();
+        return new FileContentDto(
+                blobStore.locate(blob.getChecksum()),
+                blob.getChecksum(),
+                userFile.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant(),
+                userFile.getContentType(),
+                userFile.getOriginalFilename());
+    }
 
-        } catch (IOException e) {
-            log.error("File was not saved", e);
-            return "";
-        }
+    @Override
+    public void deleteFile(@Nonnull Long fileId, @Nonnull Long userId) {
+        fileBlobRegistry.release(fileId, userId);
     }
 
+    /**
+     * Scheduled task to delete blobs nobody references anymore, in batches so each transaction
+     * locks a bounded number of rows.
+     */
+    @Override
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void collectOrphanedBlobs() {
+        Instant cutoff = Instant.now().minus(fileUploadProperties.orphanGracePeriod());
+        int batchSize = fileUploadProperties.collectorBatchSize();
+
+        int collected = 0;
+        int batch;
+        do {
+            batch = fileBlobRegistry.collectOrphans(cutoff, batchSize);
+            collected += batch;
+        } while (batch == batchSize);
 
-    private String getFileExtension(String fileName) {
-        if (fileName == null || fileName.isEmpty()) {
-            return "";
-        }
-        int lastDotIndex = fileName.lastIndexOf('.');
-        if (lastDotIndex == -1) {
-            return "";
+        try {
+            int staged = blobStore.purgeStaging(cutoff);
+            log.info("Collected {} orphaned blobs and {} stale staging files", collected, staged);
+        } catch (IOException e) {
+            log.warn("Could not purge staging directory", e);
         }
-        return Ascii.toLowerCase(fileName.substring(lastDotIndex + 1));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import com.vertyll.fastprod.file.config.ResumableUploadProperties;
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.file.dto.UploadSessionCreateDto;
+import com.vertyll.fastprod.file.dto.UploadSessionDto;
+import com.vertyll.fastprod.file.entity.UploadSession;
+import com.vertyll.fastprod.file.repository.UploadSessionRepository;
+import com.vertyll.fastprod.file.service.ResumableUploadService;
+import com.vertyll.fastprod.file.service.StorageQuotaService;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * tus-style resumable uploads: a session pre-allocates the file, chunks are written in place at
+ * the offset the client sends, and the client asks for the current offset after a failure instead
+ * of starting over. No transaction is held while a chunk streams; the offset only moves forward
+ * through a compare-and-set update once the bytes are on disk.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+class ResumableUploadServiceImpl implements ResumableUploadService {
+
+    private static final String UPLOAD_NOT_FOUND = "Upload not found";
+    private static final String UPLOAD_TOO_LARGE = "Upload exceeds the maximum size of %s bytes";
+    private static final String OFFSET_MISMATCH = "Upload offset mismatch, expected %d";
+    private static final String CHUNK_TOO_LARGE = "Chunk exceeds the %d bytes accepted at this offset";
+    private static final String UPLOAD_INCOMPLETE = "Upload is incomplete, received %d of %d bytes";
+
+    private final ResumableUploadProperties resumableUploadProperties;
+    private final UploadSessionRepository uploadSessionRepository;
+    private final ContentAddressedBlobStore blobStore;
+    private final StagedBlobPublisher stagedBlobPublisher;
+    private final StorageQuotaService storageQuotaService;
+
+    @Override
+    public UploadSessionDto createUpload(@Nonnull UploadSessionCreateDto dto, @Nonnull Long userId) {
+        long maxFileSize = resumableUploadProperties.maxFileSize().toBytes();
+        if (dto.size() > maxFileSize) {
+            throw new ApiException(UPLOAD_TOO_LARGE.formatted(maxFileSize), HttpStatus.CONTENT_TOO_LARGE);
+        }
+        storageQuotaService.checkQuota(userId, dto.size());
+
+        String uploadKey = UUID.randomUUID().toString();
+        blobStore.allocateResumable(uploadKey, dto.size());
+
+        UploadSession session = UploadSession.builder()
+                .uploadKey(uploadKey)
+                .userId(userId)
+                .originalFilename(dto.filename())
+                .contentType(dto.contentType())
+                .size(dto.size())
+                .expiresAt(nextExpiry())
+                .build();
+        try {
+            uploadSessionRepository.save(session);
+        } catch (RuntimeException e) {
+            blobStore.deleteResumable(uploadKey);
+            throw e;
+        }
+        return toDto(session);
+    }
+
+    @Override
+    public UploadSessionDto getUpload(@Nonnull String uploadKey, @Nonnull Long userId) {
+        return toDto(findActive(uploadKey, userId));
+    }
+
+    @Override
+    public UploadSessionDto appendChunk(
+            @Nonnull String uploadKey,
+            long offset,
+            @Nonnull InputStream chunk,
+            @Nonnull Long userId) {
+        UploadSession session = findActive(uploadKey, userId);
+        if (offset != session.getUploadOffset()) {
+            throw offsetMismatch(session.getUploadOffset());
+        }
+
+        // Bounded by both the chunk limit and the declared size, extra bytes reject the chunk
+        long limit = Math.min(session.getSize() - offset, resumableUploadProperties.maxChunkSize().toBytes());
+        long written = blobStore.writeChunk(uploadKey, offset, limit, chunk);
+        if (written == limit && hasMoreData(chunk)) {
+            throw new ApiException(CHUNK_TOO_LARGE.formatted(limit), HttpStatus.CONTENT_TOO_LARGE);
+        }
+
+        Instant expiresAt = nextExpiry();
+        if (uploadSessionRepository.advanceOffset(session.getId(), offset, offset + written, expiresAt) == 0) {
+            // Another request for the same offset won; report where the session is now
+            throw offsetMismatch(findActive(uploadKey, userId).getUploadOffset());
+        }
+        return new UploadSessionDto(uploadKey, offset + written, session.getSize(), expiresAt);
+    }
+
+    @Override
+    public StoredFileDto completeUpload(@Nonnull String uploadKey, @Nonnull Long userId) {
+        UploadSession session = findActive(uploadKey, userId);
+        if (session.getUploadOffset() != session.getSize()) {
+            throw new ApiException(
+                    UPLOAD_INCOMPLETE.formatted(session.getUploadOffset(), session.getSize()),
+                    HttpStatus.CONFLICT);
+        }
+        if (uploadSessionRepository.claimCompleted(session.getId()) == 0) {
+            throw new ApiException(UPLOAD_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+
+        StagedBlob staged = blobStore.sealResumable(uploadKey, session.getSize());
+        return stagedBlobPublisher.publish(staged, userId, session.getOriginalFilename(), session.getContentType());
+    }
+
+    @Override
+    public void cancelUpload(@Nonnull String uploadKey, @Nonnull Long userId) {
+        UploadSession session = uploadSessionRepository.findByUploadKeyAndUserId(uploadKey, userId)
+                .orElseThrow(() -> new ApiException(UPLOAD_NOT_FOUND, HttpStatus.NOT_FOUND));
+        uploadSessionRepository.delete(session);
+        blobStore.deleteResumable(uploadKey);
+    }
+
+    /**
+     * Scheduled task to drop sessions nobody has written to within the expiry window, together
+     * with their partial files.
+     */
+    @Override
+    @Scheduled(cron = "0 0 * * * ?")
+    public void cleanupExpiredUploads() {
+        Instant now = Instant.now();
+        int sessions = uploadSessionRepository.deleteAllExpired(now);
+        try {
+            int files = blobStore.purgeResumable(now.minus(resumableUploadProperties.sessionExpiry()));
+            log.info("Removed {} expired upload sessions and {} partial files", sessions, files);
+        } catch (IOException e) {
+            log.warn("Could not purge resumable upload directory", e);
+        }
+    }
+
+    private UploadSession findActive(String uploadKey, Long userId) {
+        return uploadSessionRepository.findByUploadKeyAndUserId(uploadKey, userId)
+                .filter(session -> session.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new ApiException(UPLOAD_NOT_FOUND, HttpStatus.NOT_FOUND));
+    }
+
+    private Instant nextExpiry() {
+        return Instant.now().plus(resumableUploadProperties.sessionExpiry());
+    }
+
+    private static boolean hasMoreData(InputStream chunk) {
+        try {
+            return chunk.read() != -1;
+        } catch (IOException _) {
+            return false;
+        }
+    }
+
+    private static ApiException offsetMismatch(long expected) {
+        return new ApiException(OFFSET_MISMATCH.formatted(expected), HttpStatus.CONFLICT);
+    }
+
+    private static UploadSessionDto toDto(UploadSession session) {
+        return new UploadSessionDto(
+                session.getUploadKey(),
+                session.getUploadOffset(),
+                session.getSize(),
+                session.getExpiresAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.nio.file.Path;
+
+/** Upload streamed into the staging area, not yet published under its checksum. */
+record StagedBlob(Path path, long size, String checksum) {
+}
@@ -0,0 +1,52 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns a staged upload into a stored file. With remote storage the content is uploaded before the
+ * registering transaction starts, so no database connection is held for the duration of a large
+ * transfer. Whatever fails, the local staged copy is removed afterwards.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+class StagedBlobPublisher {
+
+    private final ContentAddressedBlobStore blobStore;
+    private final FileBlobRegistry fileBlobRegistry;
+
+    StoredFileDto publish(
+        StagedBlob staged,
+        Long userId,
+        @Nullable String originalFilename,
+        @Nullable String contentType
+    ) {
+        boolean transferred = false;
+        try {
+            transferred = blobStore.transfer(staged);
+            return fileBlobRegistry.register(staged, userId, originalFilename, contentType);
+        } catch (RuntimeException e) {
+            if (transferred) {
+                trackUnreferenced(staged);
+            }
+            throw e;
+        } finally {
+            // No-op once published, cleans up when registration failed
+            blobStore.discard(staged);
+        }
+    }
+
+    private void trackUnreferenced(StagedBlob staged) {
+        try {
+            fileBlobRegistry.trackUnreferenced(staged);
+        } catch (RuntimeException e) {
+            log.warn("Blob {} was stored but could not be marked for collection", staged.checksum(), e);
+        }
+    }
+}
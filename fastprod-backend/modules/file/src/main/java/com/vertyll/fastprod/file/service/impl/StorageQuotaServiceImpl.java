@@ -0,0 +1,80 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import com.vertyll.fastprod.file.config.StorageQuotaProperties;
+import com.vertyll.fastprod.file.dto.StorageUsageDto;
+import com.vertyll.fastprod.file.entity.StorageUsage;
+import com.vertyll.fastprod.file.repository.StorageUsageRepository;
+import com.vertyll.fastprod.file.service.StorageQuotaService;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads the per-user counters that {@link FileBlobRegistry} maintains. The up-front check here is
+ * advisory and only spares streaming an upload that is bound to fail; the quota is enforced when
+ * the file is registered.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+class StorageQuotaServiceImpl implements StorageQuotaService {
+
+    private static final String QUOTA_EXCEEDED = "Storage quota of %d bytes exceeded";
+
+    private final StorageQuotaProperties storageQuotaProperties;
+    private final StorageUsageRepository storageUsageRepository;
+    private final FileBlobRegistry fileBlobRegistry;
+
+    @Override
+    public void checkQuota(@Nonnull Long userId, long incomingBytes) {
+        long quota = storageQuotaProperties.userQuota().toBytes();
+        long used = storageUsageRepository.findByUserId(userId).map(StorageUsage::getUsedBytes).orElse(0L);
+        if (incomingBytes > quota - used) {
+            throw new ApiException(QUOTA_EXCEEDED.formatted(quota), HttpStatus.CONTENT_TOO_LARGE);
+        }
+    }
+
+    @Override
+    public StorageUsageDto getUsage(@Nonnull Long userId) {
+        return storageUsageRepository.findByUserId(userId)
+                .map(this::toDto)
+                .orElseGet(() -> new StorageUsageDto(userId, 0, 0, storageQuotaProperties.userQuota().toBytes()));
+    }
+
+    @Override
+    public List<StorageUsageDto> getTopConsumers(int limit) {
+        int bounded = Math.clamp(limit, 1, storageQuotaProperties.maxTopConsumers());
+        return storageUsageRepository.findByOrderByUsedBytesDesc(Limit.of(bounded)).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Scheduled task to correct counters that drifted from the file references, e.g. after rows
+     * were changed by hand. Finding drift is one aggregate query; only drifted users are then
+     * recounted, each under its counter's row lock.
+     */
+    @Override
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void reconcileUsage() {
+        List<Long> drifted = storageUsageRepository.findDriftedUserIds();
+        for (Long userId : drifted) {
+            fileBlobRegistry.reconcileUsage(userId);
+        }
+        log.info("Reconciled storage usage of {} users", drifted.size());
+    }
+
+    private StorageUsageDto toDto(StorageUsage usage) {
+        return new StorageUsageDto(
+                usage.getUserId(),
+                usage.getUsedBytes(),
+                usage.getFileCount(),
+                storageQuotaProperties.userQuota().toBytes());
+    }
+}
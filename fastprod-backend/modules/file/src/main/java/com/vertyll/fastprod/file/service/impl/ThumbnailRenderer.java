@@ -0,0 +1,103 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.jspecify.annotations.Nullable;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Renders JPEG thumbnails with the JDK's image I/O. Large sources are subsampled while decoding,
+ * so memory follows the thumbnail size rather than the original's resolution.
+ */
+@UtilityClass
+class ThumbnailRenderer {
+
+    private static final String JPEG = "jpeg";
+
+    /**
+     * Scales {@code source} to fit a {@code size} x {@code size} box and writes it to {@code target}.
+     *
+     * @return {@code false} when the source is not a readable image or has more than {@code maxPixels}
+     */
+    static boolean render(ImageInputStream source, Path target, int size, long maxPixels, float quality)
+        throws IOException {
+        BufferedImage decoded = decode(source, size, maxPixels);
+        if (decoded == null) {
+            return false;
+        }
+
+        double scale = Math.min(1.0, (double) size / Math.max(decoded.getWidth(), decoded.getHeight()));
+        int width = Math.max(1, (int) Math.round(decoded.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(decoded.getHeight() * scale));
+
+        // JPEG has no alpha, transparent areas end up white instead of black
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(decoded, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        write(thumbnail, target, quality);
+        return true;
+    }
+
+    private static @Nullable BufferedImage decode(ImageInputStream input, int size, long maxPixels)
+        throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > maxPixels) {
+                return null;
+            }
+
+            // Keep at least twice the target resolution so the final scaling still smooths
+            ImageReadParam param = reader.getDefaultReadParam();
+            int subsampling = Math.max(1, Math.max(width, height) / (size * 2));
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static void write(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(JPEG).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
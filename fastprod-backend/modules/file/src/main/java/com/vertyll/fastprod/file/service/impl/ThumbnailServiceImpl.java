@@ -0,0 +1,158 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import com.vertyll.fastprod.file.config.ThumbnailProperties;
+import com.vertyll.fastprod.file.dto.FileContentDto;
+import com.vertyll.fastprod.file.entity.UserFile;
+import com.vertyll.fastprod.file.event.FileStoredEvent;
+import com.vertyll.fastprod.file.service.ThumbnailService;
+import com.vertyll.fastprod.file.storage.BlobContent;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Renders thumbnails of uploaded images next to their blob. Rendering after an upload happens on a
+ * fixed number of virtual threads with a bounded queue, so a burst of uploads cannot pile up
+ * decoded images in memory; jobs that do not fit are dropped and rendered on first request
+ * instead. Rendering is idempotent: an existing derivative is never redone.
+ */
+@Service
+@Slf4j
+class ThumbnailServiceImpl implements ThumbnailService {
+
+    private static final Set<String> SUPPORTED_CONTENT_TYPES =
+            Set.of("image/jpeg", "image/png", "image/gif", "image/bmp");
+    private static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+    private static final String THUMBNAIL_EXTENSION = ".jpg";
+
+    private static final String UNSUPPORTED_THUMBNAIL_SIZE = "Unsupported thumbnail size, use one of %s";
+    private static final String THUMBNAIL_NOT_AVAILABLE = "Thumbnail not available for this file";
+
+    private final ThumbnailProperties thumbnailProperties;
+    private final ContentAddressedBlobStore blobStore;
+    private final FileBlobRegistry fileBlobRegistry;
+    private final ThreadPoolExecutor workers;
+
+    ThumbnailServiceImpl(ThumbnailProperties thumbnailProperties,
+                         ContentAddressedBlobStore blobStore,
+                         FileBlobRegistry fileBlobRegistry) {
+        this.thumbnailProperties = thumbnailProperties;
+        this.blobStore = blobStore;
+        this.fileBlobRegistry = fileBlobRegistry;
+        this.workers = new ThreadPoolExecutor(
+                thumbnailProperties.workers(),
+                thumbnailProperties.workers(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(thumbnailProperties.queueCapacity()),
+                Thread.ofVirtual().name("thumbnail-", 0).factory(),
+                (_, _) -> log.warn("Thumbnail queue full, rendering deferred to first request"));
+    }
+
+    @TransactionalEventListener
+    public void onFileStored(FileStoredEvent event) {
+        if (!thumbnailProperties.enabled() || !isSupported(event.contentType())) {
+            return;
+        }
+        workers.execute(() -> {
+            for (int size : thumbnailProperties.sizes()) {
+                try {
+                    render(event.checksum(), size);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not render {}px thumbnail of blob {}", size, event.checksum(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public FileContentDto getThumbnail(@Nonnull Long fileId, @Nonnull Long userId, int size) {
+        if (!thumbnailProperties.sizes().contains(size)) {
+            throw new ApiException(
+                    UNSUPPORTED_THUMBNAIL_SIZE.formatted(thumbnailProperties.sizes()), HttpStatus.BAD_REQUEST);
+        }
+        UserFile userFile = fileBlobRegistry.findOwned(fileId, userId);
+        if (!isSupported(userFile.getContentType())) {
+            throw new ApiException(THUMBNAIL_NOT_AVAILABLE, HttpStatus.NOT_FOUND);
+        }
+
+        String checksum = userFile.getBlob().getChecksum();
+        try {
+            BlobContent thumbnail = render(checksum, size);
+            if (thumbnail == null) {
+                throw new ApiException(THUMBNAIL_NOT_AVAILABLE, HttpStatus.NOT_FOUND);
+            }
+            return new FileContentDto(
+                    thumbnail,
+                    checksum + "-" + size,
+                    userFile.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant(),
+                    THUMBNAIL_CONTENT_TYPE,
+                    null);
+        } catch (IOException e) {
+            log.error("Could not render {}px thumbnail of blob {}", size, checksum, e);
+            throw new ApiException(THUMBNAIL_NOT_AVAILABLE, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Returns the thumbnail, rendering it first if it does not exist yet. Concurrent renders of the
+     * same thumbnail both produce complete files and whichever is stored first is kept.
+     *
+     * @return {@code null} when the blob is not a decodable image
+     */
+    @Nullable
+    BlobContent render(String checksum, int size) throws IOException {
+        String variant = size + THUMBNAIL_EXTENSION;
+        try {
+            return blobStore.openDerivative(checksum, variant);
+        } catch (NoSuchFileException _) {
+            // Not rendered yet
+        }
+
+        BlobContent source = blobStore.locate(checksum);
+        Path local = source.localPath();
+        Path temp = blobStore.createWorkFile();
+        try {
+            boolean rendered;
+            // Local files are decoded with random access, remote ones are streamed through ImageIO's cache
+            try (InputStream remote = local == null ? source.openStream(0, source.size()) : null;
+                    ImageInputStream input = ImageIO.createImageInputStream(local != null ? local.toFile() : remote)) {
+                rendered = input != null && ThumbnailRenderer.render(
+                        input, temp, size, thumbnailProperties.maxSourcePixels(), thumbnailProperties.quality());
+            }
+            if (!rendered) {
+                return null;
+            }
+            blobStore.putDerivative(checksum, variant, temp);
+            return blobStore.openDerivative(checksum, variant);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private static boolean isSupported(@Nullable String contentType) {
+        return contentType != null && SUPPORTED_CONTENT_TYPES.contains(contentType);
+    }
+}
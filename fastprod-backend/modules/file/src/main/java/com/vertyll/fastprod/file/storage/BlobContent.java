@@ -0,0 +1,20 @@
+package com.vertyll.fastprod.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import org.jspecify.annotations.Nullable;
+
+/** Handle on a stored object, read lazily so that opening it does not transfer any content. */
+public interface BlobContent {
+
+    /** Local file holding the content, for zero-copy transfers; {@code null} for remote storage. */
+    @Nullable
+    Path localPath();
+
+    long size();
+
+    /** Streams {@code length} bytes starting at {@code offset}. */
+    InputStream openStream(long offset, long length) throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.vertyll.fastprod.file.storage;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Where published blobs live. Uploads are always streamed, checksummed and assembled on local disk
+ * first, so a backend only ever receives complete, immutable objects under keys derived from their
+ * checksum. Derivatives of an object, such as thumbnails, are stored as {@code <key>-<variant>}.
+ */
+public interface BlobStorage {
+
+    /**
+     * Stores {@code source} under {@code key} unless something already is. The source file may be
+     * moved into place; whatever is left of it afterwards belongs to the caller.
+     *
+     * @return {@code false} when the key was already taken and nothing was stored
+     */
+    boolean put(String key, Path source, long size) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    /**
+     * @throws NoSuchFileException when nothing is stored under {@code key}
+     */
+    BlobContent open(String key) throws IOException;
+
+    /** Deletes the object under {@code key} together with all its derivatives. */
+    void deleteWithDerivatives(String key) throws IOException;
+
+    /**
+     * Whether {@link #put} transfers the content over the network rather than renaming a local
+     * file. Remote content is uploaded before a transaction is opened, since the transfer can take
+     * long for large files.
+     */
+    default boolean isRemote() {
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package com.vertyll.fastprod.file.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.vertyll.fastprod.file.config.FileUploadProperties;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps objects as files under {@code fileOutputPath}, next to the staging directories, so that
+ * publishing an upload is an atomic rename. Only usable by a single node or on a shared file
+ * system.
+ */
+@Component
+@ConditionalOnProperty(name = "application.file.storage.type", havingValue = "filesystem", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FileSystemBlobStorage implements BlobStorage {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-z]+(/[0-9a-z]+)*(-[0-9a-z.]+)?");
+
+    private final FileUploadProperties fileUploadProperties;
+
+    @Override
+    public boolean put(String key, Path source, long size) throws IOException {
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        // Readers never observe a partially written file
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public BlobContent open(String key) throws IOException {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(key);
+        }
+        return new LocalBlobContent(path, Files.size(path));
+    }
+
+    @Override
+    public void deleteWithDerivatives(String key) throws IOException {
+        Path path = resolve(key);
+        Path directory = path.getParent();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> derivatives = Files.newDirectoryStream(directory, path.getFileName() + "-*")) {
+                for (Path derivative : derivatives) {
+                    Files.deleteIfExists(derivative);
+                }
+            }
+        }
+        Files.deleteIfExists(path);
+    }
+
+    @SuppressFBWarnings(
+        value = "PATH_TRAVERSAL_IN",
+        justification = "Keys are built by the blob store from validated checksums and checked against a strict pattern"
+    )
+    private Path resolve(String key) throws IOException {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        Path baseDir = Files.createDirectories(Paths.get(fileUploadProperties.fileOutputPath()))
+            .toRealPath()
+            .normalize();
+        return baseDir.resolve(key);
+    }
+}
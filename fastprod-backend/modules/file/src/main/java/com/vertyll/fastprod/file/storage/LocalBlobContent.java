@@ -0,0 +1,29 @@
+package com.vertyll.fastprod.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * @param localPath file holding the content
+ * @param size length of the file in bytes
+ */
+public record LocalBlobContent(Path localPath, long size) implements BlobContent {
+
+    @Override
+    public InputStream openStream(long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(localPath, StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+            return ByteStreams.limit(Channels.newInputStream(channel), length);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
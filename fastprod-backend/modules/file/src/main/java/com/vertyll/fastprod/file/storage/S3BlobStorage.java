@@ -0,0 +1,223 @@
+package com.vertyll.fastprod.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import jakarta.annotation.PreDestroy;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.vertyll.fastprod.file.config.BlobStorageProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+
+/**
+ * Keeps objects in an S3-compatible bucket so that any number of backend nodes share them. A
+ * single async client serves all transfers over a bounded Netty connection pool: large uploads are
+ * split into parts sent in parallel, and downloads are streamed from ranged GETs without buffering
+ * the object.
+ */
+@Component
+@ConditionalOnProperty(name = "application.file.storage.type", havingValue = "s3")
+@Slf4j
+public class S3BlobStorage implements BlobStorage {
+
+    private final S3AsyncClient client;
+    private final String bucket;
+
+    public S3BlobStorage(BlobStorageProperties blobStorageProperties) {
+        BlobStorageProperties.S3 properties = blobStorageProperties.s3();
+        if (!StringUtils.hasText(properties.bucket())) {
+            throw new IllegalStateException("application.file.storage.s3.bucket is required for S3 storage");
+        }
+        this.bucket = properties.bucket();
+        this.client = buildClient(properties);
+    }
+
+    @Override
+    public boolean put(String key, Path source, long size) throws IOException {
+        if (exists(key)) {
+            return false;
+        }
+        PutObjectRequest request = PutObjectRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .contentLength(size)
+            .build();
+        await(client.putObject(request, AsyncRequestBody.fromFile(source)));
+        log.debug("Uploaded {} ({} bytes) to bucket {}", key, size, bucket);
+        return true;
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            head(key);
+            return true;
+        } catch (NoSuchFileException _) {
+            return false;
+        }
+    }
+
+    @Override
+    public BlobContent open(String key) throws IOException {
+        return new RemoteContent(key, head(key).contentLength());
+    }
+
+    @Override
+    public void deleteWithDerivatives(String key) throws IOException {
+        List<ObjectIdentifier> objects = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            ListObjectsV2Response page = await(
+                client.listObjectsV2(
+                    ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(key)
+                        .continuationToken(continuationToken)
+                        .build()
+                )
+            );
+            for (S3Object object : page.contents()) {
+                if (object.key().equals(key) || object.key().startsWith(key + "-")) {
+                    objects.add(ObjectIdentifier.builder().key(object.key()).build());
+                }
+            }
+            continuationToken = page.nextContinuationToken();
+        } while (continuationToken != null);
+
+        if (!objects.isEmpty()) {
+            await(
+                client.deleteObjects(
+                    DeleteObjectsRequest.builder()
+                        .bucket(bucket)
+                        .delete(Delete.builder().objects(objects).quiet(true).build())
+                        .build()
+                )
+            );
+        }
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @PreDestroy
+    void close() {
+        client.close();
+    }
+
+    private HeadObjectResponse head(String key) throws IOException {
+        return await(client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build()));
+    }
+
+    private static S3AsyncClient buildClient(BlobStorageProperties.S3 properties) {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+            .region(Region.of(properties.region()))
+            .credentialsProvider(credentials(properties))
+            .forcePathStyle(properties.pathStyleAccess())
+            .httpClientBuilder(
+                NettyNioAsyncHttpClient.builder()
+                    .maxConcurrency(properties.maxConnections())
+                    .connectionAcquisitionTimeout(properties.connectionAcquisitionTimeout())
+            )
+            .multipartEnabled(true)
+            .multipartConfiguration(
+                MultipartConfiguration.builder()
+                    .thresholdInBytes(properties.multipartThreshold().toBytes())
+                    .minimumPartSizeInBytes(properties.partSize().toBytes())
+                    .build()
+            );
+        if (properties.endpoint() != null) {
+            builder.endpointOverride(properties.endpoint());
+        }
+        return builder.build();
+    }
+
+    private static AwsCredentialsProvider credentials(BlobStorageProperties.S3 properties) {
+        if (StringUtils.hasText(properties.accessKey()) && StringUtils.hasText(properties.secretKey())) {
+            return StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(properties.accessKey(), properties.secretKey())
+            );
+        }
+        return DefaultCredentialsProvider.builder().build();
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NoSuchKeyException missing) {
+                throw new NoSuchFileException(missing.getMessage());
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private final class RemoteContent implements BlobContent {
+
+        private final String key;
+        private final long size;
+
+        private RemoteContent(String key, long size) {
+            this.key = key;
+            this.size = size;
+        }
+
+        @Override
+        public @Nullable Path localPath() {
+            return null;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public InputStream openStream(long offset, long length) throws IOException {
+            if (length == 0) {
+                return InputStream.nullInputStream();
+            }
+            GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .range("bytes=%d-%d".formatted(offset, offset + length - 1))
+                .build();
+            // Completes once the headers arrive, the body is pulled as the caller reads
+            return await(client.getObject(request, AsyncResponseTransformer.toBlockingInputStream()));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.vertyll.fastprod.file.controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.vertyll.fastprod.file.dto.FileContentDto;
+import com.vertyll.fastprod.file.service.FileStorageService;
+import com.vertyll.fastprod.file.service.ThumbnailService;
+import com.vertyll.fastprod.file.storage.BlobContent;
+import com.vertyll.fastprod.file.storage.LocalBlobContent;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import com.vertyll.fastprod.sharedinfrastructure.exception.GlobalExceptionHandler;
+import com.vertyll.fastprod.user.entity.User;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileControllerTest {
+
+    private static final String EMAIL = "john@example.com";
+    private static final Long USER_ID = 7L;
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String CHECKSUM = "b".repeat(64);
+    private static final String ETAG = "\"" + CHECKSUM + "\"";
+    private static final Instant CREATED_AT = Instant.parse("2026-01-15T10:00:00Z");
+
+    private MockMvc mockMvc;
+
+    @SuppressWarnings("NullAway")
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @SuppressWarnings("NullAway")
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @SuppressWarnings("NullAway")
+    @InjectMocks
+    private FileController fileController;
+
+    @TempDir
+    private Path tempDir;
+
+    private final UsernamePasswordAuthenticationToken principal = new UsernamePasswordAuthenticationToken(user(), null);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(fileController)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+        Path blob = Files.writeString(tempDir.resolve(CHECKSUM), CONTENT, StandardCharsets.UTF_8);
+        FileContentDto file = new FileContentDto(
+            new LocalBlobContent(blob, CONTENT.length()),
+            CHECKSUM,
+            CREATED_AT,
+            "text/plain",
+            "notes.txt"
+        );
+        lenient().when(fileStorageService.getFileContent(1L, USER_ID)).thenReturn(file);
+    }
+
+    @Test
+    void downloadFile_ShouldReturnFullContentWithValidators() throws Exception {
+        mockMvc.perform(get("/files/1/content").principal(principal))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, CREATED_AT.toEpochMilli()))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+            .andExpect(content().contentType("text/plain"))
+            .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void downloadFile_WhenEtagMatches_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/files/1/content").principal(principal).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void downloadFile_WhenNotModifiedSince_ShouldReturnNotModified() throws Exception {
+        long later = CREATED_AT.plus(1, ChronoUnit.HOURS).toEpochMilli();
+
+        mockMvc.perform(get("/files/1/content").principal(principal).header(HttpHeaders.IF_MODIFIED_SINCE, later))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void downloadFile_WithRange_ShouldReturnPartialContent() throws Exception {
+        mockMvc.perform(get("/files/1/content").principal(principal).header(HttpHeaders.RANGE, "bytes=5-9"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+            .andExpect(content().string("56789"));
+    }
+
+    @Test
+    void downloadFile_FromRemoteStorage_ShouldStreamOnlyRequestedRange() throws Exception {
+        // given
+        BlobContent remote = new BlobContent() {
+            @Override
+            public @Nullable Path localPath() {
+                return null;
+            }
+
+            @Override
+            public long size() {
+                return CONTENT.length();
+            }
+
+            @Override
+            public InputStream openStream(long offset, long length) {
+                byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+                return new ByteArrayInputStream(bytes, (int) offset, (int) length);
+            }
+        };
+        when(fileStorageService.getFileContent(3L, USER_ID)).thenReturn(
+            new FileContentDto(remote, CHECKSUM, CREATED_AT, "text/plain", "notes.txt")
+        );
+
+        // when & then
+        mockMvc.perform(get("/files/3/content").principal(principal).header(HttpHeaders.RANGE, "bytes=10-14"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-14/20"))
+            .andExpect(content().string("abcde"));
+    }
+
+    @Test
+    void downloadFile_WithSuffixRange_ShouldReturnTail() throws Exception {
+        mockMvc.perform(get("/files/1/content").principal(principal).header(HttpHeaders.RANGE, "bytes=-4"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 16-19/20"))
+            .andExpect(content().string("ghij"));
+    }
+
+    @Test
+    void downloadFile_WhenIfRangeIsStale_ShouldIgnoreRange() throws Exception {
+        mockMvc.perform(
+                get("/files/1/content")
+                    .principal(principal)
+                    .header(HttpHeaders.RANGE, "bytes=5-9")
+                    .header(HttpHeaders.IF_RANGE, "\"outdated\"")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void downloadFile_WhenRangeUnsatisfiable_ShouldReturn416() throws Exception {
+        mockMvc.perform(get("/files/1/content").principal(principal).header(HttpHeaders.RANGE, "bytes=100-200"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void downloadFile_WhenSendfileSupported_ShouldDelegateToContainer() throws Exception {
+        mockMvc.perform(
+                get("/files/1/content")
+                    .principal(principal)
+                    .header(HttpHeaders.RANGE, "bytes=2-")
+                    .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE)
+            )
+            .andExpect(status().isPartialContent())
+            .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 2L))
+            .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 20L))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void downloadFile_WhenNotOwned_ShouldReturnNotFound() throws Exception {
+        when(fileStorageService.getFileContent(2L, USER_ID))
+            .thenThrow(new ApiException("File not found", HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(get("/files/2/content").principal(principal))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void downloadFile_WhenPrincipalIsNotAUser_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/files/1/content").principal(new UsernamePasswordAuthenticationToken(EMAIL, null)))
+            .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(fileStorageService);
+    }
+
+    @Test
+    void downloadThumbnail_ShouldServeInlineJpegWithOwnEtag() throws Exception {
+        // given
+        Path thumbnail = Files.write(tempDir.resolve(CHECKSUM + "-64.jpg"), new byte[] {1, 2, 3});
+        when(thumbnailService.getThumbnail(1L, USER_ID, 64)).thenReturn(
+            new FileContentDto(new LocalBlobContent(thumbnail, 3), CHECKSUM + "-64", CREATED_AT, "image/jpeg", null)
+        );
+
+        // when & then
+        mockMvc.perform(get("/files/1/thumbnail").param("size", "64").principal(principal))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + CHECKSUM + "-64\""))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION))
+            .andExpect(content().contentType("image/jpeg"))
+            .andExpect(content().bytes(new byte[] {1, 2, 3}));
+    }
+
+    private static User user() {
+        User user = User.builder().email(EMAIL).build();
+        user.setId(USER_ID);
+        return user;
+    }
+}
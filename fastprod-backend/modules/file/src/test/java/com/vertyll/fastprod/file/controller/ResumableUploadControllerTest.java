@@ -0,0 +1,151 @@
+package com.vertyll.fastprod.file.controller;
+
+import java.io.InputStream;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.vertyll.fastprod.file.dto.UploadSessionCreateDto;
+import com.vertyll.fastprod.file.dto.UploadSessionDto;
+import com.vertyll.fastprod.file.service.ResumableUploadService;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import com.vertyll.fastprod.sharedinfrastructure.exception.GlobalExceptionHandler;
+import com.vertyll.fastprod.user.entity.User;
+
+import tools.jackson.databind.ObjectMapper;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadControllerTest {
+
+    private static final String EMAIL = "john@example.com";
+    private static final Long USER_ID = 7L;
+    private static final String KEY = "3f1c2a9e-8b7d-4c6e-9f01-23456789abcd";
+
+    private MockMvc mockMvc;
+
+    @SuppressWarnings("NullAway")
+    @Mock
+    private ResumableUploadService resumableUploadService;
+
+    @SuppressWarnings("NullAway")
+    @InjectMocks
+    private ResumableUploadController resumableUploadController;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UsernamePasswordAuthenticationToken principal = new UsernamePasswordAuthenticationToken(user(), null);
+    private final UploadSessionDto session = new UploadSessionDto(KEY, 4, 10, Instant.parse("2026-01-16T10:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(resumableUploadController)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setValidator(validator)
+            .build();
+    }
+
+    @Test
+    void createUpload_ShouldReturnCreatedSession() throws Exception {
+        // given
+        UploadSessionCreateDto dto = new UploadSessionCreateDto("report.pdf", "application/pdf", 10L);
+        when(resumableUploadService.createUpload(dto, USER_ID)).thenReturn(session);
+
+        // when & then
+        mockMvc.perform(
+                post("/files/uploads")
+                    .principal(principal)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dto))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.data.uploadKey").value(KEY))
+            .andExpect(jsonPath("$.data.offset").value(4));
+    }
+
+    @Test
+    void createUpload_WhenSizeMissing_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(
+                post("/files/uploads")
+                    .principal(principal)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"filename\":\"report.pdf\"}")
+            )
+            .andExpect(status().isBadRequest());
+
+        verify(resumableUploadService, never()).createUpload(any(), any());
+    }
+
+    @Test
+    void getUploadOffset_ShouldExposeOffsetHeaders() throws Exception {
+        // given
+        when(resumableUploadService.getUpload(KEY, USER_ID)).thenReturn(session);
+
+        // when & then
+        mockMvc.perform(head("/files/uploads/" + KEY).principal(principal))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ResumableUploadController.UPLOAD_OFFSET, "4"))
+            .andExpect(header().string(ResumableUploadController.UPLOAD_LENGTH, "10"))
+            .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
+    @Test
+    void appendChunk_ShouldPassOffsetAndBody() throws Exception {
+        // given
+        UploadSessionDto advanced = new UploadSessionDto(KEY, 10, 10, session.expiresAt());
+        when(resumableUploadService.appendChunk(eq(KEY), eq(4L), any(InputStream.class), eq(USER_ID)))
+            .thenReturn(advanced);
+
+        // when & then
+        mockMvc.perform(
+                patch("/files/uploads/" + KEY)
+                    .principal(principal)
+                    .header(ResumableUploadController.UPLOAD_OFFSET, "4")
+                    .contentType(ResumableUploadController.OFFSET_OCTET_STREAM)
+                    .content(new byte[] {4, 5, 6, 7, 8, 9})
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.offset").value(10));
+    }
+
+    @Test
+    void appendChunk_WhenOffsetStale_ShouldReturnConflict() throws Exception {
+        // given
+        when(resumableUploadService.appendChunk(eq(KEY), eq(0L), any(InputStream.class), eq(USER_ID)))
+            .thenThrow(new ApiException("Upload offset mismatch, expected 4", HttpStatus.CONFLICT));
+
+        // when & then
+        mockMvc.perform(
+                patch("/files/uploads/" + KEY)
+                    .principal(principal)
+                    .header(ResumableUploadController.UPLOAD_OFFSET, "0")
+                    .contentType(ResumableUploadController.OFFSET_OCTET_STREAM)
+                    .content(new byte[] {0, 1})
+            )
+            .andExpect(status().isConflict());
+    }
+
+    private static User user() {
+        User user = User.builder().email(EMAIL).build();
+        user.setId(USER_ID);
+        return user;
+    }
+}
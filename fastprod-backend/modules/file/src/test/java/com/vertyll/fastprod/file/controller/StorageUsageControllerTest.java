@@ -0,0 +1,84 @@
+package com.vertyll.fastprod.file.controller;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.vertyll.fastprod.file.dto.StorageUsageDto;
+import com.vertyll.fastprod.file.service.StorageQuotaService;
+import com.vertyll.fastprod.sharedinfrastructure.exception.GlobalExceptionHandler;
+import com.vertyll.fastprod.user.entity.User;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageUsageControllerTest {
+
+    private static final String EMAIL = "john@example.com";
+    private static final Long USER_ID = 7L;
+    private static final long QUOTA = 1_073_741_824L;
+
+    private MockMvc mockMvc;
+
+    @SuppressWarnings("NullAway")
+    @Mock
+    private StorageQuotaService storageQuotaService;
+
+    @SuppressWarnings("NullAway")
+    @InjectMocks
+    private StorageUsageController storageUsageController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(storageUsageController)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+
+    @Test
+    void getUsage_ShouldReturnCallersUsage() throws Exception {
+        // given
+        when(storageQuotaService.getUsage(USER_ID)).thenReturn(new StorageUsageDto(USER_ID, 2048, 3, QUOTA));
+
+        // when & then
+        mockMvc.perform(get("/files/usage").principal(new UsernamePasswordAuthenticationToken(user(), null)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.usedBytes").value(2048))
+            .andExpect(jsonPath("$.data.fileCount").value(3))
+            .andExpect(jsonPath("$.data.quotaBytes").value(QUOTA));
+    }
+
+    @Test
+    void getTopConsumers_ShouldPassLimitThrough() throws Exception {
+        // given
+        when(storageQuotaService.getTopConsumers(2)).thenReturn(
+            List.of(
+                new StorageUsageDto(9L, 9000, 12, QUOTA),
+                new StorageUsageDto(USER_ID, 2048, 3, QUOTA)
+            )
+        );
+
+        // when & then
+        mockMvc.perform(get("/files/usage/top").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.length()").value(2))
+            .andExpect(jsonPath("$.data[0].userId").value(9))
+            .andExpect(jsonPath("$.data[1].usedBytes").value(2048));
+    }
+
+    private static User user() {
+        User user = User.builder().email(EMAIL).build();
+        user.setId(USER_ID);
+        return user;
+    }
+}
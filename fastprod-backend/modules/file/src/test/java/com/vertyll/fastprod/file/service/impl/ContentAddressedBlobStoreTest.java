@@ -0,0 +1,189 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vertyll.fastprod.file.config.FileUploadProperties;
+import com.vertyll.fastprod.file.storage.FileSystemBlobStorage;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ContentAddressedBlobStoreTest {
+
+    private static final DataSize MAX_FILE_SIZE = DataSize.ofKilobytes(4);
+
+    @TempDir
+    private Path uploadDir;
+
+    private ContentAddressedBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        // A buffer smaller than the file forces several copy iterations
+        FileUploadProperties fileUploadProperties =
+            new FileUploadProperties(uploadDir.toString(), MAX_FILE_SIZE, DataSize.ofBytes(512), null, null);
+        blobStore = new ContentAddressedBlobStore(
+            fileUploadProperties,
+            new FileSystemBlobStorage(fileUploadProperties)
+        );
+    }
+
+    @Test
+    void stage_ShouldStreamContentAndComputeChecksum() throws Exception {
+        // given
+        byte[] content = "x".repeat(3000).getBytes(StandardCharsets.UTF_8);
+
+        // when
+        StagedBlob staged = blobStore.stage(file(content));
+
+        // then
+        assertArrayEquals(content, Files.readAllBytes(staged.path()));
+        assertEquals(content.length, staged.size());
+        assertEquals(sha256(content), staged.checksum());
+    }
+
+    @Test
+    void stage_WhenDeclaredSizeExceedsLimit_ShouldRejectBeforeReading() throws Exception {
+        // given
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getSize()).thenReturn(MAX_FILE_SIZE.toBytes() + 1);
+
+        // when
+        ApiException exception = assertThrows(ApiException.class, () -> blobStore.stage(file));
+
+        // then
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, exception.getStatus());
+        verify(file, never()).getInputStream();
+    }
+
+    @Test
+    void stage_WhenStreamExceedsLimit_ShouldAbortAndRemoveTempFile() throws Exception {
+        // given
+        // Chunked requests do not always declare a size, so the limit must hold while streaming
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getSize()).thenReturn(0L);
+        when(file.getInputStream())
+            .thenReturn(new ByteArrayInputStream(new byte[Math.toIntExact(MAX_FILE_SIZE.toBytes()) + 1]));
+
+        // when
+        ApiException exception = assertThrows(ApiException.class, () -> blobStore.stage(file));
+
+        // then
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, exception.getStatus());
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void publish_ShouldStoreUnderShardedChecksumPath() throws Exception {
+        // given
+        byte[] content = "avatar".getBytes(StandardCharsets.UTF_8);
+        String checksum = sha256(content);
+
+        // when
+        blobStore.publish(blobStore.stage(file(content)));
+
+        // then
+        Path expected = uploadDir.toRealPath()
+            .resolve("blobs")
+            .resolve(checksum.substring(0, 2))
+            .resolve(checksum.substring(2, 4))
+            .resolve(checksum);
+        assertEquals(expected, blobStore.locate(checksum).localPath());
+        assertArrayEquals(content, Files.readAllBytes(expected));
+    }
+
+    @Test
+    void publish_WhenContentAlreadyStored_ShouldKeepSingleCopy() throws Exception {
+        // given
+        byte[] content = "same bytes".getBytes(StandardCharsets.UTF_8);
+        blobStore.publish(blobStore.stage(file(content)));
+        StagedBlob duplicate = blobStore.stage(file(content));
+
+        // when
+        blobStore.publish(duplicate);
+        blobStore.discard(duplicate);
+
+        // then
+        assertEquals(1, countFiles());
+        Path stored = Objects.requireNonNull(blobStore.locate(sha256(content)).localPath());
+        assertArrayEquals(content, Files.readAllBytes(stored));
+    }
+
+    @Test
+    void locate_WhenContentIsMissing_ShouldReturnNotFound() {
+        // when
+        ApiException exception = assertThrows(ApiException.class, () -> blobStore.locate("c".repeat(64)));
+
+        // then
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void blobKey_WhenChecksumIsNotHex_ShouldReject() {
+        assertThrows(IllegalArgumentException.class, () -> ContentAddressedBlobStore.blobKey("../../etc/passwd"));
+    }
+
+    @Test
+    void transfer_WithLocalStorage_ShouldLeaveStagedFileForPublish() {
+        // given
+        StagedBlob staged = blobStore.stage(file(new byte[] {1, 2, 3}));
+
+        // when
+        boolean transferred = blobStore.transfer(staged);
+
+        // then
+        assertFalse(transferred);
+        assertTrue(Files.exists(staged.path()));
+    }
+
+    @Test
+    void purgeStaging_ShouldRemoveOnlyStaleFiles() throws Exception {
+        // given
+        StagedBlob stale = blobStore.stage(file(new byte[] {1}));
+        StagedBlob fresh = blobStore.stage(file(new byte[] {2}));
+        Files.setLastModifiedTime(stale.path(), FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+
+        // when
+        int purged = blobStore.purgeStaging(Instant.now().minus(Duration.ofHours(1)));
+
+        // then
+        assertEquals(1, purged);
+        assertFalse(Files.exists(stale.path()));
+        assertTrue(Files.exists(fresh.path()));
+    }
+
+    private static MultipartFile file(byte[] content) {
+        return new MockMultipartFile("file", "upload.bin", "application/octet-stream", content);
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
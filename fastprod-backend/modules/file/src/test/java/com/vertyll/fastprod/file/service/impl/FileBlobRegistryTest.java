@@ -0,0 +1,142 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import com.vertyll.fastprod.file.config.StorageQuotaProperties;
+import com.vertyll.fastprod.file.entity.UserFile;
+import com.vertyll.fastprod.file.repository.FileBlobRepository;
+import com.vertyll.fastprod.file.repository.StorageUsageRepository;
+import com.vertyll.fastprod.file.repository.UserFileRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileBlobRegistryTest {
+
+    private static final String CHECKSUM = "a".repeat(64);
+    private static final Long USER = 7L;
+    private static final String AUDITOR = "john@example.com";
+
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+
+    @Mock
+    private UserFileRepository userFileRepository;
+
+    @Mock
+    private StorageUsageRepository storageUsageRepository;
+
+    @Mock
+    private ContentAddressedBlobStore blobStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FileBlobRegistry fileBlobRegistry;
+    private StagedBlob staged;
+
+    @BeforeEach
+    void setUp() {
+        fileBlobRegistry = new FileBlobRegistry(
+            fileBlobRepository,
+            userFileRepository,
+            storageUsageRepository,
+            new StorageQuotaProperties(DataSize.ofBytes(1000), 10),
+            blobStore,
+            eventPublisher,
+            () -> Optional.of(AUDITOR),
+            transactionManager
+        );
+        staged = new StagedBlob(Path.of("staging", "upload.part"), 3, CHECKSUM);
+        // Stands in for the transaction the proxy would open around register
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void register_WhenRolledBackAfterPublishing_ShouldTrackUnreferencedBlob() {
+        // given
+        givenReferenceAcquired();
+        when(blobStore.publish(staged)).thenReturn(true);
+        when(userFileRepository.save(any(UserFile.class))).thenThrow(new IllegalStateException("Constraint violated"));
+
+        // when
+        assertThrows(
+            IllegalStateException.class,
+            () -> fileBlobRegistry.register(staged, USER, "cv.pdf", "application/pdf")
+        );
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        verify(fileBlobRepository).insertOrphan(eq(CHECKSUM), eq(3L), any(), any(), eq(AUDITOR));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void register_WhenCommitted_ShouldNotTrackPublishedBlob() {
+        // given
+        givenReferenceAcquired();
+        when(blobStore.publish(staged)).thenReturn(true);
+        when(userFileRepository.save(any(UserFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        fileBlobRegistry.register(staged, USER, "cv.pdf", "application/pdf");
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // then
+        verify(fileBlobRepository, never()).insertOrphan(anyString(), anyLong(), any(), any(), anyString());
+    }
+
+    @Test
+    void register_WhenContentWasAlreadyStored_ShouldLeaveItToItsOwners() {
+        // given
+        givenReferenceAcquired();
+        when(blobStore.publish(staged)).thenReturn(false);
+        when(userFileRepository.save(any(UserFile.class))).thenThrow(new IllegalStateException("Constraint violated"));
+
+        // when
+        assertThrows(
+            IllegalStateException.class,
+            () -> fileBlobRegistry.register(staged, USER, "cv.pdf", "application/pdf")
+        );
+
+        // then
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    private void givenReferenceAcquired() {
+        when(storageUsageRepository.charge(eq(USER), eq(3L), eq(1000L), any(), eq(AUDITOR))).thenReturn(1);
+        when(fileBlobRepository.acquireReference(eq(CHECKSUM), eq(3L), any(), eq(AUDITOR))).thenReturn(1L);
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vertyll.fastprod.file.config.FileUploadProperties;
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.file.service.StorageQuotaService;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileStorageServiceTest {
+
+    private static final String CHECKSUM = "a".repeat(64);
+
+    @Mock
+    private ContentAddressedBlobStore blobStore;
+
+    @Mock
+    private FileBlobRegistry fileBlobRegistry;
+
+    @Mock
+    private StorageQuotaService storageQuotaService;
+
+    private FileStorageServiceImpl fileStorageService;
+
+    private MultipartFile file;
+    private StagedBlob staged;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageServiceImpl(
+            new FileUploadProperties("./uploads", null, null, null, 2),
+            blobStore,
+            fileBlobRegistry,
+            new StagedBlobPublisher(blobStore, fileBlobRegistry),
+            storageQuotaService
+        );
+        file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[] {1, 2, 3});
+        staged = new StagedBlob(Path.of("staging", "upload.part"), 3, CHECKSUM);
+    }
+
+    @Test
+    void saveFile_ShouldStageThenRegisterReference() {
+        // given
+        StoredFileDto storedFile = new StoredFileDto(10L, "cv.pdf", "application/pdf", 3, CHECKSUM);
+        when(blobStore.stage(file)).thenReturn(staged);
+        when(fileBlobRegistry.register(staged, 1L, "cv.pdf", "application/pdf")).thenReturn(storedFile);
+
+        // when
+        StoredFileDto result = fileStorageService.saveFile(file, 1L);
+
+        // then
+        assertEquals(storedFile, result);
+        verify(blobStore).discard(staged);
+    }
+
+    @Test
+    void saveFile_WhenQuotaExceeded_ShouldRejectBeforeStaging() {
+        // given
+        doThrow(new ApiException("Storage quota of 1024 bytes exceeded", HttpStatus.CONTENT_TOO_LARGE))
+            .when(storageQuotaService)
+            .checkQuota(1L, 3);
+
+        // when
+        ApiException exception = assertThrows(ApiException.class, () -> fileStorageService.saveFile(file, 1L));
+
+        // then
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, exception.getStatus());
+        verifyNoInteractions(blobStore, fileBlobRegistry);
+    }
+
+    @Test
+    void saveFile_WhenRegistrationFails_ShouldDiscardStagedFile() {
+        // given
+        when(blobStore.stage(file)).thenReturn(staged);
+        when(fileBlobRegistry.register(any(), any(), any(), any()))
+            .thenThrow(new IllegalStateException("database unavailable"));
+
+        // when
+        assertThrows(IllegalStateException.class, () -> fileStorageService.saveFile(file, 1L));
+
+        // then
+        verify(blobStore).discard(staged);
+    }
+
+    @Test
+    void deleteFile_WhenFileBelongsToAnotherUser_ShouldPropagateNotFound() {
+        // given
+        doThrow(new ApiException("File not found", HttpStatus.NOT_FOUND)).when(fileBlobRegistry).release(10L, 2L);
+
+        // when
+        ApiException exception = assertThrows(ApiException.class, () -> fileStorageService.deleteFile(10L, 2L));
+
+        // then
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void collectOrphanedBlobs_ShouldRunBatchesUntilOneComesBackShort() throws Exception {
+        // given
+        when(fileBlobRegistry.collectOrphans(any(Instant.class), eq(2))).thenReturn(2, 2, 1);
+
+        // when
+        fileStorageService.collectOrphanedBlobs();
+
+        // then
+        verify(fileBlobRegistry, times(3)).collectOrphans(any(Instant.class), eq(2));
+        verify(blobStore).purgeStaging(any(Instant.class));
+    }
+}
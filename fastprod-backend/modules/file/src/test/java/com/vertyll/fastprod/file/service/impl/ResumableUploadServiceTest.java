@@ -0,0 +1,243 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import com.vertyll.fastprod.file.config.FileUploadProperties;
+import com.vertyll.fastprod.file.config.ResumableUploadProperties;
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.file.dto.UploadSessionCreateDto;
+import com.vertyll.fastprod.file.dto.UploadSessionDto;
+import com.vertyll.fastprod.file.entity.UploadSession;
+import com.vertyll.fastprod.file.repository.UploadSessionRepository;
+import com.vertyll.fastprod.file.service.StorageQuotaService;
+import com.vertyll.fastprod.file.storage.FileSystemBlobStorage;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadServiceTest {
+
+    private static final Long USER = 7L;
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path uploadDir;
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private FileBlobRegistry fileBlobRegistry;
+
+    @Mock
+    private StorageQuotaService storageQuotaService;
+
+    private ResumableUploadServiceImpl resumableUploadService;
+
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() {
+        FileUploadProperties fileUploadProperties =
+            new FileUploadProperties(uploadDir.toString(), null, DataSize.ofBytes(4), null, null);
+        ContentAddressedBlobStore blobStore = new ContentAddressedBlobStore(
+            fileUploadProperties,
+            new FileSystemBlobStorage(fileUploadProperties)
+        );
+        resumableUploadService = new ResumableUploadServiceImpl(
+            new ResumableUploadProperties(DataSize.ofBytes(100), DataSize.ofBytes(6), null),
+            uploadSessionRepository,
+            blobStore,
+            new StagedBlobPublisher(blobStore, fileBlobRegistry),
+            storageQuotaService
+        );
+
+        when(uploadSessionRepository.save(any(UploadSession.class))).thenAnswer(invocation -> {
+            UploadSession saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        UploadSessionDto created = resumableUploadService.createUpload(
+            new UploadSessionCreateDto("report.pdf", "application/pdf", (long) CONTENT.length),
+            USER
+        );
+        ArgumentCaptor<UploadSession> captor = ArgumentCaptor.forClass(UploadSession.class);
+        verify(uploadSessionRepository).save(captor.capture());
+        session = captor.getValue();
+        assertEquals(0, created.offset());
+
+        lenient().when(uploadSessionRepository.findByUploadKeyAndUserId(session.getUploadKey(), USER))
+            .thenReturn(Optional.of(session));
+        lenient().when(uploadSessionRepository.advanceOffset(eq(1L), anyLong(), anyLong(), any(Instant.class)))
+            .thenAnswer(invocation -> {
+                session.setUploadOffset(invocation.getArgument(2));
+                return 1;
+            });
+    }
+
+    @Test
+    void createUpload_ShouldPreallocateFileAtDeclaredSize() throws Exception {
+        assertEquals(CONTENT.length, Files.size(partialFile()));
+    }
+
+    @Test
+    void createUpload_WhenDeclaredSizeTooLarge_ShouldReject() {
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> resumableUploadService.createUpload(new UploadSessionCreateDto("big.bin", null, 101L), USER)
+        );
+
+        // then
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, exception.getStatus());
+    }
+
+    @Test
+    void createUpload_WhenQuotaExceeded_ShouldRejectBeforeAllocating() throws Exception {
+        // given
+        doThrow(new ApiException("Storage quota of 50 bytes exceeded", HttpStatus.CONTENT_TOO_LARGE))
+            .when(storageQuotaService)
+            .checkQuota(USER, 60);
+
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> resumableUploadService.createUpload(new UploadSessionCreateDto("big.bin", null, 60L), USER)
+        );
+
+        // then
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, exception.getStatus());
+        verify(uploadSessionRepository, times(1)).save(any(UploadSession.class));
+        try (var partialFiles = Files.list(partialFile().getParent())) {
+            assertEquals(1, partialFiles.count());
+        }
+    }
+
+    @Test
+    void appendChunk_ThenComplete_ShouldRegisterWholeFile() throws Exception {
+        // given
+        StoredFileDto storedFile = new StoredFileDto(7L, "report.pdf", "application/pdf", CONTENT.length, "c");
+        when(uploadSessionRepository.claimCompleted(1L)).thenReturn(1);
+        ArgumentCaptor<StagedBlob> staged = ArgumentCaptor.forClass(StagedBlob.class);
+        when(fileBlobRegistry.register(staged.capture(), eq(USER), eq("report.pdf"), eq("application/pdf")))
+            .thenReturn(storedFile);
+
+        // when
+        UploadSessionDto first = resumableUploadService.appendChunk(session.getUploadKey(), 0, chunk(0, 6), USER);
+        UploadSessionDto second = resumableUploadService.appendChunk(session.getUploadKey(), 6, chunk(6, 10), USER);
+        byte[] assembled = Files.readAllBytes(partialFile());
+        StoredFileDto result = resumableUploadService.completeUpload(session.getUploadKey(), USER);
+
+        // then
+        assertEquals(6, first.offset());
+        assertEquals(10, second.offset());
+        assertArrayEquals(CONTENT, assembled);
+        assertEquals(storedFile, result);
+        assertEquals(CONTENT.length, staged.getValue().size());
+        assertEquals(
+            "84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882",
+            staged.getValue().checksum()
+        );
+    }
+
+    @Test
+    void appendChunk_WhenOffsetDoesNotMatch_ShouldReturnConflict() {
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> resumableUploadService.appendChunk(session.getUploadKey(), 4, chunk(4, 8), USER)
+        );
+
+        // then
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(uploadSessionRepository, never()).advanceOffset(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void appendChunk_WhenChunkExceedsLimit_ShouldRejectWithoutAdvancing() {
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> resumableUploadService.appendChunk(session.getUploadKey(), 0, chunk(0, 7), USER)
+        );
+
+        // then
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, exception.getStatus());
+        assertEquals(0, session.getUploadOffset());
+    }
+
+    @Test
+    void appendChunk_WhenClientDisconnects_ShouldKeepReceivedBytes() {
+        // given
+        InputStream interrupted = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == 3) {
+                    throw new IOException("Connection reset");
+                }
+                return CONTENT[position++];
+            }
+        };
+
+        // when
+        UploadSessionDto result = resumableUploadService.appendChunk(session.getUploadKey(), 0, interrupted, USER);
+
+        // then
+        assertEquals(3, result.offset());
+    }
+
+    @Test
+    void completeUpload_WhenIncomplete_ShouldReturnConflict() {
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> resumableUploadService.completeUpload(session.getUploadKey(), USER)
+        );
+
+        // then
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(fileBlobRegistry, never()).register(any(), any(), any(), any());
+    }
+
+    @Test
+    void cancelUpload_ShouldRemoveSessionAndPartialFile() {
+        // when
+        resumableUploadService.cancelUpload(session.getUploadKey(), USER);
+
+        // then
+        verify(uploadSessionRepository).delete(session);
+        assertFalse(Files.exists(partialFile()));
+    }
+
+    private Path partialFile() {
+        return uploadDir.resolve("resumable").resolve(session.getUploadKey());
+    }
+
+    private static InputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(CONTENT, from, to - from);
+    }
+}
@@ -0,0 +1,114 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import com.vertyll.fastprod.file.dto.StoredFileDto;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StagedBlobPublisherTest {
+
+    private static final String CHECKSUM = "a".repeat(64);
+
+    @Mock
+    private ContentAddressedBlobStore blobStore;
+
+    @Mock
+    private FileBlobRegistry fileBlobRegistry;
+
+    @InjectMocks
+    private StagedBlobPublisher stagedBlobPublisher;
+
+    private StagedBlob staged;
+
+    @BeforeEach
+    void setUp() {
+        staged = new StagedBlob(Path.of("staging", "upload.part"), 3, CHECKSUM);
+    }
+
+    @Test
+    void publish_ShouldTransferRegisterAndDiscard() {
+        // given
+        StoredFileDto storedFile = new StoredFileDto(10L, "cv.pdf", "application/pdf", 3, CHECKSUM);
+        when(blobStore.transfer(staged)).thenReturn(true);
+        when(fileBlobRegistry.register(staged, 1L, "cv.pdf", "application/pdf")).thenReturn(storedFile);
+
+        // when
+        StoredFileDto result = stagedBlobPublisher.publish(staged, 1L, "cv.pdf", "application/pdf");
+
+        // then
+        assertEquals(storedFile, result);
+        verify(fileBlobRegistry, never()).trackUnreferenced(any());
+        verify(blobStore).discard(staged);
+    }
+
+    @Test
+    void publish_WhenRegistrationFailsAfterTransfer_ShouldTrackUnreferencedBlob() {
+        // given
+        ApiException failure = new ApiException("Storage quota exceeded", HttpStatus.CONTENT_TOO_LARGE);
+        when(blobStore.transfer(staged)).thenReturn(true);
+        when(fileBlobRegistry.register(staged, 1L, "cv.pdf", "application/pdf")).thenThrow(failure);
+
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> stagedBlobPublisher.publish(staged, 1L, "cv.pdf", "application/pdf")
+        );
+
+        // then
+        assertSame(failure, exception);
+        verify(fileBlobRegistry).trackUnreferenced(staged);
+        verify(blobStore).discard(staged);
+    }
+
+    @Test
+    void publish_WhenTrackingFails_ShouldRethrowOriginalFailure() {
+        // given
+        ApiException failure = new ApiException("Storage quota exceeded", HttpStatus.CONTENT_TOO_LARGE);
+        when(blobStore.transfer(staged)).thenReturn(true);
+        when(fileBlobRegistry.register(staged, 1L, "cv.pdf", "application/pdf")).thenThrow(failure);
+        doThrow(new IllegalStateException("Database unavailable"))
+            .when(fileBlobRegistry)
+            .trackUnreferenced(staged);
+
+        // when
+        ApiException exception = assertThrows(
+            ApiException.class,
+            () -> stagedBlobPublisher.publish(staged, 1L, "cv.pdf", "application/pdf")
+        );
+
+        // then
+        assertSame(failure, exception);
+        verify(blobStore).discard(staged);
+    }
+
+    @Test
+    void publish_WhenRegistrationFailsWithLocalStorage_ShouldOnlyDiscard() {
+        // given
+        when(blobStore.transfer(staged)).thenReturn(false);
+        when(fileBlobRegistry.register(staged, 1L, "cv.pdf", "application/pdf"))
+            .thenThrow(new IllegalStateException("Database unavailable"));
+
+        // when
+        assertThrows(
+            IllegalStateException.class,
+            () -> stagedBlobPublisher.publish(staged, 1L, "cv.pdf", "application/pdf")
+        );
+
+        // then
+        verify(fileBlobRegistry, never()).trackUnreferenced(any());
+        verify(blobStore).discard(staged);
+    }
+}
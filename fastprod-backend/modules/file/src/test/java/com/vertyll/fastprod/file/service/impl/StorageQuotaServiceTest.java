@@ -0,0 +1,119 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import com.vertyll.fastprod.file.config.StorageQuotaProperties;
+import com.vertyll.fastprod.file.dto.StorageUsageDto;
+import com.vertyll.fastprod.file.entity.StorageUsage;
+import com.vertyll.fastprod.file.repository.StorageUsageRepository;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageQuotaServiceTest {
+
+    private static final Long USER = 7L;
+
+    @Mock
+    private StorageUsageRepository storageUsageRepository;
+
+    @Mock
+    private FileBlobRegistry fileBlobRegistry;
+
+    private StorageQuotaServiceImpl storageQuotaService;
+
+    @BeforeEach
+    void setUp() {
+        storageQuotaService = new StorageQuotaServiceImpl(
+            new StorageQuotaProperties(DataSize.ofBytes(1000), 10),
+            storageUsageRepository,
+            fileBlobRegistry
+        );
+    }
+
+    @Test
+    void checkQuota_WhenUploadFitsRemainingQuota_ShouldPass() {
+        // given
+        when(storageUsageRepository.findByUserId(USER)).thenReturn(Optional.of(usage(USER, 600)));
+
+        // when & then
+        assertDoesNotThrow(() -> storageQuotaService.checkQuota(USER, 400));
+    }
+
+    @Test
+    void checkQuota_WhenUploadExceedsRemainingQuota_ShouldReject() {
+        // given
+        when(storageUsageRepository.findByUserId(USER)).thenReturn(Optional.of(usage(USER, 600)));
+
+        // when
+        ApiException exception = assertThrows(ApiException.class, () -> storageQuotaService.checkQuota(USER, 401));
+
+        // then
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, exception.getStatus());
+    }
+
+    @Test
+    void checkQuota_WhenUserHasNoCounterYet_ShouldCheckAgainstWholeQuota() {
+        // given
+        when(storageUsageRepository.findByUserId(USER)).thenReturn(Optional.empty());
+
+        // when & then
+        assertDoesNotThrow(() -> storageQuotaService.checkQuota(USER, 1000));
+        assertThrows(ApiException.class, () -> storageQuotaService.checkQuota(USER, 1001));
+    }
+
+    @Test
+    void getUsage_WhenUserHasNoCounterYet_ShouldReturnZero() {
+        // given
+        when(storageUsageRepository.findByUserId(USER)).thenReturn(Optional.empty());
+
+        // when
+        StorageUsageDto result = storageQuotaService.getUsage(USER);
+
+        // then
+        assertEquals(new StorageUsageDto(USER, 0, 0, 1000), result);
+    }
+
+    @Test
+    void getTopConsumers_ShouldCapLimit() {
+        // given
+        when(storageUsageRepository.findByOrderByUsedBytesDesc(Limit.of(10)))
+            .thenReturn(List.of(usage(9L, 900), usage(USER, 600)));
+
+        // when
+        List<StorageUsageDto> result = storageQuotaService.getTopConsumers(500);
+
+        // then
+        assertEquals(List.of(9L, USER), result.stream().map(StorageUsageDto::userId).toList());
+    }
+
+    @Test
+    void reconcileUsage_ShouldRecountOnlyDriftedUsers() {
+        // given
+        when(storageUsageRepository.findDriftedUserIds()).thenReturn(List.of(USER, 9L));
+
+        // when
+        storageQuotaService.reconcileUsage();
+
+        // then
+        verify(fileBlobRegistry).reconcileUsage(USER);
+        verify(fileBlobRegistry).reconcileUsage(9L);
+        verifyNoMoreInteractions(fileBlobRegistry);
+    }
+
+    private static StorageUsage usage(Long userId, long usedBytes) {
+        return StorageUsage.builder().userId(userId).usedBytes(usedBytes).fileCount(1).build();
+    }
+}
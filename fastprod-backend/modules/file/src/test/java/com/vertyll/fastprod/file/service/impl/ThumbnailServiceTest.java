@@ -0,0 +1,231 @@
+package com.vertyll.fastprod.file.service.impl;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.vertyll.fastprod.file.config.FileUploadProperties;
+import com.vertyll.fastprod.file.config.ThumbnailProperties;
+import com.vertyll.fastprod.file.dto.FileContentDto;
+import com.vertyll.fastprod.file.entity.FileBlob;
+import com.vertyll.fastprod.file.entity.UserFile;
+import com.vertyll.fastprod.file.storage.BlobContent;
+import com.vertyll.fastprod.file.storage.FileSystemBlobStorage;
+import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThumbnailServiceTest {
+
+    private static final Long USER = 7L;
+
+    @TempDir
+    private Path uploadDir;
+
+    @Mock
+    private FileBlobRegistry fileBlobRegistry;
+
+    private ContentAddressedBlobStore blobStore;
+    private ThumbnailServiceImpl thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        FileUploadProperties props = new FileUploadProperties(uploadDir.toString(), null, null, null, null);
+        blobStore = new ContentAddressedBlobStore(props, new FileSystemBlobStorage(props));
+        thumbnailService = new ThumbnailServiceImpl(
+            new ThumbnailProperties(true, List.of(64, 256), 1, 4, null, null),
+            blobStore,
+            fileBlobRegistry
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    void render_ShouldFitImageIntoBoundingBox() throws Exception {
+        // given
+        String checksum = store(png(800, 400, true));
+
+        // when
+        BlobContent thumbnail = thumbnailService.render(checksum, 64);
+
+        // then
+        assertNotNull(thumbnail);
+        assertEquals(blobPath(checksum).resolveSibling(checksum + "-64.jpg"), thumbnail.localPath());
+        BufferedImage image = ImageIO.read(localFile(thumbnail));
+        assertEquals(64, image.getWidth());
+        assertEquals(32, image.getHeight());
+    }
+
+    @Test
+    void render_WhenThumbnailExists_ShouldNotRenderAgain() throws Exception {
+        // given
+        String checksum = store(png(300, 300, false));
+        BlobContent first = thumbnailService.render(checksum, 64);
+        assertNotNull(first);
+        FileTime rendered = FileTime.from(Instant.parse("2026-01-01T00:00:00Z"));
+        Files.setLastModifiedTime(localFile(first).toPath(), rendered);
+
+        // when
+        BlobContent second = thumbnailService.render(checksum, 64);
+
+        // then
+        assertEquals(first, second);
+        assertEquals(rendered, Files.getLastModifiedTime(localFile(first).toPath()));
+    }
+
+    @Test
+    void render_WhenBlobIsNotAnImage_ShouldReturnNull() throws Exception {
+        // given
+        String checksum = store("plain text".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        BlobContent thumbnail = thumbnailService.render(checksum, 64);
+
+        // then
+        assertNull(thumbnail);
+        try (var files = Files.list(blobPath(checksum).getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void delete_ShouldRemoveThumbnailsWithBlob() throws Exception {
+        // given
+        String checksum = store(png(300, 300, false));
+        BlobContent small = thumbnailService.render(checksum, 64);
+        BlobContent large = thumbnailService.render(checksum, 256);
+        assertNotNull(small);
+        assertNotNull(large);
+
+        // when
+        blobStore.delete(checksum);
+
+        // then
+        assertFalse(localFile(small).exists());
+        assertFalse(localFile(large).exists());
+    }
+
+    @Test
+    void render_WhenSourceExceedsPixelLimit_ShouldReturnNull() throws Exception {
+        // given
+        ThumbnailServiceImpl limited = new ThumbnailServiceImpl(
+            new ThumbnailProperties(true, List.of(64), 1, 1, 10_000L, null),
+            blobStore,
+            fileBlobRegistry
+        );
+        String checksum = store(png(200, 200, false));
+
+        // when
+        BlobContent thumbnail = limited.render(checksum, 64);
+
+        // then
+        assertNull(thumbnail);
+        limited.shutdown();
+    }
+
+    @Test
+    void getThumbnail_ShouldRenderOnDemand() throws Exception {
+        // given
+        String checksum = store(png(512, 512, false));
+        when(fileBlobRegistry.findOwned(1L, USER)).thenReturn(userFile(checksum, "image/png"));
+
+        // when
+        FileContentDto thumbnail = thumbnailService.getThumbnail(1L, USER, 256);
+
+        // then
+        assertEquals(checksum + "-256", thumbnail.checksum());
+        assertEquals("image/jpeg", thumbnail.contentType());
+        assertNull(thumbnail.originalFilename());
+        assertEquals(localFile(thumbnail.content()).length(), thumbnail.content().size());
+    }
+
+    @Test
+    void getThumbnail_WhenSizeNotConfigured_ShouldReturnBadRequest() {
+        // when
+        ApiException exception = assertThrows(ApiException.class, () -> thumbnailService.getThumbnail(1L, USER, 100));
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(fileBlobRegistry);
+    }
+
+    @Test
+    void getThumbnail_WhenFileIsNotAnImage_ShouldReturnNotFound() {
+        // given
+        when(fileBlobRegistry.findOwned(1L, USER)).thenReturn(userFile("a".repeat(64), "application/pdf"));
+
+        // when
+        ApiException exception = assertThrows(ApiException.class, () -> thumbnailService.getThumbnail(1L, USER, 64));
+
+        // then
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    private Path blobPath(String checksum) {
+        return Objects.requireNonNull(blobStore.locate(checksum).localPath());
+    }
+
+    private static File localFile(BlobContent content) {
+        return Objects.requireNonNull(content.localPath()).toFile();
+    }
+
+    private String store(byte[] content) {
+        StagedBlob staged = blobStore.stage(new MockMultipartFile("file", "image.png", "image/png", content));
+        blobStore.publish(staged);
+        return staged.checksum();
+    }
+
+    private static UserFile userFile(String checksum, String contentType) {
+        UserFile userFile = UserFile.builder()
+            .userId(USER)
+            .blob(FileBlob.builder().checksum(checksum).size(1).referenceCount(1).build())
+            .contentType(contentType)
+            .build();
+        userFile.setCreatedAt(LocalDateTime.of(2026, 1, 15, 10, 0));
+        return userFile;
+    }
+
+    private static byte[] png(int width, int height, boolean transparent) throws IOException {
+        BufferedImage image = new BufferedImage(
+            width,
+            height,
+            transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB
+        );
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, new Color(x % 256, y % 256, 128, transparent ? 128 : 255).getRGB());
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
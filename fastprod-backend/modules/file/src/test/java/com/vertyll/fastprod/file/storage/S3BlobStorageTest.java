@@ -0,0 +1,155 @@
+package com.vertyll.fastprod.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.vertyll.fastprod.file.config.BlobStorageProperties;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class S3BlobStorageTest {
+
+    private static final String BUCKET = "blobs";
+
+    @Container
+    private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2025-04-22T22-12-26Z");
+
+    private static S3BlobStorage storage;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeAll
+    static void setUp() {
+        URI endpoint = URI.create(MINIO.getS3URL());
+        try (
+            S3AsyncClient admin = S3AsyncClient.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(endpoint)
+                .forcePathStyle(true)
+                .credentialsProvider(
+                    StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())
+                    )
+                )
+                .build()
+        ) {
+            admin.createBucket(CreateBucketRequest.builder().bucket(BUCKET).build()).join();
+        }
+
+        storage = new S3BlobStorage(
+            new BlobStorageProperties(
+                BlobStorageProperties.StorageType.S3,
+                new BlobStorageProperties.S3(
+                    BUCKET,
+                    null,
+                    endpoint,
+                    true,
+                    MINIO.getUserName(),
+                    MINIO.getPassword(),
+                    4,
+                    null,
+                    DataSize.ofMegabytes(5),
+                    DataSize.ofMegabytes(5)
+                )
+            )
+        );
+    }
+
+    @AfterAll
+    static void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void put_ShouldUploadInPartsAndSkipExistingKey() throws IOException {
+        // given
+        byte[] content = randomBytes(12 * 1024 * 1024);
+        Path source = write("large.bin", content);
+
+        // when
+        boolean stored = storage.put("ab/cd/large", source, content.length);
+        boolean storedAgain = storage.put("ab/cd/large", source, content.length);
+
+        // then
+        assertTrue(stored);
+        assertFalse(storedAgain);
+        assertTrue(storage.exists("ab/cd/large"));
+        assertEquals(content.length, storage.open("ab/cd/large").size());
+    }
+
+    @Test
+    void open_ShouldStreamRequestedRange() throws IOException {
+        // given
+        byte[] content = randomBytes(4096);
+        storage.put("ab/cd/ranged", write("ranged.bin", content), content.length);
+
+        // when
+        BlobContent blob = storage.open("ab/cd/ranged");
+        byte[] range;
+        try (InputStream in = blob.openStream(1000, 24)) {
+            range = in.readAllBytes();
+        }
+
+        // then
+        assertNull(blob.localPath());
+        assertEquals(4096, blob.size());
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, 1024), range);
+    }
+
+    @Test
+    void open_WhenKeyMissing_ShouldThrowNoSuchFile() {
+        // when & then
+        assertThrows(NoSuchFileException.class, () -> storage.open("ab/cd/missing"));
+    }
+
+    @Test
+    void deleteWithDerivatives_ShouldRemoveBlobAndDerivativesOnly() throws IOException {
+        // given
+        byte[] content = randomBytes(128);
+        Path source = write("small.bin", content);
+        storage.put("ef/01/blob", source, content.length);
+        storage.put("ef/01/blob-64.jpg", source, content.length);
+        storage.put("ef/01/blobby", source, content.length);
+
+        // when
+        storage.deleteWithDerivatives("ef/01/blob");
+
+        // then
+        assertFalse(storage.exists("ef/01/blob"));
+        assertFalse(storage.exists("ef/01/blob-64.jpg"));
+        assertTrue(storage.exists("ef/01/blobby"));
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        return Files.write(tempDir.resolve(name), content);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,46 @@
+plugins {
+    java
+}
+
+dependencies {
+    // Implementation - Internal Modules
+    implementation(project(":modules:app"))
+
+    // Implementation - Spring Boot Starters
+    implementation(libs.spring.boot.starter.webmvc)
+
+    // Implementation - Testcontainers
+    implementation(libs.testcontainers.postgresql)
+
+    // Compile Only
+    compileOnly(libs.lombok)
+
+    // Runtime Only
+    runtimeOnly(libs.postgresql)
+
+    // Annotation Processor
+    annotationProcessor(libs.lombok)
+}
+
+configurations.runtimeClasspath {
+    // DevTools would restart the embedded application in a separate class loader mid-run
+    exclude(group = "org.springframework.boot", module = "spring-boot-devtools")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Boots the application against Testcontainers and drives the load-test scenarios"
+
+    mainClass.set("com.vertyll.fastprod.loadtest.LoadTestRunner")
+    classpath = sourceSets.main.get().runtimeClasspath
+
+    val report = layout.buildDirectory.file("reports/loadtest/report.json")
+    outputs.file(report)
+    outputs.upToDateWhen { false }
+
+    // Override with e.g. -PloadTest.users=100 -PloadTest.duration=PT5M
+    listOf("users", "duration", "warmup", "seedEmployees", "bulkSize", "seedVerificationCodes").forEach { key ->
+        providers.gradleProperty("loadTest.$key").orNull?.let { systemProperty("loadtest.$key", it) }
+    }
+    systemProperty("loadtest.report", report.get().asFile.absolutePath)
+}
@@ -0,0 +1,145 @@
+package com.vertyll.fastprod.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * HTTP client for a single virtual user. Each instance has its own cookie store so that the
+ * refresh-token cookie rotates independently per user, as it would across browsers.
+ */
+@SuppressFBWarnings(
+    value = "URLCONNECTION_SSRF_FD",
+    justification = "Base URI points at the locally started application"
+)
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String JSON = "application/json";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI baseUri;
+    private final LatencyRecorder recorder;
+    private String accessToken = "";
+
+    ApiClient(URI baseUri, ObjectMapper objectMapper, LatencyRecorder recorder) {
+        this.httpClient = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.recorder = recorder;
+    }
+
+    void login(String email, String password) throws IOException, InterruptedException {
+        Map<String, String> body = Map.of("email", email, "password", password, "deviceInfo", "loadtest");
+        HttpResponse<String> response = send("POST /auth/authenticate", post("auth/authenticate", body, false));
+        accessToken = readToken(response);
+    }
+
+    void refresh() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("auth/refresh-token"))
+            .timeout(REQUEST_TIMEOUT)
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        HttpResponse<String> response = send("POST /auth/refresh-token", request);
+        accessToken = readToken(response);
+    }
+
+    void searchEmployees(Map<String, String> query) throws IOException, InterruptedException {
+        String queryString = query.entrySet()
+            .stream()
+            .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+        send("GET /employees", get("employees?" + queryString));
+    }
+
+    void currentUser() throws IOException, InterruptedException {
+        send("GET /users/me", get("users/me"));
+    }
+
+    void createEmployee(Map<String, Object> employee) throws IOException, InterruptedException {
+        send("POST /employees", post("employees", employee, true));
+    }
+
+    void requestPasswordReset(String email) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(
+                "auth/reset-password-request?email=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+            ))
+            .timeout(REQUEST_TIMEOUT)
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        send("POST /auth/reset-password-request", request);
+    }
+
+    /**
+     * Probes the code lookup. The codes are guessed, so a rejected code is the expected answer and
+     * only server errors count as failures.
+     */
+    void verifyAccount(String code) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("auth/verify?code=" + code))
+            .timeout(REQUEST_TIMEOUT)
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        send("POST /auth/verify", request, status -> status < 500);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Authorization", "Bearer " + accessToken)
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String path, Object body, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", JSON)
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        return send(endpoint, request, status -> status < 400);
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request, IntPredicate succeeded)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, succeeded.test(response.statusCode()));
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+
+    private String readToken(HttpResponse<String> response) {
+        if (response.statusCode() >= 400) {
+            return accessToken;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("data").path("token").asString(accessToken);
+    }
+}
@@ -0,0 +1,42 @@
+package com.vertyll.fastprod.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Latency percentiles (milliseconds) and throughput for one endpoint over the measured window.
+ */
+record EndpointReport(
+    String endpoint,
+    int requests,
+    int errors,
+    double throughputPerSecond,
+    double p50,
+    double p95,
+    double p99,
+    double max
+) {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    static EndpointReport of(String endpoint, LatencyRecorder.Samples samples, Duration window) {
+        long[] sorted = samples.sorted();
+        return new EndpointReport(
+            endpoint,
+            samples.count(),
+            samples.errors(),
+            samples.count() / (window.toMillis() / 1000.0),
+            percentile(sorted, 50),
+            percentile(sorted, 95),
+            percentile(sorted, 99),
+            sorted.length == 0 ? 0 : sorted[sorted.length - 1] / NANOS_PER_MILLI
+        );
+    }
+
+    /** Nearest-rank percentile. */
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / NANOS_PER_MILLI;
+    }
+}
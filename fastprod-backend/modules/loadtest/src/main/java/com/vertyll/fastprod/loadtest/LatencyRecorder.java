@@ -0,0 +1,73 @@
+package com.vertyll.fastprod.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-endpoint latency samples. Each virtual user owns one recorder, so recording is
+ * single-threaded; recorders are merged once all users have finished.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByEndpoint = new TreeMap<>();
+    private boolean recording;
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        if (recording) {
+            samplesByEndpoint.computeIfAbsent(endpoint, _ -> new Samples()).add(elapsedNanos, success);
+        }
+    }
+
+    void mergeFrom(LatencyRecorder other) {
+        other.samplesByEndpoint.forEach(
+            (endpoint, samples) -> samplesByEndpoint.computeIfAbsent(endpoint, _ -> new Samples()).addAll(samples)
+        );
+    }
+
+    Map<String, Samples> samplesByEndpoint() {
+        return samplesByEndpoint;
+    }
+
+    static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long elapsedNanos, boolean success) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsedNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int errors() {
+            return errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.vertyll.fastprod.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load-test knobs, read from {@code loadtest.*} system properties so the Gradle task can pass
+ * them through from {@code -PloadTest.*} project properties.
+ */
+record LoadTestConfig(
+    int users,
+    Duration duration,
+    Duration warmup,
+    int seedEmployees,
+    int bulkSize,
+    int seedVerificationCodes,
+    Path report
+) {
+    static final String ADMIN_EMAIL = "admin@fastprod.local";
+    static final String ADMIN_PASSWORD = "LoadTest1!";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            Integer.getInteger("loadtest.users", 20),
+            Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+            Duration.parse(System.getProperty("loadtest.warmup", "PT15S")),
+            Integer.getInteger("loadtest.seedEmployees", 500),
+            Integer.getInteger("loadtest.bulkSize", 10),
+            Integer.getInteger("loadtest.seedVerificationCodes", 0),
+            Path.of(System.getProperty("loadtest.report", "build/reports/loadtest/report.json"))
+        );
+    }
+}
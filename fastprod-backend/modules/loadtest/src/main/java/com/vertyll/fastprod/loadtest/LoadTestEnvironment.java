@@ -0,0 +1,59 @@
+package com.vertyll.fastprod.loadtest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Postgres and an SMTP stand-in, matching the images used by {@code docker-compose.dev.yml}.
+ */
+final class LoadTestEnvironment implements AutoCloseable {
+
+    private static final int SMTP_PORT = 1025;
+    private static final int MAILDEV_WEB_PORT = 1080;
+
+    private final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:18-alpine"))
+                .withDatabaseName("fastprod_loadtest")
+                .withUsername("postgres")
+                .withPassword("postgres");
+
+    private final GenericContainer<?> mail = new GenericContainer<>(DockerImageName.parse("maildev/maildev:latest"))
+        .withExposedPorts(SMTP_PORT, MAILDEV_WEB_PORT)
+        .waitingFor(Wait.forListeningPorts(SMTP_PORT));
+
+    void start() {
+        postgres.start();
+        mail.start();
+    }
+
+    /**
+     * Command-line style arguments that point the application at the containers. These take
+     * precedence over every {@code application*.yml} on the classpath.
+     */
+    List<String> springArguments() {
+        return List.of(
+            "--spring.datasource.url=" + postgres.getJdbcUrl(),
+            "--spring.datasource.username=" + postgres.getUsername(),
+            "--spring.datasource.password=" + postgres.getPassword(),
+            "--spring.mail.host=" + mail.getHost(),
+            "--spring.mail.port=" + mail.getMappedPort(SMTP_PORT)
+        );
+    }
+
+    /** Direct connection for seeding volumes that would take too long through the API. */
+    Connection openConnection() throws SQLException {
+        return postgres.createConnection("");
+    }
+
+    @Override
+    public void close() {
+        mail.stop();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,177 @@
+package com.vertyll.fastprod.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.vertyll.fastprod.FastprodBackendApplication;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Boots the full application against throwaway containers, seeds data through the public API,
+ * runs the {@link VirtualUser} scenario on virtual threads and reports per-endpoint latency
+ * percentiles and throughput. Started by the {@code loadTest} Gradle task.
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    // Codes are dense from 100000 and spread over the four token types, so each is live once per type
+    private static final String SEED_VERIFICATION_CODES = """
+        INSERT INTO verification_token (token, user_id, expiry_date, used, token_type,
+                                        created_at, updated_at, created_by, updated_by)
+        SELECT (100000 + n / 4)::text, u.id, now() + INTERVAL '1 day', FALSE,
+               (ARRAY['ACCOUNT_ACTIVATION', 'EMAIL_CHANGE', 'PASSWORD_CHANGE', 'PASSWORD_RESET'])[n % 4 + 1],
+               now(), now(), 'loadtest', 'loadtest'
+        FROM generate_series(0, ? - 1) AS n, "user" u
+        WHERE u.email = ?
+        """;
+
+    public static void main(String[] args) throws IOException, InterruptedException, SQLException {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+
+        try (LoadTestEnvironment environment = new LoadTestEnvironment()) {
+            environment.start();
+
+            List<String> springArgs = new ArrayList<>(environment.springArguments());
+            springArgs.add("--spring.profiles.active=loadtest");
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FastprodBackendApplication.class)
+                .run(springArgs.toArray(String[]::new))) {
+                String port = context.getEnvironment().getRequiredProperty("local.server.port");
+                URI baseUri = URI.create("http://localhost:" + port + "/api/v1/");
+
+                seed(baseUri, objectMapper, config);
+                seedVerificationCodes(environment, config);
+                List<EndpointReport> reports = run(baseUri, objectMapper, config);
+                print(reports, config);
+                write(reports, objectMapper, config);
+            }
+        }
+    }
+
+    private static void seed(URI baseUri, ObjectMapper objectMapper, LoadTestConfig config)
+            throws IOException, InterruptedException {
+        log.info("Seeding {} employees", config.seedEmployees());
+        ApiClient client = new ApiClient(baseUri, objectMapper, new LatencyRecorder());
+        client.login(LoadTestConfig.ADMIN_EMAIL, LoadTestConfig.ADMIN_PASSWORD);
+        VirtualUser.createEmployees(client, config.seedEmployees());
+    }
+
+    private static void seedVerificationCodes(LoadTestEnvironment environment, LoadTestConfig config)
+            throws SQLException {
+        if (config.seedVerificationCodes() <= 0) {
+            return;
+        }
+        log.info("Seeding {} live verification codes", config.seedVerificationCodes());
+        try (Connection connection = environment.openConnection();
+             PreparedStatement insert = connection.prepareStatement(SEED_VERIFICATION_CODES);
+             Statement analyze = connection.createStatement()) {
+            insert.setInt(1, config.seedVerificationCodes());
+            insert.setString(2, LoadTestConfig.ADMIN_EMAIL);
+            insert.executeUpdate();
+            analyze.execute("ANALYZE verification_token");
+        }
+    }
+
+    private static List<EndpointReport> run(URI baseUri, ObjectMapper objectMapper, LoadTestConfig config) {
+        log.info(
+            "Running {} virtual users for {} after {} warm-up",
+            config.users(),
+            config.duration(),
+            config.warmup()
+        );
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users(); i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                executor.execute(new VirtualUser(
+                    new ApiClient(baseUri, objectMapper, recorder),
+                    recorder,
+                    warmupEnd,
+                    end,
+                    config.bulkSize()
+                ));
+            }
+        }
+
+        LatencyRecorder merged = new LatencyRecorder();
+        recorders.forEach(merged::mergeFrom);
+        return merged.samplesByEndpoint()
+            .entrySet()
+            .stream()
+            .map(e -> EndpointReport.of(e.getKey(), e.getValue(), config.duration()))
+            .toList();
+    }
+
+    private static void print(List<EndpointReport> reports, LoadTestConfig config) {
+        StringBuilder table = new StringBuilder(512)
+            .append(String.format(
+                "%n%d users, %ds measured%n%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                config.users(),
+                config.duration().toSeconds(),
+                "Endpoint",
+                "Requests",
+                "Errors",
+                "Req/s",
+                "p50 ms",
+                "p95 ms",
+                "p99 ms",
+                "max ms"
+            ));
+        for (EndpointReport report : reports) {
+            table.append(String.format(
+                "%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                report.endpoint(),
+                report.requests(),
+                report.errors(),
+                report.throughputPerSecond(),
+                report.p50(),
+                report.p95(),
+                report.p99(),
+                report.max()
+            ));
+        }
+        log.info("{}", table);
+    }
+
+    private static void write(List<EndpointReport> reports, ObjectMapper objectMapper, LoadTestConfig config)
+            throws IOException {
+        Path target = config.report();
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Map<String, Object> document = Map.of(
+            "users", config.users(),
+            "durationSeconds", config.duration().toSeconds(),
+            "endpoints", reports
+        );
+        objectMapper.writeValue(target.toFile(), document);
+        log.info("Load-test report written to {}", target.toAbsolutePath());
+    }
+}
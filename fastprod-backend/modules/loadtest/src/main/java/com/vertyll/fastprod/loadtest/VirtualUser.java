@@ -0,0 +1,108 @@
+package com.vertyll.fastprod.loadtest;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One simulated administrator working through the employee screens: a paged, filtered search
+ * and a profile read on every iteration, with periodic token refreshes, re-logins, bulk
+ * employee creation, and verification code issuing and lookups mixed in.
+ */
+@Slf4j
+final class VirtualUser implements Runnable {
+
+    private static final int REFRESH_EVERY = 10;
+    private static final int BULK_CREATE_EVERY = 25;
+    private static final int RELOGIN_EVERY = 50;
+    private static final int VERIFICATION_CODE_EVERY = 5;
+    private static final int MIN_CODE = 100_000;
+    private static final int MAX_CODE = 1_000_000;
+    private static final String[] SEARCH_TERMS = {"an", "ko", "ma", "ski", "ew", "example"};
+    private static final String[] SORT_FIELDS = {"id", "lastName", "email", "createdAt"};
+
+    private static final AtomicLong EMAIL_SEQUENCE = new AtomicLong();
+
+    private final ApiClient client;
+    private final LatencyRecorder recorder;
+    private final long warmupEndNanos;
+    private final long endNanos;
+    private final int bulkSize;
+
+    VirtualUser(ApiClient client, LatencyRecorder recorder, long warmupEndNanos, long endNanos, int bulkSize) {
+        this.client = client;
+        this.recorder = recorder;
+        this.warmupEndNanos = warmupEndNanos;
+        this.endNanos = endNanos;
+        this.bulkSize = bulkSize;
+    }
+
+    @Override
+    public void run() {
+        try {
+            client.login(LoadTestConfig.ADMIN_EMAIL, LoadTestConfig.ADMIN_PASSWORD);
+            for (int iteration = 1; System.nanoTime() < endNanos; iteration++) {
+                if (System.nanoTime() >= warmupEndNanos) {
+                    recorder.startRecording();
+                }
+                runIteration(iteration);
+            }
+        } catch (IOException e) {
+            log.warn("Virtual user stopped after I/O failure: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runIteration(int iteration) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        client.searchEmployees(Map.of(
+            "page", String.valueOf(random.nextInt(5)),
+            "size", "20",
+            "sortBy", SORT_FIELDS[random.nextInt(SORT_FIELDS.length)],
+            "sortDirection", random.nextBoolean() ? "asc" : "desc",
+            "search", SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]
+        ));
+        client.searchEmployees(Map.of(
+            "page", "0",
+            "size", "50",
+            "lastName", SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)],
+            "isVerified", "true",
+            "roles", "EMPLOYEE"
+        ));
+        client.currentUser();
+
+        if (iteration % REFRESH_EVERY == 0) {
+            client.refresh();
+        }
+        if (iteration % BULK_CREATE_EVERY == 0) {
+            createEmployees(client, bulkSize);
+        }
+        if (iteration % VERIFICATION_CODE_EVERY == 0) {
+            client.requestPasswordReset(LoadTestConfig.ADMIN_EMAIL);
+            client.verifyAccount(String.valueOf(random.nextInt(MIN_CODE, MAX_CODE)));
+        }
+        if (iteration % RELOGIN_EVERY == 0) {
+            client.login(LoadTestConfig.ADMIN_EMAIL, LoadTestConfig.ADMIN_PASSWORD);
+        }
+    }
+
+    static void createEmployees(ApiClient client, int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            long sequence = EMAIL_SEQUENCE.incrementAndGet();
+            Map<String, Object> employee = new LinkedHashMap<>();
+            employee.put("firstName", "Load" + sequence);
+            employee.put("lastName", "Kowalski" + (sequence % 97));
+            employee.put("email", "employee" + sequence + "@loadtest.example");
+            employee.put("password", "Employee1!");
+            employee.put("roleNames", Set.of("EMPLOYEE"));
+            client.createEmployee(employee);
+        }
+    }
+}
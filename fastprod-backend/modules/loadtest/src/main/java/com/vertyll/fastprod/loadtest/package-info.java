@@ -0,0 +1,4 @@
+@NullMarked
+package com.vertyll.fastprod.loadtest;
+
+import org.jspecify.annotations.NullMarked;
@@ -4,6 +4,11 @@ import java.io.Serial;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import com.vertyll.fastprod.sharedinfrastructure.entity.BaseEntity;
 import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
 
@@ -15,6 +20,9 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.CACHE_REGION)
+@NaturalIdCache(region = Role.NATURAL_ID_CACHE_REGION)
 @Table(
     name = "role",
     uniqueConstraints = {
@@ -31,6 +39,10 @@ public class Role extends BaseEntity {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public static final String CACHE_REGION = "role";
+    public static final String NATURAL_ID_CACHE_REGION = "role-natural-id";
+
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     @Enumerated(EnumType.STRING)
     private RoleType name;
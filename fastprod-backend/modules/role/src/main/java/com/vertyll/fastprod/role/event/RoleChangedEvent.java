@@ -0,0 +1,23 @@
+package com.vertyll.fastprod.role.event;
+
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
+import com.vertyll.fastprod.sharedinfrastructure.event.DomainEvent;
+
+/**
+ * Published when a role is created or changed.
+ *
+ * @param roleId identifier of the role
+ * @param change what happened to the role
+ */
+public record RoleChangedEvent(Long roleId, ChangeType change) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "role";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return roleId;
+    }
+}
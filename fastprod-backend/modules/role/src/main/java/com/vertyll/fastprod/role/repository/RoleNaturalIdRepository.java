@@ -0,0 +1,15 @@
+package com.vertyll.fastprod.role.repository;
+
+import java.util.Optional;
+
+import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+
+public interface RoleNaturalIdRepository {
+
+    /**
+     * Resolves a role by its {@link RoleType} through Hibernate's natural-id API, which is served
+     * from the second-level cache once warm instead of issuing a query per lookup.
+     */
+    Optional<Role> findByNaturalId(RoleType name);
+}
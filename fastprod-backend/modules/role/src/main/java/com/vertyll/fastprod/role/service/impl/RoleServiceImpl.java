@@ -1,14 +1,17 @@
 package com.vertyll.fastprod.role.service.impl;
 
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
 import com.vertyll.fastprod.role.dto.RoleCreateDto;
 import com.vertyll.fastprod.role.dto.RoleResponseDto;
 import com.vertyll.fastprod.role.dto.RoleUpdateDto;
 import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.role.event.RoleChangedEvent;
 import com.vertyll.fastprod.role.mapper.RoleMapper;
 import com.vertyll.fastprod.role.repository.RoleRepository;
 import com.vertyll.fastprod.role.service.RoleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +28,7 @@ class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
     private final RoleMapper roleMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -36,6 +40,7 @@ class RoleServiceImpl implements RoleService {
         Role role = roleMapper.toEntity(dto);
 
         Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new RoleChangedEvent(savedRole.getId(), ChangeType.CREATED));
         return roleMapper.toResponseDto(savedRole);
     }
 
@@ -53,14 +58,17 @@ class RoleServiceImpl implements RoleService {
 
         roleMapper.updateFromDto(dto, role);
         Role updatedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new RoleChangedEvent(updatedRole.getId(), ChangeType.UPDATED));
         return roleMapper.toResponseDto(updatedRole);
     }
 
     @Override
     public Role getOrCreateDefaultRole(RoleType roleName) {
-        return roleRepository.findByName(roleName).orElseGet(() -> {
+        return roleRepository.findByNaturalId(roleName).orElseGet(() -> {
             Role role = Role.builder().name(roleName).description(DEFAULT_ROLE + roleName).build();
-            return roleRepository.save(role);
+            Role savedRole = roleRepository.save(role);
+            eventPublisher.publishEvent(new RoleChangedEvent(savedRole.getId(), ChangeType.CREATED));
+            return savedRole;
         });
     }
 
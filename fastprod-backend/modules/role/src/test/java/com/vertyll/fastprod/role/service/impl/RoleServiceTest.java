@@ -12,15 +12,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 
 import com.vertyll.fastprod.role.dto.RoleCreateDto;
 import com.vertyll.fastprod.role.dto.RoleResponseDto;
 import com.vertyll.fastprod.role.dto.RoleUpdateDto;
 import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.role.event.RoleChangedEvent;
 import com.vertyll.fastprod.role.mapper.RoleMapper;
 import com.vertyll.fastprod.role.repository.RoleRepository;
 import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -41,6 +44,9 @@ class RoleServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     @SuppressWarnings("UnusedVariable")
     private final RoleMapper roleMapper = Mappers.getMapper(RoleMapper.class);
@@ -79,6 +85,7 @@ class RoleServiceTest {
         assertEquals(createDto.description(), capturedRole.getDescription());
         assertEquals("ADMIN", returnedRole.name());
         assertEquals("Administrator role", returnedRole.description());
+        verify(eventPublisher).publishEvent(new RoleChangedEvent(role.getId(), ChangeType.CREATED));
     }
 
     @Test
@@ -92,6 +99,7 @@ class RoleServiceTest {
         assertEquals("Role already exists", exception.getMessage());
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
         verify(roleRepository, never()).save(any(Role.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -160,7 +168,7 @@ class RoleServiceTest {
     @Test
     void getOrCreateDefaultRole_WhenRoleExists_ShouldReturnExistingRole() {
         // given
-        when(roleRepository.findByName(RoleType.USER)).thenReturn(Optional.of(role));
+        when(roleRepository.findByNaturalId(RoleType.USER)).thenReturn(Optional.of(role));
 
         // when
         Role returnedRole = roleService.getOrCreateDefaultRole(RoleType.USER);
@@ -174,7 +182,7 @@ class RoleServiceTest {
     @Test
     void getOrCreateDefaultRole_WhenRoleDoesNotExist_ShouldCreateNewRole() {
         // given
-        when(roleRepository.findByName(RoleType.USER)).thenReturn(Optional.empty());
+        when(roleRepository.findByNaturalId(RoleType.USER)).thenReturn(Optional.empty());
         when(roleRepository.save(any(Role.class))).thenReturn(role);
 
         // when
@@ -17,6 +17,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.vertyll.fastprod.auth.service.JwtService;
+import com.vertyll.fastprod.sharedinfrastructure.metrics.RequestMetrics;
+import com.vertyll.fastprod.sharedinfrastructure.metrics.RequestPhase;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -56,12 +58,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String jwt = authHeader.substring(7);
+            long parseStart = System.nanoTime();
             String userEmail = jwtService.extractUsername(jwt);
+            RequestMetrics.record(RequestPhase.JWT, System.nanoTime() - parseStart);
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                long validationStart = System.nanoTime();
+                boolean tokenValid = jwtService.isTokenValid(jwt, userDetails);
+                RequestMetrics.record(RequestPhase.JWT, System.nanoTime() - validationStart);
+
+                if (tokenValid) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -18,6 +18,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import com.vertyll.fastprod.sharedinfrastructure.metrics.MeteredPasswordEncoder;
 import com.vertyll.fastprod.sharedinfrastructure.response.ApiResponse;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -97,6 +98,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new MeteredPasswordEncoder(new BCryptPasswordEncoder());
     }
 }
@@ -2,6 +2,8 @@ package com.vertyll.fastprod.user.controller;
 
 import jakarta.validation.Valid;
 
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -9,10 +11,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import com.vertyll.fastprod.sharedinfrastructure.response.ApiResponse;
+import com.vertyll.fastprod.sharedinfrastructure.util.EntityTags;
 import com.vertyll.fastprod.user.dto.ProfileUpdateDto;
 import com.vertyll.fastprod.user.dto.UserCreateDto;
 import com.vertyll.fastprod.user.dto.UserResponseDto;
 import com.vertyll.fastprod.user.dto.UserUpdateDto;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 import com.vertyll.fastprod.user.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -43,39 +47,71 @@ public class UserController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Update existing user")
+    @Operation(summary = "Update existing user", description = "Rejected with 412 when If-Match is stale")
     public ResponseEntity<ApiResponse<UserResponseDto>> updateUser(
         @PathVariable Long id,
-        @RequestBody @Valid UserUpdateDto dto
+        @RequestBody @Valid UserUpdateDto dto,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Nullable String ifMatch
     ) {
-        UserResponseDto user = userService.updateUser(id, dto);
+        UserResponseDto user = userService.updateUser(id, dto, ifMatch);
         return ApiResponse.buildResponse(user, USER_UPDATED_SUCCESSFULLY, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    @Operation(summary = "Get user by ID")
-    public ResponseEntity<ApiResponse<UserResponseDto>> getUser(@PathVariable Long id) {
+    @Operation(summary = "Get user by ID", description = "Answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<ApiResponse<UserResponseDto>> getUser(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Nullable String ifNoneMatch
+    ) {
+        UserVersionDto version = userService.getUserVersion(id);
+        if (EntityTags.matches(ifNoneMatch, version.id(), version.version())) {
+            return notModified(version);
+        }
+
         UserResponseDto user = userService.getUserById(id);
-        return ApiResponse.buildResponse(user, USER_RETRIEVED_SUCCESSFULLY, HttpStatus.OK);
+        return ApiResponse.buildResponse(user, USER_RETRIEVED_SUCCESSFULLY, HttpStatus.OK, eTag(user));
     }
 
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Get current user profile")
-    public ResponseEntity<ApiResponse<UserResponseDto>> getCurrentUser(Authentication authentication) {
+    @Operation(
+        summary = "Get current user profile",
+        description = "Answers 304 when If-None-Match holds the current ETag"
+    )
+    public ResponseEntity<ApiResponse<UserResponseDto>> getCurrentUser(
+        Authentication authentication,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Nullable String ifNoneMatch
+    ) {
+        UserVersionDto version = userService.getCurrentUserVersion(authentication.getName());
+        if (EntityTags.matches(ifNoneMatch, version.id(), version.version())) {
+            return notModified(version);
+        }
+
         UserResponseDto user = userService.getCurrentUser(authentication.getName());
-        return ApiResponse.buildResponse(user, PROFILE_RETRIEVED_SUCCESSFULLY, HttpStatus.OK);
+        return ApiResponse.buildResponse(user, PROFILE_RETRIEVED_SUCCESSFULLY, HttpStatus.OK, eTag(user));
     }
 
     @PutMapping("/me/profile")
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Update current user profile")
+    @Operation(summary = "Update current user profile", description = "Rejected with 412 when If-Match is stale")
     public ResponseEntity<ApiResponse<UserResponseDto>> updateProfile(
         @RequestBody @Valid ProfileUpdateDto dto,
-        Authentication authentication
+        Authentication authentication,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Nullable String ifMatch
     ) {
-        UserResponseDto user = userService.updateCurrentUserProfile(authentication.getName(), dto);
+        UserResponseDto user = userService.updateCurrentUserProfile(authentication.getName(), dto, ifMatch);
         return ApiResponse.buildResponse(user, PROFILE_UPDATED_SUCCESSFULLY, HttpStatus.OK);
     }
+
+    // Only the version is read up front, so a revalidation skips loading, mapping and serialization
+    private static <T> ResponseEntity<T> notModified(UserVersionDto version) {
+        String eTag = EntityTags.weak(version.id(), version.version());
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    // The body may be newer than the version checked first, so its tag comes from the body itself
+    private static String eTag(UserResponseDto user) {
+        return EntityTags.weak(user.id(), user.version());
+    }
 }
@@ -0,0 +1,7 @@
+package com.vertyll.fastprod.user.dto;
+
+import java.time.LocalDateTime;
+
+/** Keyset position of a changed user, as read by the change feed. */
+public record UserChangeDto(Long id, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,5 @@
+package com.vertyll.fastprod.user.dto;
+
+/** Optimistic locking version of a user, read without loading the entity. */
+public record UserVersionDto(Long id, Long version) {
+}
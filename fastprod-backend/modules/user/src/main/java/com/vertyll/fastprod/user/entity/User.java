@@ -7,6 +7,11 @@ import java.util.Set;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.jspecify.annotations.NullUnmarked;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -30,6 +35,7 @@ import lombok.*;
         @Index(name = "idx_user_is_active", columnList = "is_active"),
         @Index(name = "idx_user_is_verified", columnList = "is_verified"),
         @Index(name = "idx_user_created_at", columnList = "created_at"),
+        @Index(name = "idx_user_updated_at_id", columnList = "updated_at, id"),
         @Index(name = "idx_user_is_active_is_verified", columnList = "is_active, is_verified"),
     }
 )
@@ -38,6 +44,8 @@ public class User extends BaseEntity implements UserDetails {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public static final String ROLES_CACHE_REGION = "user-roles";
+
     @Column(nullable = false)
     private String firstName;
 
@@ -50,7 +58,11 @@ public class User extends BaseEntity implements UserDetails {
     @Column(nullable = false)
     private String password;
 
+    // Loaded by a separate select so that a warm collection cache skips the role join entirely
     @ManyToMany(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SELECT)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ROLES_CACHE_REGION)
     @JoinTable(
         name = "user_role",
         joinColumns = @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = "fk_user_role_user")),
@@ -0,0 +1,23 @@
+package com.vertyll.fastprod.user.event;
+
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
+import com.vertyll.fastprod.sharedinfrastructure.event.DomainEvent;
+
+/**
+ * Published when a user, including an employee, is created, changed or deactivated.
+ *
+ * @param userId identifier of the user
+ * @param change what happened to the user
+ */
+public record UserChangedEvent(Long userId, ChangeType change) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "user";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return userId;
+    }
+}
@@ -1,11 +1,17 @@
 package com.vertyll.fastprod.user.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import com.vertyll.fastprod.user.dto.UserChangeDto;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 import com.vertyll.fastprod.user.entity.User;
 
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
@@ -15,4 +21,30 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
     Optional<User> findByEmailWithRoles(String email);
+
+    // The first predicate bounds the index range scan, the second skips rows at or before the cursor
+    @Query(
+        "SELECT new com.vertyll.fastprod.user.dto.UserChangeDto(u.id, u.updatedAt) FROM User u "
+            + "WHERE u.updatedAt >= :updatedAt AND (u.updatedAt > :updatedAt OR u.id > :id) "
+            + "AND u.updatedAt < :changedBefore "
+            + "ORDER BY u.updatedAt, u.id"
+    )
+    List<UserChangeDto> findChangedAfter(LocalDateTime updatedAt, long id, LocalDateTime changedBefore, Limit limit);
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :ids")
+    List<User> findAllWithRolesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.vertyll.fastprod.user.dto.UserVersionDto(u.id, u.version) FROM User u WHERE u.id = :id")
+    Optional<UserVersionDto> findVersionById(Long id);
+
+    @Query(
+        "SELECT new com.vertyll.fastprod.user.dto.UserVersionDto(u.id, u.version) FROM User u "
+            + "WHERE u.id = :id AND u.active = true"
+    )
+    Optional<UserVersionDto> findActiveVersionById(Long id);
+
+    @Query(
+        "SELECT new com.vertyll.fastprod.user.dto.UserVersionDto(u.id, u.version) FROM User u WHERE u.email = :email"
+    )
+    Optional<UserVersionDto> findVersionByEmail(String email);
 }
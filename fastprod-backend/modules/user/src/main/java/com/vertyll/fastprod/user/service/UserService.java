@@ -2,12 +2,14 @@ package com.vertyll.fastprod.user.service;
 
 import java.util.Optional;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.vertyll.fastprod.user.dto.ProfileUpdateDto;
 import com.vertyll.fastprod.user.dto.UserCreateDto;
 import com.vertyll.fastprod.user.dto.UserResponseDto;
 import com.vertyll.fastprod.user.dto.UserUpdateDto;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 import com.vertyll.fastprod.user.entity.User;
 
 public interface UserService {
@@ -15,10 +17,13 @@ public interface UserService {
     UserResponseDto createUser(UserCreateDto dto);
 
     @Transactional
-    UserResponseDto updateUser(Long id, UserUpdateDto dto);
+    UserResponseDto updateUser(Long id, UserUpdateDto dto, @Nullable String ifMatch);
 
     UserResponseDto getUserById(Long id);
 
+    /** Version of the user for conditional reads, without loading or mapping the entity. */
+    UserVersionDto getUserVersion(Long id);
+
     boolean existsByEmail(String email);
 
     @Transactional
@@ -28,8 +33,10 @@ public interface UserService {
 
     UserResponseDto getCurrentUser(String email);
 
+    UserVersionDto getCurrentUserVersion(String email);
+
     @Transactional
-    UserResponseDto updateCurrentUserProfile(String email, ProfileUpdateDto dto);
+    UserResponseDto updateCurrentUserProfile(String email, ProfileUpdateDto dto, @Nullable String ifMatch);
 
     Optional<User> findByEmail(String email);
 }
@@ -1,6 +1,8 @@
 package com.vertyll.fastprod.user.service.impl;
 
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
+import com.vertyll.fastprod.sharedinfrastructure.util.EntityTags;
 import com.vertyll.fastprod.role.entity.Role;
 import com.vertyll.fastprod.role.service.RoleService;
 
@@ -12,12 +14,16 @@ import java.util.stream.Collectors;
 import com.vertyll.fastprod.user.dto.UserCreateDto;
 import com.vertyll.fastprod.user.dto.UserResponseDto;
 import com.vertyll.fastprod.user.dto.UserUpdateDto;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 import com.vertyll.fastprod.user.dto.ProfileUpdateDto;
 import com.vertyll.fastprod.user.entity.User;
+import com.vertyll.fastprod.user.event.UserChangedEvent;
 import com.vertyll.fastprod.user.mapper.UserMapper;
 import com.vertyll.fastprod.user.repository.UserRepository;
 import com.vertyll.fastprod.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -35,6 +41,7 @@ class UserServiceImpl implements UserService {
     private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -59,13 +66,15 @@ class UserServiceImpl implements UserService {
         user.setVerified(true);
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), ChangeType.CREATED));
         return userMapper.toResponseDto(savedUser);
     }
 
     @Override
     @Transactional
-    public UserResponseDto updateUser(Long id, UserUpdateDto dto) {
+    public UserResponseDto updateUser(Long id, UserUpdateDto dto, @Nullable String ifMatch) {
         User user = userRepository.findById(id).orElseThrow(() -> new ApiException(USER_NOT_FOUND_MESSAGE, HttpStatus.NOT_FOUND));
+        EntityTags.requireMatch(ifMatch, user.getId(), user.getVersion());
 
         String email = dto.email();
         if (email != null && !email.equals(user.getEmail()) && userRepository.existsByEmail(email)) {
@@ -87,7 +96,9 @@ class UserServiceImpl implements UserService {
             user.setRoles(roles);
         }
 
-        User updatedUser = userRepository.save(user);
+        // Flushed so that the version in the response is the one just written
+        User updatedUser = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), ChangeType.UPDATED));
         return userMapper.toResponseDto(updatedUser);
     }
 
@@ -97,6 +108,12 @@ class UserServiceImpl implements UserService {
         return userMapper.toResponseDto(user);
     }
 
+    @Override
+    public UserVersionDto getUserVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new ApiException(USER_NOT_FOUND_MESSAGE, HttpStatus.NOT_FOUND));
+    }
+
     @Override
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
@@ -105,7 +122,10 @@ class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public User saveUser(User user) {
-        return userRepository.save(user);
+        ChangeType change = user.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), change));
+        return savedUser;
     }
 
     @Override
@@ -120,16 +140,24 @@ class UserServiceImpl implements UserService {
         return userMapper.toResponseDto(user);
     }
 
+    @Override
+    public UserVersionDto getCurrentUserVersion(String email) {
+        return userRepository.findVersionByEmail(email)
+                .orElseThrow(() -> new ApiException(USER_NOT_FOUND_MESSAGE, HttpStatus.NOT_FOUND));
+    }
+
     @Override
     @Transactional
-    public UserResponseDto updateCurrentUserProfile(String email, ProfileUpdateDto dto) {
+    public UserResponseDto updateCurrentUserProfile(String email, ProfileUpdateDto dto, @Nullable String ifMatch) {
         User user = userRepository.findByEmailWithRoles(email)
                 .orElseThrow(() -> new ApiException(USER_NOT_FOUND_MESSAGE, HttpStatus.NOT_FOUND));
+        EntityTags.requireMatch(ifMatch, user.getId(), user.getVersion());
 
         user.setFirstName(dto.firstName());
         user.setLastName(dto.lastName());
 
-        User updatedUser = userRepository.save(user);
+        User updatedUser = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), ChangeType.UPDATED));
         return userMapper.toResponseDto(updatedUser);
     }
 
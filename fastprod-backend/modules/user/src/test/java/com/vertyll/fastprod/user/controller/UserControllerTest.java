@@ -9,8 +9,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
@@ -21,6 +23,7 @@ import com.vertyll.fastprod.sharedinfrastructure.exception.GlobalExceptionHandle
 import com.vertyll.fastprod.user.dto.UserCreateDto;
 import com.vertyll.fastprod.user.dto.UserResponseDto;
 import com.vertyll.fastprod.user.dto.UserUpdateDto;
+import com.vertyll.fastprod.user.dto.UserVersionDto;
 import com.vertyll.fastprod.user.service.UserService;
 
 import tools.jackson.databind.ObjectMapper;
@@ -72,7 +75,7 @@ class UserControllerTest {
             Set.of("USER", "ADMIN")
         );
 
-        responseDto = new UserResponseDto(1L, "John", "Doe", "john@example.com", Set.of(RoleType.USER), true);
+        responseDto = new UserResponseDto(1L, "John", "Doe", "john@example.com", Set.of(RoleType.USER), true, 3L);
     }
 
     @AfterEach
@@ -129,7 +132,7 @@ class UserControllerTest {
     @Test
     void updateUser_WhenValidInput_ShouldReturnSuccess() throws Exception {
         // given
-        when(userService.updateUser(anyLong(), any(UserUpdateDto.class))).thenReturn(responseDto);
+        when(userService.updateUser(anyLong(), any(UserUpdateDto.class), isNull())).thenReturn(responseDto);
 
         // when & then
         mockMvc
@@ -141,14 +144,14 @@ class UserControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.message").value("User updated successfully"));
 
-        verify(userService).updateUser(eq(1L), any(UserUpdateDto.class));
+        verify(userService).updateUser(eq(1L), any(UserUpdateDto.class), isNull());
     }
 
     @Test
     void updateUser_WhenUserNotFound_ShouldReturnNotFound() throws Exception {
         // given
         doThrow(new ApiException("User not found", HttpStatus.NOT_FOUND)).when(userService)
-            .updateUser(anyLong(), any(UserUpdateDto.class));
+            .updateUser(anyLong(), any(UserUpdateDto.class), any());
 
         // when & then
         mockMvc
@@ -161,15 +164,34 @@ class UserControllerTest {
             .andExpect(jsonPath("$.message").value("User not found"));
     }
 
+    @Test
+    void updateUser_WhenIfMatchIsStale_ShouldReturnPreconditionFailed() throws Exception {
+        // given
+        doThrow(new ApiException("Resource has been modified", HttpStatus.PRECONDITION_FAILED)).when(userService)
+            .updateUser(eq(1L), any(UserUpdateDto.class), eq("W/\"1-2\""));
+
+        // when & then
+        mockMvc
+            .perform(
+                put("/users/1").contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.IF_MATCH, "W/\"1-2\"")
+                    .content(objectMapper.writeValueAsString(updateDto))
+            )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.message").value("Resource has been modified"));
+    }
+
     @Test
     void getUser_WhenExists_ShouldReturnUser() throws Exception {
         // given
+        when(userService.getUserVersion(1L)).thenReturn(new UserVersionDto(1L, 3L));
         when(userService.getUserById(1L)).thenReturn(responseDto);
 
         // when & then
         mockMvc.perform(get("/users/1"))
             .andDo(print())
             .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
             .andExpect(jsonPath("$.data.id").value(1))
             .andExpect(jsonPath("$.data.firstName").value("John"))
             .andExpect(jsonPath("$.message").value("User retrieved successfully"));
@@ -180,7 +202,7 @@ class UserControllerTest {
     @Test
     void getUser_WhenNotFound_ShouldReturnNotFound() throws Exception {
         // given
-        when(userService.getUserById(1L)).thenThrow(new ApiException("User not found", HttpStatus.NOT_FOUND));
+        when(userService.getUserVersion(1L)).thenThrow(new ApiException("User not found", HttpStatus.NOT_FOUND));
 
         // when & then
         mockMvc.perform(get("/users/1"))
@@ -188,4 +210,51 @@ class UserControllerTest {
             .andExpect(status().isNotFound())
             .andExpect(jsonPath("$.message").value("User not found"));
     }
+
+    @Test
+    void getUser_WhenETagMatches_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        // given
+        when(userService.getUserVersion(1L)).thenReturn(new UserVersionDto(1L, 3L));
+
+        // when & then
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+            .andExpect(content().string(""));
+
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    void getUser_WhenUpdatedAfterVersionCheck_ShouldTagTheReturnedBody() throws Exception {
+        // given
+        UserResponseDto updated = new UserResponseDto(1L, "Johnny", "Doe", "john@example.com", Set.of(), true, 4L);
+        when(userService.getUserVersion(1L)).thenReturn(new UserVersionDto(1L, 3L));
+        when(userService.getUserById(1L)).thenReturn(updated);
+
+        // when & then
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"1-2\""))
+            .andExpect(status().isOk())
+            .andExpect(header().stringValues(HttpHeaders.ETAG, "W/\"1-4\""))
+            .andExpect(jsonPath("$.data.firstName").value("Johnny"))
+            .andExpect(jsonPath("$.data.version").value(4));
+    }
+
+    @Test
+    void getCurrentUser_ShouldReadVersionThenProfile() throws Exception {
+        // given
+        when(userService.getCurrentUserVersion("john@example.com")).thenReturn(new UserVersionDto(1L, 3L));
+        when(userService.getCurrentUser("john@example.com")).thenReturn(responseDto);
+
+        // when & then
+        mockMvc.perform(get("/users/me").principal(new UsernamePasswordAuthenticationToken("john@example.com", null)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.email").value("john@example.com"))
+            .andExpect(jsonPath("$.message").value("Profile retrieved successfully"));
+
+        // A version lookup for the ETag, then one user-with-roles fetch
+        verify(userService, times(1)).getCurrentUserVersion("john@example.com");
+        verify(userService, times(1)).getCurrentUser("john@example.com");
+        verifyNoMoreInteractions(userService);
+    }
 }
@@ -0,0 +1,139 @@
+package com.vertyll.fastprod.user.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.vertyll.fastprod.role.entity.Role;
+import com.vertyll.fastprod.role.service.RoleService;
+import com.vertyll.fastprod.sharedinfrastructure.entity.BaseEntity;
+import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryBudgetExceededException;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryGuardConfig;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryGuardProperties;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryInspector;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryScope;
+import com.vertyll.fastprod.sharedinfrastructure.jpa.QueryTracker;
+import com.vertyll.fastprod.user.dto.UserResponseDto;
+import com.vertyll.fastprod.user.entity.User;
+import com.vertyll.fastprod.user.mapper.UserMapper;
+import com.vertyll.fastprod.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the service calls behind {@code GET /users/me} against Hibernate on H2 with the query guard
+ * in strict mode, so the budget of the endpoint is checked against the statements it really issues.
+ */
+class UserQueryBudgetTest {
+
+    // The version for the ETag, then the user with its roles in one join
+    private static final int GET_CURRENT_USER_BUDGET = 2;
+    private static final String EMAIL = "john@example.com";
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        new QueryGuardConfig(new QueryGuardProperties(true, null, null));
+        registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:user-query-budget;DB_CLOSE_DELAY=-1")
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            // Budgets hold for a cold cache, the worst case of every request
+            .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+            .applySetting(AvailableSettings.STATEMENT_INSPECTOR, QueryInspector.class.getName())
+            .build();
+        sessionFactory = new MetadataSources(registry)
+            .addAnnotatedClass(Role.class)
+            .addAnnotatedClass(User.class)
+            .buildMetadata()
+            .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            Role admin = Role.builder().name(RoleType.ADMIN).description("Administrator").active(true).build();
+            Role employee = Role.builder().name(RoleType.EMPLOYEE).description("Employee").active(true).build();
+            session.persist(audited(admin));
+            session.persist(audited(employee));
+            session.persist(audited(User.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email(EMAIL)
+                .password("encodedPassword")
+                .roles(Set.of(admin, employee))
+                .verified(true)
+                .active(true)
+                .build()));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+        new QueryGuardConfig(new QueryGuardProperties(null, null, null));
+    }
+
+    @Test
+    void getCurrentUser_ShouldStayWithinQueryBudget() {
+        // when
+        UserResponseDto result;
+        try (QueryScope _ = QueryTracker.open("getCurrentUser", GET_CURRENT_USER_BUDGET)) {
+            result = inTransaction(UserQueryBudgetTest::getCurrentUser);
+        }
+
+        // then
+        assertEquals(EMAIL, result.email());
+        assertEquals(Set.of(RoleType.ADMIN, RoleType.EMPLOYEE), result.roles());
+    }
+
+    @Test
+    void getCurrentUser_WhenOverQueryBudget_ShouldThrowException() {
+        // when & then
+        assertThrows(QueryBudgetExceededException.class, () -> {
+            try (QueryScope _ = QueryTracker.open("getCurrentUser", GET_CURRENT_USER_BUDGET - 1)) {
+                inTransaction(UserQueryBudgetTest::getCurrentUser);
+            }
+        });
+    }
+
+    // The calls UserController.getCurrentUser makes when the client holds no matching ETag
+    private static UserResponseDto getCurrentUser(UserServiceImpl userService) {
+        assertNotNull(userService.getCurrentUserVersion(EMAIL).version());
+        return userService.getCurrentUser(EMAIL);
+    }
+
+    private <T> T inTransaction(Function<UserServiceImpl, T> call) {
+        return sessionFactory.fromTransaction(session -> call.apply(new UserServiceImpl(
+            new JpaRepositoryFactory(session).getRepository(UserRepository.class),
+            mock(RoleService.class),
+            mock(PasswordEncoder.class),
+            Mappers.getMapper(UserMapper.class),
+            mock(ApplicationEventPublisher.class)
+        )));
+    }
+
+    private static <T extends BaseEntity> T audited(T entity) {
+        // Spring's auditing listener has nothing to delegate to outside an application context
+        LocalDateTime now = LocalDateTime.now();
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        entity.setCreatedBy("test");
+        entity.setUpdatedBy("test");
+        return entity;
+    }
+}
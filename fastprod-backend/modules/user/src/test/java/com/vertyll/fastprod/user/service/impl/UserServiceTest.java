@@ -14,17 +14,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.vertyll.fastprod.role.entity.Role;
 import com.vertyll.fastprod.role.service.RoleService;
 import com.vertyll.fastprod.sharedinfrastructure.enums.RoleType;
+import com.vertyll.fastprod.sharedinfrastructure.event.ChangeType;
 import com.vertyll.fastprod.sharedinfrastructure.exception.ApiException;
 import com.vertyll.fastprod.user.dto.UserCreateDto;
 import com.vertyll.fastprod.user.dto.UserResponseDto;
 import com.vertyll.fastprod.user.dto.UserUpdateDto;
 import com.vertyll.fastprod.user.entity.User;
+import com.vertyll.fastprod.user.event.UserChangedEvent;
 import com.vertyll.fastprod.user.mapper.UserMapper;
 import com.vertyll.fastprod.user.repository.UserRepository;
 
@@ -54,6 +57,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     @SuppressWarnings("UnusedVariable")
     private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
@@ -141,13 +147,13 @@ class UserServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(roleService.getOrCreateDefaultRole(RoleType.USER)).thenReturn(userRole);
         when(roleService.getOrCreateDefaultRole(RoleType.ADMIN)).thenReturn(adminRole);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // when
-        UserResponseDto result = userService.updateUser(1L, updateDto);
+        UserResponseDto result = userService.updateUser(1L, updateDto, null);
 
         // then
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
 
         assertNotNull(result);
@@ -165,12 +171,27 @@ class UserServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         // when & then
-        ApiException exception = assertThrows(ApiException.class, () -> userService.updateUser(1L, updateDto));
+        ApiException exception = assertThrows(ApiException.class, () -> userService.updateUser(1L, updateDto, null));
 
         assertEquals("User not found", exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
     }
 
+    @Test
+    void updateUser_WhenIfMatchIsStale_ShouldThrowPreconditionFailed() {
+        // given
+        user.setId(1L);
+        user.setVersion(3L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // when & then
+        ApiException exception =
+                assertThrows(ApiException.class, () -> userService.updateUser(1L, updateDto, "W/\"1-2\""));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatus());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void getUserById_WhenUserExists_ShouldReturnUser() {
         // given
@@ -206,15 +227,15 @@ class UserServiceTest {
         // given
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(roleService.getOrCreateDefaultRole(RoleType.ADMIN)).thenReturn(adminRole);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserUpdateDto updateRequest = new UserUpdateDto("John", "Doe", "john@example.com", null, Set.of("ADMIN"));
 
         // when
-        UserResponseDto result = userService.updateUser(1L, updateRequest);
+        UserResponseDto result = userService.updateUser(1L, updateRequest, null);
 
         // then
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
 
         assertNotNull(result);
@@ -265,13 +286,13 @@ class UserServiceTest {
         UserUpdateDto partialUpdateDto = new UserUpdateDto("Updated Name", null, null, null, null);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // when
-        UserResponseDto result = userService.updateUser(1L, partialUpdateDto);
+        UserResponseDto result = userService.updateUser(1L, partialUpdateDto, null);
 
         // then
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
 
         assertNotNull(result);
@@ -315,6 +336,20 @@ class UserServiceTest {
         // then
         assertEquals(user, result);
         verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(null, ChangeType.CREATED));
+    }
+
+    @Test
+    void saveUser_WhenUserExists_ShouldPublishUpdate() {
+        // given
+        user.setId(1L);
+        when(userRepository.save(user)).thenReturn(user);
+
+        // when
+        userService.saveUser(user);
+
+        // then
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, ChangeType.UPDATED));
     }
 
     @Test
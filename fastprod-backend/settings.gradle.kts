@@ -9,5 +9,7 @@ include(
     "modules:auth",
     "modules:security",
     "modules:app",
-    "modules:employee"
+    "modules:employee",
+    "modules:benchmarks",
+    "modules:loadtest"
 )